@@ -0,0 +1,89 @@
+package calculator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This benchmark measures the single core throughput of the {@link BatchEvaluator}
+ * over a generated file of expressions, after checking its results against
+ * {@link ReferenceCalculatorModel}.
+ *
+ * @version 1.0.0
+ *
+ */
+public class BatchThroughputBenchmark {
+
+	private static final int LINE_COUNT = 1_000_000;
+	private static final int VERIFIED_LINE_COUNT = 10_000;
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, optionally holding the number of lines.
+	 *
+	 * @throws IOException If the temporary file can't be written or read.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		// Initialization
+		final int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : LINE_COUNT;
+		final Path file = Files.createTempFile("expressions", ".txt");
+		file.toFile().deleteOnExit();
+
+		// Generating the input, checking a part of it against the reference
+		final ExpressionGenerator generator = new ExpressionGenerator(7, 0.3);
+		final BatchEvaluator verifier = new BatchEvaluator();
+		final ReferenceCalculatorModel reference = new ReferenceCalculatorModel();
+		try(BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for(int index = 0; index < lineCount; index++) {
+				final String[] tokens = generator.nextExpression(2 + index % 6);
+				final String line = String.join(" ", tokens);
+				if(index < VERIFIED_LINE_COUNT) {
+					final String expected = evaluate(reference, tokens);
+					final String actual = verifier.evaluate(line).toString();
+					if(!expected.equals(actual)) {
+						throw new IllegalStateException(line + " = " + expected + ", but got " + actual);
+					}
+				}
+				writer.write(line);
+				writer.newLine();
+			}
+		}
+
+		// Measuring
+		for(int round = 1; round <= ROUNDS; round++) {
+			final long start = System.nanoTime();
+			final long count;
+			try(Writer output = Writer.nullWriter()) {
+				count = new BatchEvaluator().evaluate(Files.newBufferedReader(file, StandardCharsets.UTF_8), output);
+			}
+			final long elapsed = System.nanoTime() - start;
+			System.out.printf("round %d: %,d expressions in %.1f ms, %,.0f expressions/s%n",
+					round, count, elapsed / 1e6, count * 1e9 / elapsed);
+		}
+	}
+
+	/**
+	 * Evaluates the tokens with the reference model, naming the result the way the batch does.
+	 *
+	 * @param reference : reference model.
+	 * @param tokens : alternating operands and operators.
+	 *
+	 * @return result[String] : expected result line.
+	 */
+	private static String evaluate(final ReferenceCalculatorModel reference, final String[] tokens) {
+		try {
+			return reference.evaluate(Arrays.asList(tokens));
+		} catch(ArithmeticException exception) {
+			return BatchEvaluator.ERROR_RESULT;
+		} catch(RuntimeException exception) {
+			return BatchEvaluator.INVALID_RESULT;
+		}
+	}
+}
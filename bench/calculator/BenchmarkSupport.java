@@ -0,0 +1,53 @@
+package calculator;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class contains the helpers shared by the benchmark programs,
+ * like measuring the allocation of the current thread and printing results.
+ *
+ * @version 1.0.0
+ *
+ */
+final class BenchmarkSupport {
+
+	// Sink for computed values, so that the JIT can't eliminate the measured work
+	static volatile long blackhole;
+
+	/**
+	 * Prevents the instantiation of this utility class.
+	 */
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the current thread so far,
+	 * or -1 when the JVM doesn't support allocation measurement.
+	 *
+	 * @return allocatedBytes[long] : allocated bytes of the current thread.
+	 */
+	static long allocatedBytes() {
+		if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean
+				&& threadBean.isThreadAllocatedMemorySupported()) {
+			return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * Prints a single line of the benchmark report.
+	 *
+	 * @param name : name of the measured case.
+	 * @param operations : number of operations done in the measured run.
+	 * @param elapsedNanos : elapsed time of the measured run.
+	 * @param allocatedBytes : allocated bytes of the measured run.
+	 *
+	 */
+	static void report(final String name, final long operations, final long elapsedNanos, final long allocatedBytes) {
+		System.out.printf("%-40s %12.1f ns/op %14.0f ops/s %10.1f B/op%n",
+				name,
+				(double)elapsedNanos / operations,
+				operations * 1e9 / elapsedNanos,
+				(double)allocatedBytes / operations);
+	}
+}
@@ -0,0 +1,153 @@
+package calculator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * This benchmark compares the size and the throughput of the binary format of {@link BinaryFormat}
+ * with the text evaluated by {@link BatchEvaluator}, after checking that the binary results are
+ * the very same as the text ones, with the double and the exact arithmetic, and that the
+ * expressions and the results convert to text and back without any change.
+ *
+ * @version 1.0.0
+ *
+ */
+public class BinaryFormatBenchmark {
+
+	private static final int LINE_COUNT = 500_000;
+	private static final int ROUNDS = 5;
+
+	// Lines mixed into the generated ones, every one of them being a special case
+	private static final String[] SPECIAL_LINES = {
+			"", "   ", "12 $ 4", "7 / 0", "7 % 0.0", "5 / -0", "-0", "007", "007 + 1", "5.", "5. * 2", "0.50 + 0.25",
+			"9999999 * 3", "5000000 + 5000000.5", "123456789012345678901 + 1", "0.1234567890123456789 * 3",
+			"1 +", "* 2", "-5 - -3", "10 - 2 + 3", "8 / 3", "2.5 % 1", "-.5", "1e3 + 1", "\u00e9 + 1", "\u0132"
+	};
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, optionally holding the number of lines.
+	 *
+	 * @throws IOException Never, as every stream is in memory.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		// Generating the expressions
+		final int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : LINE_COUNT;
+		final ExpressionGenerator generator = new ExpressionGenerator(7, 0.3);
+		final StringBuilder textBuilder = new StringBuilder();
+		for(int index = 0; index < lineCount; index++) {
+			textBuilder.append((index % 100 == 0) ? SPECIAL_LINES[(index / 100) % SPECIAL_LINES.length] : generator.nextLine(2 + index % 8)).append('\n');
+		}
+		final String text = textBuilder.toString();
+		final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		BinaryBatchEvaluator.expressionsToBinary(new StringReader(text), binary);
+		final byte[] expressions = binary.toByteArray();
+
+		// Checking the results with both arithmetics, and the conversions
+		check(text, expressions, null);
+		check(text, expressions, new ExactArithmetic(10, RoundingMode.HALF_UP));
+		System.out.printf("%,d expressions: text %,d bytes, binary %,d bytes (%.0f%%)%n",
+				lineCount, text.length(), expressions.length, expressions.length * 100.0 / text.length());
+
+		// Measuring
+		System.out.printf("%-8s %14s %10s%n", "format", "expressions/s", "MB/s");
+		for(int round = 1; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			try(Writer output = Writer.nullWriter()) {
+				new BatchEvaluator().evaluate(new StringReader(text), output);
+			}
+			report("text", lineCount, text.length(), System.nanoTime() - start);
+
+			start = System.nanoTime();
+			new BinaryBatchEvaluator().evaluate(new ByteArrayInputStream(expressions), OutputStream.nullOutputStream());
+			report("binary", lineCount, expressions.length, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Checks that the binary results are the same as the text ones with the given arithmetic,
+	 * and that the expressions and the results convert to text and back without any change.
+	 *
+	 * @param text : the expressions, one per line.
+	 * @param expressions : the same expressions in the binary format.
+	 * @param arithmetic : exact arithmetic, or null for the double one.
+	 *
+	 * @throws IOException Never, as every stream is in memory.
+	 */
+	private static void check(final String text, final byte[] expressions, final ExactArithmetic arithmetic) throws IOException {
+
+		// Evaluating the text and the binary expressions
+		final CalculatorModel textModel = new CalculatorModel();
+		final CalculatorModel binaryModel = new CalculatorModel();
+		textModel.setExactArithmetic(arithmetic);
+		binaryModel.setExactArithmetic(arithmetic);
+		final StringWriter textResults = new StringWriter();
+		new BatchEvaluator(textModel).evaluate(new StringReader(text), textResults);
+		final ByteArrayOutputStream binaryResults = new ByteArrayOutputStream();
+		new BinaryBatchEvaluator(binaryModel).evaluate(new ByteArrayInputStream(expressions), binaryResults);
+
+		// Comparing the results
+		final StringWriter convertedResults = new StringWriter();
+		BinaryBatchEvaluator.resultsToText(new ByteArrayInputStream(binaryResults.toByteArray()), convertedResults);
+		compare("results with " + (arithmetic == null ? "double" : arithmetic) + " arithmetic", textResults.toString(), convertedResults.toString());
+		final ByteArrayOutputStream reconvertedResults = new ByteArrayOutputStream();
+		BinaryBatchEvaluator.resultsToBinary(new StringReader(textResults.toString()), reconvertedResults);
+		if(!Arrays.equals(binaryResults.toByteArray(), reconvertedResults.toByteArray())) {
+			throw new IllegalStateException("The results don't convert back to the same bytes");
+		}
+
+		// Converting the expressions to text and back
+		final StringWriter convertedExpressions = new StringWriter();
+		BinaryBatchEvaluator.expressionsToText(new ByteArrayInputStream(expressions), convertedExpressions);
+		final ByteArrayOutputStream reconvertedExpressions = new ByteArrayOutputStream();
+		BinaryBatchEvaluator.expressionsToBinary(new StringReader(convertedExpressions.toString()), reconvertedExpressions);
+		if(!Arrays.equals(expressions, reconvertedExpressions.toByteArray())) {
+			throw new IllegalStateException("The expressions don't convert back to the same bytes");
+		}
+		final StringWriter convertedTextResults = new StringWriter();
+		new BatchEvaluator(textModel).evaluate(new StringReader(convertedExpressions.toString()), convertedTextResults);
+		compare("results of the converted expressions", textResults.toString(), convertedTextResults.toString());
+	}
+
+	/**
+	 * Throws an exception at the first line that differs.
+	 *
+	 * @param name : name of what's compared.
+	 * @param expected : expected lines.
+	 * @param actual : actual lines.
+	 *
+	 */
+	private static void compare(final String name, final String expected, final String actual) {
+		final String[] expectedLines = expected.split("\n", -1);
+		final String[] actualLines = actual.split("\n", -1);
+		for(int index = 0; index < Math.max(expectedLines.length, actualLines.length); index++) {
+			final String expectedLine = index < expectedLines.length ? expectedLines[index] : null;
+			final String actualLine = index < actualLines.length ? actualLines[index] : null;
+			if(!String.valueOf(expectedLine).equals(String.valueOf(actualLine))) {
+				throw new IllegalStateException("The " + name + " differ at line " + (index + 1) + ": " + expectedLine + " != " + actualLine);
+			}
+		}
+	}
+
+	/**
+	 * Prints a line of the report.
+	 *
+	 * @param name : name of the format.
+	 * @param count : number of expressions.
+	 * @param bytes : size of the input.
+	 * @param elapsedNanos : elapsed time.
+	 *
+	 */
+	private static void report(final String name, final long count, final long bytes, final long elapsedNanos) {
+		System.out.printf("%-8s %,14.0f %10.1f%n", name, count * 1e9 / elapsedNanos, bytes * 1e3 / elapsedNanos);
+	}
+}
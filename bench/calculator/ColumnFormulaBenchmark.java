@@ -0,0 +1,156 @@
+package calculator;
+
+import java.util.Random;
+
+/**
+ * This benchmark compares applying a formula to a column of values with a {@link ColumnFormula}
+ * against evaluating it row by row with {@link CalculatorModel}, the value being written into
+ * the expression of every row. The results of both are checked to be the same first.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ColumnFormulaBenchmark {
+
+	private static final String[] FORMULAS = {"x * 1.2 + 5", "x * x - 3 * x / 2", "100 - x % 7 * 0.5", "x / 4"};
+	private static final String INTEGRAL_FORMULA = "x * 3 + 7 - x % 5";
+	private static final int ROWS = 1_000_000;
+	private static final int ROW_BY_ROW_ROWS = 100_000;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If a formula can't be compiled.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Initialization
+		final CalculatorModel model = new CalculatorModel();
+		final Random random = new Random(42);
+		final double[] doubleColumn = new double[ROWS];
+		final long[] longColumn = new long[ROWS];
+		for(int index = 0; index < ROWS; index++) {
+			doubleColumn[index] = (random.nextInt(200_000) - 100_000) / 100.0;
+			longColumn[index] = random.nextInt(2_000_000) - 1_000_000;
+		}
+		doubleColumn[1] = 0.0;
+
+		System.out.printf("%-22s %-8s %16s %16s %10s%n", "formula", "column", "row by row/s", "column rows/s", "speedup");
+		for(String formula : FORMULAS) {
+			final ColumnFormula columnFormula = model.compileColumnFormula(formula);
+			final double[] results = new double[ROWS];
+			verify(model, formula, columnFormula, doubleColumn, results);
+			report(formula, "double", measureRowByRow(model, formula, doubleColumn), measure(() -> columnFormula.evaluate(doubleColumn, results)));
+		}
+
+		// Evaluating an integral formula on long values
+		final ColumnFormula integralFormula = model.compileColumnFormula(INTEGRAL_FORMULA);
+		final long[] longResults = new long[ROWS];
+		integralFormula.evaluate(longColumn, longResults);
+		for(int index = 0; index < ROW_BY_ROW_ROWS; index++) {
+			final String expected = evaluate(model, INTEGRAL_FORMULA, Long.toString(longColumn[index]));
+			if(!expected.equals(Long.toString(longResults[index]))) {
+				throw new IllegalStateException(INTEGRAL_FORMULA + " for " + longColumn[index] + ": " + expected + " != " + longResults[index]);
+			}
+		}
+		final double[] rowByRow = new double[ROW_BY_ROW_ROWS];
+		for(int index = 0; index < rowByRow.length; index++)	rowByRow[index] = longColumn[index];
+		report(INTEGRAL_FORMULA, "long", measureRowByRow(model, INTEGRAL_FORMULA, rowByRow), measure(() -> integralFormula.evaluate(longColumn, longResults)));
+	}
+
+	/**
+	 * Checks the results of the column formula against the calculator.
+	 *
+	 * @param model : calculator model.
+	 * @param formula : text of the formula.
+	 * @param columnFormula : compiled formula.
+	 * @param column : values of the variable.
+	 * @param results : array the results are written into.
+	 *
+	 */
+	private static void verify(final CalculatorModel model, final String formula, final ColumnFormula columnFormula, final double[] column, final double[] results) {
+		columnFormula.evaluate(column, results);
+		for(int index = 0; index < ROW_BY_ROW_ROWS; index++) {
+			final String expected = evaluate(model, formula, Double.toString(column[index]));
+			final boolean isSame = expected.equals("ERROR")
+					? Double.isNaN(results[index])
+					: Double.parseDouble(expected) == results[index];
+			if(!isSame) {
+				throw new IllegalStateException(formula + " for " + column[index] + ": " + expected + " != " + results[index]);
+			}
+		}
+	}
+
+	/**
+	 * Measures the rows per second of the calculator evaluating every row.
+	 *
+	 * @param model : calculator model.
+	 * @param formula : text of the formula.
+	 * @param column : values of the variable.
+	 *
+	 * @return throughput[double] : rows per second.
+	 */
+	private static double measureRowByRow(final CalculatorModel model, final String formula, final double[] column) {
+		double best = 0;
+		for(int round = 0; round < ROUNDS; round++) {
+			final long start = System.nanoTime();
+			for(int index = 0; index < ROW_BY_ROW_ROWS; index++) {
+				BenchmarkSupport.blackhole += evaluate(model, formula, Double.toString(column[index])).length();
+			}
+			best = Math.max(best, ROW_BY_ROW_ROWS * 1e9 / (System.nanoTime() - start));
+		}
+		return best;
+	}
+
+	/**
+	 * Measures the rows per second of the column formula.
+	 *
+	 * @param evaluation : evaluation of the whole column.
+	 *
+	 * @return throughput[double] : rows per second.
+	 */
+	private static double measure(final Runnable evaluation) {
+		double best = 0;
+		for(int round = 0; round < ROUNDS * 4; round++) {
+			final long start = System.nanoTime();
+			evaluation.run();
+			best = Math.max(best, ROWS * 1e9 / (System.nanoTime() - start));
+		}
+		return best;
+	}
+
+	/**
+	 * Evaluates the formula for a single value with the calculator.
+	 *
+	 * @param model : calculator model.
+	 * @param formula : text of the formula.
+	 * @param value : text of the value.
+	 *
+	 * @return result[String] : displayed result, or "ERROR".
+	 */
+	private static String evaluate(final CalculatorModel model, final String formula, final String value) {
+		final StringBuilder result = new StringBuilder();
+		try {
+			model.evaluate(formula.replace("x", value), result);
+		} catch(InvaildOperatorException | RuntimeException exception) {
+			return "ERROR";
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Prints a line of the report.
+	 *
+	 * @param formula : text of the formula.
+	 * @param columnType : type of the column.
+	 * @param rowByRow : rows per second of the calculator.
+	 * @param column : rows per second of the column formula.
+	 *
+	 */
+	private static void report(final String formula, final String columnType, final double rowByRow, final double column) {
+		System.out.printf("%-22s %-8s %16.0f %16.0f %9.1fx%n", formula, columnType, rowByRow, column, column / rowByRow);
+	}
+}
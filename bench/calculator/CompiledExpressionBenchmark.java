@@ -0,0 +1,109 @@
+package calculator;
+
+/**
+ * This benchmark compares evaluating the same expressions again and again from their text
+ * with evaluating their {@link CompiledExpression}, after checking both give the same results.
+ *
+ * @version 1.0.0
+ *
+ */
+public class CompiledExpressionBenchmark {
+
+	private static final int FORMULA_COUNT = 1_000;
+	private static final int EVALUATIONS = 2_000_000;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If the generated expressions have an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Initialization
+		final ExpressionGenerator generator = new ExpressionGenerator(5, 0.3);
+		final CalculatorModel model = new CalculatorModel();
+		final String[] lines = new String[FORMULA_COUNT];
+		final CompiledExpression[] compiledExpressions = new CompiledExpression[FORMULA_COUNT];
+		for(int index = 0; index < FORMULA_COUNT; index++) {
+			lines[index] = generator.nextLine(2 + index % 12);
+			compiledExpressions[index] = model.compile(lines[index]);
+		}
+
+		// Verifying both the evaluations agree
+		final StringBuilder expected = new StringBuilder();
+		final StringBuilder actual = new StringBuilder();
+		for(int index = 0; index < FORMULA_COUNT; index++) {
+			evaluate(model, lines[index], expected);
+			evaluate(model, compiledExpressions[index], actual);
+			if(!expected.toString().equals(actual.toString())) {
+				throw new IllegalStateException(lines[index] + " = " + expected + ", but got " + actual + " from " + compiledExpressions[index]);
+			}
+		}
+
+		// Warming up, then measuring the last round
+		for(int round = 1; round <= ROUNDS; round++) {
+			final boolean measure = round == ROUNDS;
+
+			long allocated = BenchmarkSupport.allocatedBytes();
+			long start = System.nanoTime();
+			for(int index = 0; index < EVALUATIONS; index++) {
+				evaluate(model, lines[index % FORMULA_COUNT], actual);
+				BenchmarkSupport.blackhole += actual.length();
+			}
+			long elapsed = System.nanoTime() - start;
+			allocated = BenchmarkSupport.allocatedBytes() - allocated;
+			if(measure)	BenchmarkSupport.report("evaluate(line)", EVALUATIONS, elapsed, allocated);
+
+			allocated = BenchmarkSupport.allocatedBytes();
+			start = System.nanoTime();
+			for(int index = 0; index < EVALUATIONS; index++) {
+				evaluate(model, compiledExpressions[index % FORMULA_COUNT], actual);
+				BenchmarkSupport.blackhole += actual.length();
+			}
+			elapsed = System.nanoTime() - start;
+			allocated = BenchmarkSupport.allocatedBytes() - allocated;
+			if(measure)	BenchmarkSupport.report("evaluate(compiled)", EVALUATIONS, elapsed, allocated);
+		}
+	}
+
+	/**
+	 * Evaluates the line, writing "ERROR" or "INVALID" for a failed evaluation.
+	 *
+	 * @param model : model evaluating the line.
+	 * @param line : expression line.
+	 * @param result : StringBuilder the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static void evaluate(final CalculatorModel model, final String line, final StringBuilder result) throws InvaildOperatorException {
+		try {
+			model.evaluate(line, result);
+		} catch(ArithmeticException exception) {
+			CalculatorModel.replaceStringBuilderValue(result, BatchEvaluator.ERROR_RESULT);
+		} catch(NumberFormatException exception) {
+			CalculatorModel.replaceStringBuilderValue(result, BatchEvaluator.INVALID_RESULT);
+		}
+	}
+
+	/**
+	 * Evaluates the compiled expression, writing "ERROR" or "INVALID" for a failed evaluation.
+	 *
+	 * @param model : model evaluating the expression.
+	 * @param compiledExpression : compiled expression.
+	 * @param result : StringBuilder the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static void evaluate(final CalculatorModel model, final CompiledExpression compiledExpression, final StringBuilder result) throws InvaildOperatorException {
+		try {
+			model.evaluate(compiledExpression, result);
+		} catch(ArithmeticException exception) {
+			CalculatorModel.replaceStringBuilderValue(result, BatchEvaluator.ERROR_RESULT);
+		} catch(NumberFormatException exception) {
+			CalculatorModel.replaceStringBuilderValue(result, BatchEvaluator.INVALID_RESULT);
+		}
+	}
+}
@@ -0,0 +1,725 @@
+package calculator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This program checks that every evaluation path of the calculator gives the same result for the same
+ * expression, by running millions of random expressions through all of them: {@link ReferenceCalculatorModel},
+ * the original evaluation, then {@link CalculatorModel} through the keypad with and without the incremental
+ * evaluation, as a line, as a {@link CompiledExpression} and through the {@link ResultCache}, then the batches
+ * of {@link BinaryBatchEvaluator}, {@link MappedBatchEvaluator} and {@link ParallelBatchEvaluator}, and the
+ * {@link ColumnFormula} of the expression with its first operand as the variable. The {@link ExactArithmetic}
+ * has its own reference, a plain evaluation with BigDecimal, which its keypad and line paths are compared with.
+ * The expressions mix the edge cases of the arithmetic: long and double operands, overflows, zero divisors like
+ * "0.00", trailing decimal points, results rounded to two decimal places and results of 10^7 or more, displayed
+ * in scientific notation.
+ *
+ * <p>A failure is compared by its kind, "ERROR" for an ArithmeticException or the name of the exception, which
+ * the batches report as "INVALID" when it's a parse failure. A column formula gives a value instead of a displayed
+ * result, compared with the value of the other results, and only for the expressions it evaluates the way the
+ * calculator does: the integral ones, and the others whose operands keep every intermediate result small.
+ * The expressions with an operator the reference doesn't know, like "^", are only compared across the other
+ * paths. Every mismatch is minimized, removing operands and simplifying the remaining ones and the operators
+ * for as long as the same paths still disagree, and the distinct minimized expressions are reported with
+ * the result of every path. The expressions are split across a thread per processor, every thread having
+ * its own models and its own random seed, so a sweep is reproducible for a given seed and thread count.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class DifferentialFuzzer {
+
+	/**
+	 * This interface is an evaluation path, confined to a single thread, evaluating a batch of expressions.
+	 */
+	@FunctionalInterface
+	private interface Engine {
+
+		/**
+		 * Evaluates the expressions of a batch.
+		 *
+		 * @param tokens : alternating operands and operators of every expression.
+		 * @param lines : every expression, its tokens separated by a space.
+		 * @param results : array the result of every expression is written into: displayed result, "ERROR",
+		 * "INVALID" or the name of the exception, or null for an expression the path doesn't evaluate.
+		 *
+		 * @throws IOException If the streams of a batch can't be written or read.
+		 */
+		void evaluate(String[][] tokens, String[] lines, String[] results) throws IOException;
+	}
+
+	/**
+	 * This interface is an evaluation path evaluating an expression at a time.
+	 */
+	@FunctionalInterface
+	private interface ExpressionEngine {
+
+		/**
+		 * Evaluates an expression.
+		 *
+		 * @param tokens : alternating operands and operators.
+		 * @param line : the tokens separated by a space.
+		 *
+		 * @return result[String] : displayed result, "ERROR" or the name of the exception, or null if the path doesn't evaluate it.
+		 */
+		String evaluate(String[] tokens, String line);
+	}
+
+	/**
+	 * A minimized mismatch.
+	 *
+	 * @param expression : the minimized expression.
+	 * @param original : first expression it was minimized from.
+	 * @param results : result of every path for the minimized expression.
+	 * @param count : number of expressions minimized into it.
+	 */
+	private record Counterexample(String expression, String original, String[] results, long count) {
+	}
+
+	// Names of the evaluation paths, in the order of createEngines(), the paths of the exact arithmetic
+	// being compared with their own reference
+	private static final String[] ENGINE_NAMES = {"reference", "keypad", "incremental", "line", "compiled", "cached",
+			"binary batch", "mapped batch", "parallel batch", "column", "exact reference", "exact keypad", "exact line"};
+	private static final int EXACT_REFERENCE = 10;
+
+	private static final long EXPRESSION_COUNT = 2_000_000L;
+	private static final int BATCH_SIZE = 1_000;
+	private static final int PARALLEL_THREADS = 2;
+	private static final int CACHE_SIZE = 1_024;
+	private static final ExactArithmetic EXACT_ARITHMETIC = new ExactArithmetic(10, RoundingMode.HALF_EVEN);
+	private static final long DEFAULT_SEED = 42;
+	private static final int REPORTED_COUNTEREXAMPLES = 25;
+
+	// Operators of the keypad the reference knows, and the odds of any other registered operator
+	private static final List<String> REFERENCE_OPERATORS = List.of(ExpressionGenerator.OPERATORS);
+	private static final double OTHER_OPERATOR_PROBABILITY = 0.05;
+
+	// Operators whose results a column formula keeps within the product of the magnitudes of the operands,
+	// and the bound of that product below which every intermediate result is exact and displayed without
+	// the scientific notation, which a column formula doesn't have
+	private static final List<String> COLUMN_OPERATORS = List.of("+", "-", "*", "/", "%", "//");
+	private static final double COLUMN_MAGNITUDE_LIMIT = 1e7;
+
+	// Operands of the edge cases
+	private static final String[] EDGE_OPERANDS = {
+			"0", "-0", "00", "0.", "0.0", "0.00", "-0.000", "1", "-1", "5.", "007", "0.005", "0.015", "-0.005", "2.675",
+			"9999999", "10000000", "99999.99", "4503599627370496", "9223372036854775807", "-9223372036854775808",
+			"9223372036854775808", "123456789012345678901234"
+	};
+
+	/**
+	 * Runs the sweep.
+	 *
+	 * @param args: a String array object, optionally holding the number of expressions, of threads and the seed.
+	 *
+	 * @throws Exception If a thread fails.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		// Initialization
+		final long expressionCount = (args.length > 0) ? Long.parseLong(args[0]) : EXPRESSION_COUNT;
+		final int threadCount = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		final long seed = (args.length > 2) ? Long.parseLong(args[2]) : DEFAULT_SEED;
+		System.out.printf("%,d expressions on %d thread(s), seed %d, paths: %s%n", expressionCount, threadCount, seed, String.join(", ", ENGINE_NAMES));
+
+		// Sweeping, a share of the expressions per thread
+		final long start = System.nanoTime();
+		final Map<String, Counterexample> counterexamples = new LinkedHashMap<>();
+		long mismatches = 0;
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			final List<Future<Map<String, Counterexample>>> futures = new ArrayList<>();
+			for(int thread = 0; thread < threadCount; thread++) {
+				final long share = expressionCount / threadCount + ((thread < expressionCount % threadCount) ? 1 : 0);
+				final long threadSeed = seed * 31 + thread;
+				futures.add(executor.submit(() -> sweep(share, new Random(threadSeed))));
+			}
+			for(Future<Map<String, Counterexample>> future : futures) {
+				for(Counterexample counterexample : future.get().values()) {
+					mismatches += counterexample.count();
+					counterexamples.merge(counterexample.expression(), counterexample, (first, second) ->
+							new Counterexample(first.expression(), first.original(), first.results(), first.count() + second.count()));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		final long elapsed = System.nanoTime() - start;
+		System.out.printf("%,d expressions in %.1f s (%,.0f expressions/s), %,d mismatches minimized into %,d counterexamples%n",
+				expressionCount, elapsed / 1e9, expressionCount * 1e9 / elapsed, mismatches, counterexamples.size());
+
+		// Reporting the most frequent counterexamples first
+		final List<Counterexample> sorted = new ArrayList<>(counterexamples.values());
+		sorted.sort((first, second) -> Long.compare(second.count(), first.count()));
+		for(Counterexample counterexample : sorted.subList(0, Math.min(REPORTED_COUNTEREXAMPLES, sorted.size()))) {
+			System.out.printf("%n%s   (%,d times, first from %s)%n", counterexample.expression(), counterexample.count(), counterexample.original());
+			for(int engine = 0; engine < ENGINE_NAMES.length; engine++) {
+				if(counterexample.results()[engine] != null)	System.out.printf("  %-12s %s%n", ENGINE_NAMES[engine], counterexample.results()[engine]);
+			}
+		}
+		if(!counterexamples.isEmpty()) {
+			throw new IllegalStateException(counterexamples.size() + " counterexample(s) found");
+		}
+	}
+
+	/**
+	 * Evaluates random expressions through every path, minimizing the mismatches.
+	 *
+	 * @param count : number of expressions.
+	 * @param random : source of the expressions.
+	 *
+	 * @return counterexamples[Map&lt;String, Counterexample&gt;] : the minimized mismatches, by minimized expression.
+	 */
+	private static Map<String, Counterexample> sweep(final long count, final Random random) throws IOException {
+		final Path batchFile = Files.createTempFile("differential-fuzzer", ".txt");
+		try(ParallelBatchEvaluator parallelEvaluator = new ParallelBatchEvaluator(PARALLEL_THREADS)) {
+			final Engine[] engines = createEngines(batchFile, parallelEvaluator);
+			final Map<String, Counterexample> counterexamples = new LinkedHashMap<>();
+			final String[][] results = new String[engines.length][];
+			for(long done = 0; done < count; done += BATCH_SIZE) {
+				final String[][] batch = new String[(int)Math.min(BATCH_SIZE, count - done)][];
+				for(int expression = 0; expression < batch.length; expression++) {
+					batch[expression] = nextExpression(random);
+				}
+				evaluate(engines, batch, results);
+				for(int expression = 0; expression < batch.length; expression++) {
+					if(firstMismatch(results, expression) < 0)	continue;
+
+					// Minimizing the mismatch, the first expression found being kept along with it
+					final String[] minimized = minimize(engines, batch[expression], results, expression);
+					final String key = String.join(" ", minimized);
+					final Counterexample existing = counterexamples.get(key);
+					if(existing == null) {
+						final String[][] minimizedResults = new String[engines.length][];
+						evaluate(engines, new String[][] {minimized}, minimizedResults);
+						final String[] resultsByEngine = new String[engines.length];
+						for(int engine = 0; engine < engines.length; engine++) {
+							resultsByEngine[engine] = minimizedResults[engine][0];
+						}
+						counterexamples.put(key, new Counterexample(key, String.join(" ", batch[expression]), resultsByEngine, 1));
+					} else {
+						counterexamples.put(key, new Counterexample(key, existing.original(), existing.results(), existing.count() + 1));
+					}
+				}
+			}
+			return counterexamples;
+		} finally {
+			Files.deleteIfExists(batchFile);
+		}
+	}
+
+	/**
+	 * Evaluates a batch of expressions through every path.
+	 *
+	 * @param engines : the paths.
+	 * @param tokens : alternating operands and operators of every expression.
+	 * @param results : array the results of every path are put into, by path and expression.
+	 *
+	 * @throws IOException If the streams of a batch can't be written or read.
+	 */
+	private static void evaluate(final Engine[] engines, final String[][] tokens, final String[][] results) throws IOException {
+		final String[] lines = new String[tokens.length];
+		for(int expression = 0; expression < tokens.length; expression++) {
+			lines[expression] = String.join(" ", tokens[expression]);
+		}
+		for(int engine = 0; engine < engines.length; engine++) {
+			results[engine] = new String[tokens.length];
+			engines[engine].evaluate(tokens, lines, results[engine]);
+		}
+	}
+
+	/**
+	 * Returns the first path disagreeing with the path it's compared with, the previous one evaluating the
+	 * expression with the same arithmetic.
+	 *
+	 * @param results : results of every path, by path and expression.
+	 * @param expression : index of the expression in the batch.
+	 *
+	 * @return index[int] : first path disagreeing, or -1 if they all agree.
+	 */
+	private static int firstMismatch(final String[][] results, final int expression) {
+		for(int engine = 1; engine < results.length; engine++) {
+			final int previous = previousEngine(results, engine, expression);
+			if(previous >= 0 && results[engine][expression] != null && !isSameOutcome(results[previous][expression], results[engine][expression])) {
+				return engine;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the path a path is compared with: the closest one before it that evaluated the expression
+	 * with the same arithmetic.
+	 *
+	 * @param results : results of every path, by path and expression.
+	 * @param engine : index of the path.
+	 * @param expression : index of the expression in the batch.
+	 *
+	 * @return index[int] : index of the path, or -1 if there's none.
+	 */
+	private static int previousEngine(final String[][] results, final int engine, final int expression) {
+		final int first = (engine >= EXACT_REFERENCE) ? EXACT_REFERENCE : 0;
+		for(int previous = engine - 1; previous >= first; previous--) {
+			if(results[previous][expression] != null)	return previous;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns true if two results are the same outcome: the same text, a parse failure reported as "INVALID"
+	 * by a batch, or the value of a column formula, prefixed with "~", equal to the value of a displayed result.
+	 *
+	 * @param first : a result.
+	 * @param second : another result.
+	 *
+	 * @return [boolean]: returns true for the same outcome.
+	 */
+	private static boolean isSameOutcome(final String first, final String second) {
+		if(first.equals(second))	return true;
+
+		// A parse failure reported by a batch
+		if(first.equals(BatchEvaluator.INVALID_RESULT) || second.equals(BatchEvaluator.INVALID_RESULT)) {
+			final String failure = first.equals(BatchEvaluator.INVALID_RESULT) ? second : first;
+			return failure.equals("InvaildOperatorException") || failure.equals("NumberFormatException");
+		}
+
+		// The value of a column formula
+		if(first.startsWith("~") || second.startsWith("~")) {
+			final double value = Double.parseDouble(first.startsWith("~") ? first.substring(1) : second.substring(1));
+			try {
+				return Double.parseDouble(first.startsWith("~") ? second : first) == value;
+			} catch(NumberFormatException exception) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Minimizes a mismatch, removing operands and simplifying the remaining operands and operators
+	 * as long as the same two paths still disagree.
+	 *
+	 * @param engines : the paths.
+	 * @param tokens : expression whose paths disagree.
+	 * @param results : results of every path for the batch of the expression.
+	 * @param expression : index of the expression in the batch.
+	 *
+	 * @return minimized[String[]] : the minimized expression.
+	 *
+	 * @throws IOException If the streams of a batch can't be written or read.
+	 */
+	private static String[] minimize(final Engine[] engines, final String[] tokens, final String[][] results, final int expression) throws IOException {
+
+		// The two paths that disagree
+		final int second = firstMismatch(results, expression);
+		final int first = previousEngine(results, second, expression);
+
+		String[] minimized = tokens;
+		final String[][] candidateResults = new String[engines.length][];
+		boolean isReduced = true;
+		while(isReduced) {
+			isReduced = false;
+			for(String[] candidate : simplifications(minimized)) {
+				evaluate(engines, new String[][] {candidate}, candidateResults);
+				final String firstResult = candidateResults[first][0];
+				final String secondResult = candidateResults[second][0];
+				if(firstResult != null && secondResult != null && !isSameOutcome(firstResult, secondResult)) {
+					minimized = candidate;
+					isReduced = true;
+					break;
+				}
+			}
+		}
+		return minimized;
+	}
+
+	/**
+	 * Returns the simpler variants of an expression, the shorter ones first.
+	 *
+	 * @param tokens : alternating operands and operators.
+	 *
+	 * @return variants[List&lt;String[]&gt;] : the variants.
+	 */
+	private static List<String[]> simplifications(final String[] tokens) {
+		final List<String[]> variants = new ArrayList<>();
+
+		// Removing an operand along with an operator next to it
+		for(int index = 0; index < tokens.length && tokens.length > 1; index += 2) {
+			final String[] variant = new String[tokens.length - 2];
+			final int removed = (index == 0) ? 0 : index - 1;
+			System.arraycopy(tokens, 0, variant, 0, removed);
+			System.arraycopy(tokens, removed + 2, variant, removed, tokens.length - removed - 2);
+			variants.add(variant);
+		}
+
+		// Simplifying an operand: a smaller value, fewer digits, no decimal places, no sign, smaller digits
+		for(int index = 0; index < tokens.length; index += 2) {
+			final String operand = tokens[index];
+			final List<String> simpler = new ArrayList<>(List.of("0", "1", "2"));
+			if(operand.startsWith("-"))	simpler.add(operand.substring(1));
+			if(operand.indexOf('.') >= 0)	simpler.add(operand.substring(0, operand.indexOf('.')));
+			if(operand.length() > 1)	simpler.add(operand.substring(0, operand.length() - 1));
+			if(operand.length() > 2)	simpler.add(operand.charAt(0) + operand.substring(2));
+			for(int position = 0; position < operand.length(); position++) {
+				final char digit = operand.charAt(position);
+				if(digit > '1' && digit <= '9')	simpler.add(operand.substring(0, position) + '1' + operand.substring(position + 1));
+				if(digit == '1')	simpler.add(operand.substring(0, position) + '0' + operand.substring(position + 1));
+			}
+			for(String value : simpler) {
+				final boolean isSimpler = value.length() < operand.length() || (value.length() == operand.length() && value.compareTo(operand) < 0);
+				if(isSimpler && !value.isEmpty() && CalculatorModel.isNumericValue(value, false)) {
+					final String[] variant = tokens.clone();
+					variant[index] = value;
+					variants.add(variant);
+				}
+			}
+		}
+
+		// Simplifying an operator, "+" being the simplest one and the operators unknown to the reference the least simple
+		for(int index = 1; index < tokens.length; index += 2) {
+			final int rank = REFERENCE_OPERATORS.contains(tokens[index]) ? REFERENCE_OPERATORS.indexOf(tokens[index]) : REFERENCE_OPERATORS.size();
+			for(String operator : REFERENCE_OPERATORS.subList(0, rank)) {
+				final String[] variant = tokens.clone();
+				variant[index] = operator;
+				variants.add(variant);
+			}
+		}
+		return variants;
+	}
+
+	/**
+	 * Generates a random expression, mostly short, with operands of every kind.
+	 *
+	 * @param random : source of the expression.
+	 *
+	 * @return tokens[String[]] : alternating operands and operators.
+	 */
+	private static String[] nextExpression(final Random random) {
+		final int operandCount = (random.nextInt(8) == 0) ? 1 + random.nextInt(30) : 1 + random.nextInt(5);
+		final String[] tokens = new String[operandCount * 2 - 1];
+		final List<Operator> operators = OperatorRegistry.getOperators();
+		for(int index = 0; index < tokens.length; index++) {
+			if(index % 2 == 0) {
+				tokens[index] = nextOperand(random);
+			} else if(random.nextDouble() < OTHER_OPERATOR_PROBABILITY) {
+				tokens[index] = operators.get(random.nextInt(operators.size())).getSymbol();
+			} else {
+				tokens[index] = ExpressionGenerator.OPERATORS[random.nextInt(ExpressionGenerator.OPERATORS.length)];
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Generates a random operand: a small or a large long value, a decimal value with up to four
+	 * decimal places, or one of the edge cases.
+	 *
+	 * @param random : source of the operand.
+	 *
+	 * @return operand[String] : the operand, as entered through the keypad.
+	 */
+	private static String nextOperand(final Random random) {
+		final String sign = random.nextBoolean() ? "-" : "";
+		return switch(random.nextInt(8)) {
+			case 0, 1 -> sign + random.nextInt(10);
+			case 2 -> sign + random.nextInt(1_000);
+			case 3 -> sign + Math.abs(random.nextLong() / (long)Math.pow(10, random.nextInt(19)));
+			case 4, 5 -> {
+				final StringBuilder decimals = new StringBuilder();
+				for(int place = random.nextInt(5); place > 0; place--)	decimals.append(random.nextInt(10));
+				yield sign + random.nextInt(1_000) + "." + decimals;
+			}
+			default -> EDGE_OPERANDS[random.nextInt(EDGE_OPERANDS.length)];
+		};
+	}
+
+	/**
+	 * Creates the paths of a thread, in the order of {@link #ENGINE_NAMES}.
+	 *
+	 * @param batchFile : file the batches of the mapped path are written into.
+	 * @param parallelEvaluator : evaluator of the parallel path.
+	 *
+	 * @return engines[Engine[]] : the paths.
+	 */
+	private static Engine[] createEngines(final Path batchFile, final ParallelBatchEvaluator parallelEvaluator) {
+		final ReferenceCalculatorModel reference = new ReferenceCalculatorModel();
+		final CalculatorModel keypadModel = new CalculatorModel();
+		final CalculatorModel incrementalModel = new CalculatorModel();
+		incrementalModel.setIncrementalEvaluation(true);
+		final CalculatorModel lineModel = new CalculatorModel();
+		final CalculatorModel cachedModel = new CalculatorModel();
+		cachedModel.enableResultCache(CACHE_SIZE);
+		final CalculatorModel exactModel = new CalculatorModel();
+		exactModel.setExactArithmetic(EXACT_ARITHMETIC);
+		final BinaryBatchEvaluator binaryEvaluator = new BinaryBatchEvaluator();
+		final MappedBatchEvaluator mappedEvaluator = new MappedBatchEvaluator();
+		final StringBuilder text = new StringBuilder();
+		return new Engine[] {
+				perExpression((tokens, line) -> isReferenceExpression(tokens) ? EvaluationBenchmark.evaluate(reference, tokens, text) : null),
+				perExpression((tokens, line) -> outcomeOf(() -> EvaluationBenchmark.evaluate(keypadModel, tokens, text))),
+				perExpression((tokens, line) -> outcomeOf(() -> EvaluationBenchmark.evaluate(incrementalModel, tokens, text))),
+				perExpression((tokens, line) -> outcomeOf(() -> {
+					lineModel.evaluate(line, text);
+					return text.toString();
+				})),
+				perExpression((tokens, line) -> outcomeOf(() -> {
+					lineModel.evaluate(lineModel.compile(line), text);
+					return text.toString();
+				})),
+
+				// Looking the expression up again with other spaces, which the cache finds under the same key
+				perExpression((tokens, line) -> {
+					final String missed = outcomeOf(() -> {
+						cachedModel.evaluate(line, text);
+						return text.toString();
+					});
+					final String found = outcomeOf(() -> {
+						cachedModel.evaluate(line.replace(" ", "  "), text);
+						return text.toString();
+					});
+					return missed.equals(found) ? found : missed + ", then " + found;
+				}),
+				(tokens, lines, results) -> {
+					final ByteArrayOutputStream expressions = new ByteArrayOutputStream();
+					BinaryBatchEvaluator.expressionsToBinary(new StringReader(String.join("\n", lines)), expressions);
+					final ByteArrayOutputStream binaryResults = new ByteArrayOutputStream();
+					binaryEvaluator.evaluate(new ByteArrayInputStream(expressions.toByteArray()), binaryResults);
+					final StringWriter output = new StringWriter();
+					BinaryBatchEvaluator.resultsToText(new ByteArrayInputStream(binaryResults.toByteArray()), output);
+					splitResults(output.toString(), results);
+				},
+				(tokens, lines, results) -> {
+					Files.writeString(batchFile, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+					final ByteArrayOutputStream output = new ByteArrayOutputStream();
+					mappedEvaluator.evaluate(batchFile, Channels.newChannel(output));
+					splitResults(output.toString(StandardCharsets.UTF_8), results);
+				},
+				(tokens, lines, results) -> {
+					final StringWriter output = new StringWriter();
+					parallelEvaluator.evaluate(new StringReader(String.join("\n", lines)), output);
+					splitResults(output.toString(), results);
+				},
+				perExpression((tokens, line) -> evaluateColumn(lineModel, tokens, line)),
+				perExpression((tokens, line) -> outcomeOf(() -> evaluateExactly(tokens))),
+				perExpression((tokens, line) -> outcomeOf(() -> EvaluationBenchmark.evaluate(exactModel, tokens, text))),
+				perExpression((tokens, line) -> outcomeOf(() -> {
+					exactModel.evaluate(line, text);
+					return text.toString();
+				}))
+		};
+	}
+
+	/**
+	 * Returns a path evaluating the expressions of a batch one at a time.
+	 *
+	 * @param engine : path evaluating an expression.
+	 *
+	 * @return engine[Engine] : path evaluating a batch.
+	 */
+	private static Engine perExpression(final ExpressionEngine engine) {
+		return (tokens, lines, results) -> {
+			for(int expression = 0; expression < tokens.length; expression++) {
+				results[expression] = engine.evaluate(tokens[expression], lines[expression]);
+			}
+		};
+	}
+
+	/**
+	 * Splits the output of a batch into the result of every expression.
+	 *
+	 * @param output : one result line per expression.
+	 * @param results : array the results are written into.
+	 *
+	 */
+	private static void splitResults(final String output, final String[] results) {
+		final String[] lines = output.split("\n", -1);
+		if(lines.length != results.length + 1 || !lines[results.length].isEmpty()) {
+			throw new IllegalStateException("A batch of " + results.length + " expressions gave " + (lines.length - 1) + " results");
+		}
+		System.arraycopy(lines, 0, results, 0, results.length);
+	}
+
+	/**
+	 * Returns true if the reference knows every operator of an expression.
+	 *
+	 * @param tokens : alternating operands and operators.
+	 *
+	 * @return [boolean]: returns true for an expression the reference evaluates.
+	 */
+	private static boolean isReferenceExpression(final String[] tokens) {
+		for(int index = 1; index < tokens.length; index += 2) {
+			if(!REFERENCE_OPERATORS.contains(tokens[index]))	return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Evaluates the column formula of an expression, its first operand being the variable "x", when it's
+	 * evaluated the way the calculator does: an integral formula on a long value, the other formulas only
+	 * when the operands keep every intermediate result below 10^7, small enough to be exact and displayed
+	 * without the scientific notation, and without a zero remainder divisor or a "-0" divisor (both NaN in
+	 * a column formula, while the calculator gives 0.0 for the first and only fails on a positive zero).
+	 *
+	 * @param model : model compiling the formula.
+	 * @param tokens : alternating operands and operators.
+	 * @param line : the tokens separated by a space.
+	 *
+	 * @return result[String] : result of an integral formula, or "~" followed by the value of the other formulas,
+	 * "ERROR" for a division by zero or the name of the exception, or null if the formula isn't evaluated.
+	 */
+	private static String evaluateColumn(final CalculatorModel model, final String[] tokens, final String line) {
+
+		// A single value is displayed as it was entered, not evaluated
+		if(tokens.length == 1)	return null;
+
+		// Compiling the formula
+		final ColumnFormula formula;
+		try {
+			formula = model.compileColumnFormula(ColumnFormula.VARIABLE_NAME + line.substring(tokens[0].length()));
+		} catch(InvaildOperatorException | NumberFormatException exception) {
+			return exception.getClass().getSimpleName();
+		}
+
+		// Evaluating an integral formula on long values
+		if(formula.isIntegral() && tokens[0].indexOf('.') < 0) {
+			final long[] results = new long[1];
+			try {
+				formula.evaluate(new long[] {Long.parseLong(tokens[0])}, results);
+			} catch(NumberFormatException exception) {
+				return null;
+			} catch(ArithmeticException exception) {
+				return "ERROR";
+			}
+			return Long.toString(results[0]);
+		}
+
+		// Evaluating the other formulas on double values, as long as every intermediate result stays exact
+		double magnitude = 1;
+		for(int index = 0; index < tokens.length; index += 2) {
+			final double value = Double.parseDouble(tokens[index]);
+			if(index > 0 && !COLUMN_OPERATORS.contains(tokens[index - 1]))	return null;
+			if(index > 0 && (Double.doubleToRawLongBits(value) == Long.MIN_VALUE || (value == 0 && tokens[index - 1].equals("%"))))	return null;
+			final double absolute = Math.abs(value);
+			magnitude *= 2 * ((absolute == 0) ? 1 : Math.max(1, Math.max(absolute, 1 / absolute)));
+		}
+		if(magnitude >= COLUMN_MAGNITUDE_LIMIT)	return null;
+		final double[] results = new double[1];
+		formula.evaluate(new double[] {Double.parseDouble(tokens[0])}, results);
+		return Double.isNaN(results[0]) ? "ERROR" : "~" + results[0];
+	}
+
+	/**
+	 * Evaluates an expression with BigDecimal values, the reference of the exact arithmetic: every
+	 * operation is performed exactly by precedence, except the division rounded to the scale of the
+	 * arithmetic and the registered operators, then rounded to the scale when it has more decimal places.
+	 *
+	 * @param tokens : alternating operands and operators.
+	 *
+	 * @return result[String] : the result without any exponent or trailing zero, or the single operand as entered.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static String evaluateExactly(final String[] tokens) throws InvaildOperatorException {
+		if(tokens.length == 1)	return tokens[0];
+
+		// Performing every operation that comes before the next operator
+		final Deque<BigDecimal> values = new ArrayDeque<>();
+		final Deque<Operator> operators = new ArrayDeque<>();
+		values.push(new BigDecimal(tokens[0]));
+		for(int index = 1; index < tokens.length; index += 2) {
+			final Operator operator = OperatorRegistry.forSymbol(tokens[index]);
+			if(operator == null) {
+				throw new InvaildOperatorException();
+			}
+			while(!operators.isEmpty() && (operators.peek().getPrecedence() > operator.getPrecedence()
+					|| (operators.peek().getPrecedence() == operator.getPrecedence() && operator.getAssociativity() == Operator.Associativity.LEFT))) {
+				applyExactly(operators.pop(), values);
+			}
+			operators.push(operator);
+			values.push(new BigDecimal(tokens[index + 1]));
+		}
+		while(!operators.isEmpty()) {
+			applyExactly(operators.pop(), values);
+		}
+		final BigDecimal result = values.pop();
+		return (result.signum() == 0) ? "0" : result.stripTrailingZeros().toPlainString();
+	}
+
+	/**
+	 * Applies an operator on the top two values of a stack of BigDecimal values.
+	 *
+	 * @param operator : the operator.
+	 * @param values : the stack.
+	 *
+	 */
+	private static void applyExactly(final Operator operator, final Deque<BigDecimal> values) {
+		final BigDecimal operand2 = values.pop();
+		final BigDecimal operand1 = values.pop();
+		if((operator.isDivision() || operator.getSymbol().equals("%")) && operand2.signum() == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		final BigDecimal result = switch(operator.getSymbol()) {
+			case "+" -> operand1.add(operand2);
+			case "-" -> operand1.subtract(operand2);
+			case "*" -> operand1.multiply(operand2);
+			case "/" -> operand1.divide(operand2, EXACT_ARITHMETIC.getScale(), EXACT_ARITHMETIC.getRoundingMode());
+			case "%" -> operand1.remainder(operand2);
+			case "//" -> operand1.divide(operand2, 0, RoundingMode.FLOOR);
+			default -> operator.applyExact(operand1, operand2, EXACT_ARITHMETIC);
+		};
+		values.push((result.scale() > EXACT_ARITHMETIC.getScale()) ? result.setScale(EXACT_ARITHMETIC.getScale(), EXACT_ARITHMETIC.getRoundingMode()) : result);
+	}
+
+	/**
+	 * This interface is an evaluation that may fail.
+	 */
+	@FunctionalInterface
+	private interface Evaluation {
+
+		/**
+		 * Evaluates an expression.
+		 *
+		 * @return result[String] : displayed result.
+		 *
+		 * @throws InvaildOperatorException If the expression has an unknown operator.
+		 */
+		String run() throws InvaildOperatorException;
+	}
+
+	/**
+	 * Returns the result of an evaluation, or the kind of its failure.
+	 *
+	 * @param evaluation : the evaluation.
+	 *
+	 * @return result[String] : displayed result, "ERROR" for an ArithmeticException or the name of the exception.
+	 */
+	private static String outcomeOf(final Evaluation evaluation) {
+		try {
+			return evaluation.run();
+		} catch(ArithmeticException exception) {
+			return "ERROR";
+		} catch(InvaildOperatorException | RuntimeException exception) {
+			return exception.getClass().getSimpleName();
+		}
+	}
+}
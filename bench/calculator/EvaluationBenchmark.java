@@ -0,0 +1,131 @@
+package calculator;
+
+/**
+ * This benchmark compares the evaluation of {@link CalculatorModel} with the original
+ * String based evaluation of {@link ReferenceCalculatorModel}, reporting time and
+ * allocation per evaluated expression. Both are driven through handleOperation()
+ * with the same expressions, and their results are checked to be identical.
+ *
+ * @version 1.0.0
+ *
+ */
+public class EvaluationBenchmark {
+
+	private static final int EXPRESSION_COUNT = 20_000;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If the generated expressions have an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+		run("short long", new ExpressionGenerator(1, 0.0), 3);
+		run("long long", new ExpressionGenerator(2, 0.0), 40);
+		run("long mixed long/double", new ExpressionGenerator(3, 0.5), 40);
+	}
+
+	/**
+	 * Runs both the evaluations over the generated expressions and reports them.
+	 *
+	 * @param name : name of the case.
+	 * @param generator : generator of the expressions.
+	 * @param operandCount : operands per expression.
+	 *
+	 * @throws InvaildOperatorException If the generated expressions have an unknown operator.
+	 */
+	private static void run(final String name, final ExpressionGenerator generator, final int operandCount) throws InvaildOperatorException {
+
+		// Initialization
+		final String[][] expressions = new String[EXPRESSION_COUNT][];
+		for(int index = 0; index < EXPRESSION_COUNT; index++) {
+			expressions[index] = generator.nextExpression(operandCount);
+		}
+		final CalculatorModel model = new CalculatorModel();
+		final ReferenceCalculatorModel reference = new ReferenceCalculatorModel();
+		final StringBuilder text = new StringBuilder();
+
+		// Verifying both the evaluations agree
+		for(String[] tokens : expressions) {
+			final String expected = evaluate(reference, tokens, text);
+			final String actual = evaluate(model, tokens, text);
+			if(!expected.equals(actual)) {
+				throw new IllegalStateException(String.join(" ", tokens) + " = " + expected + ", but got " + actual);
+			}
+		}
+
+		// Warming up, then measuring the last round
+		for(int round = 1; round <= ROUNDS; round++) {
+			final boolean measure = round == ROUNDS;
+
+			long allocated = BenchmarkSupport.allocatedBytes();
+			long start = System.nanoTime();
+			for(String[] tokens : expressions)	BenchmarkSupport.blackhole += evaluate(reference, tokens, text).length();
+			long elapsed = System.nanoTime() - start;
+			allocated = BenchmarkSupport.allocatedBytes() - allocated;
+			if(measure)	BenchmarkSupport.report(name + ": reference", EXPRESSION_COUNT, elapsed, allocated);
+
+			allocated = BenchmarkSupport.allocatedBytes();
+			start = System.nanoTime();
+			for(String[] tokens : expressions)	BenchmarkSupport.blackhole += evaluate(model, tokens, text).length();
+			elapsed = System.nanoTime() - start;
+			allocated = BenchmarkSupport.allocatedBytes() - allocated;
+			if(measure)	BenchmarkSupport.report(name + ": CalculatorModel", EXPRESSION_COUNT, elapsed, allocated);
+		}
+	}
+
+	/**
+	 * Enters the tokens into the model and presses "=".
+	 *
+	 * @param model : model evaluating the expression.
+	 * @param tokens : alternating operands and operators.
+	 * @param text : StringBuilder acting as the text field.
+	 *
+	 * @return result[String] : displayed result, "ERROR" or the name of the unexpected exception.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	static String evaluate(final CalculatorModel model, final String[] tokens, final StringBuilder text) throws InvaildOperatorException {
+		try {
+			for(int index = 0; index < tokens.length; index += 2) {
+				CalculatorModel.replaceStringBuilderValue(text, tokens[index]);
+				model.handleOperation(index + 1 < tokens.length ? tokens[index + 1] : "=", text);
+			}
+		} catch(ArithmeticException exception) {
+			model.handleOperation("C", text.append('C'));
+			return "ERROR";
+		} catch(RuntimeException exception) {
+			model.handleOperation("C", text.append('C'));
+			return exception.getClass().getSimpleName();
+		}
+		model.hasDisplayedResult();
+		return text.toString();
+	}
+
+	/**
+	 * Enters the tokens into the reference model and presses "=".
+	 *
+	 * @param reference : reference model evaluating the expression.
+	 * @param tokens : alternating operands and operators.
+	 * @param text : StringBuilder acting as the text field.
+	 *
+	 * @return result[String] : displayed result, "ERROR" or the name of the unexpected exception.
+	 */
+	static String evaluate(final ReferenceCalculatorModel reference, final String[] tokens, final StringBuilder text) {
+		try {
+			for(int index = 0; index < tokens.length; index += 2) {
+				CalculatorModel.replaceStringBuilderValue(text, tokens[index]);
+				reference.handleOperation(index + 1 < tokens.length ? tokens[index + 1] : "=", text);
+			}
+		} catch(ArithmeticException exception) {
+			reference.clear();
+			return "ERROR";
+		} catch(RuntimeException exception) {
+			reference.clear();
+			return exception.getClass().getSimpleName();
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,70 @@
+package calculator;
+
+import java.util.Random;
+
+/**
+ * This class generates random expressions, as the alternating operands and operators
+ * that would be entered through the keypad.
+ *
+ * @version 1.0.0
+ *
+ */
+final class ExpressionGenerator {
+
+	// Operators of the keypad
+	static final String[] OPERATORS = {"+", "-", "*", "/", "%"};
+
+	private final Random random;
+	private final double decimalProbability;
+
+	/**
+	 * Constructs a new ExpressionGenerator instance.
+	 *
+	 * @param seed : seed of the random values.
+	 * @param decimalProbability : probability of an operand being a decimal value.
+	 *
+	 */
+	ExpressionGenerator(final long seed, final double decimalProbability) {
+		this.random = new Random(seed);
+		this.decimalProbability = decimalProbability;
+	}
+
+	/**
+	 * Generates an expression with the given number of operands.
+	 *
+	 * @param operandCount : number of operands.
+	 *
+	 * @return tokens[String[]] : alternating operands and operators.
+	 */
+	String[] nextExpression(final int operandCount) {
+		final String[] tokens = new String[operandCount * 2 - 1];
+		for(int index = 0; index < tokens.length; index++) {
+			tokens[index] = (index % 2 == 0) ? this.nextOperand() : OPERATORS[this.random.nextInt(OPERATORS.length)];
+		}
+		return tokens;
+	}
+
+	/**
+	 * Generates an expression as a single line, with the tokens separated by a space.
+	 *
+	 * @param operandCount : number of operands.
+	 *
+	 * @return line[String] : expression line.
+	 */
+	String nextLine(final int operandCount) {
+		return String.join(" ", this.nextExpression(operandCount));
+	}
+
+	/**
+	 * Generates an operand, either a long or a decimal value with up to two decimal places.
+	 *
+	 * @return operand[String] : String value of the operand.
+	 */
+	String nextOperand() {
+		final int value = this.random.nextInt(2000) - 1000;
+		if(this.random.nextDouble() < this.decimalProbability) {
+			return (value / (this.random.nextBoolean() ? 10.0 : 100.0)) + "";
+		}
+		return Integer.toString(value);
+	}
+}
@@ -0,0 +1,111 @@
+package calculator;
+
+/**
+ * This benchmark checks that pressing "=" takes time linear in the length of the expression,
+ * from 10 to 1,000,000 tokens. The expression is entered through handleOperation() beforehand,
+ * so only the evaluation is measured, and the best of several runs is kept for every length.
+ * It fails if the time per token of the longest expression is more than {@link #MAXIMUM_GROWTH}
+ * times the time per token at 1,000 tokens, which an evaluation quadratic in the length
+ * (like the original one reading a LinkedList by index) can't meet.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ExpressionScalingBenchmark {
+
+	private static final int[] TOKEN_COUNTS = {11, 101, 1_001, 10_001, 100_001, 1_000_001};
+	private static final int REFERENCE_LIMIT = 10_001;
+	private static final int BASE_TOKEN_COUNT = 1_001;
+	private static final double MAXIMUM_GROWTH = 4.0;
+	private static final String[] OPERATORS = {"+", "*", "-", "%"};
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Initialization
+		final CalculatorModel model = new CalculatorModel();
+		final ReferenceCalculatorModel reference = new ReferenceCalculatorModel();
+		final StringBuilder text = new StringBuilder();
+		double baseNanosPerToken = 0;
+		double worstGrowth = 0;
+
+		System.out.printf("%10s %14s %12s %16s%n", "tokens", "ns", "ns/token", "reference ns");
+		for(int tokenCount : TOKEN_COUNTS) {
+			final int runs = Math.max(3, 2_000_000 / tokenCount);
+			String result = null;
+			long best = Long.MAX_VALUE;
+			for(int run = 0; run < runs; run++) {
+				enter(model, tokenCount, text);
+				final long start = System.nanoTime();
+				model.handleOperation("=", text);
+				best = Math.min(best, System.nanoTime() - start);
+				model.hasDisplayedResult();
+				result = text.toString();
+			}
+
+			// Comparing with the original evaluation, as long as it's bearable
+			long referenceBest = -1;
+			if(tokenCount <= REFERENCE_LIMIT) {
+				referenceBest = Long.MAX_VALUE;
+				for(int run = 0; run < Math.max(3, runs / 10); run++) {
+					enter(reference, tokenCount, text);
+					final long start = System.nanoTime();
+					reference.handleOperation("=", text);
+					referenceBest = Math.min(referenceBest, System.nanoTime() - start);
+				}
+				if(!text.toString().equals(result)) {
+					throw new IllegalStateException(tokenCount + " tokens = " + text + ", but got " + result);
+				}
+			}
+
+			final double nanosPerToken = (double)best / tokenCount;
+			if(tokenCount == BASE_TOKEN_COUNT)	baseNanosPerToken = nanosPerToken;
+			if(tokenCount > BASE_TOKEN_COUNT)	worstGrowth = Math.max(worstGrowth, nanosPerToken / baseNanosPerToken);
+			System.out.printf("%10d %14d %12.2f %16s%n", tokenCount, best, nanosPerToken, referenceBest < 0 ? "-" : Long.toString(referenceBest));
+		}
+
+		System.out.printf("Worst growth of ns/token over %d tokens: %.2fx%n", BASE_TOKEN_COUNT, worstGrowth);
+		if(worstGrowth > MAXIMUM_GROWTH) {
+			throw new IllegalStateException("Evaluation isn't linear in the length of the expression");
+		}
+	}
+
+	/**
+	 * Enters an expression of the given number of tokens, like "1 + 2 * 3 - 4 % 5", into the model.
+	 *
+	 * @param model : model the expression is entered into.
+	 * @param tokenCount : odd number of tokens.
+	 * @param text : StringBuilder acting as the text field, left with the last operand.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static void enter(final CalculatorModel model, final int tokenCount, final StringBuilder text) throws InvaildOperatorException {
+		for(int index = 0; index < tokenCount / 2; index++) {
+			CalculatorModel.replaceStringBuilderValue(text, Integer.toString(1 + index % 9));
+			model.handleOperation(OPERATORS[index % OPERATORS.length], text);
+		}
+		CalculatorModel.replaceStringBuilderValue(text, "7");
+	}
+
+	/**
+	 * Enters an expression of the given number of tokens into the reference model.
+	 *
+	 * @param reference : reference model the expression is entered into.
+	 * @param tokenCount : odd number of tokens.
+	 * @param text : StringBuilder acting as the text field, left with the last operand.
+	 *
+	 */
+	private static void enter(final ReferenceCalculatorModel reference, final int tokenCount, final StringBuilder text) {
+		for(int index = 0; index < tokenCount / 2; index++) {
+			CalculatorModel.replaceStringBuilderValue(text, Integer.toString(1 + index % 9));
+			reference.handleOperation(OPERATORS[index % OPERATORS.length], text);
+		}
+		CalculatorModel.replaceStringBuilderValue(text, "7");
+	}
+}
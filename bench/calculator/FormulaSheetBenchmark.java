@@ -0,0 +1,109 @@
+package calculator;
+
+import java.util.Random;
+
+/**
+ * This benchmark builds a {@link FormulaSheet} of 100,000 cells, made of 10,000 inputs each followed
+ * by a chain of 9 formulas, then updates random inputs, checking that every update recomputes only
+ * the 10 cells of its chain and that the last cell of the chain holds the expected value.
+ * It then updates a single input that 100,000 cells depend on, with a single thread and with one
+ * thread per processor, and checks that a formula making a cycle is rejected.
+ *
+ * @version 1.0.0
+ *
+ */
+public class FormulaSheetBenchmark {
+
+	private static final int INPUT_COUNT = 10_000;
+	private static final int CHAIN_LENGTH = 9;
+	private static final int UPDATES = 200_000;
+	private static final int FAN_OUT = 100_000;
+	private static final int FAN_OUT_UPDATES = 20;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If a formula has an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Building the chains, "c<i>_1" being "in<i> * 2" and every other cell the previous one + 1
+		try(FormulaSheet sheet = new FormulaSheet()) {
+			long start = System.nanoTime();
+			for(int input = 0; input < INPUT_COUNT; input++) {
+				sheet.set("in" + input, Integer.toString(input));
+				sheet.set("c" + input + "_1", "in" + input + " * 2");
+				for(int link = 2; link <= CHAIN_LENGTH; link++) {
+					sheet.set("c" + input + "_" + link, "c" + input + "_" + (link - 1) + " + 1");
+				}
+			}
+			System.out.printf("%,d cells built in %.1f ms%n", sheet.size(), (System.nanoTime() - start) / 1e6);
+
+			// Updating random inputs, checking the recomputed cells
+			final Random random = new Random(42);
+			for(int round = 1; round <= 2; round++) {
+				long recomputed = 0;
+				start = System.nanoTime();
+				for(int update = 0; update < UPDATES; update++) {
+					final int input = random.nextInt(INPUT_COUNT);
+					final int value = random.nextInt(1_000_000);
+					final int count = sheet.set("in" + input, Integer.toString(value));
+					if(count != CHAIN_LENGTH + 1) {
+						throw new IllegalStateException("Updating in" + input + " recomputed " + count + " cells");
+					}
+					recomputed += count;
+					final String last = sheet.get("c" + input + "_" + CHAIN_LENGTH);
+					if(!last.equals(Long.toString(value * 2L + CHAIN_LENGTH - 1))) {
+						throw new IllegalStateException("c" + input + "_" + CHAIN_LENGTH + " = " + last + " after in" + input + " = " + value);
+					}
+				}
+				final long elapsed = System.nanoTime() - start;
+				if(round == 2) {
+					System.out.printf("%,d updates of an input: %,.0f ns per update, %.1f cells recomputed per update%n",
+							UPDATES, (double)elapsed / UPDATES, (double)recomputed / UPDATES);
+				}
+			}
+
+			// Rejecting a cycle
+			try {
+				sheet.set("in0", "c0_" + CHAIN_LENGTH + " + 1");
+				throw new IllegalStateException("The cycle through in0 wasn't rejected");
+			} catch(IllegalArgumentException exception) {
+				System.out.println("cycle rejected: " + exception.getMessage());
+			}
+		}
+
+		// Updating an input every cell depends on
+		final int processors = Runtime.getRuntime().availableProcessors();
+		fanOut(1);
+		if(processors > 1)	fanOut(processors);
+	}
+
+	/**
+	 * Builds a sheet where every cell depends on a single input, then updates the input.
+	 *
+	 * @param threadCount : number of threads recomputing the cells.
+	 *
+	 * @throws InvaildOperatorException If a formula has an unknown operator.
+	 */
+	private static void fanOut(final int threadCount) throws InvaildOperatorException {
+		try(FormulaSheet sheet = new FormulaSheet(threadCount)) {
+			sheet.set("rate", "1");
+			for(int cell = 0; cell < FAN_OUT; cell++) {
+				sheet.set("f" + cell, "rate * " + cell + " + 1");
+			}
+			long elapsed = 0;
+			for(int update = 1; update <= FAN_OUT_UPDATES; update++) {
+				final long start = System.nanoTime();
+				final int count = sheet.set("rate", Integer.toString(update));
+				elapsed = System.nanoTime() - start;
+				if(count != FAN_OUT + 1 || !sheet.get("f" + (FAN_OUT - 1)).equals(Long.toString(update * (FAN_OUT - 1L) + 1))) {
+					throw new IllegalStateException("Unexpected recomputation of the cells depending on rate");
+				}
+			}
+			System.out.printf("update of an input with %,d dependents, %d thread(s): %.1f ms%n", FAN_OUT, threadCount, elapsed / 1e6);
+		}
+	}
+}
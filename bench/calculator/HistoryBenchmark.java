@@ -0,0 +1,162 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This benchmark records millions of expressions in a {@link CalculationHistory}, measuring the
+ * time every record takes on the recording thread, then the lookups by time and by result, and
+ * the time to open the log again. It checks that the reopened history holds the very same entries,
+ * and that a line left incomplete at the end of the log is dropped.
+ *
+ * @version 1.0.0
+ *
+ */
+public class HistoryBenchmark {
+
+	private static final int ENTRY_COUNT = 2_000_000;
+	private static final int LOOKUPS = 100_000;
+
+	// Number of distinct results
+	private static final int RESULT_COUNT = 1_000;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, optionally holding the number of entries.
+	 *
+	 * @throws IOException If the log can't be written or read.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		// Initialization
+		final int entryCount = args.length > 0 ? Integer.parseInt(args[0]) : ENTRY_COUNT;
+		final Path file = Files.createTempFile("calculator-history", ".log");
+		try {
+
+			// Recording, timing every record
+			final long[] recordNanos = new long[entryCount];
+			final long firstMillis;
+			final long lastMillis;
+			try(CalculationHistory history = CalculationHistory.open(file)) {
+				firstMillis = System.currentTimeMillis();
+				for(int index = 0; index < entryCount; index++) {
+					final long start = System.nanoTime();
+					history.record(expressionOf(index), resultOf(index));
+					recordNanos[index] = System.nanoTime() - start;
+				}
+				lastMillis = System.currentTimeMillis();
+				Arrays.sort(recordNanos);
+				System.out.printf("%,d records: median %d ns, 99th percentile %d ns, 99.99th percentile %,d ns, maximum %,d ns%n",
+						entryCount, recordNanos[entryCount / 2], recordNanos[(int)(entryCount * 0.99)],
+						recordNanos[(int)(entryCount * 0.9999)], recordNanos[entryCount - 1]);
+
+				// Looking up
+				lookUp(history, firstMillis, lastMillis, entryCount);
+			}
+			System.out.printf("log of %,d bytes%n", Files.size(file));
+
+			// Reopening the log, with an incomplete line at its end
+			Files.write(file, "1234\t1 + ".getBytes(), StandardOpenOption.APPEND);
+			final long start = System.nanoTime();
+			try(CalculationHistory history = CalculationHistory.open(file)) {
+				System.out.printf("reopened in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+				check(history, entryCount, expressionOf(entryCount - 1));
+				history.record("1 + 1", "2");
+			}
+			try(CalculationHistory history = CalculationHistory.open(file)) {
+				check(history, entryCount + 1, "1 + 1");
+			}
+			System.out.println("the reopened history holds the same entries");
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Measures the lookups by time and by result, checking their entries.
+	 *
+	 * @param history : the history.
+	 * @param firstMillis : time before the first record.
+	 * @param lastMillis : time after the last record.
+	 * @param entryCount : number of entries.
+	 *
+	 * @throws IOException If an entry can't be read.
+	 */
+	private static void lookUp(final CalculationHistory history, final long firstMillis, final long lastMillis, final int entryCount) throws IOException {
+		long start = System.nanoTime();
+		for(int lookup = 0; lookup < LOOKUPS; lookup++) {
+			final long from = firstMillis + lookup % (lastMillis - firstMillis + 1);
+			for(CalculationHistory.Entry entry : history.findByTime(from, from + 1, 10)) {
+				if(entry.timeMillis() != from) {
+					throw new IllegalStateException("Entry out of the range: " + entry);
+				}
+			}
+		}
+		System.out.printf("lookup by time: %,.0f ns%n", (System.nanoTime() - start) / (double)LOOKUPS);
+
+		start = System.nanoTime();
+		for(int lookup = 0; lookup < LOOKUPS; lookup++) {
+			final int result = lookup % RESULT_COUNT;
+			final List<CalculationHistory.Entry> entries = history.findByResult(result, 10);
+			if(entries.size() != Math.min(10, (entryCount + RESULT_COUNT - 1 - result) / RESULT_COUNT)) {
+				throw new IllegalStateException("Found " + entries.size() + " entries of " + result);
+			}
+			for(CalculationHistory.Entry entry : entries) {
+				if(!entry.result().equals(Integer.toString(result))) {
+					throw new IllegalStateException("Entry of another result: " + entry);
+				}
+			}
+		}
+		System.out.printf("lookup of the 10 latest entries by result: %,.0f ns%n", (System.nanoTime() - start) / (double)LOOKUPS);
+	}
+
+	/**
+	 * Checks that the history holds the recorded entries.
+	 *
+	 * @param history : the history.
+	 * @param entryCount : expected number of entries.
+	 * @param lastExpression : expected expression of the last entry.
+	 *
+	 * @throws IOException If an entry can't be read.
+	 */
+	private static void check(final CalculationHistory history, final int entryCount, final String lastExpression) throws IOException {
+		if(history.size() != entryCount) {
+			throw new IllegalStateException("The history holds " + history.size() + " entries instead of " + entryCount);
+		}
+		final CalculationHistory.Entry first = history.findByTime(Long.MIN_VALUE, Long.MAX_VALUE, 1).get(0);
+		if(!first.expression().equals(expressionOf(0)) || !first.result().equals(resultOf(0))) {
+			throw new IllegalStateException("Unexpected first entry: " + first);
+		}
+		final List<CalculationHistory.Entry> recent = history.recent(1);
+		if(!recent.get(0).expression().equals(lastExpression)) {
+			throw new IllegalStateException("Unexpected last entry: " + recent.get(0));
+		}
+	}
+
+	/**
+	 * Returns the expression of the entry with the given index.
+	 *
+	 * @param index : index of the entry.
+	 *
+	 * @return expression[String] : an expression.
+	 */
+	private static String expressionOf(final int index) {
+		return (index % RESULT_COUNT - 7) + " + 7";
+	}
+
+	/**
+	 * Returns the result of the entry with the given index.
+	 *
+	 * @param index : index of the entry.
+	 *
+	 * @return result[String] : the result of the expression.
+	 */
+	private static String resultOf(final int index) {
+		return Integer.toString(index % RESULT_COUNT);
+	}
+}
@@ -0,0 +1,133 @@
+package calculator;
+
+/**
+ * This benchmark measures the cost of "=" in the incremental mode of {@link CalculatorModel},
+ * against the evaluation of the whole expression on "=", for expressions of 10 to 1,000,000 tokens.
+ * It first checks that both modes give the same results, and that the partial result after every
+ * operator is the result of the expression entered so far.
+ *
+ * @version 1.0.0
+ *
+ */
+public class IncrementalEvaluationBenchmark {
+
+	private static final int CHECKED_EXPRESSIONS = 20_000;
+	private static final int[] OPERAND_COUNTS = {5, 50, 500, 5_000, 50_000, 500_000};
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If the generated expressions have an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Initialization
+		final CalculatorModel model = new CalculatorModel();
+		final CalculatorModel incrementalModel = new CalculatorModel();
+		incrementalModel.setIncrementalEvaluation(true);
+		final StringBuilder text = new StringBuilder();
+
+		// Verifying both the modes agree, on whole expressions and on their prefixes
+		for(double decimalProbability : new double[] {0.0, 0.3}) {
+			final ExpressionGenerator generator = new ExpressionGenerator(7, decimalProbability);
+			for(int count = 0; count < CHECKED_EXPRESSIONS; count++) {
+				final String[] tokens = generator.nextExpression(1 + count % 12);
+				final String expected = EvaluationBenchmark.evaluate(model, tokens, text);
+				final String actual = EvaluationBenchmark.evaluate(incrementalModel, tokens, text);
+				if(!expected.equals(actual)) {
+					throw new IllegalStateException(String.join(" ", tokens) + " = " + expected + ", but got " + actual);
+				}
+				checkPartialResults(model, incrementalModel, tokens, text);
+			}
+		}
+
+		// Measuring "=" only, the expression being entered beforehand
+		System.out.printf("%10s %16s %16s %16s%n", "tokens", "whole ns", "incremental ns", "mixed incr. ns");
+		for(int operandCount : OPERAND_COUNTS) {
+			final String[] longTokens = chain(operandCount, false);
+			final String[] mixedTokens = chain(operandCount, true);
+			System.out.printf("%10d %16d %16d %16d%n", 2 * operandCount - 1,
+					measureEquals(model, longTokens, text),
+					measureEquals(incrementalModel, longTokens, text),
+					measureEquals(incrementalModel, mixedTokens, text));
+		}
+	}
+
+	/**
+	 * Checks the partial result after every operator against the evaluation of the expression entered so far.
+	 *
+	 * @param model : model evaluating the prefixes as whole expressions.
+	 * @param incrementalModel : model in the incremental mode.
+	 * @param tokens : alternating operands and operators.
+	 * @param text : StringBuilder acting as the text field.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static void checkPartialResults(final CalculatorModel model, final CalculatorModel incrementalModel, final String[] tokens, final StringBuilder text) throws InvaildOperatorException {
+		model.handleOperation("C", text.append('C'));
+		incrementalModel.handleOperation("C", text.append('C'));
+		for(int index = 1; index < tokens.length; index += 2) {
+			CalculatorModel.replaceStringBuilderValue(text, tokens[index - 1]);
+			incrementalModel.handleOperation(tokens[index], text);
+
+			final String[] prefix = new String[index];
+			System.arraycopy(tokens, 0, prefix, 0, index);
+			final String expected = EvaluationBenchmark.evaluate(model, prefix, text);
+			if(prefix.length == 1 || !Character.isDigit(expected.charAt(expected.length() - 1))) {
+				continue;
+			}
+			if(!expected.equals(incrementalModel.getPartialResult())) {
+				throw new IllegalStateException(String.join(" ", prefix) + " = " + expected + ", but got partial " + incrementalModel.getPartialResult());
+			}
+		}
+		incrementalModel.handleOperation("C", text.append('C'));
+	}
+
+	/**
+	 * Returns an expression that never fails, like "1 + 2 * 3 - 4 % 5".
+	 *
+	 * @param operandCount : number of operands.
+	 * @param hasDecimalValues : true to make every fourth operand a decimal value.
+	 *
+	 * @return tokens[String[]] : alternating operands and operators.
+	 */
+	private static String[] chain(final int operandCount, final boolean hasDecimalValues) {
+		final String[] operators = {"+", "*", "-", "%"};
+		final String[] tokens = new String[operandCount * 2 - 1];
+		for(int index = 0; index < operandCount; index++) {
+			tokens[index * 2] = (1 + index % 9) + ((hasDecimalValues && index % 4 == 3) ? ".5" : "");
+			if(index + 1 < operandCount)	tokens[index * 2 + 1] = operators[index % operators.length];
+		}
+		return tokens;
+	}
+
+	/**
+	 * Enters the expression and returns the best time of "=" over a few runs.
+	 *
+	 * @param model : model evaluating the expression.
+	 * @param tokens : alternating operands and operators.
+	 * @param text : StringBuilder acting as the text field.
+	 *
+	 * @return elapsed[long] : best elapsed nanoseconds of "=".
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static long measureEquals(final CalculatorModel model, final String[] tokens, final StringBuilder text) throws InvaildOperatorException {
+		long best = Long.MAX_VALUE;
+		for(int run = 0; run < Math.max(3, 200_000 / tokens.length); run++) {
+			model.handleOperation("C", text.append('C'));
+			for(int index = 1; index < tokens.length; index += 2) {
+				CalculatorModel.replaceStringBuilderValue(text, tokens[index - 1]);
+				model.handleOperation(tokens[index], text);
+			}
+			CalculatorModel.replaceStringBuilderValue(text, tokens[tokens.length - 1]);
+			final long start = System.nanoTime();
+			model.handleOperation("=", text);
+			best = Math.min(best, System.nanoTime() - start);
+			BenchmarkSupport.blackhole += text.length();
+		}
+		return best;
+	}
+}
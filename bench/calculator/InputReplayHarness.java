@@ -0,0 +1,705 @@
+package calculator;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyListener;
+import java.awt.event.TextEvent;
+import java.awt.event.TextListener;
+import java.awt.event.WindowListener;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This harness replays a script of inputs through {@link CalculatorController}, the way the AWT
+ * event thread delivers them: the button clicks to actionPerformed() and the texts typed into the
+ * text field to textValueChanged(). The window is replaced with a stand-in, so it runs headless.
+ *
+ * <p>The script is replayed twice per round. First paced, an input at a time, measuring the time
+ * from the dispatch of every input to the end of its handling on the worker thread of the controller,
+ * the time spent on the event thread and the bytes allocated by both threads, reported by kind of input.
+ * Then as a burst, all the inputs dispatched at once, measuring the throughput, the allocation and
+ * the latency from the inputs to the display updates. The first round only warms up.</p>
+ *
+ * <p>Every result of "=" is checked against {@link ReferenceCalculatorModel}, which follows the
+ * digits, the arithmetic operators, "=" and "C"; after any other input the results aren't checked
+ * until the next "C". A script is a file with an input per line: the label of a button, or
+ * "text &lt;value&gt;" for a text typed into the text field, "#" starting a comment. Without
+ * "--script &lt;file&gt;", a script of random expressions is generated, which "--record &lt;file&gt;" writes out.
+ * "--save &lt;file&gt;" saves the report and "--baseline &lt;file&gt;" compares the report with a saved one.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class InputReplayHarness {
+
+	/**
+	 * An input of the script.
+	 *
+	 * @param kind : kind of the input, one of {@link #KINDS}.
+	 * @param value : label of the button, or the typed text.
+	 */
+	record Input(String kind, String value) {
+	}
+
+	// Kinds of the inputs, in the order of the report
+	private static final String DIGIT = "digit";
+	private static final String OPERATOR = "operator";
+	private static final String EQUALS = "equals";
+	private static final String EDIT = "edit";
+	private static final String MEMORY = "memory";
+	private static final String TEXT = "text";
+	private static final String[] KINDS = {DIGIT, OPERATOR, EQUALS, EDIT, MEMORY, TEXT};
+
+	// Operators the reference evaluates
+	private static final List<String> REFERENCE_OPERATORS = List.of(ExpressionGenerator.OPERATORS);
+
+	// Prefix of the typed texts in a script
+	private static final String TEXT_PREFIX = "text ";
+
+	// Generated script
+	private static final int EXPRESSIONS = 3_000;
+	private static final int MAXIMUM_OPERANDS = 8;
+	private static final int CLEAR_INTERVAL = 20;
+
+	private static final int ROUNDS = 2;
+
+	// Time for the last display update of a burst, a few frames
+	private static final long SETTLE_NANOS = 50_000_000L;
+
+	/**
+	 * Runs the harness.
+	 *
+	 * @param args: a String array object, the options of the script and of the report.
+	 *
+	 * @throws Exception If the script or the report can't be read or written, or the replay fails.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		// Reading the options
+		Path scriptPath = null;
+		Path recordPath = null;
+		Path savePath = null;
+		Path baselinePath = null;
+		for(int index = 0; index < args.length; index++) {
+			switch(args[index]) {
+				case "--script" -> scriptPath = Path.of(args[++index]);
+				case "--record" -> recordPath = Path.of(args[++index]);
+				case "--save" -> savePath = Path.of(args[++index]);
+				case "--baseline" -> baselinePath = Path.of(args[++index]);
+				default -> throw new IllegalArgumentException("Unknown option: " + args[index]);
+			}
+		}
+
+		// Reading or generating the script, along with the results of the reference
+		final List<Input> script = (scriptPath != null) ? readScript(scriptPath) : generateScript(new ExpressionGenerator(7, 0.3));
+		if(recordPath != null)	writeScript(recordPath, script);
+		final String[] expected = expectedResults(script);
+		long checked = 0;
+		for(String result : expected) {
+			if(result != null)	checked++;
+		}
+		System.out.printf("%s script of %,d inputs, %,d of its %,d results checked against the reference%n",
+				(scriptPath != null) ? scriptPath.toString() : "generated", script.size(), checked, expected.length);
+
+		// Silencing the errors the script may make the model print
+		final PrintStream standardError = System.err;
+		System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+		final Map<String, double[]> report;
+		try {
+			Map<String, double[]> rows = null;
+			for(int round = 1; round <= ROUNDS; round++) {
+				rows = new LinkedHashMap<>();
+				replayPaced(script, expected, rows);
+				replayBurst(script, expected, rows);
+			}
+			report = rows;
+		} finally {
+			System.setErr(standardError);
+		}
+
+		// Printing the report, compared with the baseline
+		final Map<String, double[]> baseline = (baselinePath != null) ? readReport(baselinePath) : Map.of();
+		System.out.printf("%n%-9s %9s %10s %10s %10s %12s %10s%s%n", "input", "count", "p50 us", "p99 us", "max us", "event us", "B/input",
+				baseline.isEmpty() ? "" : "   vs baseline (p99, B/input)");
+		for(Map.Entry<String, double[]> row : report.entrySet()) {
+			if(row.getKey().equals("burst")) {
+				System.out.printf("%nburst, from the input to the display update (event us: time per input)%n");
+			}
+			final double[] values = row.getValue();
+			final double[] baselineValues = baseline.get(row.getKey());
+			System.out.printf("%-9s %,9.0f %10.1f %10.1f %10.1f %12.2f %10.1f%s%n",
+					row.getKey(), values[0], values[1], values[2], values[3], values[4], values[5],
+					(baselineValues == null) ? "" : String.format("   %+7.1f%% %+7.1f%%", change(values[2], baselineValues[2]), change(values[5], baselineValues[5])));
+		}
+		if(savePath != null)	writeReport(savePath, report);
+	}
+
+	/**
+	 * Replays the script an input at a time, waiting for the worker thread to handle every input
+	 * before dispatching the next one, and adds a row per kind of input to the report.
+	 *
+	 * @param script : inputs to be replayed.
+	 * @param expected : results of the reference, null for the unchecked ones.
+	 * @param rows : report, by kind of input.
+	 *
+	 * @throws Exception If the replay fails or gives a result other than the reference.
+	 */
+	private static void replayPaced(final List<Input> script, final String[] expected, final Map<String, double[]> rows) throws Exception {
+
+		// Initialization
+		final List<String> results = new ArrayList<>();
+		final StandInDisplay display = new StandInDisplay();
+		final CalculatorController controller = new CalculatorController(display, () -> new RecordingModel(results), null);
+		final WorkerProbe probe = new WorkerProbe(controller);
+		final long[] handlingNanos = new long[script.size()];
+		final long[] eventNanos = new long[script.size()];
+		final long[] allocatedBytes = new long[script.size()];
+
+		// Start, time and allocation of the dispatch on the event thread
+		final long[] dispatch = new long[3];
+
+		// Replaying, the worker thread reporting its allocation once it has handled every input
+		probe.await();
+		long workerBytes = probe.allocatedBytes;
+		for(int index = 0; index < script.size(); index++) {
+			final Input input = script.get(index);
+			EventQueue.invokeAndWait(() -> {
+				final long allocated = BenchmarkSupport.allocatedBytes();
+				dispatch[0] = System.nanoTime();
+				display.dispatch(input);
+				dispatch[1] = System.nanoTime() - dispatch[0];
+				dispatch[2] = BenchmarkSupport.allocatedBytes() - allocated;
+			});
+			probe.await();
+			handlingNanos[index] = probe.nanos - dispatch[0];
+			eventNanos[index] = dispatch[1];
+			allocatedBytes[index] = dispatch[2] + probe.allocatedBytes - workerBytes;
+			workerBytes = probe.allocatedBytes;
+		}
+		finish(controller, results, expected, "paced");
+
+		// Summarizing by kind of input
+		for(String kind : KINDS) {
+			int count = 0;
+			for(Input input : script) {
+				if(input.kind().equals(kind))	count++;
+			}
+			if(count == 0)	continue;
+			final long[] nanos = new long[count];
+			double totalEventNanos = 0;
+			double totalBytes = 0;
+			for(int index = 0, position = 0; index < script.size(); index++) {
+				if(!script.get(index).kind().equals(kind))	continue;
+				nanos[position++] = handlingNanos[index];
+				totalEventNanos += eventNanos[index];
+				totalBytes += allocatedBytes[index];
+			}
+			Arrays.sort(nanos);
+			rows.put(kind, new double[] {count, percentile(nanos, 50) / 1e3, percentile(nanos, 99) / 1e3, nanos[count - 1] / 1e3,
+					totalEventNanos / count / 1e3, totalBytes / count});
+		}
+	}
+
+	/**
+	 * Replays the script as a single burst, dispatching all the inputs at once,
+	 * and adds the row "burst" to the report.
+	 *
+	 * @param script : inputs to be replayed.
+	 * @param expected : results of the reference, null for the unchecked ones.
+	 * @param rows : report, by kind of input.
+	 *
+	 * @throws Exception If the replay fails or gives a result other than the reference.
+	 */
+	private static void replayBurst(final List<Input> script, final String[] expected, final Map<String, double[]> rows) throws Exception {
+
+		// Initialization
+		final List<String> results = new ArrayList<>();
+		final StandInDisplay display = new StandInDisplay();
+		final CalculatorController controller = new CalculatorController(display, () -> new RecordingModel(results), null);
+		final WorkerProbe probe = new WorkerProbe(controller);
+		final long[] eventBytes = new long[1];
+
+		// Replaying
+		probe.await();
+		final long workerBytes = probe.allocatedBytes;
+		EventQueue.invokeAndWait(() -> eventBytes[0] = BenchmarkSupport.allocatedBytes());
+		final long start = System.nanoTime();
+		for(Input input : script) {
+			EventQueue.invokeLater(() -> display.dispatch(input));
+		}
+		EventQueue.invokeAndWait(() -> eventBytes[0] = BenchmarkSupport.allocatedBytes() - eventBytes[0]);
+		probe.await();
+		final long elapsed = probe.nanos - start;
+		final long allocatedBytes = eventBytes[0] + probe.allocatedBytes - workerBytes;
+		finish(controller, results, expected, "burst");
+
+		final LatencyRecorder latency = controller.getRenderLatency();
+		rows.put("burst", new double[] {script.size(), latency.getPercentileNanos(50) / 1e3, latency.getPercentileNanos(99) / 1e3,
+				latency.getMaximumNanos() / 1e3, (double)elapsed / script.size() / 1e3, (double)allocatedBytes / script.size()});
+	}
+
+	/**
+	 * Waits for the last display update, closes the controller and checks its results.
+	 *
+	 * @param controller : controller of the replay.
+	 * @param results : results of "=" given by the model.
+	 * @param expected : results of the reference, null for the unchecked ones.
+	 * @param replay : name of the replay, for the messages.
+	 *
+	 * @throws Exception If a result isn't the one of the reference.
+	 */
+	private static void finish(final CalculatorController controller, final List<String> results,
+			final String[] expected, final String replay) throws Exception {
+		LockSupport.parkNanos(SETTLE_NANOS);
+		EventQueue.invokeAndWait(controller::close);
+		if(results.size() != expected.length) {
+			throw new IllegalStateException("The " + replay + " replay gave " + results.size() + " results of \"=\" instead of " + expected.length);
+		}
+		for(int index = 0; index < expected.length; index++) {
+			if(expected[index] != null && !expected[index].equals(results.get(index))) {
+				throw new IllegalStateException("The " + replay + " replay gave " + results.get(index) + " for the result #" + (index + 1)
+						+ " instead of " + expected[index]);
+			}
+		}
+	}
+
+	/**
+	 * Generates a script entering random expressions: the positive operands digit by digit,
+	 * the negative ones typed into the text field, with a "C" every few expressions and after
+	 * an "ERROR". The expressions whose result can't be entered again, like a product displayed
+	 * as "2.7E7", which leaves the expression of the model behind, are left out.
+	 *
+	 * @param generator : generator of the operands.
+	 *
+	 * @return script[List&lt;Input&gt;] : the inputs.
+	 */
+	private static List<Input> generateScript(final ExpressionGenerator generator) {
+		final ReferenceCalculatorModel reference = new ReferenceCalculatorModel();
+		final List<Input> script = new ArrayList<>();
+		for(int expression = 0; expression < EXPRESSIONS; expression++) {
+			if(expression % CLEAR_INTERVAL == CLEAR_INTERVAL - 1)	script.add(new Input(EDIT, "C"));
+
+			// Picking an expression the reference evaluates
+			String[] tokens;
+			String result;
+			do {
+				tokens = generator.nextExpression(2 + expression % (MAXIMUM_OPERANDS - 1));
+				try {
+					result = reference.evaluate(List.of(tokens));
+				} catch(ArithmeticException exception) {
+					result = "ERROR";
+				} catch(RuntimeException exception) {
+					result = null;
+				}
+			} while(result == null || result.contains("E"));
+
+			// Entering it
+			for(int index = 0; index < tokens.length; index++) {
+				final String token = tokens[index];
+				if(index % 2 == 1) {
+					script.add(new Input(OPERATOR, token));
+				} else if(token.startsWith("-")) {
+					script.add(new Input(TEXT, token));
+				} else {
+					for(int position = 0; position < token.length(); position++) {
+						script.add(new Input(DIGIT, token.substring(position, position + 1)));
+					}
+				}
+			}
+			script.add(new Input(EQUALS, "="));
+			if(result.equals("ERROR"))	script.add(new Input(EDIT, "C"));
+		}
+		return script;
+	}
+
+	/**
+	 * Returns the result the reference gives for every "=" of the script, following the text and the
+	 * expression of the calculator the way the controller and the model do. After an input the reference
+	 * doesn't follow, only whether the text is empty is known, until a "C" clears a text that isn't.
+	 *
+	 * @param script : inputs of the script.
+	 *
+	 * @return results[String[]] : result of every "=", "ERROR" or the name of the exception for a failure, null if it isn't checked.
+	 */
+	static String[] expectedResults(final List<Input> script) {
+
+		// Initialization
+		final ReferenceCalculatorModel reference = new ReferenceCalculatorModel();
+		final List<String> tokens = new ArrayList<>();
+		final List<String> results = new ArrayList<>();
+		String text = "";
+		boolean isDisplayedResult = false;
+
+		// Whether the text is empty once the reference no longer follows, null if it's unknown
+		Boolean isTextEmpty = null;
+		boolean isFollowed = true;
+
+		for(Input input : script) {
+			final String value = input.value();
+
+			// Following the inputs the reference knows of
+			if(isFollowed) {
+				switch(input.kind()) {
+					case DIGIT -> {
+						if(CalculatorModel.isNumericValue(text + value, false)) {
+							text = isDisplayedResult ? value : text + value;
+							isDisplayedResult = false;
+						}
+						continue;
+					}
+					case TEXT -> {
+						if(CalculatorModel.isNumericValue(value, false))	text = value;
+						continue;
+					}
+					case EQUALS -> {
+						if(text.isEmpty()) {
+							results.add(text);
+							continue;
+						}
+						tokens.add(text);
+						try {
+							text = reference.evaluate(tokens);
+							results.add(text);
+							isDisplayedResult = true;
+							tokens.clear();
+							continue;
+						} catch(RuntimeException exception) {
+
+							// The model keeps its expression after a failure, "ERROR" being displayed for an ArithmeticException
+							final boolean isError = exception instanceof ArithmeticException;
+							results.add(isError ? "ERROR" : exception.getClass().getSimpleName());
+							isTextEmpty = !isError;
+							isFollowed = false;
+							continue;
+						}
+					}
+					default -> {
+						if(text.isEmpty() && !input.kind().equals(MEMORY)) {
+							continue;
+						} else if(value.equals("C")) {
+							tokens.clear();
+							text = "";
+							continue;
+						} else if(REFERENCE_OPERATORS.contains(value) && CalculatorModel.isNumericValue(text, false)) {
+							tokens.add(text);
+							tokens.add(value);
+							text = "";
+							isDisplayedResult = false;
+							continue;
+						}
+						isTextEmpty = text.isEmpty();
+						isFollowed = false;
+					}
+				}
+			}
+
+			// Knowing only whether the text is empty
+			switch(input.kind()) {
+				case DIGIT -> {
+					if(!value.equals("."))	isTextEmpty = false;
+				}
+				case TEXT -> {
+					if(CalculatorModel.isNumericValue(value, false))	isTextEmpty = value.isEmpty();
+				}
+				case OPERATOR -> isTextEmpty = true;
+				case EQUALS -> {
+					results.add(null);
+					if(!Boolean.TRUE.equals(isTextEmpty))	isTextEmpty = null;
+				}
+				case MEMORY -> {
+					if(value.equals("MR"))	isTextEmpty = false;
+				}
+				default -> {
+					if(value.equals("C")) {
+
+						// Clearing a text that isn't empty clears the expression as well
+						if(Boolean.FALSE.equals(isTextEmpty)) {
+							tokens.clear();
+							text = "";
+							isFollowed = true;
+						}
+						isTextEmpty = true;
+					} else if(value.equals("BS") && !Boolean.TRUE.equals(isTextEmpty)) {
+						isTextEmpty = null;
+					}
+				}
+			}
+		}
+		return results.toArray(new String[0]);
+	}
+
+	/**
+	 * Reads a script, an input per line.
+	 *
+	 * @param path : location of the script.
+	 *
+	 * @return script[List&lt;Input&gt;] : the inputs.
+	 *
+	 * @throws IOException If the script can't be read.
+	 */
+	private static List<Input> readScript(final Path path) throws IOException {
+		final List<Input> script = new ArrayList<>();
+		final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+		for(int index = 0; index < lines.size(); index++) {
+			final String line = lines.get(index).strip();
+			if(line.isEmpty() || line.startsWith("#"))	continue;
+			if(line.startsWith(TEXT_PREFIX)) {
+				script.add(new Input(TEXT, line.substring(TEXT_PREFIX.length()).strip()));
+			} else if(line.equals("=")) {
+				script.add(new Input(EQUALS, line));
+			} else if(line.equals("C") || line.equals("BS") || line.equals("+/-")) {
+				script.add(new Input(EDIT, line));
+			} else if(line.length() == 2 && line.charAt(0) == 'M' && TokenClassifier.isOperationLabel(line)) {
+				script.add(new Input(MEMORY, line));
+			} else if(TokenClassifier.isOperationLabel(line)) {
+				script.add(new Input(OPERATOR, line));
+			} else if(line.length() == 1 && (TokenClassifier.isDigit(line.charAt(0)) || line.charAt(0) == '.')) {
+				script.add(new Input(DIGIT, line));
+			} else {
+				throw new IllegalArgumentException(path + ":" + (index + 1) + ": not a button nor a typed text: " + line);
+			}
+		}
+		return script;
+	}
+
+	/**
+	 * Writes a script, an input per line.
+	 *
+	 * @param path : location of the script.
+	 * @param script : the inputs.
+	 *
+	 * @throws IOException If the script can't be written.
+	 */
+	private static void writeScript(final Path path, final List<Input> script) throws IOException {
+		try(Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("# Inputs of InputReplayHarness: a button label, or \"text <value>\" typed into the text field\n");
+			for(Input input : script) {
+				writer.write(input.kind().equals(TEXT) ? TEXT_PREFIX + input.value() : input.value());
+				writer.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Reads a saved report.
+	 *
+	 * @param path : location of the report.
+	 *
+	 * @return report[Map&lt;String, double[]&gt;] : values of every row.
+	 *
+	 * @throws IOException If the report can't be read.
+	 */
+	private static Map<String, double[]> readReport(final Path path) throws IOException {
+		final Map<String, double[]> report = new LinkedHashMap<>();
+		for(String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			final String[] fields = line.split("\t");
+			if(fields.length < 7 || line.startsWith("#"))	continue;
+			final double[] values = new double[fields.length - 1];
+			for(int index = 1; index < fields.length; index++)	values[index - 1] = Double.parseDouble(fields[index]);
+			report.put(fields[0], values);
+		}
+		return report;
+	}
+
+	/**
+	 * Saves the report, a tab separated line per row.
+	 *
+	 * @param path : location of the report.
+	 * @param report : values of every row.
+	 *
+	 * @throws IOException If the report can't be written.
+	 */
+	private static void writeReport(final Path path, final Map<String, double[]> report) throws IOException {
+		try(Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("# input\tcount\tp50 us\tp99 us\tmax us\tevent us\tB/input\n");
+			for(Map.Entry<String, double[]> row : report.entrySet()) {
+				writer.write(row.getKey());
+				for(double value : row.getValue())	writer.write(String.format(Locale.ROOT, "\t%.3f", value));
+				writer.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Returns the given percentile of sorted values.
+	 *
+	 * @param sorted : values in ascending order.
+	 * @param percentile : percentile, between 0 and 100.
+	 *
+	 * @return value[long] : the percentile.
+	 */
+	private static long percentile(final long[] sorted, final double percentile) {
+		return sorted[(int)Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1)];
+	}
+
+	/**
+	 * Returns the change of a value from its baseline, in percent.
+	 *
+	 * @param value : the value.
+	 * @param baseline : value of the baseline.
+	 *
+	 * @return change[double] : the change, 0 if both are 0.
+	 */
+	private static double change(final double value, final double baseline) {
+		return (baseline == 0) ? ((value == 0) ? 0 : Double.POSITIVE_INFINITY) : 100 * (value / baseline - 1);
+	}
+
+	/**
+	 * This class stands in for the window: it dispatches the inputs to the listeners of the controller
+	 * and keeps the displayed text, reporting its changes like a text field, on the event thread.
+	 */
+	private static final class StandInDisplay implements CalculatorDisplay {
+
+		private ActionListener keypadListener;
+		private TextListener textListener;
+
+		// Only touched on the event thread
+		private String text = "";
+
+		/**
+		 * Dispatches an input to the listener of the controller. Must be called on the event thread.
+		 * A typed text replaces the displayed one the way a user would, deleting it first, so that
+		 * it's a change even when the display hasn't caught up with the text of the controller yet.
+		 *
+		 * @param input : the input.
+		 *
+		 */
+		void dispatch(final Input input) {
+			if(input.kind().equals(TEXT)) {
+				this.text = "";
+				this.textListener.textValueChanged(new TextEvent(this, TextEvent.TEXT_VALUE_CHANGED));
+				this.text = input.value();
+				this.textListener.textValueChanged(new TextEvent(this, TextEvent.TEXT_VALUE_CHANGED));
+			} else {
+				this.keypadListener.actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, input.value()));
+			}
+		}
+
+		@Override
+		public void addKeypadListener(final ActionListener listener) {
+			this.keypadListener = listener;
+		}
+
+		@Override
+		public void addKeyboardListener(final KeyListener listener) {
+		}
+
+		@Override
+		public void addTextListener(final TextListener listener) {
+			this.textListener = listener;
+		}
+
+		@Override
+		public void addWindowListener(final WindowListener listener) {
+		}
+
+		@Override
+		public String getDisplayedText() {
+			return this.text;
+		}
+
+		@Override
+		public void setDisplayedText(final String text) {
+			this.text = text;
+
+			// Like a text field, reporting the change later on the event thread
+			EventQueue.invokeLater(() -> this.textListener.textValueChanged(new TextEvent(this, TextEvent.TEXT_VALUE_CHANGED)));
+		}
+
+		@Override
+		public void moveCaretToEnd() {
+		}
+
+		@Override
+		public void dispose() {
+		}
+	}
+
+	/**
+	 * This class runs on the worker thread of a controller once the inputs dispatched so far are
+	 * handled, reporting the time and the bytes allocated by the worker thread so far.
+	 */
+	private static final class WorkerProbe implements Runnable {
+
+		private final CalculatorController controller;
+		private final Semaphore done = new Semaphore(0);
+
+		// Published by the release of the semaphore
+		private long nanos;
+		private long allocatedBytes;
+
+		/**
+		 * Constructs a new WorkerProbe instance.
+		 *
+		 * @param controller : controller whose worker thread is probed.
+		 *
+		 */
+		WorkerProbe(final CalculatorController controller) {
+			this.controller = controller;
+		}
+
+		/**
+		 * Waits for the worker thread to handle the inputs dispatched so far.
+		 *
+		 * @throws InterruptedException If interrupted while waiting.
+		 */
+		void await() throws InterruptedException {
+			this.controller.executeAfterInputs(this);
+			this.done.acquire();
+		}
+
+		@Override
+		public void run() {
+			this.nanos = System.nanoTime();
+			this.allocatedBytes = BenchmarkSupport.allocatedBytes();
+			this.done.release();
+		}
+	}
+
+	/**
+	 * This class is a model keeping the result of every "=", on the worker thread.
+	 */
+	private static final class RecordingModel extends CalculatorModel {
+
+		private final List<String> results;
+
+		/**
+		 * Constructs a new RecordingModel instance.
+		 *
+		 * @param results : list the results are added to.
+		 *
+		 */
+		RecordingModel(final List<String> results) {
+			this.results = results;
+		}
+
+		@Override
+		public void handleOperation(final String operationName, final StringBuilder argumentStringBuilder) throws InvaildOperatorException, ArithmeticException {
+			if(!operationName.equals("=")) {
+				super.handleOperation(operationName, argumentStringBuilder);
+				return;
+			}
+			try {
+				super.handleOperation(operationName, argumentStringBuilder);
+				this.results.add(argumentStringBuilder.toString());
+			} catch(InvaildOperatorException | RuntimeException exception) {
+				this.results.add((exception instanceof ArithmeticException) ? "ERROR" : exception.getClass().getSimpleName());
+				throw exception;
+			}
+		}
+	}
+}
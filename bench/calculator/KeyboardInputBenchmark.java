@@ -0,0 +1,157 @@
+package calculator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This benchmark compares the keyboard input path, validating every digit in constant time with
+ * {@link NumericInputState}, with the button path matching the whole text with the digit appended.
+ * It first checks that both give the very same text after every key of random scripts, then measures
+ * the time per key while typing ever longer numbers, and finally submits a burst of scripted keys
+ * through the {@link RenderPipeline} as fast as possible, checking that the displayed text is the
+ * one of the keys handled in order.
+ *
+ * @version 1.0.0
+ *
+ */
+public class KeyboardInputBenchmark {
+
+	// Keys of the random scripts, the digits being more frequent
+	private static final String[] KEYS = {
+			"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "0", "1", "2", "3", "4", "5", "6", "7", "8", "9",
+			".", ".", "+", "-", "*", "/", "%", "=", "C", "BS", "BS", "+/-"
+	};
+	private static final int SCRIPTS = 2_000;
+	private static final int SCRIPT_LENGTH = 200;
+
+	private static final int[] NUMBER_LENGTHS = {10, 100, 1_000, 10_000};
+	private static final int BURST_KEYS = 1_000_000;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the display.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+
+		// Silencing the errors the random scripts make the model print
+		final PrintStream standardError = System.err;
+		System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+		try {
+
+			// Checking that both paths give the same text
+			final Random random = new Random(42);
+			for(int script = 0; script < SCRIPTS; script++) {
+				final CalculatorModel buttonModel = new CalculatorModel();
+				final CalculatorModel keyModel = new CalculatorModel();
+				final StringBuilder buttonText = new StringBuilder();
+				final StringBuilder keyText = new StringBuilder();
+				final NumericInputState keyState = new NumericInputState();
+				for(int key = 0; key < SCRIPT_LENGTH; key++) {
+					final String label = KEYS[random.nextInt(KEYS.length)];
+					final String buttonFailure = failureOf(() -> CalculatorController.handleButton(buttonModel, buttonText, label));
+					final String keyFailure = failureOf(() -> CalculatorController.handleKey(keyModel, keyText, keyState, label));
+					if(!Objects.equals(buttonFailure, keyFailure) || !buttonText.toString().contentEquals(keyText)) {
+						throw new IllegalStateException("The texts differ after " + label + ": " + buttonText + " != " + keyText);
+					}
+				}
+			}
+			System.out.printf("%,d random scripts give the same text through both paths%n", SCRIPTS);
+
+			// Measuring the time per digit while typing a long number
+			System.out.printf("%n%-8s %16s %16s%n", "digits", "button ns/key", "keyboard ns/key");
+			for(int round = 0; round < 2; round++) {
+				for(int length : NUMBER_LENGTHS) {
+					final int repetitions = Math.max(1, 200_000 / length);
+					long start = System.nanoTime();
+					for(int repetition = 0; repetition < repetitions; repetition++) {
+						final StringBuilder text = new StringBuilder();
+						final CalculatorModel model = new CalculatorModel();
+						for(int index = 0; index < length; index++) {
+							CalculatorController.handleButton(model, text, KEYS[index % 10]);
+						}
+						BenchmarkSupport.blackhole += text.length();
+					}
+					final long buttonNanos = System.nanoTime() - start;
+
+					start = System.nanoTime();
+					for(int repetition = 0; repetition < repetitions; repetition++) {
+						final StringBuilder text = new StringBuilder();
+						final CalculatorModel model = new CalculatorModel();
+						final NumericInputState state = new NumericInputState();
+						for(int index = 0; index < length; index++) {
+							CalculatorController.handleKey(model, text, state, KEYS[index % 10]);
+						}
+						BenchmarkSupport.blackhole += text.length();
+					}
+					final long keyNanos = System.nanoTime() - start;
+
+					if(round == 1) {
+						final long keys = (long)repetitions * length;
+						System.out.printf("%-8d %16.1f %16.1f%n", length, (double)buttonNanos / keys, (double)keyNanos / keys);
+					}
+				}
+			}
+
+			// Submitting a burst of keys through the render pipeline
+			final String[] burst = new String[BURST_KEYS];
+			final StringBuilder expected = new StringBuilder();
+			final CalculatorModel expectedModel = new CalculatorModel();
+			final NumericInputState expectedState = new NumericInputState();
+			for(int index = 0; index < burst.length; index++) {
+				final String label = KEYS[random.nextInt(KEYS.length)];
+				burst[index] = label;
+				failureOf(() -> CalculatorController.handleKey(expectedModel, expected, expectedState, label));
+			}
+			final CalculatorModel model = new CalculatorModel();
+			final StringBuilder text = new StringBuilder();
+			final NumericInputState state = new NumericInputState();
+			final AtomicReference<String> displayed = new AtomicReference<>();
+			try(RenderPipeline pipeline = new RenderPipeline(displayed::set)) {
+				final long start = System.nanoTime();
+				for(String label : burst) {
+					pipeline.submit(System.nanoTime(), () -> {
+						failureOf(() -> CalculatorController.handleKey(model, text, state, label));
+						return text.toString();
+					});
+				}
+				while(pipeline.getUpdateCount() < burst.length)	LockSupport.parkNanos(100_000L);
+				final long elapsed = System.nanoTime() - start;
+				final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+				while(!expected.toString().equals(displayed.get()) && System.nanoTime() < deadline)	LockSupport.parkNanos(1_000_000L);
+				if(!expected.toString().equals(displayed.get())) {
+					throw new IllegalStateException("The displayed text isn't the one of the keys in order");
+				}
+				System.out.printf("%n%,d keys handled in order in %.1f ms (%,.0f keys/s), %,d display updates%n",
+						burst.length, elapsed / 1e6, burst.length * 1e9 / elapsed, pipeline.getRenderCount());
+			}
+		} finally {
+			System.setErr(standardError);
+		}
+	}
+
+	/**
+	 * Runs the given key, returning the exception it fails with, as the model doesn't handle
+	 * every sequence of keys (like an overflowing result).
+	 *
+	 * @param key : handling of a key.
+	 *
+	 * @return failure[String] : class of the exception, or null if it didn't fail.
+	 */
+	private static String failureOf(final Runnable key) {
+		try {
+			key.run();
+			return null;
+		} catch(RuntimeException exception) {
+			return exception.getClass().getName();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package calculator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * This benchmark measures the MB/s of the {@link MappedBatchEvaluator} against the Reader based
+ * {@link BatchEvaluator} over a generated file of expressions, along with the bytes allocated per
+ * line and the heap used once done, after checking that both write the very same output.
+ * Running it with a small heap, like -Xmx32m, shows that the file size doesn't matter.
+ *
+ * @version 1.0.0
+ *
+ */
+public class MappedBatchBenchmark {
+
+	private static final int MEGABYTES = 256;
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, optionally holding the size of the file in MB.
+	 *
+	 * @throws IOException If the temporary file can't be written or read.
+	 * @throws NoSuchAlgorithmException If SHA-256 isn't available.
+	 */
+	public static void main(String[] args) throws IOException, NoSuchAlgorithmException {
+
+		// Initialization
+		final long size = (args.length > 0 ? Long.parseLong(args[0]) : MEGABYTES) << 20;
+		final Path file = Files.createTempFile("expressions", ".txt");
+		file.toFile().deleteOnExit();
+
+		// Generating the input, with a few blank, invalid and failing lines and a "\r\n"
+		final ExpressionGenerator generator = new ExpressionGenerator(3, 0.3);
+		long lineCount = 0;
+		try(BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			long written = 0;
+			while(written < size) {
+				final String line = switch((int)(lineCount % 1000)) {
+					case 10 -> "";
+					case 20 -> "12 $ 4";
+					case 30 -> "7 / 0\r";
+					default -> generator.nextLine(2 + (int)(lineCount % 8));
+				};
+				writer.write(line);
+				writer.write('\n');
+				written += line.length() + 1;
+				lineCount++;
+			}
+			writer.write("1 + 2");			// Last line without a line terminator
+		}
+
+		// Checking that both write the same output
+		final DigestChannel readerDigest = new DigestChannel();
+		try(Writer output = new OutputStreamWriter(readerDigest.asStream(), StandardCharsets.UTF_8)) {
+			new BatchEvaluator().evaluate(Files.newBufferedReader(file, StandardCharsets.UTF_8), output);
+		}
+		final DigestChannel mappedDigest = new DigestChannel();
+		new MappedBatchEvaluator().evaluate(file, mappedDigest);
+		if(!Arrays.equals(readerDigest.digest(), mappedDigest.digest())) {
+			throw new IllegalStateException("The outputs of the evaluators differ");
+		}
+
+		// Measuring
+		System.out.printf("%-10s %12s %10s %10s %12s %12s%n", "evaluator", "lines", "MB", "MB/s", "B/line", "heap MB");
+		for(int round = 1; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			long allocated = BenchmarkSupport.allocatedBytes();
+			long count;
+			try(Writer output = Writer.nullWriter()) {
+				count = new BatchEvaluator().evaluate(Files.newBufferedReader(file, StandardCharsets.UTF_8), output);
+			}
+			report("reader", count, Files.size(file), System.nanoTime() - start, BenchmarkSupport.allocatedBytes() - allocated);
+
+			start = System.nanoTime();
+			allocated = BenchmarkSupport.allocatedBytes();
+			count = new MappedBatchEvaluator().evaluate(file, new DigestChannel());
+			report("mapped", count, Files.size(file), System.nanoTime() - start, BenchmarkSupport.allocatedBytes() - allocated);
+		}
+	}
+
+	/**
+	 * Prints a line of the report.
+	 *
+	 * @param name : name of the evaluator.
+	 * @param count : number of lines.
+	 * @param bytes : size of the file.
+	 * @param elapsedNanos : elapsed time.
+	 * @param allocatedBytes : bytes allocated by the evaluation.
+	 *
+	 */
+	private static void report(final String name, final long count, final long bytes, final long elapsedNanos, final long allocatedBytes) {
+		final Runtime runtime = Runtime.getRuntime();
+		System.out.printf("%-10s %,12d %10.1f %10.1f %12.1f %12.1f%n", name, count, bytes / 1e6, bytes * 1e3 / elapsedNanos,
+				(double)allocatedBytes / count, (runtime.totalMemory() - runtime.freeMemory()) / 1e6);
+	}
+
+	/**
+	 * This class is a channel computing the SHA-256 digest of what's written into it.
+	 */
+	private static final class DigestChannel implements WritableByteChannel {
+
+		private final MessageDigest digest;
+
+		/**
+		 * Constructs a new DigestChannel instance.
+		 *
+		 * @throws NoSuchAlgorithmException If SHA-256 isn't available.
+		 */
+		DigestChannel() throws NoSuchAlgorithmException {
+			this.digest = MessageDigest.getInstance("SHA-256");
+		}
+
+		@Override
+		public int write(final ByteBuffer source) {
+			final int length = source.remaining();
+			this.digest.update(source);
+			return length;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		/**
+		 * Returns this channel as a stream.
+		 *
+		 * @return stream[OutputStream] : stream writing into this channel.
+		 */
+		OutputStream asStream() {
+			return new OutputStream() {
+				@Override
+				public void write(final int value) {
+					DigestChannel.this.digest.update((byte)value);
+				}
+
+				@Override
+				public void write(final byte[] bytes, final int offset, final int length) {
+					DigestChannel.this.digest.update(bytes, offset, length);
+				}
+			};
+		}
+
+		/**
+		 * Returns the digest of what's been written.
+		 *
+		 * @return digest[byte[]] : SHA-256 digest.
+		 */
+		byte[] digest() {
+			return this.digest.digest();
+		}
+	}
+}
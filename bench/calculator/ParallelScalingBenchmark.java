@@ -0,0 +1,104 @@
+package calculator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This benchmark reports the throughput-scaling curve of the {@link ParallelBatchEvaluator}
+ * from one worker up to the given number of workers (the available processors by default),
+ * after checking that its output is identical to the sequential {@link BatchEvaluator}.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ParallelScalingBenchmark {
+
+	private static final int LINE_COUNT = 2_000_000;
+	private static final int VERIFIED_LINE_COUNT = 100_000;
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, optionally holding the maximum number of workers and lines.
+	 *
+	 * @throws IOException If the temporary file can't be written or read.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		// Initialization
+		final int maximumThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		final int lineCount = args.length > 1 ? Integer.parseInt(args[1]) : LINE_COUNT;
+		final Path file = Files.createTempFile("expressions", ".txt");
+		file.toFile().deleteOnExit();
+
+		// Generating the input
+		final ExpressionGenerator generator = new ExpressionGenerator(11, 0.3);
+		try(BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for(int index = 0; index < lineCount; index++) {
+				writer.write(generator.nextLine(2 + index % 8));
+				writer.newLine();
+			}
+		}
+
+		// Verifying the order and the results of the output
+		verify(file, Math.max(2, maximumThreads));
+
+		// Measuring the curve
+		System.out.printf("%8s %16s %10s %12s%n", "threads", "expressions/s", "speedup", "efficiency");
+		double baseline = 0;
+		for(int threads = 1; threads <= maximumThreads; threads++) {
+			double best = 0;
+			try(ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator(threads)) {
+				for(int round = 0; round < ROUNDS; round++) {
+					final long start = System.nanoTime();
+					final long count;
+					try(Writer output = Writer.nullWriter()) {
+						count = evaluator.evaluate(Files.newBufferedReader(file, StandardCharsets.UTF_8), output);
+					}
+					best = Math.max(best, count * 1e9 / (System.nanoTime() - start));
+				}
+			}
+			if(threads == 1)	baseline = best;
+			System.out.printf("%8d %,16.0f %9.2fx %11.0f%%%n", threads, best, best / baseline, 100 * best / baseline / threads);
+		}
+	}
+
+	/**
+	 * Checks that the parallel output of the first lines matches the sequential output.
+	 *
+	 * @param file : file of the expressions.
+	 * @param threads : number of worker threads.
+	 *
+	 * @throws IOException If the file can't be read.
+	 */
+	private static void verify(final Path file, final int threads) throws IOException {
+
+		// Initialization
+		final StringBuilder lines = new StringBuilder();
+		try(var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			for(int index = 0; index < VERIFIED_LINE_COUNT && (line = reader.readLine()) != null; index++) {
+				lines.append(line).append('\n');
+			}
+		}
+
+		// Evaluating both ways
+		final StringWriter sequential = new StringWriter();
+		final StringWriter parallel = new StringWriter();
+		new BatchEvaluator().evaluate(new StringReader(lines.toString()), sequential);
+		try(ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator(threads)) {
+			evaluator.evaluate(new StringReader(lines.toString()), parallel);
+		}
+
+		if(!sequential.toString().equals(parallel.toString())) {
+			throw new IllegalStateException("Parallel output differs from the sequential output");
+		}
+	}
+}
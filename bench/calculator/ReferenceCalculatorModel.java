@@ -0,0 +1,190 @@
+package calculator;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Stack;
+import java.util.regex.Pattern;
+
+/**
+ * This class is the original String based evaluation of {@link CalculatorModel}, kept
+ * as the reference the faster evaluation paths are compared against.
+ * Only the arithmetic operations and "=" are supported; the regexes are compiled once,
+ * everything else is left just as it was written.
+ *
+ * @version 1.0.0
+ *
+ */
+class ReferenceCalculatorModel {
+
+	/**
+	 * Created for designing custom lambda function for different Arithmetic Operation.
+	 */
+	@FunctionalInterface
+	private interface ArithmeticOperation {
+		Number operation(Number operand1, Number operand2);
+	}
+
+	// Regexes used by the original implementation
+	private static final Pattern NUMERIC_VALUE = Pattern.compile("^(\\-?[0-9]+(\\.[0-9]*)?)?$");
+	private static final Pattern DECIMAL_VALUE = Pattern.compile("^(\\-?[0-9]*\\.[0-9]*)?$");
+	private static final Pattern ZERO_DIVISOR = Pattern.compile("^0*(\\.?0*)?$");
+	private static final Pattern LOW_PRECEDENCE_OPERATOR = Pattern.compile("^\\+|\\-$");
+
+	// Collection to store and evaluate expressions.
+	private final List<String> expression = new LinkedList<>();
+	private final Stack<String> operations = new Stack<>();
+	private final Stack<String> values = new Stack<>();
+
+	/**
+	 * Handles the arithmetic operations and "=", just like the original model.
+	 *
+	 * @param operationName : Defines the type of operation.
+	 * @param argumentStringBuilder : User Input data.
+	 *
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	void handleOperation(final String operationName, final StringBuilder argumentStringBuilder) throws ArithmeticException {
+		if(argumentStringBuilder.length() == 0)		return;
+		this.expression.add(argumentStringBuilder.toString());
+		argumentStringBuilder.setLength(0);
+		if(operationName.equals("=")) {
+			argumentStringBuilder.append(this.evaluateExpression());
+		} else {
+			this.expression.add(operationName);
+		}
+	}
+
+	/**
+	 * Evaluates the given tokens, like entering them one by one and pressing "=".
+	 *
+	 * @param tokens : alternating operands and operators.
+	 *
+	 * @return result[String] : displayed result.
+	 *
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	String evaluate(final List<String> tokens) throws ArithmeticException {
+		this.clear();
+		this.expression.addAll(tokens);
+		return this.evaluateExpression();
+	}
+
+	/**
+	 * Clears the expression along with anything left behind by a failed evaluation.
+	 */
+	void clear() {
+		this.expression.clear();
+		this.operations.clear();
+		this.values.clear();
+	}
+
+	/**
+	 * This method evaluates the current expression.
+	 *
+	 * @return result[String] : displayed result.
+	 */
+	private String evaluateExpression() {
+
+		// Traversing the whole expression List and pushing into stack
+		for(int index = 0; index < this.expression.size(); index++) {
+
+			// Retrieving value
+			final String value = this.expression.get(index);
+
+			// Handling the numeric and basic arithmetic (like add & subtract)
+			if(NUMERIC_VALUE.matcher(value).matches()) {
+				this.values.push(value);
+				continue;
+			} else if(LOW_PRECEDENCE_OPERATOR.matcher(value).matches()) {
+				this.operations.push(value);
+				continue;
+			}
+
+			// Adding the other operand before performing the operation..
+			this.values.push(this.expression.get(++index));
+
+			// Performing High precedence operations
+			this.handleOperationsBasedOnPrecedence(value, true);
+		}
+
+		// handling lower precedence operations
+		while(!this.operations.isEmpty()) {
+			this.handleOperationsBasedOnPrecedence(this.operations.pop(), false);
+		}
+
+		// Clearing
+		this.expression.clear();
+		return this.values.pop();
+	}
+
+	/**
+	 * This method handles the operation based on the precedence.
+	 *
+	 * @param operator : a String value representing operator.
+	 * @param isHighPrecedence : a boolean value to determine level of precedence.
+	 */
+	private void handleOperationsBasedOnPrecedence(final String operator, final boolean isHighPrecedence) {
+
+		// Checking for division operation
+		boolean isDivision = false;
+
+		// Handling remaining arithmetic operations
+		ArithmeticOperation operation = null;
+
+		if(isHighPrecedence) {
+			switch(operator) {
+				case "*" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()*operand2.doubleValue() : operand1.longValue()*operand2.longValue();
+				case "/" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()/operand2.doubleValue() : operand1.longValue()/operand2.longValue();
+				case "%" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()%operand2.doubleValue() : operand1.longValue()%operand2.longValue();
+				default -> operation = null;
+			}
+			isDivision = operator.equals("/");
+		} else {
+			switch(operator) {
+				case "+" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()+operand2.doubleValue() : operand1.longValue()+operand2.longValue();
+				case "-" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()-operand2.doubleValue() : operand1.longValue()-operand2.longValue();
+				default -> operation = null;
+			}
+		}
+
+		// evaluating operators and pushes it back to stack
+		this.values.push(this.executeOperation(operation, isDivision));
+	}
+
+	/**
+	 * This function executes the operation provided according the values passed to it.
+	 *
+	 * @param handleOperation : Lambda function to perform provided operation.
+	 * @param isDivisionOperation : Special case for Division operation.
+	 *
+	 * @return value : a String value representing the end result of the operation.
+	 */
+	private String executeOperation(final ArithmeticOperation handleOperation, final boolean isDivisionOperation) {
+
+		// Getting values
+		final String operand2 = this.values.pop();
+		final String operand1 = this.values.pop();
+
+		// Checking for decimal values
+		final boolean operand1HasDecimalValue = DECIMAL_VALUE.matcher(operand1).matches();
+		final boolean operand2HasDecimalValue = DECIMAL_VALUE.matcher(operand2).matches();
+
+		// Checking for zero division exception
+		if(isDivisionOperation && ZERO_DIVISOR.matcher(operand2).matches()) {
+			throw new ArithmeticException("Divide by zero");
+		}
+
+		// For decimal values only
+		if(operand1HasDecimalValue || operand2HasDecimalValue || isDivisionOperation) {
+			final double numericOperand1 = Double.parseDouble(operand1);
+			final double numericOperand2 = Double.parseDouble(operand2);
+			final double result = Math.round(handleOperation.operation(numericOperand1, numericOperand2).doubleValue() * 100.0)/100.0;
+			return (isDivisionOperation && result == Math.round(result)) ? String.valueOf((long)result) : String.valueOf(result);
+		}
+
+		final long numericOperand1 = Long.parseLong(operand1);
+		final long numericOperand2 = Long.parseLong(operand2);
+		final long result = handleOperation.operation(numericOperand1, numericOperand2).longValue();
+		return  String.valueOf(result);
+	}
+}
@@ -0,0 +1,159 @@
+package calculator;
+
+import java.awt.EventQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This harness measures the latency from a button click to the update of the display under
+ * scripted rapid input, for the buttons handled directly on the event thread (as the controller
+ * used to, validating the text again when the text field reports its change) and for the
+ * {@link RenderPipeline}. It runs on the AWT event thread without any window, so it works
+ * headless; the display is a stand-in costing {@link #DISPLAY_UPDATE_NANOS} per update.
+ *
+ * @version 1.0.0
+ *
+ */
+public class RenderLatencyBenchmark {
+
+	private static final String[] SCRIPT = {"1", "2", "+/-", "*", "3", "4", "+", "5", ".", "6", "/", "7", "-", "8", "9", "BS", "%", "2", "="};
+	private static final int BURSTS = 400;
+	private static final long[] PAUSES_NANOS = {0, 200_000L, 2_000_000L};
+
+	// Cost of a display update, like the repaint of the text field
+	private static final long DISPLAY_UPDATE_NANOS = 300_000L;
+
+	/**
+	 * Runs the harness.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the display.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		System.out.printf("%-16s %-14s %8s %8s %10s %10s %10s%n", "pause per click", "mode", "clicks", "updates", "p50 us", "p99 us", "max us");
+		for(long pauseNanos : PAUSES_NANOS) {
+			runDirect(pauseNanos);
+			runPipeline(pauseNanos);
+		}
+	}
+
+	/**
+	 * Handles every click on the event thread, updating the display right away.
+	 *
+	 * @param pauseNanos : pause between two clicks.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the display.
+	 */
+	private static void runDirect(final long pauseNanos) throws InterruptedException {
+
+		// Initialization
+		final CalculatorModel model = new CalculatorModel();
+		final StringBuilder text = new StringBuilder();
+		final LatencyRecorder latency = new LatencyRecorder();
+		final long[] updates = new long[1];
+		final CountDownLatch done = new CountDownLatch(1);
+
+		// Clicking
+		for(int burst = 0; burst < BURSTS; burst++) {
+			for(String label : SCRIPT) {
+				final long inputNanos = System.nanoTime();
+				EventQueue.invokeLater(() -> {
+					CalculatorController.handleButton(model, text, label);
+					updateDisplay();
+					CalculatorModel.isNumericValue(text.toString(), false);		// Validated again on the TextEvent
+					updateDisplay();
+					updates[0]++;
+					latency.record(System.nanoTime() - inputNanos);
+				});
+				pause(pauseNanos);
+			}
+		}
+		EventQueue.invokeLater(done::countDown);
+		done.await();
+
+		report(pauseNanos, "event thread", latency, updates[0]);
+	}
+
+	/**
+	 * Handles every click through the render pipeline.
+	 *
+	 * @param pauseNanos : pause between two clicks.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the display.
+	 */
+	private static void runPipeline(final long pauseNanos) throws InterruptedException {
+
+		// Initialization
+		final CalculatorModel model = new CalculatorModel();
+		final StringBuilder text = new StringBuilder();
+		final int clicks = BURSTS * SCRIPT.length;
+		try(RenderPipeline pipeline = new RenderPipeline(displayed -> updateDisplay())) {
+
+			// Clicking
+			for(int burst = 0; burst < BURSTS; burst++) {
+				for(String label : SCRIPT) {
+					pipeline.submit(System.nanoTime(), () -> {
+						CalculatorController.handleButton(model, text, label);
+						return text.toString();
+					});
+					pause(pauseNanos);
+				}
+			}
+
+			// Waiting for the last display update
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while(pipeline.getUpdateCount() < clicks && System.nanoTime() < deadline)	pause(1_000_000L);
+			final CountDownLatch done = new CountDownLatch(1);
+			while(pipeline.getLatency().getCount() == 0 || pipeline.getRenderCount() == 0)	pause(1_000_000L);
+			pause(50_000_000L);
+			EventQueue.invokeLater(done::countDown);
+			done.await();
+
+			report(pauseNanos, "render pipeline", pipeline.getLatency(), pipeline.getRenderCount());
+		}
+	}
+
+	/**
+	 * Stands in for an update of the display, busy for {@link #DISPLAY_UPDATE_NANOS}.
+	 */
+	private static void updateDisplay() {
+		final long end = System.nanoTime() + DISPLAY_UPDATE_NANOS;
+		while(System.nanoTime() < end) {
+			BenchmarkSupport.blackhole++;
+		}
+	}
+
+	/**
+	 * Waits for the given time, spinning for the short pauses.
+	 *
+	 * @param nanos : time to wait.
+	 *
+	 */
+	private static void pause(final long nanos) {
+		if(nanos >= 1_000_000L) {
+			LockSupport.parkNanos(nanos);
+			return;
+		}
+		final long end = System.nanoTime() + nanos;
+		while(System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Prints a line of the report.
+	 *
+	 * @param pauseNanos : pause between two clicks.
+	 * @param mode : name of the mode.
+	 * @param latency : recorded latencies.
+	 * @param updates : number of display updates.
+	 *
+	 */
+	private static void report(final long pauseNanos, final String mode, final LatencyRecorder latency, final long updates) {
+		System.out.printf("%13.1f ms %-16s %8d %8d %10.1f %10.1f %10.1f%n",
+				pauseNanos / 1e6, mode, BURSTS * SCRIPT.length, updates,
+				latency.getPercentileNanos(50) / 1e3, latency.getPercentileNanos(99) / 1e3, latency.getMaximumNanos() / 1e3);
+	}
+}
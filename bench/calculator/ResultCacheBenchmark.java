@@ -0,0 +1,120 @@
+package calculator;
+
+import java.util.Random;
+
+/**
+ * This benchmark measures the speedup of the {@link ResultCache} at different ratios of
+ * repeated expressions, after checking the cached results against the uncached ones.
+ * The repeated expressions are drawn from a pool bigger than the cache, favouring its first
+ * expressions, so the hot expressions stay cached while the others are evicted.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ResultCacheBenchmark {
+
+	private static final int LINE_COUNT = 500_000;
+	private static final int POOL_SIZE = 20_000;
+	private static final int CACHE_SIZE = 5_000;
+	private static final double[] REPEAT_RATIOS = {0.0, 0.5, 0.8, 0.95, 0.99};
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If the generated expressions have an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Initialization
+		final ExpressionGenerator generator = new ExpressionGenerator(13, 0.3);
+		final String[] pool = new String[POOL_SIZE];
+		for(int index = 0; index < POOL_SIZE; index++) {
+			pool[index] = generator.nextLine(10 + index % 30);
+		}
+
+		System.out.printf("%8s %14s %14s %9s %10s %10s%n", "repeat", "uncached ns", "cached ns", "speedup", "hit rate", "evictions");
+		for(double repeatRatio : REPEAT_RATIOS) {
+
+			// Generating the workload, hot expressions are repeated from the pool
+			final Random random = new Random(17);
+			final String[] lines = new String[LINE_COUNT];
+			for(int index = 0; index < LINE_COUNT; index++) {
+				lines[index] = (random.nextDouble() < repeatRatio)
+						? pool[(int)(Math.abs(random.nextGaussian()) * CACHE_SIZE / 3) % POOL_SIZE]
+						: generator.nextLine(10 + index % 30);
+			}
+
+			// Measuring both the models, the last of three rounds
+			final CalculatorModel uncached = new CalculatorModel();
+			final CalculatorModel cached = new CalculatorModel();
+			long uncachedTime = 0;
+			long cachedTime = 0;
+			for(int round = 0; round < 3; round++) {
+				cached.enableResultCache(CACHE_SIZE);
+				uncachedTime = run(uncached, lines);
+				cachedTime = run(cached, lines);
+			}
+
+			// Checking the cached results
+			final StringBuilder expected = new StringBuilder();
+			final StringBuilder actual = new StringBuilder();
+			for(int index = 0; index < LINE_COUNT; index += 97) {
+				evaluate(uncached, lines[index], expected);
+				evaluate(cached, lines[index], actual);
+				if(!expected.toString().equals(actual.toString())) {
+					throw new IllegalStateException(lines[index] + " = " + expected + ", but got " + actual);
+				}
+			}
+
+			final ResultCache cache = cached.getResultCache();
+			System.out.printf("%7.0f%% %14.1f %14.1f %8.2fx %9.1f%% %10d%n",
+					repeatRatio * 100,
+					(double)uncachedTime / LINE_COUNT,
+					(double)cachedTime / LINE_COUNT,
+					(double)uncachedTime / cachedTime,
+					100.0 * cache.getHitCount() / (cache.getHitCount() + cache.getMissCount()),
+					cache.getEvictionCount());
+		}
+	}
+
+	/**
+	 * Evaluates all the lines with the given model.
+	 *
+	 * @param model : model evaluating the lines.
+	 * @param lines : expression lines.
+	 *
+	 * @return elapsed[long] : elapsed nanoseconds.
+	 *
+	 * @throws InvaildOperatorException If an expression has an unknown operator.
+	 */
+	private static long run(final CalculatorModel model, final String[] lines) throws InvaildOperatorException {
+		final StringBuilder result = new StringBuilder();
+		final long start = System.nanoTime();
+		for(String line : lines) {
+			evaluate(model, line, result);
+			BenchmarkSupport.blackhole += result.length();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Evaluates the line, writing "ERROR" or "INVALID" for a failed evaluation.
+	 *
+	 * @param model : model evaluating the line.
+	 * @param line : expression line.
+	 * @param result : StringBuilder the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static void evaluate(final CalculatorModel model, final String line, final StringBuilder result) throws InvaildOperatorException {
+		try {
+			model.evaluate(line, result);
+		} catch(ArithmeticException exception) {
+			CalculatorModel.replaceStringBuilderValue(result, BatchEvaluator.ERROR_RESULT);
+		} catch(NumberFormatException exception) {
+			CalculatorModel.replaceStringBuilderValue(result, BatchEvaluator.INVALID_RESULT);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package calculator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This load generator runs a {@link CalculatorServer} on localhost and reports its throughput and
+ * tail latency under concurrent clients, for single and batch requests, after checking that its
+ * results are the ones of {@link BatchEvaluator} and that malformed requests are rejected.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ServerLoadBenchmark {
+
+	private static final int CLIENTS = 16;
+	private static final int SECONDS = 5;
+	private static final int BATCH_SIZE = 100;
+	private static final int VERIFIED_EXPRESSIONS = 1000;
+
+	/**
+	 * Runs the load generator.
+	 *
+	 * @param args: a String array object, optionally holding the number of clients and the seconds per scenario.
+	 *
+	 * @throws Exception If the server can't be started or a request fails.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		// Initialization
+		final int clients = args.length > 0 ? Integer.parseInt(args[0]) : CLIENTS;
+		final int seconds = args.length > 1 ? Integer.parseInt(args[1]) : SECONDS;
+		final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		CalculatorServer.enableNoDelay();
+
+		try(CalculatorServer server = new CalculatorServer(0)) {
+			final URI uri = URI.create("http://localhost:" + server.getPort() + CalculatorServer.EVALUATE_PATH);
+			verify(client, uri);
+
+			// Measuring
+			System.out.printf("%-10s %8s %14s %16s %10s %10s %10s %10s%n", "request", "clients", "requests/s", "expressions/s", "p50 us", "p99 us", "p999 us", "max us");
+			run(client, uri, "single", 1, clients, seconds);
+			run(client, uri, "batch", BATCH_SIZE, clients, seconds);
+		}
+	}
+
+	/**
+	 * Checks the results and the errors of the server.
+	 *
+	 * @param client : HTTP client.
+	 * @param uri : URI of the evaluation requests.
+	 *
+	 * @throws Exception If a request fails or an answer is wrong.
+	 */
+	private static void verify(final HttpClient client, final URI uri) throws Exception {
+
+		// Comparing a batch with the batch evaluator
+		final ExpressionGenerator generator = new ExpressionGenerator(5, 0.3);
+		final BatchEvaluator evaluator = new BatchEvaluator();
+		final List<String> expressions = new ArrayList<>();
+		final StringBuilder expected = new StringBuilder("{\"results\":[");
+		for(int index = 0; index < VERIFIED_EXPRESSIONS; index++) {
+			final String expression = (index % 50 == 7) ? "1 / 0" : (index % 50 == 9) ? "1 $ 2" : generator.nextLine(1 + index % 8);
+			expressions.add(expression);
+			if(index > 0)	expected.append(',');
+			JsonCodec.appendString(expected, evaluator.evaluate(expression));
+		}
+		expected.append("]}");
+		check(send(client, uri, batchBody(expressions)), 200, expected.toString());
+		check(send(client, uri, "{\"expression\": \"12 + 3 * 4\"}"), 200, "{\"result\":\"24\"}");
+
+		// Rejecting the malformed requests
+		check(send(client, uri, "{\"expression\": 12}"), 400, null);
+		check(send(client, uri, "{\"formula\": \"1\"}"), 400, null);
+		check(client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString()), 405, null);
+	}
+
+	/**
+	 * Runs a scenario and prints its line of the report.
+	 *
+	 * @param client : HTTP client.
+	 * @param uri : URI of the evaluation requests.
+	 * @param name : name of the scenario.
+	 * @param batchSize : number of expressions per request, 1 sending single requests.
+	 * @param clients : number of concurrent clients.
+	 * @param seconds : duration of the measurement.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the clients.
+	 */
+	private static void run(final HttpClient client, final URI uri, final String name, final int batchSize, final int clients, final int seconds) throws InterruptedException {
+
+		// Initialization
+		final LogHistogram latency = new LogHistogram();
+		final AtomicLong failures = new AtomicLong();
+		final long warmupEnd = System.nanoTime() + 1_000_000_000L;
+		final long end = warmupEnd + seconds * 1_000_000_000L;
+
+		// Sending requests from every client until the end
+		final List<Thread> threads = new ArrayList<>();
+		for(int index = 0; index < clients; index++) {
+			final ExpressionGenerator generator = new ExpressionGenerator(index, 0.3);
+			final Thread thread = new Thread(() -> {
+				final List<String> expressions = new ArrayList<>();
+				long now;
+				while((now = System.nanoTime()) < end) {
+					expressions.clear();
+					for(int count = 0; count < batchSize; count++)	expressions.add(generator.nextLine(2 + count % 8));
+					final String body;
+					if(batchSize == 1) {
+						final StringBuilder single = new StringBuilder("{\"expression\":");
+						JsonCodec.appendString(single, expressions.get(0));
+						body = single.append('}').toString();
+					} else {
+						body = batchBody(expressions);
+					}
+					try {
+						final HttpResponse<String> response = send(client, uri, body);
+						if(response.statusCode() != 200)	failures.incrementAndGet();
+					} catch(IOException | InterruptedException exception) {
+						failures.incrementAndGet();
+					}
+					if(now >= warmupEnd)	latency.record(System.nanoTime() - now);
+				}
+			}, "load-client-" + index);
+			thread.start();
+			threads.add(thread);
+		}
+		for(Thread thread : threads)	thread.join();
+
+		// Reporting
+		final double requestsPerSecond = latency.getCount() / (double)seconds;
+		System.out.printf("%-10s %8d %14.0f %16.0f %10.1f %10.1f %10.1f %10.1f%s%n",
+				name, clients, requestsPerSecond, requestsPerSecond * batchSize,
+				latency.getPercentile(50) / 1e3, latency.getPercentile(99) / 1e3,
+				latency.getPercentile(99.9) / 1e3, latency.getMaximum() / 1e3,
+				(failures.get() > 0) ? "  (" + failures.get() + " failures)" : "");
+	}
+
+	/**
+	 * Creates the JSON message of a batch request.
+	 *
+	 * @param expressions : expressions of the batch.
+	 *
+	 * @return body[String] : JSON message.
+	 */
+	private static String batchBody(final List<String> expressions) {
+		final StringBuilder body = new StringBuilder("{\"expressions\":[");
+		for(int index = 0; index < expressions.size(); index++) {
+			if(index > 0)	body.append(',');
+			JsonCodec.appendString(body, expressions.get(index));
+		}
+		return body.append("]}").toString();
+	}
+
+	/**
+	 * Posts a JSON message.
+	 *
+	 * @param client : HTTP client.
+	 * @param uri : URI of the evaluation requests.
+	 * @param body : JSON message.
+	 *
+	 * @return response[HttpResponse&lt;String&gt;] : the response.
+	 *
+	 * @throws IOException If the request fails.
+	 * @throws InterruptedException If interrupted while waiting for the response.
+	 */
+	private static HttpResponse<String> send(final HttpClient client, final URI uri, final String body) throws IOException, InterruptedException {
+		final HttpRequest request = HttpRequest.newBuilder(uri)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	/**
+	 * Checks a response.
+	 *
+	 * @param response : the response.
+	 * @param status : expected status code.
+	 * @param body : expected body, or null to skip it.
+	 *
+	 */
+	private static void check(final HttpResponse<String> response, final int status, final String body) {
+		if(response.statusCode() != status || (body != null && !body.equals(response.body()))) {
+			throw new IllegalStateException("Unexpected response " + response.statusCode() + " " + response.body());
+		}
+	}
+}
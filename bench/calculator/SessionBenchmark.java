@@ -0,0 +1,149 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This benchmark saves the session of a model with a long expression entered so far, thousands of
+ * variables and a history of a million entries attached, then restores it many times into new models,
+ * reporting the size of the snapshot, the time to capture it and the time to restore it. It checks that
+ * the restored model gives the same result and holds the same variables, and that a damaged snapshot
+ * is ignored.
+ *
+ * @version 1.0.0
+ *
+ */
+public class SessionBenchmark {
+
+	private static final int HISTORY_ENTRIES = 1_000_000;
+	private static final int VARIABLE_COUNT = 10_000;
+	private static final int OPERAND_COUNT = 5_000;
+	private static final int RESTORES = 200;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws IOException If the files can't be written or read.
+	 * @throws InvaildOperatorException If an expression has an unknown operator.
+	 */
+	public static void main(String[] args) throws IOException, InvaildOperatorException {
+
+		// Initialization
+		final Path directory = Files.createTempDirectory("calculator-session");
+		final Path historyFile = directory.resolve("history.log");
+		final Path sessionFile = directory.resolve("session.bin");
+		try {
+
+			// Writing a large history
+			try(CalculationHistory history = CalculationHistory.open(historyFile)) {
+				for(int index = 0; index < HISTORY_ENTRIES; index++) {
+					history.record(index + " + 1", Integer.toString(index + 1));
+				}
+			}
+
+			// Entering a long expression into a model with the history and the variables
+			final CalculatorModel model = new CalculatorModel();
+			final StringBuilder text = new StringBuilder();
+			final String expected;
+			try(CalculationHistory history = CalculationHistory.open(historyFile)) {
+				model.setHistory(history);
+				for(int index = 0; index < VARIABLE_COUNT; index++) {
+					model.setVariable("v" + index, (index % 2 == 0) ? Integer.toString(index) : (index / 100.0) + "");
+				}
+				final ExpressionGenerator generator = new ExpressionGenerator(3, 0.5);
+				for(int operand = 0; operand < OPERAND_COUNT; operand++) {
+					CalculatorModel.replaceStringBuilderValue(text, generator.nextOperand().replace("-", ""));
+					model.handleOperation((operand % 2 == 0) ? "+" : "-", text);
+				}
+				text.append("42");
+
+				// Capturing and writing the session
+				long start = System.nanoTime();
+				final byte[] snapshot = CalculatorSession.capture(model, text);
+				final long captureNanos = System.nanoTime() - start;
+				try(CalculatorSession session = CalculatorSession.open(sessionFile)) {
+					session.save(snapshot);
+				}
+				System.out.printf("snapshot of %,d bytes captured in %.2f ms%n", Files.size(sessionFile), captureNanos / 1e6);
+
+				model.handleOperation("=", text);
+				expected = text.toString();
+			}
+
+			// Restoring the session into new models, the history being opened on its own
+			final long[] restoreNanos = new long[RESTORES];
+			for(int restore = 0; restore < RESTORES; restore++) {
+				final CalculatorModel restoredModel = new CalculatorModel();
+				final StringBuilder restoredText = new StringBuilder();
+				try(CalculationHistory history = (restore == 0) ? CalculationHistory.open(historyFile) : null;
+						CalculatorSession session = CalculatorSession.open(sessionFile)) {
+					if(history != null)	restoredModel.setHistory(history);
+					if(!session.restore(restoredModel, restoredText)) {
+						throw new IllegalStateException("The session wasn't restored");
+					}
+					restoreNanos[restore] = session.getRestoreNanos();
+
+					// Checking the restored model
+					if(restore == 0) {
+						check(model, restoredModel, restoredText, expected);
+					}
+				}
+			}
+			final long firstRestoreNanos = restoreNanos[0];
+			Arrays.sort(restoreNanos);
+			System.out.printf("%d restores: first %.2f ms, median %.2f ms (history of %,d entries attached)%n",
+					RESTORES, firstRestoreNanos / 1e6, restoreNanos[RESTORES / 2] / 1e6, HISTORY_ENTRIES);
+
+			// Ignoring a damaged snapshot
+			final byte[] damaged = Files.readAllBytes(sessionFile);
+			damaged[damaged.length / 2] ^= 1;
+			Files.write(sessionFile, damaged);
+			try(CalculatorSession session = CalculatorSession.open(sessionFile)) {
+				if(session.restore(new CalculatorModel(), new StringBuilder())) {
+					throw new IllegalStateException("A damaged snapshot was restored");
+				}
+			}
+			System.out.println("a damaged snapshot is ignored");
+		} finally {
+			try(var files = Files.list(directory)) {
+				for(Path file : (Iterable<Path>)files::iterator)	Files.delete(file);
+			}
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Checks that the restored model gives the expected result and holds the variables of the original one.
+	 *
+	 * @param model : the original model.
+	 * @param restoredModel : the restored model.
+	 * @param restoredText : the restored text.
+	 * @param expected : result of the original model.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static void check(final CalculatorModel model, final CalculatorModel restoredModel, final StringBuilder restoredText, final String expected) throws InvaildOperatorException {
+		if(!restoredText.toString().equals("42")) {
+			throw new IllegalStateException("Restored the text " + restoredText);
+		}
+		restoredModel.handleOperation("=", restoredText);
+		if(!restoredText.toString().equals(expected)) {
+			throw new IllegalStateException("The restored expression gives " + restoredText + " instead of " + expected);
+		}
+		final StringBuilder value = new StringBuilder();
+		final StringBuilder restoredValue = new StringBuilder();
+		for(int index = 0; index < VARIABLE_COUNT; index++) {
+			value.setLength(0);
+			restoredValue.setLength(0);
+			if(!model.getVariable("v" + index, value) || !restoredModel.getVariable("v" + index, restoredValue)
+					|| !value.toString().contentEquals(restoredValue)) {
+				throw new IllegalStateException("v" + index + " = " + restoredValue + " instead of " + value);
+			}
+		}
+		System.out.println("the restored model gives the same result and holds the same variables");
+	}
+}
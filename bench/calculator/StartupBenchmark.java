@@ -0,0 +1,284 @@
+package calculator;
+
+import java.awt.Button;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * This harness measures the cold start of the GUI: the time from the start of the JVM until the
+ * first frame is shown, and until the first expression ("1 + 2 =") entered through the keypad is
+ * displayed. Every run is a fresh JVM, launched first as it is, then with an AppCDS archive of the
+ * classes loaded by a training run, which it generates. As AppCDS only archives the classes of jar
+ * files, the classes are packaged into a temporary jar first.
+ *
+ * <p>Passing "--archive &lt;file&gt;.jsa" keeps the archive at the given location, along with the jar
+ * &lt;file&gt;.jar it was written for, so that the application can be launched with them:
+ * {@code java -XX:SharedArchiveFile=<file>.jsa -cp <file>.jar calculator.CalculatorApplication}.
+ * It needs a display, as the GUI can't start headless. The build writes the archive of the jar of
+ * the application itself with "mvn -B package -Pappcds".</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class StartupBenchmark {
+
+	private static final int RUNS = 5;
+
+	// Buttons clicked for the first evaluation, and the expected result
+	private static final String[] SCRIPT = {"1", "+", "2", "="};
+	private static final String EXPECTED_RESULT = "3";
+
+	// Argument starting a measured run in the current JVM
+	private static final String RUN_ARGUMENT = "--run";
+
+	// Prefix of the line reporting a measured run
+	private static final String REPORT_PREFIX = "startup ";
+
+	/**
+	 * Runs the harness.
+	 *
+	 * @param args: a String array object, optionally holding "--archive &lt;file&gt;" and the number of runs.
+	 *
+	 * @throws Exception If a run fails.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		// Refusing to run without a display
+		if(GraphicsEnvironment.isHeadless()) {
+			System.err.println("The startup can't be measured without a display");
+			System.exit(1);
+		}
+		if(args.length > 0 && args[0].equals(RUN_ARGUMENT)) {
+			run();
+			return;
+		}
+
+		// Initialization
+		final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		Path archive = null;
+		if(arguments.size() > 1 && arguments.get(0).equals("--archive")) {
+			archive = Path.of(arguments.get(1));
+			arguments.subList(0, 2).clear();
+		}
+		final int runs = arguments.isEmpty() ? RUNS : Integer.parseInt(arguments.get(0));
+		final boolean isTemporaryArchive = archive == null;
+		if(isTemporaryArchive) {
+			archive = Files.createTempFile("calculator", ".jsa");
+		}
+		final Path jar = isTemporaryArchive ? Files.createTempFile("calculator", ".jar") : siblingJar(archive);
+		writeJar(jar);
+
+		// Measuring without and with the archive
+		try {
+			System.out.printf("%-14s %6s %16s %22s%n", "mode", "runs", "first frame ms", "first evaluation ms");
+			report("default", measure(jar, runs));
+			Files.deleteIfExists(archive);
+			launch(jar, "-XX:ArchiveClassesAtExit=" + archive);
+			report("AppCDS", measure(jar, runs, "-XX:SharedArchiveFile=" + archive));
+		} finally {
+			if(isTemporaryArchive) {
+				Files.deleteIfExists(jar);
+				Files.deleteIfExists(archive);
+			}
+		}
+		if(!isTemporaryArchive) {
+			System.out.println("Archive written to " + archive.toAbsolutePath() + " for " + jar.toAbsolutePath());
+		}
+	}
+
+	/**
+	 * Returns the jar file kept along with the given archive, as an archive can only be used
+	 * with the very jar files it was written for.
+	 *
+	 * @param archive : path of the archive.
+	 *
+	 * @return jar[Path] : path of the jar file, the archive with the extension ".jar".
+	 */
+	private static Path siblingJar(final Path archive) {
+		final String name = archive.getFileName().toString();
+		final int extension = name.lastIndexOf('.');
+		return archive.resolveSibling(((extension > 0) ? name.substring(0, extension) : name) + ".jar");
+	}
+
+	/**
+	 * Packages the classes of the class path into a jar file.
+	 *
+	 * @param jar : path of the jar file.
+	 *
+	 * @throws IOException If the classes can't be read or the jar can't be written.
+	 */
+	private static void writeJar(final Path jar) throws IOException {
+		try(JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+			for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+				final Path directory = Path.of(entry);
+				if(!Files.isDirectory(directory))	continue;
+				try(Stream<Path> files = Files.walk(directory)) {
+					for(Path file : (Iterable<Path>)files.filter(Files::isRegularFile)::iterator) {
+						output.putNextEntry(new JarEntry(directory.relativize(file).toString().replace('\\', '/')));
+						Files.copy(file, (OutputStream)output);
+						output.closeEntry();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Launches the given number of runs, each in a fresh JVM.
+	 *
+	 * @param jar : jar file of the classes.
+	 * @param runs : number of runs.
+	 * @param options : options of the JVM.
+	 *
+	 * @return timings[long[][]] : first frame and first evaluation milliseconds of every run.
+	 *
+	 * @throws IOException If a run can't be launched or fails.
+	 * @throws InterruptedException If interrupted while waiting for a run.
+	 */
+	private static long[][] measure(final Path jar, final int runs, final String... options) throws IOException, InterruptedException {
+		final long[][] timings = new long[runs][];
+		for(int run = 0; run < runs; run++) {
+			timings[run] = launch(jar, options);
+		}
+		return timings;
+	}
+
+	/**
+	 * Launches a run in a fresh JVM.
+	 *
+	 * @param jar : jar file of the classes.
+	 * @param options : options of the JVM.
+	 *
+	 * @return timing[long[]] : first frame and first evaluation milliseconds.
+	 *
+	 * @throws IOException If the run can't be launched or fails.
+	 * @throws InterruptedException If interrupted while waiting for the run.
+	 */
+	private static long[] launch(final Path jar, final String... options) throws IOException, InterruptedException {
+
+		// Building the command line
+		final List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(Arrays.asList(options));
+		command.add("-cp");
+		command.add(jar.toString());
+		command.add(StartupBenchmark.class.getName());
+		command.add(RUN_ARGUMENT);
+
+		// Reading the report of the run
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		long[] timing = null;
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(line.startsWith(REPORT_PREFIX)) {
+					final String[] values = line.substring(REPORT_PREFIX.length()).split(" ");
+					timing = new long[] {Long.parseLong(values[0]), Long.parseLong(values[1])};
+				} else {
+					System.err.println(line);
+				}
+			}
+		}
+		if(process.waitFor() != 0 || timing == null) {
+			throw new IOException("The run failed: " + String.join(" ", command));
+		}
+		return timing;
+	}
+
+	/**
+	 * Starts the application the way {@link CalculatorApplication} does, enters the script
+	 * and reports the timings from the start of the JVM.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the display.
+	 * @throws InvocationTargetException If an event fails.
+	 */
+	private static void run() throws InterruptedException, InvocationTargetException {
+
+		// Starting the application
+		final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+		final CalculatorView view = new CalculatorView();
+		new CalculatorController(view, CalculatorModel::new);
+
+		// Waiting for the first frame to be shown and painted
+		while(!view.isShowing()) {
+			Thread.sleep(1);
+		}
+		EventQueue.invokeAndWait(() -> Toolkit.getDefaultToolkit().sync());
+		final long firstFrameMillis = System.currentTimeMillis() - jvmStartMillis;
+
+		// Clicking the buttons on the event thread
+		EventQueue.invokeAndWait(() -> {
+			for(String label : SCRIPT) {
+				final Button button = findButton(view, label);
+				button.dispatchEvent(new ActionEvent(button, ActionEvent.ACTION_PERFORMED, label));
+			}
+		});
+
+		// Waiting for the result to be displayed
+		final String[] text = new String[1];
+		do {
+			Thread.sleep(1);
+			EventQueue.invokeAndWait(() -> text[0] = view.textField.getText());
+		} while(!text[0].equals(EXPECTED_RESULT));
+		final long firstEvaluationMillis = System.currentTimeMillis() - jvmStartMillis;
+
+		System.out.println(REPORT_PREFIX + firstFrameMillis + " " + firstEvaluationMillis);
+		view.dispose();
+		System.exit(0);
+	}
+
+	/**
+	 * Returns the button of the keypad with the given label.
+	 *
+	 * @param view : the view.
+	 * @param label : label of the button.
+	 *
+	 * @return button[Button] : the button.
+	 */
+	private static Button findButton(final CalculatorView view, final String label) {
+		for(Component component : view.keypad.getComponents()) {
+			if(component instanceof Button button && button.getLabel().equals(label)) {
+				return button;
+			}
+		}
+		throw new IllegalArgumentException("No button " + label);
+	}
+
+	/**
+	 * Prints the median timings of the runs.
+	 *
+	 * @param mode : name of the mode.
+	 * @param timings : first frame and first evaluation milliseconds of every run.
+	 *
+	 */
+	private static void report(final String mode, final long[][] timings) {
+		final long[] firstFrames = new long[timings.length];
+		final long[] firstEvaluations = new long[timings.length];
+		for(int run = 0; run < timings.length; run++) {
+			firstFrames[run] = timings[run][0];
+			firstEvaluations[run] = timings[run][1];
+		}
+		Arrays.sort(firstFrames);
+		Arrays.sort(firstEvaluations);
+		System.out.printf("%-14s %6d %16d %22d%n", mode, timings.length, firstFrames[timings.length / 2], firstEvaluations[timings.length / 2]);
+	}
+}
@@ -0,0 +1,150 @@
+package calculator;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * This is a microbenchmark comparing the {@link TokenClassifier} with the
+ * original regex path, which compiled a Pattern on every call.
+ * It classifies a million tokens with both and verifies that the results are identical.
+ *
+ * @version 1.0.0
+ *
+ */
+public class TokenClassifierBenchmark {
+
+	// Regexes used by the original implementation
+	private static final String NUMERIC_REGEX = "^(\\-?[0-9]+(\\.[0-9]*)?)?$";
+	private static final String DECIMAL_REGEX = "^(\\-?[0-9]*\\.[0-9]*)?$";
+	private static final String ZERO_DIVISOR_REGEX = "^0*(\\.?0*)?$";
+	private static final String OPERATOR_REGEX = "^\\+|\\-$";
+	private static final String LABEL_REGEX = "^C|BS|=|\\+/\\-|\\+|\\-|\\*|/|%|MC|MR|M\\+|M\\-$" + registeredOperatorsRegex();
+
+	private static final int TOKEN_COUNT = 1_000_000;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 */
+	public static void main(String[] args) {
+
+		// Initialization
+		final String[] tokens = generateTokens(new Random(42), TOKEN_COUNT);
+
+		// Verifying both the paths agree on every token
+		for(String token : tokens) {
+			if(legacyClassify(token) != classify(token)) {
+				throw new IllegalStateException("Classification mismatch for token: \"" + token + "\"");
+			}
+		}
+
+		// Warming up, then measuring the last round
+		for(int round = 1; round <= ROUNDS; round++) {
+			final boolean measure = round == ROUNDS;
+
+			long allocated = BenchmarkSupport.allocatedBytes();
+			long start = System.nanoTime();
+			long checksum = 0;
+			for(String token : tokens)	checksum += legacyClassify(token);
+			long elapsed = System.nanoTime() - start;
+			allocated = BenchmarkSupport.allocatedBytes() - allocated;
+			BenchmarkSupport.blackhole += checksum;
+			if(measure)	BenchmarkSupport.report("regex (Pattern.compile per call)", TOKEN_COUNT, elapsed, allocated);
+
+			allocated = BenchmarkSupport.allocatedBytes();
+			start = System.nanoTime();
+			checksum = 0;
+			for(String token : tokens)	checksum += classify(token);
+			elapsed = System.nanoTime() - start;
+			allocated = BenchmarkSupport.allocatedBytes() - allocated;
+			BenchmarkSupport.blackhole += checksum;
+			if(measure)	BenchmarkSupport.report("TokenClassifier", TOKEN_COUNT, elapsed, allocated);
+		}
+	}
+
+	/**
+	 * Classifies the token through the original regex path.
+	 *
+	 * @param token : token that need to be classified.
+	 *
+	 * @return bits[int] : one bit per check.
+	 */
+	private static int legacyClassify(final String token) {
+		int bits = 0;
+		if(Pattern.compile(NUMERIC_REGEX).matcher(token).matches())			bits |= 1;
+		if(Pattern.compile(DECIMAL_REGEX).matcher(token).matches())			bits |= 2;
+		if(Pattern.compile(ZERO_DIVISOR_REGEX).matcher(token).matches())	bits |= 4;
+		if(Pattern.compile(OPERATOR_REGEX).matcher(token).matches())		bits |= 8;
+		if(Pattern.compile(LABEL_REGEX).matcher(token).matches())			bits |= 16;
+		return bits;
+	}
+
+	/**
+	 * Returns the alternatives matching the symbols of the operators registered since the original
+	 * implementation, which only knew "+", "-", "*", "/" and "%".
+	 *
+	 * @return regex[String] : an alternative per symbol, each starting with '|'.
+	 */
+	private static String registeredOperatorsRegex() {
+		final StringBuilder regex = new StringBuilder();
+		for(Operator operator : OperatorRegistry.getOperators()) {
+			regex.append('|').append(Pattern.quote(operator.getSymbol()));
+		}
+		return regex.toString();
+	}
+
+	/**
+	 * Classifies the token through the TokenClassifier.
+	 *
+	 * @param token : token that need to be classified.
+	 *
+	 * @return bits[int] : one bit per check.
+	 */
+	private static int classify(final String token) {
+		int bits = 0;
+		if(TokenClassifier.isNumeric(token))				bits |= 1;
+		if(TokenClassifier.isDecimal(token))				bits |= 2;
+		if(TokenClassifier.isZeroDivisor(token))			bits |= 4;
+		if(TokenClassifier.isLowPrecedenceOperator(token))	bits |= 8;
+		if(TokenClassifier.isOperationLabel(token))			bits |= 16;
+		return bits;
+	}
+
+	/**
+	 * Generates a mix of valid numbers, operators, labels and malformed tokens.
+	 *
+	 * @param random : source of randomness.
+	 * @param count : number of tokens.
+	 *
+	 * @return tokens[String[]] : generated tokens.
+	 */
+	private static String[] generateTokens(final Random random, final int count) {
+
+		// Initialization
+		final String alphabet = "0123456789.-+*/%CBS=";
+		final String[] fixed = {"", "0", "-0", "0.0", ".", "-.", "00.", "+", "-", "*", "/", "%", "C", "BS", "=", "+/-", "ERROR", "MC", "MR", "M+", "M-", "M"};
+		final String[] tokens = new String[count];
+		final StringBuilder builder = new StringBuilder();
+
+		// Generating tokens
+		for(int index = 0; index < count; index++) {
+			switch(random.nextInt(4)) {
+				case 0 -> tokens[index] = fixed[random.nextInt(fixed.length)];
+				case 1 -> tokens[index] = Long.toString(random.nextInt(100_000) - 50_000);
+				case 2 -> tokens[index] = (random.nextInt(10_000) - 5_000) / 100.0 + "";
+				default -> {
+					builder.setLength(0);
+					final int length = 1 + random.nextInt(6);
+					for(int position = 0; position < length; position++) {
+						builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+					}
+					tokens[index] = builder.toString();
+				}
+			}
+		}
+
+		return tokens;
+	}
+}
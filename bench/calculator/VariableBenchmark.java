@@ -0,0 +1,121 @@
+package calculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This benchmark evaluates expressions referencing thousands of variables, like "v12 * v4071 + v9",
+ * and the very same expressions with the values of the variables written in place of their names,
+ * checking that both give the same results. A variable should cost no more than reading its number.
+ *
+ * @version 1.0.0
+ *
+ */
+public class VariableBenchmark {
+
+	private static final int VARIABLE_COUNT = 10_000;
+	private static final int EXPRESSION_COUNT = 20_000;
+	private static final int OPERAND_COUNT = 20;
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args: a String array object, unused.
+	 *
+	 * @throws InvaildOperatorException If the generated expressions have an unknown operator.
+	 */
+	public static void main(String[] args) throws InvaildOperatorException {
+
+		// Initialization, half of the variables being decimal values
+		final CalculatorModel model = new CalculatorModel();
+		final ExpressionGenerator generator = new ExpressionGenerator(7, 0.5);
+		final String[] values = new String[VARIABLE_COUNT];
+		for(int index = 0; index < VARIABLE_COUNT; index++) {
+			values[index] = generator.nextOperand();
+			model.setVariable("v" + index, values[index]);
+		}
+
+		// Writing every expression with the names and with the values, keeping those that don't fail
+		final Random random = new Random(42);
+		final StringBuilder text = new StringBuilder();
+		final List<String> variableLines = new ArrayList<>();
+		final List<String> literalLines = new ArrayList<>();
+		for(int expression = 0; expression < EXPRESSION_COUNT; expression++) {
+			final StringBuilder variableLine = new StringBuilder();
+			final StringBuilder literalLine = new StringBuilder();
+			for(int operand = 0; operand < OPERAND_COUNT; operand++) {
+				if(operand > 0) {
+					final String operator = ExpressionGenerator.OPERATORS[random.nextInt(ExpressionGenerator.OPERATORS.length)];
+					variableLine.append(' ').append(operator).append(' ');
+					literalLine.append(' ').append(operator).append(' ');
+				}
+				final int variable = random.nextInt(VARIABLE_COUNT);
+				variableLine.append('v').append(variable);
+				literalLine.append(values[variable]);
+			}
+			final String expected = evaluate(model, literalLine, text);
+			final String actual = evaluate(model, variableLine, text);
+			if(!expected.equals(actual)) {
+				throw new IllegalStateException(variableLine + " = " + actual + ", but " + literalLine + " = " + expected);
+			}
+			if(!expected.equals(BatchEvaluator.ERROR_RESULT)) {
+				variableLines.add(variableLine.toString());
+				literalLines.add(literalLine.toString());
+			}
+		}
+		System.out.printf("%,d variables, %,d expressions of %d operands give the same results%n",
+				VARIABLE_COUNT, variableLines.size(), OPERAND_COUNT);
+
+		// Warming up, then measuring the last round
+		for(int round = 1; round <= ROUNDS; round++) {
+			final boolean measure = round == ROUNDS;
+			measure("literals", model, literalLines, text, measure);
+			measure("variables", model, variableLines, text, measure);
+		}
+	}
+
+	/**
+	 * Evaluates the given lines and reports them.
+	 *
+	 * @param name : name of the case.
+	 * @param model : model evaluating the lines.
+	 * @param lines : the expressions.
+	 * @param text : StringBuilder object the results are written into.
+	 * @param measure : true to report the measure.
+	 *
+	 * @throws InvaildOperatorException If an expression has an unknown operator.
+	 */
+	private static void measure(final String name, final CalculatorModel model, final List<String> lines, final StringBuilder text, final boolean measure) throws InvaildOperatorException {
+		long allocated = BenchmarkSupport.allocatedBytes();
+		final long start = System.nanoTime();
+		for(String line : lines) {
+			model.evaluate(line, text);
+			BenchmarkSupport.blackhole += text.length();
+		}
+		final long elapsed = System.nanoTime() - start;
+		allocated = BenchmarkSupport.allocatedBytes() - allocated;
+		if(measure)	BenchmarkSupport.report(name, lines.size(), elapsed, allocated);
+	}
+
+	/**
+	 * Evaluates the given line, a failure giving "ERROR".
+	 *
+	 * @param model : model evaluating the line.
+	 * @param line : the expression.
+	 * @param text : StringBuilder object the result is written into.
+	 *
+	 * @return result[String] : the result.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	private static String evaluate(final CalculatorModel model, final CharSequence line, final StringBuilder text) throws InvaildOperatorException {
+		try {
+			model.evaluate(line, text);
+			return text.toString();
+		} catch(ArithmeticException | NumberFormatException exception) {
+			return BatchEvaluator.ERROR_RESULT;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package calculator;
+
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark compares the cost of the default arithmetic of {@link CalculatorModel} with its
+ * {@link ExactArithmetic}, on whole numbers, on whole numbers overflowing long and on decimal values.
+ * It first checks the exact arithmetic against results worked out by hand.
+ *
+ * @version 1.0.0
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticModeBenchmark {
+
+	private static final int EXPRESSION_COUNT = 1_024;
+
+	// Lines with their exact results at a scale of 10, rounded half even
+	private static final String[][] EXACT_RESULTS = {
+			{"0.1 + 0.2", "0.3"},
+			{"9223372036854775807 + 1", "9223372036854775808"},
+			{"3037000500 * 3037000500", "9223372037000250000"},
+			{"-9223372036854775808 / -1", "9223372036854775808"},
+			{"1 / 3", "0.3333333333"},
+			{"2 / 3", "0.6666666667"},
+			{"10 / 4", "2.5"},
+			{"12 / 4 * 2.50", "7.5"},
+			{"1.005 * 100", "100.5"},
+			{"7.5 % 2", "1.5"},
+			{"99999999999999999999 % 7", "1"},
+			{"0.00000000005 * 1", "0"},
+			{"0.00000000015 + 0", "0.0000000002"},
+			{"5 - 3 + 1", "1"},
+			{"12.50", "12.50"}
+	};
+
+	// Arithmetic of the model
+	@Param({"default", "exact"})
+	public String mode;
+
+	// Kind of values of the expressions
+	@Param({"whole numbers, no division", "whole numbers", "overflowing numbers", "decimal values"})
+	public String workload;
+
+	private final CalculatorModel model = new CalculatorModel();
+	private final StringBuilder result = new StringBuilder();
+	private String[] lines;
+	private int index;
+
+	/**
+	 * Checks the exact results, then generates the expressions of the selected workload.
+	 *
+	 * @throws InvaildOperatorException If an expression has an unknown operator.
+	 */
+	@Setup
+	public void setUp() throws InvaildOperatorException {
+
+		// Checking the exact results
+		final CalculatorModel exactModel = new CalculatorModel();
+		exactModel.setExactArithmetic(new ExactArithmetic(10, RoundingMode.HALF_EVEN));
+		for(String[] expected : EXACT_RESULTS) {
+			exactModel.evaluate(expected[0], this.result);
+			if(!expected[1].contentEquals(this.result)) {
+				throw new IllegalStateException(expected[0] + " = " + expected[1] + ", but got " + this.result);
+			}
+		}
+		try {
+			exactModel.evaluate("1 % 0.0", this.result);
+			throw new IllegalStateException("1 % 0.0 didn't fail");
+		} catch(ArithmeticException exception) {
+			// Expected
+		}
+
+		// Generating the workload
+		if(this.mode.equals("exact")) {
+			this.model.setExactArithmetic(new ExactArithmetic(10, RoundingMode.HALF_EVEN));
+		}
+		this.lines = new String[EXPRESSION_COUNT];
+		final ExpressionGenerator generator = new ExpressionGenerator(this.workload.startsWith("decimal") ? 22 : 21, this.workload.startsWith("decimal") ? 0.5 : 0.0);
+		for(int line = 0; line < EXPRESSION_COUNT; line++) {
+			this.lines[line] = switch(this.workload) {
+				case "whole numbers, no division" -> generator.nextLine(8).replace('/', '*');
+				case "overflowing numbers" -> (4_000_000_000L + line) + " * " + (5_000_000_000L + line) + " - " + line + " * 3";
+				default -> generator.nextLine(8);
+			};
+		}
+	}
+
+	/**
+	 * Evaluates a line, a failure being measured all the same.
+	 *
+	 * @return length[int] : length of the result, 0 for a failed evaluation.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	@Benchmark
+	public int evaluate() throws InvaildOperatorException {
+		try {
+			this.model.evaluate(this.lines[this.index++ & (EXPRESSION_COUNT - 1)], this.result);
+			return this.result.length();
+		} catch(ArithmeticException | NumberFormatException exception) {
+			return 0;
+		}
+	}
+}
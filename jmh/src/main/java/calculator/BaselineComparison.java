@@ -0,0 +1,135 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This program compares two results of the JMH benchmarks saved as CSV ("-rf csv -rff &lt;file&gt;"),
+ * usually before and after a change, printing the change of every score, the allocation reported
+ * by the GC profiler included, as "java -cp benchmarks.jar calculator.BaselineComparison
+ * baseline.csv results.csv".
+ *
+ * @version 1.0.0
+ *
+ */
+public class BaselineComparison {
+
+	/**
+	 * A score of the results.
+	 *
+	 * @param score : the score.
+	 * @param unit : unit of the score.
+	 */
+	private record Score(double score, String unit) {
+	}
+
+	/**
+	 * Runs the comparison.
+	 *
+	 * @param args: a String array object, the baseline and the results.
+	 *
+	 * @throws IOException If a file can't be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length != 2) {
+			System.err.println("Usage: BaselineComparison <baseline.csv> <results.csv>");
+			System.exit(2);
+		}
+
+		// Reading both the results
+		final Map<String, Score> baseline = read(Path.of(args[0]));
+		final Map<String, Score> results = read(Path.of(args[1]));
+
+		// Comparing every score of the results
+		System.out.printf("%-72s %14s %14s %9s  %s%n", "case", "baseline", "results", "change", "unit");
+		for(Map.Entry<String, Score> entry : results.entrySet()) {
+			final Score before = baseline.get(entry.getKey());
+			final Score after = entry.getValue();
+			System.out.printf("%-72s %14s %14.3f %9s  %s%n",
+					entry.getKey(),
+					(before == null) ? "-" : String.format("%.3f", before.score()),
+					after.score(),
+					(before == null || before.score() == 0) ? "-" : String.format("%+.1f%%", 100 * (after.score() / before.score() - 1)),
+					after.unit());
+		}
+	}
+
+	/**
+	 * Reads the scores of a CSV file of JMH, keyed by the benchmark and its parameters.
+	 *
+	 * @param path : location of the file.
+	 *
+	 * @return scores[Map&lt;String, Score&gt;] : scores by case.
+	 *
+	 * @throws IOException If the file can't be read or isn't a CSV file of JMH.
+	 */
+	private static Map<String, Score> read(final Path path) throws IOException {
+
+		// Initialization
+		final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+		final Map<String, Score> scores = new LinkedHashMap<>();
+		if(lines.isEmpty()) {
+			return scores;
+		}
+		final List<String> header = fields(lines.get(0));
+		final int scoreColumn = header.indexOf("Score");
+		final int unitColumn = header.indexOf("Unit");
+		if(!header.contains("Benchmark") || scoreColumn < 0 || unitColumn < 0) {
+			throw new IOException("Not a CSV file of JMH: " + path);
+		}
+
+		// Reading the cases, the parameters following the unit
+		for(String line : lines.subList(1, lines.size())) {
+			final List<String> fields = fields(line);
+			if(fields.size() < header.size())	continue;
+			final StringBuilder name = new StringBuilder(fields.get(0).replace("calculator.", ""));
+			for(int column = unitColumn + 1; column < fields.size(); column++) {
+				if(fields.get(column).isEmpty())	continue;
+				name.append(' ').append(header.get(column).replace("Param: ", "")).append('=').append(fields.get(column));
+			}
+			scores.put(name.toString(), new Score(Double.parseDouble(fields.get(scoreColumn)), fields.get(unitColumn)));
+		}
+		return scores;
+	}
+
+	/**
+	 * Splits a CSV line into its fields, a quoted field possibly holding commas and doubled quotes.
+	 *
+	 * @param line : the line.
+	 *
+	 * @return fields[List&lt;String&gt;] : the fields without their quotes.
+	 */
+	private static List<String> fields(final String line) {
+		final List<String> fields = new ArrayList<>();
+		final StringBuilder field = new StringBuilder();
+		boolean isQuoted = false;
+		for(int index = 0; index < line.length(); index++) {
+			final char character = line.charAt(index);
+			if(isQuoted) {
+				if(character != '"') {
+					field.append(character);
+				} else if(index + 1 < line.length() && line.charAt(index + 1) == '"') {
+					field.append('"');
+					index++;
+				} else {
+					isQuoted = false;
+				}
+			} else if(character == '"') {
+				isQuoted = true;
+			} else if(character == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(character);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
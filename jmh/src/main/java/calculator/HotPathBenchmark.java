@@ -0,0 +1,189 @@
+package calculator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark covers the hot paths of {@link CalculatorModel}: the validation of the values,
+ * every operation of handleOperation() and the evaluation of short, long and mixed long/double
+ * expressions on "=". Run it with the GC profiler ("-prof gc") to report the allocation of
+ * every case, and save its results ("-rf csv -rff baseline.csv") to compare a later run with
+ * them through {@link BaselineComparison}.
+ *
+ * @version 1.0.0
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+	private static final int EXPRESSION_COUNT = 1_024;
+	private static final String[] VALUES = {"12", "-7", "3.25", "-0.5", "1200000", "0", "0.00", "12a", "--3", "1.2.3"};
+
+	/**
+	 * This class is the operator entered by {@link HotPathBenchmark#handleOperation(Operation)}.
+	 */
+	@State(Scope.Thread)
+	public static class Operation {
+
+		// Every operator, the registered ones included
+		@Param({"+", "-", "*", "/", "%", "^", "//"})
+		public String operator;
+	}
+
+	/**
+	 * This class holds the expressions evaluated by {@link HotPathBenchmark#evaluateExpression(Expressions)}.
+	 */
+	@State(Scope.Thread)
+	public static class Expressions {
+
+		// Length of the expressions and whether they have decimal values
+		@Param({"short long", "long long", "short mixed", "long mixed"})
+		public String shape;
+
+		private String[][] tokens;
+
+		/**
+		 * Generates the expressions of the selected shape, the same ones for every run.
+		 */
+		@Setup
+		public void setUp() {
+			final ExpressionGenerator generator = switch(this.shape) {
+				case "short long" -> new ExpressionGenerator(1, 0.0);
+				case "long long" -> new ExpressionGenerator(2, 0.0);
+				case "short mixed" -> new ExpressionGenerator(3, 0.5);
+				default -> new ExpressionGenerator(4, 0.5);
+			};
+			final int operandCount = this.shape.startsWith("short") ? 3 : 40;
+			this.tokens = new String[EXPRESSION_COUNT][];
+			for(int expression = 0; expression < EXPRESSION_COUNT; expression++) {
+				this.tokens[expression] = generator.nextExpression(operandCount);
+			}
+		}
+	}
+
+	private final CalculatorModel model = new CalculatorModel();
+	private final StringBuilder text = new StringBuilder();
+	private int index;
+
+	/**
+	 * Validates a value as numeric.
+	 *
+	 * @return [boolean]: returns true for a numeric value.
+	 */
+	@Benchmark
+	public boolean isNumericValue() {
+		return CalculatorModel.isNumericValue(VALUES[this.index++ % VALUES.length], false);
+	}
+
+	/**
+	 * Validates a value as decimal.
+	 *
+	 * @return [boolean]: returns true for a decimal value.
+	 */
+	@Benchmark
+	public boolean isNumericValueDecimal() {
+		return CalculatorModel.isNumericValue(VALUES[this.index++ % VALUES.length], true);
+	}
+
+	/**
+	 * Matches a value against a regular expression.
+	 *
+	 * @return [boolean]: returns true if the value matches.
+	 */
+	@Benchmark
+	public boolean matchesRegex() {
+		return CalculatorModel.matchesRegex("^0*(\\.?0*)?$", VALUES[this.index++ % VALUES.length]);
+	}
+
+	/**
+	 * Enters "a op b =" with whole numbers and decimal values.
+	 *
+	 * @param operation : the operator.
+	 *
+	 * @return length[int] : length of the result.
+	 *
+	 * @throws InvaildOperatorException If the operator is unknown.
+	 */
+	@Benchmark
+	public int handleOperation(final Operation operation) throws InvaildOperatorException {
+		final int index = this.index++;
+		CalculatorModel.replaceStringBuilderValue(this.text, (index & 1) == 0 ? "1234" : "12.5");
+		this.model.handleOperation(operation.operator, this.text);
+		CalculatorModel.replaceStringBuilderValue(this.text, (index & 2) == 0 ? "7" : "2.5");
+		this.model.handleOperation("=", this.text);
+		this.model.hasDisplayedResult();
+		return this.text.length();
+	}
+
+	/**
+	 * Negates the text field.
+	 *
+	 * @return length[int] : length of the text.
+	 *
+	 * @throws InvaildOperatorException If the operation is unknown.
+	 */
+	@Benchmark
+	public int handleOperationNegate() throws InvaildOperatorException {
+		CalculatorModel.replaceStringBuilderValue(this.text, "1234.5");
+		this.model.handleOperation("+/-", this.text);
+		return this.text.length();
+	}
+
+	/**
+	 * Removes the last character of the text field.
+	 *
+	 * @return length[int] : length of the text.
+	 *
+	 * @throws InvaildOperatorException If the operation is unknown.
+	 */
+	@Benchmark
+	public int handleOperationBackspace() throws InvaildOperatorException {
+		CalculatorModel.replaceStringBuilderValue(this.text, "1234.5");
+		this.model.handleOperation("BS", this.text);
+		return this.text.length();
+	}
+
+	/**
+	 * Clears the text field and the expression.
+	 *
+	 * @return length[int] : length of the text.
+	 *
+	 * @throws InvaildOperatorException If the operation is unknown.
+	 */
+	@Benchmark
+	public int handleOperationClear() throws InvaildOperatorException {
+		CalculatorModel.replaceStringBuilderValue(this.text, "1234.5");
+		this.model.handleOperation("C", this.text);
+		return this.text.length();
+	}
+
+	/**
+	 * Enters a whole expression through handleOperation() and presses "=".
+	 *
+	 * @param expressions : the expressions of the selected shape.
+	 *
+	 * @return result[String] : displayed result, "ERROR" or the name of the unexpected exception.
+	 *
+	 * @throws InvaildOperatorException If the expression has an unknown operator.
+	 */
+	@Benchmark
+	public String evaluateExpression(final Expressions expressions) throws InvaildOperatorException {
+		return EvaluationBenchmark.evaluate(this.model, expressions.tokens[this.index++ & (EXPRESSION_COUNT - 1)], this.text);
+	}
+}
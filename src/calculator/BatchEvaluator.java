@@ -0,0 +1,172 @@
+package calculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class evaluates expressions in bulk without any GUI, one expression per line.
+ * The lines are streamed from the input and every result is written as soon as it is
+ * evaluated, so the input is never loaded into memory as a whole.
+ *
+ * <p>Each result line is the displayed result of the expression, "ERROR" when the
+ * calculator would have shown it (like a division by zero), "INVALID" for a line that
+ * isn't an expression, or an empty line for an empty line.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class BatchEvaluator {
+
+	// Buffer sizes of the streams
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// Results of the lines that couldn't be evaluated
+	static final String ERROR_RESULT = "ERROR";
+	static final String INVALID_RESULT = "INVALID";
+
+	private final CalculatorModel model;
+	private final StringBuilder result;
+
+	/**
+	 * Constructs a new BatchEvaluator instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	public BatchEvaluator() {
+		this(new CalculatorModel());
+	}
+
+	/**
+	 * Constructs a new BatchEvaluator instance.
+	 * This constructor initializes with provided data or resources.
+	 *
+	 * @param model : a CalculatorModel instance, used only by this evaluator.
+	 *
+	 */
+	public BatchEvaluator(final CalculatorModel model) {
+		this.model = model;
+		this.result = new StringBuilder();
+	}
+
+	/**
+	 * Evaluates the expressions of the given file, or of the standard input when
+	 * the location is "-", and writes the results to the standard output. A file evaluated on
+	 * the current thread is read by {@link MappedBatchEvaluator}, and its throughput is written
+	 * to the standard error.
+	 *
+	 * @param location : path of the file, or "-" for the standard input.
+	 * @param threadCount : number of worker threads, 1 evaluates on the current thread.
+	 *
+	 * @return count[long] : number of evaluated lines.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public static long evaluateToStandardOutput(final String location, final int threadCount) throws IOException {
+
+		// Reading a single file through memory-mapped windows, reporting the throughput
+		if(threadCount <= 1 && !location.equals("-")) {
+			final MappedBatchEvaluator evaluator = new MappedBatchEvaluator();
+			final long start = System.nanoTime();
+			final long count = evaluator.evaluate(Path.of(location), new FileOutputStream(FileDescriptor.out).getChannel());
+			final long elapsed = System.nanoTime() - start;
+			System.err.printf("%,d expressions, %.1f MB in %.1f s, %.1f MB/s%n",
+					count, evaluator.getBytesRead() / 1e6, elapsed / 1e9, evaluator.getBytesRead() * 1e3 / elapsed);
+			return count;
+		}
+
+		// Initialization
+		final Reader input = location.equals("-")
+				? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+				: Files.newBufferedReader(Path.of(location), StandardCharsets.UTF_8);
+		final Writer output = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+
+		// Evaluating the whole input
+		if(threadCount > 1) {
+			try(input; ParallelBatchEvaluator evaluator = new ParallelBatchEvaluator(threadCount)) {
+				return evaluator.evaluate(input, output);
+			}
+		}
+		try(input) {
+			return new BatchEvaluator().evaluate(input, output);
+		}
+	}
+
+	/**
+	 * Evaluates every line of the given input and writes one result line per input line.
+	 * The output is flushed once the input is exhausted.
+	 *
+	 * @param input : Reader of the expressions.
+	 * @param output : Writer of the results.
+	 *
+	 * @return count[long] : number of evaluated lines.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public long evaluate(final Reader input, final Writer output) throws IOException {
+
+		// Initialization
+		final BufferedReader reader = (input instanceof BufferedReader bufferedReader) ? bufferedReader : new BufferedReader(input, BUFFER_SIZE);
+		final BufferedWriter writer = new BufferedWriter(output, BUFFER_SIZE);
+		long count = 0;
+
+		// Streaming the lines
+		String line;
+		while((line = reader.readLine()) != null) {
+			writer.append(this.evaluate(line)).append('\n');
+			count++;
+		}
+
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * Evaluates a single line and returns its result.
+	 * The returned StringBuilder is reused by the next call.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 *
+	 * @return result[CharSequence] : result of the line.
+	 */
+	CharSequence evaluate(final CharSequence line) {
+
+		// Empty lines are kept as they are
+		this.result.setLength(0);
+		if(isBlank(line)) {
+			return this.result;
+		}
+
+		// Evaluating the line
+		try {
+			this.model.evaluate(line, this.result);
+		} catch(ArithmeticException exception) {
+			CalculatorModel.replaceStringBuilderValue(this.result, ERROR_RESULT);
+		} catch(InvaildOperatorException | NumberFormatException exception) {
+			CalculatorModel.replaceStringBuilderValue(this.result, INVALID_RESULT);
+		}
+		return this.result;
+	}
+
+	/**
+	 * Returns true if the given line has only whitespace characters.
+	 *
+	 * @param line : line that need to be checked.
+	 *
+	 * @return [boolean]: returns true for a blank line.
+	 */
+	static boolean isBlank(final CharSequence line) {
+		for(int index = 0; index < line.length(); index++) {
+			if(!Character.isWhitespace(line.charAt(index)))	return false;
+		}
+		return true;
+	}
+}
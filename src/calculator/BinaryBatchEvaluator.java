@@ -0,0 +1,203 @@
+package calculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class evaluates expressions in bulk from the binary format of {@link BinaryFormat}
+ * into results in the same format, the way {@link BatchEvaluator} does with text: "ERROR"
+ * when the calculator would have shown it and "INVALID" for an expression that can't be evaluated.
+ * The numbers go from the input stream to the calculator and back without being formatted or parsed.
+ *
+ * <p>It also converts the expressions and the results between the text and the binary format.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class BinaryBatchEvaluator {
+
+	// Buffer sizes of the text streams
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final CalculatorModel model;
+	private final StringBuilder result;
+
+	/**
+	 * Constructs a new BinaryBatchEvaluator instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	public BinaryBatchEvaluator() {
+		this(new CalculatorModel());
+	}
+
+	/**
+	 * Constructs a new BinaryBatchEvaluator instance.
+	 * This constructor initializes with provided data or resources.
+	 *
+	 * @param model : a CalculatorModel instance, used only by this evaluator.
+	 *
+	 */
+	public BinaryBatchEvaluator(final CalculatorModel model) {
+		this.model = model;
+		this.result = new StringBuilder();
+	}
+
+	/**
+	 * Evaluates the binary expressions of the given file, or of the standard input when
+	 * the location is "-", and writes the binary results to the standard output.
+	 *
+	 * @param location : path of the file, or "-" for the standard input.
+	 *
+	 * @return count[long] : number of evaluated expressions.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public static long evaluateToStandardOutput(final String location) throws IOException {
+		final InputStream input = location.equals("-") ? System.in : Files.newInputStream(Path.of(location));
+		try(input) {
+			return new BinaryBatchEvaluator().evaluate(input, new FileOutputStream(FileDescriptor.out));
+		}
+	}
+
+	/**
+	 * Evaluates every expression of the given input and writes one result per expression.
+	 * The output is flushed once the input is exhausted, but not closed.
+	 *
+	 * @param input : stream of the binary expressions.
+	 * @param output : stream of the binary results.
+	 *
+	 * @return count[long] : number of evaluated expressions.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public long evaluate(final InputStream input, final OutputStream output) throws IOException {
+
+		// Initialization
+		final BinaryReader expressions = BinaryReader.forExpressions(input);
+		final BinaryWriter results = BinaryWriter.forResults(output);
+		long count = 0;
+
+		// Evaluating the expressions
+		while(expressions.hasNext()) {
+			try {
+				this.model.evaluate(expressions, this.result);
+			} catch(ArithmeticException exception) {
+				CalculatorModel.replaceStringBuilderValue(this.result, BatchEvaluator.ERROR_RESULT);
+			} catch(InvaildOperatorException | NumberFormatException exception) {
+				CalculatorModel.replaceStringBuilderValue(this.result, BatchEvaluator.INVALID_RESULT);
+			}
+			results.writeResult(this.result);
+			count++;
+		}
+
+		results.flush();
+		return count;
+	}
+
+	/**
+	 * Converts expressions from text, one per line, into the binary format.
+	 * The output is flushed once the input is exhausted, but not closed.
+	 *
+	 * @param input : Reader of the expressions.
+	 * @param output : stream of the binary expressions.
+	 *
+	 * @return count[long] : number of converted expressions.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public static long expressionsToBinary(final Reader input, final OutputStream output) throws IOException {
+		final BufferedReader reader = (input instanceof BufferedReader bufferedReader) ? bufferedReader : new BufferedReader(input, BUFFER_SIZE);
+		final BinaryWriter writer = BinaryWriter.forExpressions(output);
+		long count = 0;
+		String line;
+		while((line = reader.readLine()) != null) {
+			writer.writeExpression(line);
+			count++;
+		}
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * Converts binary expressions into text, one per line.
+	 * The output is flushed once the input is exhausted, but not closed.
+	 *
+	 * @param input : stream of the binary expressions.
+	 * @param output : Writer of the expressions.
+	 *
+	 * @return count[long] : number of converted expressions.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public static long expressionsToText(final InputStream input, final Writer output) throws IOException {
+		final BinaryReader reader = BinaryReader.forExpressions(input);
+		final BufferedWriter writer = new BufferedWriter(output, BUFFER_SIZE);
+		final StringBuilder line = new StringBuilder();
+		long count = 0;
+		while(reader.hasNext()) {
+			reader.readExpression(line);
+			writer.append(line).append('\n');
+			count++;
+		}
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * Converts results from text, one per line as written by {@link BatchEvaluator}, into the binary format.
+	 * The output is flushed once the input is exhausted, but not closed.
+	 *
+	 * @param input : Reader of the results.
+	 * @param output : stream of the binary results.
+	 *
+	 * @return count[long] : number of converted results.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public static long resultsToBinary(final Reader input, final OutputStream output) throws IOException {
+		final BufferedReader reader = (input instanceof BufferedReader bufferedReader) ? bufferedReader : new BufferedReader(input, BUFFER_SIZE);
+		final BinaryWriter writer = BinaryWriter.forResults(output);
+		long count = 0;
+		String line;
+		while((line = reader.readLine()) != null) {
+			writer.writeResult(line);
+			count++;
+		}
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * Converts binary results into text, one per line as written by {@link BatchEvaluator}.
+	 * The output is flushed once the input is exhausted, but not closed.
+	 *
+	 * @param input : stream of the binary results.
+	 * @param output : Writer of the results.
+	 *
+	 * @return count[long] : number of converted results.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public static long resultsToText(final InputStream input, final Writer output) throws IOException {
+		final BinaryReader reader = BinaryReader.forResults(input);
+		final BufferedWriter writer = new BufferedWriter(output, BUFFER_SIZE);
+		final StringBuilder result = new StringBuilder();
+		long count = 0;
+		while(reader.hasNext()) {
+			reader.readResult(result);
+			writer.append(result).append('\n');
+			count++;
+		}
+		writer.flush();
+		return count;
+	}
+}
@@ -0,0 +1,92 @@
+package calculator;
+
+/**
+ * This class defines the compact binary format of the expressions and of their results, written
+ * by {@link BinaryWriter} and read by {@link BinaryReader}, so that bulk workloads don't format
+ * and parse every number as text.
+ *
+ * <p>A stream starts with the magic bytes "CAL", its kind ('X' for expressions, 'R' for results)
+ * and the version of the format. Every expression is a sequence of tokens ended by {@link #END}:</p>
+ * <ul>
+ * <li>{@link #LONG}: a whole number, as a zigzag varint.</li>
+ * <li>{@link #DECIMAL}: a decimal number, as its unscaled value (a zigzag varint) and its scale
+ * (one byte), like 1250 and 2 for "12.50".</li>
+ * <li>{@link #LITERAL}: an operand that isn't written canonically, like "-0" or "007", as a varint
+ * length and its ASCII characters.</li>
+ * <li>{@link #LINE}: a whole line that isn't an expression, kept as text the same way.</li>
+ * <li>'+', '-', '*', '/', '%', '^' and any other operator of {@link OperatorRegistry} whose symbol is
+ * a single ASCII character: the operator, coded as its own character. An expression with any other
+ * operator, like "//", is kept as a {@link #LINE}.</li>
+ * </ul>
+ * <p>Every result is a single record: {@link #EMPTY}, {@link #LONG}, {@link #DECIMAL}, {@link #LITERAL}
+ * for any other text (like "1.0E7"), {@link #ERROR} or {@link #INVALID}.</p>
+ *
+ * <p>A number is only written as {@link #LONG} or {@link #DECIMAL} when its text can be written back
+ * exactly, so that the calculator gets the very same operands as from the text.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+final class BinaryFormat {
+
+	// Header of a stream
+	static final byte[] MAGIC = {'C', 'A', 'L'};
+	static final byte EXPRESSIONS = 'X';
+	static final byte RESULTS = 'R';
+	static final byte VERSION = 1;
+
+	// Tags of the tokens and of the results
+	static final int END = 0x00;
+	static final int EMPTY = 0x00;
+	static final int LONG = 0x01;
+	static final int DECIMAL = 0x02;
+	static final int LITERAL = 0x03;
+	static final int LINE = 0x04;
+	static final int ERROR = 'E';
+	static final int INVALID = 'I';
+
+	// Largest scale of a DECIMAL
+	static final int MAXIMUM_SCALE = 0xFF;
+
+	/**
+	 * Prevents the instantiation of this utility class.
+	 */
+	private BinaryFormat() {
+	}
+
+	/**
+	 * Returns true if the given tag is an operator.
+	 *
+	 * @param tag : tag of a token.
+	 *
+	 * @return [boolean]: returns true for the operators whose symbol is a single ASCII character.
+	 */
+	static boolean isOperator(final int tag) {
+		return tag > 0 && tag < 0x80 && OperatorRegistry.get((char)tag) != null;
+	}
+
+	/**
+	 * Appends the canonical text of a number.
+	 *
+	 * @param text : StringBuilder object the number is appended to.
+	 * @param unscaledValue : value of the number without its decimal point.
+	 * @param scale : number of digits after the decimal point.
+	 * @param isDecimal : true if the number has a decimal point, even with a scale of 0 like "5.".
+	 *
+	 */
+	static void appendNumber(final StringBuilder text, final long unscaledValue, final int scale, final boolean isDecimal) {
+		if(!isDecimal) {
+			text.append(unscaledValue);
+			return;
+		}
+
+		// Writing the digits, with at least one before the decimal point
+		if(unscaledValue < 0)	text.append('-');
+		final String digits = (unscaledValue == Long.MIN_VALUE) ? "9223372036854775808" : Long.toString(Math.abs(unscaledValue));
+		for(int padding = digits.length(); padding <= scale; padding++) {
+			text.append('0');
+		}
+		text.append(digits);
+		text.insert(text.length() - scale, '.');
+	}
+}
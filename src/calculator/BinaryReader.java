@@ -0,0 +1,323 @@
+package calculator;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * This class reads a stream of expressions or of results in the binary format of {@link BinaryFormat}.
+ * The expressions are evaluated straight from the stream by
+ * {@link CalculatorModel#evaluate(BinaryReader, StringBuilder)}, or converted back into text.
+ *
+ * @version 1.0.0
+ *
+ */
+public final class BinaryReader implements AutoCloseable {
+
+	// Size of the input buffer
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final InputStream input;
+	private final byte kind;
+	private byte[] buffer;
+	private int position;
+	private int limit;
+
+	// Value of the last token
+	private long unscaledValue;
+	private int scale;
+	private final ByteCharSequence text;
+
+	/**
+	 * Constructs a new BinaryReader instance and reads the header of the stream.
+	 *
+	 * @param input : stream the binary format is read from.
+	 * @param kind : expected kind of the stream.
+	 *
+	 * @throws IOException If the header can't be read or doesn't match.
+	 */
+	private BinaryReader(final InputStream input, final byte kind) throws IOException {
+		this.input = input;
+		this.kind = kind;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.text = new ByteCharSequence();
+		for(byte magic : BinaryFormat.MAGIC) {
+			if(this.readByte() != magic)	throw new IOException("Not a binary calculator stream");
+		}
+		if(this.readByte() != kind) {
+			throw new IOException("Not a stream of " + (kind == BinaryFormat.EXPRESSIONS ? "expressions" : "results"));
+		}
+		final int version = this.readByte();
+		if(version != BinaryFormat.VERSION) {
+			throw new IOException("Unsupported version " + version);
+		}
+	}
+
+	/**
+	 * Creates a reader of expressions.
+	 *
+	 * @param input : stream the expressions are read from.
+	 *
+	 * @return reader[BinaryReader] : the reader.
+	 *
+	 * @throws IOException If the header can't be read or isn't the one of expressions.
+	 */
+	public static BinaryReader forExpressions(final InputStream input) throws IOException {
+		return new BinaryReader(input, BinaryFormat.EXPRESSIONS);
+	}
+
+	/**
+	 * Creates a reader of results.
+	 *
+	 * @param input : stream the results are read from.
+	 *
+	 * @return reader[BinaryReader] : the reader.
+	 *
+	 * @throws IOException If the header can't be read or isn't the one of results.
+	 */
+	public static BinaryReader forResults(final InputStream input) throws IOException {
+		return new BinaryReader(input, BinaryFormat.RESULTS);
+	}
+
+	/**
+	 * Returns true if there's another expression or result to be read.
+	 *
+	 * @return [boolean]: returns false at the end of the stream.
+	 *
+	 * @throws IOException If the stream can't be read.
+	 */
+	public boolean hasNext() throws IOException {
+		return this.position < this.limit || this.fill(1);
+	}
+
+	/**
+	 * Reads the next expression as text, the way {@link BatchEvaluator} reads it,
+	 * its tokens being separated by a space.
+	 *
+	 * @param line : StringBuilder object the expression is written into.
+	 *
+	 * @throws IOException If the stream can't be read or isn't a stream of expressions.
+	 */
+	public void readExpression(final StringBuilder line) throws IOException {
+		line.setLength(0);
+		int tag;
+		while((tag = this.nextToken()) != BinaryFormat.END) {
+			if(line.length() > 0)	line.append(' ');
+			switch(tag) {
+				case BinaryFormat.LONG -> BinaryFormat.appendNumber(line, this.unscaledValue, 0, false);
+				case BinaryFormat.DECIMAL -> BinaryFormat.appendNumber(line, this.unscaledValue, this.scale, true);
+				case BinaryFormat.LITERAL, BinaryFormat.LINE -> line.append(this.text);
+				default -> line.append((char)tag);
+			}
+		}
+	}
+
+	/**
+	 * Reads the next result as text, the way {@link BatchEvaluator} writes it.
+	 *
+	 * @param result : StringBuilder object the result is written into.
+	 *
+	 * @throws IOException If the stream can't be read or isn't a stream of results.
+	 */
+	public void readResult(final StringBuilder result) throws IOException {
+		this.checkKind(BinaryFormat.RESULTS);
+		result.setLength(0);
+		final int tag = this.readByte();
+		switch(tag) {
+			case BinaryFormat.EMPTY -> { }
+			case BinaryFormat.LONG -> BinaryFormat.appendNumber(result, this.readSignedVarLong(), 0, false);
+			case BinaryFormat.DECIMAL -> {
+				final long value = this.readSignedVarLong();
+				BinaryFormat.appendNumber(result, value, this.readByte(), true);
+			}
+			case BinaryFormat.LITERAL -> result.append(this.readText());
+			case BinaryFormat.ERROR -> result.append(BatchEvaluator.ERROR_RESULT);
+			case BinaryFormat.INVALID -> result.append(BatchEvaluator.INVALID_RESULT);
+			default -> throw new IOException("Unknown result tag " + tag);
+		}
+	}
+
+	/**
+	 * Closes the stream.
+	 *
+	 * @throws IOException If the stream can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.input.close();
+	}
+
+	/**
+	 * Reads the next token of the current expression. The value of an operand is then
+	 * available through {@link #unscaledValue()}, {@link #scale()} and {@link #text()}.
+	 *
+	 * @return tag[int] : tag of the token, an operator character, or {@link BinaryFormat#END}.
+	 *
+	 * @throws IOException If the stream can't be read or isn't a stream of expressions.
+	 */
+	int nextToken() throws IOException {
+		this.checkKind(BinaryFormat.EXPRESSIONS);
+		final int tag = this.readByte();
+		switch(tag) {
+			case BinaryFormat.LONG -> this.unscaledValue = this.readSignedVarLong();
+			case BinaryFormat.DECIMAL -> {
+				this.unscaledValue = this.readSignedVarLong();
+				this.scale = this.readByte();
+			}
+			case BinaryFormat.LITERAL, BinaryFormat.LINE -> this.readText();
+			default -> {
+				if(tag != BinaryFormat.END && !BinaryFormat.isOperator(tag)) {
+					throw new IOException("Unknown token tag " + tag);
+				}
+			}
+		}
+		return tag;
+	}
+
+	/**
+	 * Skips the remaining tokens of the current expression.
+	 *
+	 * @throws IOException If the stream can't be read.
+	 */
+	void skipExpression() throws IOException {
+		while(this.nextToken() != BinaryFormat.END) {
+			// Skipping
+		}
+	}
+
+	/**
+	 * Returns the value without its decimal point of the last LONG or DECIMAL token.
+	 *
+	 * @return value[long] : unscaled value.
+	 */
+	long unscaledValue() {
+		return this.unscaledValue;
+	}
+
+	/**
+	 * Returns the number of digits after the decimal point of the last DECIMAL token.
+	 *
+	 * @return scale[int] : scale of the value.
+	 */
+	int scale() {
+		return this.scale;
+	}
+
+	/**
+	 * Returns the text of the last LITERAL or LINE token, valid until the next token is read.
+	 *
+	 * @return text[CharSequence] : text of the token.
+	 */
+	CharSequence text() {
+		return this.text;
+	}
+
+	/**
+	 * Reads a varint length followed by that many characters.
+	 *
+	 * @return text[CharSequence] : the text, valid until the next read.
+	 *
+	 * @throws IOException If the stream can't be read.
+	 */
+	private CharSequence readText() throws IOException {
+		final long length = this.readVarLong();
+		if(length < 0 || length > Integer.MAX_VALUE - 8) {
+			throw new IOException("Invalid text length " + length);
+		}
+		if(this.limit - this.position < length && !this.fill((int)length)) {
+			throw new EOFException();
+		}
+		this.text.reset(this.buffer, this.position, this.position + (int)length);
+		this.position += (int)length;
+		return this.text;
+	}
+
+	/**
+	 * Reads a varint and decodes it from zigzag.
+	 *
+	 * @return value[long] : decoded value.
+	 *
+	 * @throws IOException If the stream can't be read or the varint is too long.
+	 */
+	private long readSignedVarLong() throws IOException {
+		final long value = this.readVarLong();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads an unsigned varint, 7 bits per byte from the lowest ones.
+	 *
+	 * @return value[long] : value, as unsigned.
+	 *
+	 * @throws IOException If the stream can't be read or the varint is too long.
+	 */
+	private long readVarLong() throws IOException {
+		long value = 0;
+		for(int shift = 0; shift < Long.SIZE; shift += 7) {
+			final int part = this.readByte();
+			value |= (long)(part & 0x7F) << shift;
+			if((part & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	/**
+	 * Reads a byte.
+	 *
+	 * @return value[int] : the byte, between 0 and 255.
+	 *
+	 * @throws IOException If the stream can't be read or has ended.
+	 */
+	private int readByte() throws IOException {
+		if(this.position == this.limit && !this.fill(1)) {
+			throw new EOFException();
+		}
+		return this.buffer[this.position++] & 0xFF;
+	}
+
+	/**
+	 * Reads more bytes into the buffer, until it holds at least the given number of unread bytes.
+	 * The buffer is grown for a text longer than it.
+	 *
+	 * @param size : number of unread bytes needed.
+	 *
+	 * @return [boolean]: returns false if the stream ended before.
+	 *
+	 * @throws IOException If the stream can't be read.
+	 */
+	private boolean fill(final int size) throws IOException {
+
+		// Moving the unread bytes to the beginning
+		final int unread = this.limit - this.position;
+		if(size > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(size, this.buffer.length << 1));
+		}
+		System.arraycopy(this.buffer, this.position, this.buffer, 0, unread);
+		this.position = 0;
+		this.limit = unread;
+
+		// Reading
+		while(this.limit < size) {
+			final int count = this.input.read(this.buffer, this.limit, this.buffer.length - this.limit);
+			if(count < 0)	return false;
+			this.limit += count;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the kind of the stream.
+	 *
+	 * @param expectedKind : kind the stream must be.
+	 *
+	 * @throws IOException If the stream isn't of the expected kind.
+	 */
+	private void checkKind(final byte expectedKind) throws IOException {
+		if(this.kind != expectedKind) {
+			throw new IOException("Not a stream of " + (expectedKind == BinaryFormat.EXPRESSIONS ? "expressions" : "results"));
+		}
+	}
+}
@@ -0,0 +1,379 @@
+package calculator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * This class writes a stream of expressions or of results in the binary format of {@link BinaryFormat}.
+ * The expressions can be converted from their text, or written token by token by a program
+ * that has the numbers already, skipping their text altogether.
+ *
+ * @version 1.0.0
+ *
+ */
+public final class BinaryWriter implements AutoCloseable {
+
+	// Size of the output buffer
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// Longest encoding of a varint
+	private static final int MAXIMUM_VARINT_SIZE = 10;
+
+	private final OutputStream output;
+	private final byte kind;
+	private final byte[] buffer;
+	private final ExpressionScanner scanner;
+	private int position;
+
+	// Number parsed by parseNumber()
+	private long unscaledValue;
+	private int scale;
+	private boolean isDecimal;
+
+	/**
+	 * Constructs a new BinaryWriter instance and writes the header of the stream.
+	 *
+	 * @param output : stream the binary format is written into.
+	 * @param kind : kind of the stream.
+	 *
+	 * @throws IOException If the header can't be written.
+	 */
+	private BinaryWriter(final OutputStream output, final byte kind) throws IOException {
+		this.output = output;
+		this.kind = kind;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.scanner = new ExpressionScanner();
+		this.position = 0;
+		for(byte magic : BinaryFormat.MAGIC) {
+			this.buffer[this.position++] = magic;
+		}
+		this.buffer[this.position++] = kind;
+		this.buffer[this.position++] = BinaryFormat.VERSION;
+	}
+
+	/**
+	 * Creates a writer of expressions.
+	 *
+	 * @param output : stream the expressions are written into.
+	 *
+	 * @return writer[BinaryWriter] : the writer.
+	 *
+	 * @throws IOException If the header can't be written.
+	 */
+	public static BinaryWriter forExpressions(final OutputStream output) throws IOException {
+		return new BinaryWriter(output, BinaryFormat.EXPRESSIONS);
+	}
+
+	/**
+	 * Creates a writer of results.
+	 *
+	 * @param output : stream the results are written into.
+	 *
+	 * @return writer[BinaryWriter] : the writer.
+	 *
+	 * @throws IOException If the header can't be written.
+	 */
+	public static BinaryWriter forResults(final OutputStream output) throws IOException {
+		return new BinaryWriter(output, BinaryFormat.RESULTS);
+	}
+
+	/**
+	 * Writes an expression from its text, like "12 + 3.5 * 2". A blank line is written as an
+	 * empty expression, and a line that isn't an expression is kept as text.
+	 *
+	 * @param line : text of the expression.
+	 *
+	 * @throws IOException If the expression can't be written.
+	 */
+	public void writeExpression(final CharSequence line) throws IOException {
+		this.checkKind(BinaryFormat.EXPRESSIONS);
+
+		// Checking the whole line before writing any of its tokens
+		if(BatchEvaluator.isBlank(line)) {
+			this.endExpression();
+			return;
+		}
+		if(!this.isExpression(line)) {
+			this.writeText(BinaryFormat.LINE, line);
+			this.endExpression();
+			return;
+		}
+
+		// Writing the alternating operands and operators
+		final ExpressionScanner scanner = this.scanner.reset(line);
+		while(scanner.hasNext()) {
+			scanner.nextOperand();
+			this.writeOperand(line, scanner.operandStart(), scanner.operandEnd());
+			if(scanner.hasNext()) {
+				try {
+					this.writeOperator(scanner.nextOperator());
+				} catch(InvaildOperatorException exception) {
+					throw new IllegalStateException(exception);			// Already checked
+				}
+			}
+		}
+		this.endExpression();
+	}
+
+	/**
+	 * Writes a whole number operand.
+	 *
+	 * @param value : value of the operand.
+	 *
+	 * @throws IOException If the operand can't be written.
+	 */
+	public void writeOperand(final long value) throws IOException {
+		this.checkKind(BinaryFormat.EXPRESSIONS);
+		this.writeNumber(value, 0, false);
+	}
+
+	/**
+	 * Writes a decimal operand, like 1250 and 2 for "12.50".
+	 *
+	 * @param unscaledValue : value of the operand without its decimal point.
+	 * @param scale : number of digits after the decimal point, between 0 and 255.
+	 *
+	 * @throws IOException If the operand can't be written.
+	 */
+	public void writeOperand(final long unscaledValue, final int scale) throws IOException {
+		this.checkKind(BinaryFormat.EXPRESSIONS);
+		if(scale < 0 || scale > BinaryFormat.MAXIMUM_SCALE) {
+			throw new IllegalArgumentException("Scale out of range: " + scale);
+		}
+		this.writeNumber(unscaledValue, scale, true);
+	}
+
+	/**
+	 * Writes an operator.
+	 *
+	 * @param operator : symbol of an operator of a single ASCII character, like '+'.
+	 *
+	 * @throws IOException If the operator can't be written.
+	 */
+	public void writeOperator(final char operator) throws IOException {
+		this.checkKind(BinaryFormat.EXPRESSIONS);
+		if(!BinaryFormat.isOperator(operator)) {
+			throw new IllegalArgumentException("Unknown operator: " + operator);
+		}
+		this.reserve(1);
+		this.buffer[this.position++] = (byte)operator;
+	}
+
+	/**
+	 * Ends the expression whose tokens have been written.
+	 *
+	 * @throws IOException If the end can't be written.
+	 */
+	public void endExpression() throws IOException {
+		this.checkKind(BinaryFormat.EXPRESSIONS);
+		this.reserve(1);
+		this.buffer[this.position++] = BinaryFormat.END;
+	}
+
+	/**
+	 * Writes a result, as written by {@link BatchEvaluator} for a line.
+	 *
+	 * @param result : text of the result.
+	 *
+	 * @throws IOException If the result can't be written.
+	 */
+	public void writeResult(final CharSequence result) throws IOException {
+		this.checkKind(BinaryFormat.RESULTS);
+		if(result.length() == 0) {
+			this.reserve(1);
+			this.buffer[this.position++] = BinaryFormat.EMPTY;
+		} else if(this.parseNumber(result, 0, result.length())) {
+			this.writeNumber(this.unscaledValue, this.scale, this.isDecimal);
+		} else if(BatchEvaluator.ERROR_RESULT.contentEquals(result)) {
+			this.reserve(1);
+			this.buffer[this.position++] = BinaryFormat.ERROR;
+		} else if(BatchEvaluator.INVALID_RESULT.contentEquals(result)) {
+			this.reserve(1);
+			this.buffer[this.position++] = BinaryFormat.INVALID;
+		} else {
+			this.writeText(BinaryFormat.LITERAL, result);
+		}
+	}
+
+	/**
+	 * Writes the buffered bytes into the stream.
+	 *
+	 * @throws IOException If the bytes can't be written.
+	 */
+	public void flush() throws IOException {
+		this.output.write(this.buffer, 0, this.position);
+		this.position = 0;
+		this.output.flush();
+	}
+
+	/**
+	 * Flushes and closes the stream.
+	 *
+	 * @throws IOException If the bytes can't be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		try(this.output) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Writes an operand from its text, as a number when its text can be written back exactly.
+	 *
+	 * @param line : character sequence containing the operand.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @throws IOException If the operand can't be written.
+	 */
+	private void writeOperand(final CharSequence line, final int start, final int end) throws IOException {
+		if(this.parseNumber(line, start, end)) {
+			this.writeNumber(this.unscaledValue, this.scale, this.isDecimal);
+		} else {
+			this.writeText(BinaryFormat.LITERAL, line.subSequence(start, end));
+		}
+	}
+
+	/**
+	 * Writes a number.
+	 *
+	 * @param unscaledValue : value of the number without its decimal point.
+	 * @param scale : number of digits after the decimal point.
+	 * @param isDecimal : true if the number has a decimal point.
+	 *
+	 * @throws IOException If the number can't be written.
+	 */
+	private void writeNumber(final long unscaledValue, final int scale, final boolean isDecimal) throws IOException {
+		this.reserve(2 + MAXIMUM_VARINT_SIZE);
+		this.buffer[this.position++] = (byte)(isDecimal ? BinaryFormat.DECIMAL : BinaryFormat.LONG);
+		this.writeVarLong((unscaledValue << 1) ^ (unscaledValue >> 63));
+		if(isDecimal)	this.buffer[this.position++] = (byte)scale;
+	}
+
+	/**
+	 * Writes a tagged text.
+	 *
+	 * @param tag : tag of the text.
+	 * @param text : text, any character beyond ISO-8859-1 being written as '?'.
+	 *
+	 * @throws IOException If the text can't be written.
+	 */
+	private void writeText(final int tag, final CharSequence text) throws IOException {
+		this.reserve(1 + MAXIMUM_VARINT_SIZE);
+		this.buffer[this.position++] = (byte)tag;
+		this.writeVarLong(text.length());
+		for(int index = 0; index < text.length(); index++) {
+			this.reserve(1);
+			final char character = text.charAt(index);
+			this.buffer[this.position++] = (byte)((character <= 0xFF) ? character : '?');
+		}
+	}
+
+	/**
+	 * Writes an unsigned varint, 7 bits per byte from the lowest ones.
+	 * The buffer must have room for it.
+	 *
+	 * @param value : value to be written, as unsigned.
+	 *
+	 */
+	private void writeVarLong(final long value) {
+		long remaining = value;
+		while((remaining & ~0x7FL) != 0) {
+			this.buffer[this.position++] = (byte)((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		this.buffer[this.position++] = (byte)remaining;
+	}
+
+	/**
+	 * Makes room for the given number of bytes in the buffer.
+	 *
+	 * @param size : number of bytes.
+	 *
+	 * @throws IOException If the buffer can't be written.
+	 */
+	private void reserve(final int size) throws IOException {
+		if(this.position + size > this.buffer.length) {
+			this.output.write(this.buffer, 0, this.position);
+			this.position = 0;
+		}
+	}
+
+	/**
+	 * Parses a number written canonically, so that {@link BinaryFormat#appendNumber} writes it back
+	 * exactly: no sign for zero and no leading zero, like "0.5", "-12" or "5.".
+	 *
+	 * @param text : character sequence containing the number.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return [boolean]: returns false if it isn't a canonical number that fits into a long value.
+	 */
+	private boolean parseNumber(final CharSequence text, final int start, final int end) {
+
+		// Initialization
+		final boolean isNegative = start < end && text.charAt(start) == '-';
+		final int digitsStart = isNegative ? start + 1 : start;
+		long value = 0;
+		int scale = 0;
+		boolean isDecimal = false;
+
+		// Collecting the digits
+		for(int index = digitsStart; index < end; index++) {
+			final char character = text.charAt(index);
+			if(character == '.' && !isDecimal && index > digitsStart) {
+				isDecimal = true;
+				continue;
+			}
+			if(!TokenClassifier.isDigit(character) || value > (Long.MAX_VALUE - 9) / 10)	return false;
+			if(!isDecimal && index > digitsStart && text.charAt(digitsStart) == '0')	return false;		// Leading zero
+			value = value * 10 + (character - '0');
+			if(isDecimal && ++scale > BinaryFormat.MAXIMUM_SCALE)	return false;
+		}
+		if(end == digitsStart || (isNegative && value == 0)) {
+			return false;
+		}
+
+		this.unscaledValue = isNegative ? -value : value;
+		this.scale = scale;
+		this.isDecimal = isDecimal;
+		return true;
+	}
+
+	/**
+	 * Returns true if the whole line can be written as tokens, that is alternating valid
+	 * operands and operators of a single ASCII character, ending with an operand.
+	 *
+	 * @param line : text of the expression.
+	 *
+	 * @return [boolean]: returns true for an expression.
+	 */
+	private boolean isExpression(final CharSequence line) {
+		final ExpressionScanner scanner = this.scanner.reset(line);
+		while(scanner.hasNext()) {
+			scanner.nextOperand();
+			if(!TokenClassifier.isNumeric(line, scanner.operandStart(), scanner.operandEnd()))	return false;
+			if(scanner.hasNext()) {
+				try {
+					if(!BinaryFormat.isOperator(scanner.nextOperator()))	return false;
+				} catch(InvaildOperatorException exception) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the kind of the stream.
+	 *
+	 * @param expectedKind : kind the stream must be.
+	 *
+	 */
+	private void checkKind(final byte expectedKind) {
+		if(this.kind != expectedKind) {
+			throw new IllegalStateException("Not a stream of " + (expectedKind == BinaryFormat.EXPRESSIONS ? "expressions" : "results"));
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package calculator;
+
+/**
+ * This class is a reusable view of a range of bytes as characters, one character per byte
+ * (ISO-8859-1), so that ASCII text can be evaluated without creating any String.
+ * It's only valid until the bytes it points to are overwritten.
+ *
+ * @version 1.0.0
+ *
+ */
+final class ByteCharSequence implements CharSequence {
+
+	private byte[] bytes;
+	private int start;
+	private int length;
+
+	/**
+	 * Points this view to the given range of bytes.
+	 *
+	 * @param bytes : array of the bytes.
+	 * @param start : index of the first byte (inclusive).
+	 * @param end : index of the last byte (exclusive).
+	 *
+	 * @return sequence[ByteCharSequence] : this view.
+	 */
+	ByteCharSequence reset(final byte[] bytes, final int start, final int end) {
+		this.bytes = bytes;
+		this.start = start;
+		this.length = end - start;
+		return this;
+	}
+
+	@Override
+	public int length() {
+		return this.length;
+	}
+
+	@Override
+	public char charAt(final int index) {
+		return (char)(this.bytes[this.start + index] & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		return this.toString().substring(start, end);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder text = new StringBuilder(this.length);
+		for(int index = 0; index < this.length; index++) {
+			text.append(this.charAt(index));
+		}
+		return text.toString();
+	}
+}
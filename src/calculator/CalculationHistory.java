@@ -0,0 +1,569 @@
+package calculator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class keeps the history of the evaluated expressions in an append-only log file, one entry per line:
+ * the time in milliseconds, the expression and its result, separated by tabs. Recording an entry only
+ * appends it to a buffer in memory; a background thread writes the buffered entries and forces them to the
+ * disk at most every {@link #SYNC_INTERVAL_MILLIS}, so that the input of the calculator never waits for the disk.
+ *
+ * <p>The most recent entries are kept in a ring buffer. Every entry is indexed by its time, in increasing order
+ * (a clock going backwards is recorded with the time of the previous entry), and by the value of its result,
+ * with a few primitive arrays holding about 28 bytes per entry, so that millions of entries are looked up
+ * without reading the log; only the older entries found are read back from it.</p>
+ *
+ * <p>A line left incomplete by a crash is dropped when the log is opened again. The class is thread-safe.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class CalculationHistory implements AutoCloseable {
+
+	/**
+	 * An entry of the history.
+	 *
+	 * @param timeMillis : time of the evaluation, in milliseconds since the epoch.
+	 * @param expression : the evaluated expression.
+	 * @param result : its displayed result, or "ERROR".
+	 */
+	public record Entry(long timeMillis, String expression, String result) {
+	}
+
+	// Longest time an entry stays in memory before being forced to the disk
+	static final long SYNC_INTERVAL_MILLIS = 100;
+
+	// Longest wait for a write in progress when the log is closed
+	private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+	// Number of the most recent entries kept in memory
+	private static final int RECENT_CAPACITY = 1024;
+
+	// Initial capacity of the indexes
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	// Marks an empty slot of the hash table and the end of a chain
+	private static final int NONE = -1;
+
+	private final FileChannel channel;
+	private final ScheduledExecutorService writer;
+
+	// Ring buffer of the most recent entries
+	private final Entry[] recentEntries;
+
+	// Indexes, one slot per entry: time, offset in the log, value of the result (NaN if it isn't a number)
+	// and previous entry with the same value
+	private long[] times;
+	private long[] offsets;
+	private double[] values;
+	private int[] previousSameValue;
+	private int size;
+
+	// Open addressing hash table from the value of a result to its most recent entry
+	private long[] valueKeys;
+	private int[] valueEntries;
+	private int valueCount;
+
+	// Entries not written yet, the buffer being written, the bytes written and the end of the log including the buffered entries
+	private byte[] pendingBytes;
+	private byte[] writingBytes;
+	private int pendingLength;
+	private int writingLength;
+	private boolean isWriting;
+	private long writtenLength;
+	private long endOffset;
+
+	/**
+	 * Constructs a new CalculationHistory instance over the given opened log.
+	 *
+	 * @param channel : channel of the log, opened for reading and appending.
+	 *
+	 */
+	private CalculationHistory(final FileChannel channel) {
+		this.channel = channel;
+		this.recentEntries = new Entry[RECENT_CAPACITY];
+		this.times = new long[DEFAULT_CAPACITY];
+		this.offsets = new long[DEFAULT_CAPACITY];
+		this.values = new double[DEFAULT_CAPACITY];
+		this.previousSameValue = new int[DEFAULT_CAPACITY];
+		this.valueKeys = new long[DEFAULT_CAPACITY];
+		this.valueEntries = new int[DEFAULT_CAPACITY];
+		Arrays.fill(this.valueEntries, NONE);
+		this.pendingBytes = new byte[1 << 16];
+		this.writingBytes = new byte[1 << 16];
+		this.writer = Executors.newSingleThreadScheduledExecutor(task -> {
+			final Thread thread = new Thread(task, "calculator-history");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Opens the history kept in the given log file, creating it if needed, and indexes its entries.
+	 *
+	 * @param file : path of the log file.
+	 *
+	 * @return history[CalculationHistory] : the history.
+	 *
+	 * @throws IOException If the log can't be read or opened for writing.
+	 */
+	public static CalculationHistory open(final Path file) throws IOException {
+		final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			final CalculationHistory history = new CalculationHistory(channel);
+			history.load();
+			history.writer.scheduleWithFixedDelay(history::flushQuietly, SYNC_INTERVAL_MILLIS, SYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			return history;
+		} catch(IOException | RuntimeException exception) {
+			channel.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Records an evaluated expression. Only the memory is touched; the entry is written by the background thread.
+	 *
+	 * @param expression : the evaluated expression.
+	 * @param result : its displayed result.
+	 *
+	 */
+	public synchronized void record(final CharSequence expression, final CharSequence result) {
+
+		// Keeping the times in increasing order
+		final long timeMillis = (this.size > 0) ? Math.max(System.currentTimeMillis(), this.times[this.size - 1]) : System.currentTimeMillis();
+
+		// Buffering the line
+		final Entry entry = new Entry(timeMillis, sanitize(expression), sanitize(result));
+		final byte[] line = (entry.timeMillis() + "\t" + entry.expression() + "\t" + entry.result() + "\n").getBytes(StandardCharsets.UTF_8);
+		if(this.pendingLength + line.length > this.pendingBytes.length) {
+			this.pendingBytes = Arrays.copyOf(this.pendingBytes, Math.max(this.pendingBytes.length << 1, this.pendingLength + line.length));
+		}
+		System.arraycopy(line, 0, this.pendingBytes, this.pendingLength, line.length);
+		this.pendingLength += line.length;
+
+		this.index(entry, this.endOffset);
+		this.endOffset += line.length;
+	}
+
+	/**
+	 * Returns the number of entries.
+	 *
+	 * @return size[int] : number of entries.
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the most recent entries, the most recent first.
+	 *
+	 * @param count : maximum number of entries.
+	 *
+	 * @return entries[List] : the entries, at most {@link #RECENT_CAPACITY} of them.
+	 */
+	public synchronized List<Entry> recent(final int count) {
+		final int length = Math.min(Math.min(count, this.size), RECENT_CAPACITY);
+		final List<Entry> entries = new ArrayList<>(length);
+		for(int id = this.size - 1; id >= this.size - length; id--) {
+			entries.add(this.recentEntries[id % RECENT_CAPACITY]);
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the entries recorded within the given time range, the oldest first.
+	 *
+	 * @param fromMillis : start of the range (inclusive), in milliseconds since the epoch.
+	 * @param toMillis : end of the range (exclusive), in milliseconds since the epoch.
+	 * @param maximumCount : maximum number of entries.
+	 *
+	 * @return entries[List] : the oldest entries of the range.
+	 *
+	 * @throws IOException If an older entry can't be read from the log.
+	 */
+	public synchronized List<Entry> findByTime(final long fromMillis, final long toMillis, final int maximumCount) throws IOException {
+		final List<Entry> entries = new ArrayList<>();
+		for(int id = this.firstAtOrAfter(fromMillis); id < this.size && this.times[id] < toMillis && entries.size() < maximumCount; id++) {
+			entries.add(this.get(id));
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the entries whose result has the given value, the most recent first.
+	 *
+	 * @param value : value of the result.
+	 * @param maximumCount : maximum number of entries.
+	 *
+	 * @return entries[List] : the most recent entries with that result.
+	 *
+	 * @throws IOException If an older entry can't be read from the log.
+	 */
+	public synchronized List<Entry> findByResult(final double value, final int maximumCount) throws IOException {
+		final List<Entry> entries = new ArrayList<>();
+		final int slot = this.findValueSlot(valueKey(value));
+		for(int id = this.valueEntries[slot]; id != NONE && entries.size() < maximumCount; id = this.previousSameValue[id]) {
+			entries.add(this.get(id));
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes the buffered entries and forces them to the disk.
+	 *
+	 * @throws IOException If the log can't be written.
+	 */
+	public void flush() throws IOException {
+
+		// Swapping the buffers once a write in progress is done, so that the entries recorded meanwhile don't wait for the disk
+		final ByteBuffer batch;
+		long position;
+		synchronized(this) {
+			while(this.isWriting) {
+				try {
+					this.wait();
+				} catch(InterruptedException exception) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for a write of the history");
+				}
+			}
+			if(this.pendingLength == 0)	return;
+			batch = ByteBuffer.wrap(this.pendingBytes, 0, this.pendingLength);
+			this.pendingBytes = this.writingBytes;
+			this.writingBytes = batch.array();
+			this.writingLength = this.pendingLength;
+			this.pendingLength = 0;
+			this.isWriting = true;
+			position = this.writtenLength;
+		}
+
+		// Writing them at the end of the log without holding the lock, the lookups reading them from the buffer meanwhile
+		boolean isWritten = false;
+		try {
+			while(batch.hasRemaining()) {
+				position += this.channel.write(batch, position);
+			}
+			this.channel.force(false);
+			isWritten = true;
+		} finally {
+			synchronized(this) {
+				if(isWritten) {
+					this.writtenLength = position;
+				} else {
+
+					// Keeping the entries for the next write
+					final byte[] bytes = new byte[Math.max(this.pendingBytes.length, this.writingLength + this.pendingLength)];
+					System.arraycopy(this.writingBytes, 0, bytes, 0, this.writingLength);
+					System.arraycopy(this.pendingBytes, 0, bytes, this.writingLength, this.pendingLength);
+					this.pendingBytes = bytes;
+					this.pendingLength += this.writingLength;
+				}
+				this.writingLength = 0;
+				this.isWriting = false;
+				this.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Writes the buffered entries and closes the log.
+	 *
+	 * @throws IOException If the log can't be written.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		// Letting a write in progress complete, as interrupting it would close the channel
+		this.writer.shutdown();
+		try {
+			this.writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch(InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+		try(this.channel) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Reads the whole log, indexing its entries, and drops an incomplete last line.
+	 *
+	 * @throws IOException If the log can't be read.
+	 */
+	private void load() throws IOException {
+
+		// Initialization
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+		long offset = 0;
+
+		// Reading the complete lines of every chunk, an incomplete one being kept for the next chunk
+		while(this.channel.read(buffer, offset + buffer.position()) >= 0) {
+			final byte[] bytes = buffer.array();
+			int start = 0;
+			for(int end = 0; end < buffer.position(); end++) {
+				if(bytes[end] != '\n')	continue;
+				final Entry entry = parse(bytes, start, end);
+				if(entry != null) {
+					this.index(entry, offset + start);
+				}
+				start = end + 1;
+			}
+			offset += start;
+			buffer.limit(buffer.position()).position(start);
+			buffer.compact();
+			if(!buffer.hasRemaining()) {
+				buffer = ByteBuffer.allocate(buffer.capacity() << 1).put(buffer.flip());
+			}
+		}
+
+		// Dropping what a crash left of the last line
+		if(buffer.position() > 0) {
+			this.channel.truncate(offset);
+		}
+		this.writtenLength = offset;
+		this.endOffset = offset;
+	}
+
+	/**
+	 * Adds an entry to the ring buffer and to the indexes.
+	 *
+	 * @param entry : the entry.
+	 * @param offset : offset of its line in the log.
+	 *
+	 */
+	private void index(final Entry entry, final long offset) {
+
+		// Growing the indexes
+		if(this.size == this.times.length) {
+			final int capacity = this.size << 1;
+			this.times = Arrays.copyOf(this.times, capacity);
+			this.offsets = Arrays.copyOf(this.offsets, capacity);
+			this.values = Arrays.copyOf(this.values, capacity);
+			this.previousSameValue = Arrays.copyOf(this.previousSameValue, capacity);
+		}
+
+		// Indexing the time and the offset
+		final int id = this.size++;
+		this.times[id] = Math.max(entry.timeMillis(), (id > 0) ? this.times[id - 1] : Long.MIN_VALUE);
+		this.offsets[id] = offset;
+		this.recentEntries[id % RECENT_CAPACITY] = entry;
+
+		// Chaining the entry to the previous one with the same value
+		final double value = parseValue(entry.result());
+		this.values[id] = value;
+		this.previousSameValue[id] = NONE;
+		if(!Double.isNaN(value)) {
+			final long key = valueKey(value);
+			final int slot = this.findValueSlot(key);
+			if(this.valueEntries[slot] == NONE) {
+				this.valueKeys[slot] = key;
+				this.valueCount++;
+			} else {
+				this.previousSameValue[id] = this.valueEntries[slot];
+			}
+			this.valueEntries[slot] = id;
+			if(this.valueCount * 2 > this.valueKeys.length)	this.growValueTable();
+		}
+	}
+
+	/**
+	 * Returns an entry, from the ring buffer for the recent ones or from the log.
+	 *
+	 * @param id : index of the entry.
+	 *
+	 * @return entry[Entry] : the entry.
+	 *
+	 * @throws IOException If the entry can't be read from the log.
+	 */
+	private Entry get(final int id) throws IOException {
+		if(this.size - id <= RECENT_CAPACITY) {
+			return this.recentEntries[id % RECENT_CAPACITY];
+		}
+
+		// Reading the entry from the buffer holding it if it isn't written yet, without waiting for the disk
+		final long end = (id + 1 < this.size) ? this.offsets[id + 1] : this.endOffset;
+		if(end > this.writtenLength) {
+			final long pendingOffset = this.endOffset - this.pendingLength;
+			final Entry entry = (this.offsets[id] >= pendingOffset)
+					? parse(this.pendingBytes, (int)(this.offsets[id] - pendingOffset), (int)(end - pendingOffset) - 1)
+					: parse(this.writingBytes, (int)(this.offsets[id] - this.writtenLength), (int)(end - this.writtenLength) - 1);
+			if(entry == null) {
+				throw new IOException("Malformed history entry " + id);
+			}
+			return entry;
+		}
+
+		// Reading its line
+		final ByteBuffer line = ByteBuffer.allocate((int)(end - this.offsets[id]));
+		while(line.hasRemaining()) {
+			if(this.channel.read(line, this.offsets[id] + line.position()) < 0) {
+				throw new IOException("History log truncated at entry " + id);
+			}
+		}
+		int lineEnd = 0;
+		while(lineEnd < line.limit() && line.get(lineEnd) != '\n')	lineEnd++;
+		final Entry entry = parse(line.array(), 0, lineEnd);
+		if(entry == null) {
+			throw new IOException("Malformed history entry " + id);
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the index of the first entry recorded at or after the given time.
+	 *
+	 * @param timeMillis : time in milliseconds since the epoch.
+	 *
+	 * @return id[int] : index of the entry, or the number of entries if there's none.
+	 */
+	private int firstAtOrAfter(final long timeMillis) {
+		int low = 0;
+		int high = this.size;
+		while(low < high) {
+			final int middle = (low + high) >>> 1;
+			if(this.times[middle] < timeMillis) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the slot of the hash table holding the given key, or the empty slot where it would be added.
+	 *
+	 * @param key : key of a value.
+	 *
+	 * @return slot[int] : index of the slot.
+	 */
+	private int findValueSlot(final long key) {
+		final int mask = this.valueKeys.length - 1;
+		int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+		while(this.valueEntries[slot] != NONE && this.valueKeys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Doubles the capacity of the hash table.
+	 */
+	private void growValueTable() {
+		final long[] keys = this.valueKeys;
+		final int[] entries = this.valueEntries;
+		this.valueKeys = new long[keys.length << 1];
+		this.valueEntries = new int[keys.length << 1];
+		Arrays.fill(this.valueEntries, NONE);
+		for(int slot = 0; slot < keys.length; slot++) {
+			if(entries[slot] != NONE) {
+				final int newSlot = this.findValueSlot(keys[slot]);
+				this.valueKeys[newSlot] = keys[slot];
+				this.valueEntries[newSlot] = entries[slot];
+			}
+		}
+	}
+
+	/**
+	 * Writes the buffered entries, reporting a failure instead of throwing it, for the background thread.
+	 */
+	private void flushQuietly() {
+		try {
+			this.flush();
+		} catch(IOException exception) {
+			System.err.println("Couldn't write the history: " + exception);
+		}
+	}
+
+	/**
+	 * Returns the key of a value in the hash table, the same for 0.0 and -0.0.
+	 *
+	 * @param value : value of a result.
+	 *
+	 * @return key[long] : bits of the value.
+	 */
+	private static long valueKey(final double value) {
+		return Double.doubleToLongBits(value + 0.0);
+	}
+
+	/**
+	 * Returns the value of a result.
+	 *
+	 * @param result : displayed result.
+	 *
+	 * @return value[double] : its value, or NaN if it isn't a number.
+	 */
+	private static double parseValue(final String result) {
+
+		// Whole numbers and decimal values, the large ones being written in scientific notation (like "1.0E7")
+		final int exponent = result.indexOf('E');
+		final boolean isNumber = (exponent < 0)
+				? !result.isEmpty() && TokenClassifier.isNumeric(result)
+				: exponent > 0 && TokenClassifier.isNumeric(result, 0, exponent) && isExponent(result, exponent + 1);
+		return isNumber ? Double.parseDouble(result) : Double.NaN;
+	}
+
+	/**
+	 * Returns true if the end of a result is the exponent of the scientific notation, i.e. {@code -?[0-9]+}.
+	 *
+	 * @param result : displayed result.
+	 * @param start : index of the exponent, after the "E".
+	 *
+	 * @return [boolean]: returns true for an exponent.
+	 */
+	private static boolean isExponent(final String result, final int start) {
+		int index = (start < result.length() && result.charAt(start) == '-') ? start + 1 : start;
+		if(index == result.length())	return false;
+		while(index < result.length() && TokenClassifier.isDigit(result.charAt(index)))	index++;
+		return index == result.length();
+	}
+
+	/**
+	 * Parses a line of the log.
+	 *
+	 * @param bytes : bytes holding the line.
+	 * @param start : start of the line.
+	 * @param end : end of the line, without its line terminator.
+	 *
+	 * @return entry[Entry] : the entry, or null if the line is malformed.
+	 */
+	private static Entry parse(final byte[] bytes, final int start, final int end) {
+		final String text = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+		final int first = text.indexOf('\t');
+		final int second = text.indexOf('\t', first + 1);
+		if(first <= 0 || second < 0) {
+			return null;
+		}
+		try {
+			return new Entry(Long.parseLong(text, 0, first, 10), text.substring(first + 1, second), text.substring(second + 1));
+		} catch(NumberFormatException exception) {
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the tabs and the line terminators, which separate the fields and the entries of the log, by spaces.
+	 *
+	 * @param text : text of a field.
+	 *
+	 * @return text[String] : text that can be written into the log.
+	 */
+	private static String sanitize(final CharSequence text) {
+		final String string = text.toString();
+		return (string.indexOf('\t') < 0 && string.indexOf('\n') < 0 && string.indexOf('\r') < 0)
+				? string
+				: string.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+	}
+}
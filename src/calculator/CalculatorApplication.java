@@ -12,6 +12,13 @@
 
 package calculator;
 
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+
 /**
  * This class is the driver program for the application.
  * The application's execution begin from here.
@@ -26,17 +33,146 @@ public class CalculatorApplication {
 	/**
 	 * This the driver program that initializes the application.
 	 * A simple main method to get the whole application.
-	 * 
+	 * Passing "--batch &lt;file&gt; [--threads &lt;count&gt;]" evaluates the expressions of the file
+	 * (or of the standard input for "-") one per line, without starting the GUI.
+	 * Passing "--binary &lt;file&gt;" does the same with expressions and results in the binary format (see {@link BinaryFormat}).
+	 * Passing "--server [port]" serves the calculator over HTTP on localhost instead (see {@link CalculatorServer}).
+	 * Passing "--training-run" starts the GUI, enters "1 + 2 =" and exits, for the training run of an AppCDS archive.
+	 * Setting the system property "calculator.history" to a file records the expressions evaluated
+	 * through the GUI in it (see {@link CalculationHistory}), and setting "calculator.session" to a file
+	 * keeps the state of the calculator in it from one launch to the next (see {@link CalculatorSession}).
+	 *
 	 * @param args: a String array object.
+	 *
+	 * @throws IOException If the batch input can't be read or its output can't be written.
+	 * @throws InterruptedException If interrupted while waiting for the training run.
+	 * @throws InvocationTargetException If an event of the training run fails.
 	 */
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException, InterruptedException, InvocationTargetException {
+
+		// Running without any GUI in batch mode
+		if(args.length > 0 && args[0].equals("--batch")) {
+			final int threadCount = (args.length > 3 && args[2].equals("--threads")) ? Integer.parseInt(args[3]) : 1;
+			BatchEvaluator.evaluateToStandardOutput(args.length > 1 ? args[1] : "-", threadCount);
+			return;
+		}
+
+		// Running without any GUI in binary batch mode
+		if(args.length > 0 && args[0].equals("--binary")) {
+			BinaryBatchEvaluator.evaluateToStandardOutput(args.length > 1 ? args[1] : "-");
+			return;
+		}
+
+		// Serving the calculator over HTTP without any GUI
+		if(args.length > 0 && args[0].equals("--server")) {
+			CalculatorServer.enableNoDelay();
+			final CalculatorServer server = new CalculatorServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+			System.out.println("Listening on http://localhost:" + server.getPort() + CalculatorServer.EVALUATE_PATH);
+			return;
+		}
 
-		// Creating view and model objects for the application
+		// Loading the classes of a launch and of a first evaluation, and exiting
+		if(args.length > 0 && args[0].equals("--training-run")) {
+			trainingRun();
+			return;
+		}
+
+		// Creating the view, the model being created on the first input, or right away to restore the session
 		final CalculatorView view = new CalculatorView();
-		final CalculatorModel model = new CalculatorModel();
 
 		@SuppressWarnings("unused")
-		final CalculatorController controller = new CalculatorController(view, model);	// Patching all together using a controller object
+		final CalculatorController controller = new CalculatorController(view, CalculatorApplication::createModel, openSession());	// Patching all together using a controller object
+
+	}
+
+	/**
+	 * Runs the training of an AppCDS archive ("-XX:ArchiveClassesAtExit=calculator.jsa"): starts the GUI
+	 * and enters "1 + 2 =" through the keypad, so that the archive holds the classes of a launch and of
+	 * the first evaluation. Without a display, only the classes of the model are loaded.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the result.
+	 * @throws InvocationTargetException If an event fails.
+	 */
+	private static void trainingRun() throws InterruptedException, InvocationTargetException {
+
+		// Evaluating with the model alone when the GUI can't start
+		if(GraphicsEnvironment.isHeadless()) {
+			final StringBuilder result = new StringBuilder();
+			try {
+				new CalculatorModel().evaluate("1 + 2", result);
+			} catch(InvaildOperatorException exception) {
+				throw new IllegalStateException(exception);
+			}
+			return;
+		}
+
+		// Starting the GUI and clicking the buttons on the event thread
+		final CalculatorView view = new CalculatorView();
+		final CalculatorController controller = new CalculatorController(view, CalculatorModel::new);
+		EventQueue.invokeAndWait(() -> {
+			for(String label : new String[] {"1", "+", "2", "="}) {
+				controller.actionPerformed(new ActionEvent(view, ActionEvent.ACTION_PERFORMED, label));
+			}
+		});
+
+		// Waiting a few seconds at most for the result to be displayed
+		final String[] text = new String[1];
+		for(int attempt = 0; attempt < 5_000; attempt++) {
+			EventQueue.invokeAndWait(() -> text[0] = view.getDisplayedText());
+			if(text[0].equals("3"))	break;
+			Thread.sleep(1);
+		}
+		view.dispose();
+		System.exit(0);
+	}
+
+	/**
+	 * Opens the session kept in the file set by the system property "calculator.session", if any.
+	 *
+	 * @return session[CalculatorSession] : the session, or null if it isn't kept.
+	 */
+	private static CalculatorSession openSession() {
+		final String sessionFile = System.getProperty("calculator.session");
+		if(sessionFile == null) {
+			return null;
+		}
+
+		// Opening the session, the calculator still working without it
+		try {
+			return CalculatorSession.open(Path.of(sessionFile));
+		} catch(IOException exception) {
+			System.err.println("Couldn't open the session " + sessionFile + ": " + exception);
+			return null;
+		}
+	}
+
+	/**
+	 * Creates the model of the GUI, recording its history in the file set by the system property
+	 * "calculator.history", if any. The history is written out when the JVM exits.
+	 *
+	 * @return model[CalculatorModel] : the model.
+	 */
+	private static CalculatorModel createModel() {
+		final CalculatorModel model = new CalculatorModel();
+		final String historyFile = System.getProperty("calculator.history");
+		if(historyFile == null) {
+			return model;
+		}
 
+		// Opening the history, the calculator still working without it
+		try {
+			final CalculationHistory history = CalculationHistory.open(Path.of(historyFile));
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					history.close();
+				} catch(IOException exception) {
+					System.err.println("Couldn't write the history " + historyFile + ": " + exception);
+				}
+			}));
+			model.setHistory(history);
+		} catch(IOException exception) {
+			System.err.println("Couldn't open the history " + historyFile + ": " + exception);
+		}
+		return model;
 	}
 }
@@ -1,13 +1,14 @@
 package calculator;
 
-import java.awt.Button;
-import java.awt.TextField;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
 import java.awt.event.TextEvent;
 import java.awt.event.TextListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.function.Supplier;
 
 /**
  * This class represents the controller in the MVC architecture for a calculator application.
@@ -18,19 +19,46 @@ import java.awt.event.WindowEvent;
  * @since 24 Aug 2023
  *
  */
-public class CalculatorController implements TextListener, ActionListener{
+public class CalculatorController implements TextListener, ActionListener, KeyListener{
+
+	// Labels of the keypad for the typed characters, null for the characters that aren't keys
+	private static final String[] KEY_LABELS = new String[128];
+	static {
+		for(String label : Keypad.DEFAULT_BUTTON_LABELS) {
+			if(label.length() == 1)	KEY_LABELS[label.charAt(0)] = label;
+		}
+		KEY_LABELS['c'] = "C";
+	}
+
+	// Interval between two snapshots of the session
+	private static final long SESSION_SAVE_INTERVAL_MILLIS = 10_000;
 
 	// Saving their references to increase their scope for other methods
-	private final CalculatorModel model;
+	private final CalculatorDisplay view;
+
+	// Creates the model on the first input, only touched on the worker thread of the render pipeline
+	private final Supplier<CalculatorModel> modelFactory;
+	private CalculatorModel model;
+
+	// Text of the calculator and whether it's numeric, only touched on the worker thread of the render pipeline
 	private StringBuilder textFieldCurrentText;
-	private final CalculatorView view;
+	private final NumericInputState textFieldInputState;
+
+	// Runs the model off the event thread and coalesces the display updates
+	private final RenderPipeline renderPipeline;
+
+	// Text last set into the text field, only touched on the event thread
+	private String lastRenderedText;
+
+	// Opt-in session restored at launch and saved every interval and on close
+	private final CalculatorSession session;
 
 	/**
 	 * Constructs a new CalculatorModel instance.
 	 * This constructor initializes any required data or resources.
 	 */
 	public CalculatorController(){
-		this(new CalculatorView(), new CalculatorModel());
+		this(new CalculatorView(), CalculatorModel::new);
 	}
 
 	/**
@@ -42,63 +70,313 @@ public class CalculatorController implements TextListener, ActionListener{
 	 * 
 	 */
 	public CalculatorController(final CalculatorView view, final CalculatorModel model){
+		this(view, () -> model);
+	}
+
+	/**
+	 * Constructs a new CalculatorModel instance.
+	 * This constructor initializes with provided data or resources, the model being created
+	 * only when the first button is handled, so that it doesn't delay the first frame.
+	 *
+	 * @param view : a CalculatorView instance.
+	 * @param modelFactory : creates the CalculatorModel instance, called once on the worker thread.
+	 *
+	 */
+	public CalculatorController(final CalculatorView view, final Supplier<CalculatorModel> modelFactory){
+		this(view, modelFactory, null);
+	}
+
+	/**
+	 * Constructs a new CalculatorModel instance.
+	 * This constructor initializes with provided data or resources, the model being created and the
+	 * given session restored into it right away on the worker thread. The session is then saved every
+	 * 10 seconds and when the window is closed, the session being closed afterwards.
+	 *
+	 * @param view : a CalculatorView instance.
+	 * @param modelFactory : creates the CalculatorModel instance, called once on the worker thread.
+	 * @param session : session of the calculator, or null to start afresh every time.
+	 *
+	 */
+	public CalculatorController(final CalculatorView view, final Supplier<CalculatorModel> modelFactory, final CalculatorSession session){
+		this((CalculatorDisplay)view, modelFactory, session);		// Casting to pick the constructor below
+	}
+
+	/**
+	 * Constructs a new CalculatorModel instance.
+	 * This constructor initializes with provided data or resources, working with any surface
+	 * of the calculator, like a stand-in driving the controller without any window.
+	 *
+	 * @param view : surface of the calculator.
+	 * @param modelFactory : creates the CalculatorModel instance, called once on the worker thread.
+	 * @param session : session of the calculator, or null to start afresh every time.
+	 *
+	 */
+	CalculatorController(final CalculatorDisplay view, final Supplier<CalculatorModel> modelFactory, final CalculatorSession session){
 
 		// Initialization
-		this.model = model;
+		this.modelFactory = modelFactory;
+		this.session = session;
 		this.view = view;
 		this.textFieldCurrentText = new StringBuilder();
+		this.textFieldInputState = new NumericInputState();
+		this.renderPipeline = new RenderPipeline(this::render);
+		this.lastRenderedText = "";
 
-		// Register the components with the listener
-		CalculatorModel.getAllChildren(view.keypad).forEach((button)->{
-			((Button)button).addActionListener(this);
-		});
+		// Register a single handler for all the buttons, and for the keyboard wherever the focus is
+		view.addKeypadListener(this);
+		view.addKeyboardListener(this);
 
-		view.textField.addTextListener(this);
+		view.addTextListener(this);
 
 		// windows listener to close the application
 		view.addWindowListener( new WindowAdapter() {
 			@Override
 			public void windowClosing(WindowEvent event) {
 				view.dispose();
+				CalculatorController.this.close();
 			}
 		});
+
+		// Restoring the session off the event thread, then saving it every interval
+		if(session != null) {
+			this.renderPipeline.submit(0, () -> {
+				this.getModel();
+				return this.textFieldCurrentText.toString();
+			});
+			session.saveEvery(() -> this.renderPipeline.execute(this::saveSession), SESSION_SAVE_INTERVAL_MILLIS);
+		}
 	}
 
 	/**
  	 * This is an event-handler will handle all the button events.
+ 	 * The button is handled on the worker thread of the render pipeline.
 	 *
 	 */
 	@Override
 	public void actionPerformed(ActionEvent event) {
 
-		// Type-casted the event source into triggering Button object
-		final Button clickedButton = (Button)event.getSource();
+		// Time of the input, to measure its latency until it's displayed
+		final long inputNanos = System.nanoTime();
 
-		// Setting up regex parameters
-		final String regex = "^C|BS|=|\\+/\\-|\\+|\\-|\\*|/|%$";
-		final String label = clickedButton.getLabel();
+		// Retrieving the label of the button, which is its action command
+		final String label = event.getActionCommand();
+
+		this.submitKey(inputNanos, label);
+	}
+
+	/**
+	 * This is an event-handler for the typed characters: digits, the decimal point, the operators
+	 * of a single character (like '^'), '=' and 'c' (clear). The characters are consumed so that
+	 * they never reach the text field.
+	 *
+	 */
+	@Override
+	public void keyTyped(KeyEvent event) {
+
+		// Leaving the shortcuts, like pasting, to the text field
+		if(event.isControlDown() || event.isMetaDown() || event.isAltDown()) {
+			return;
+		}
+
+		final char character = event.getKeyChar();
+		String label = (character < KEY_LABELS.length) ? KEY_LABELS[character] : null;
+		if(label == null) {
+			final Operator operator = OperatorRegistry.forSymbol(String.valueOf(character));
+			label = (operator != null) ? operator.getSymbol() : null;
+		}
+		if(label != null) {
+			this.submitKey(System.nanoTime(), label);
+		}
+		event.consume();
+	}
 
-		// Evaluating regex
-		final boolean shouldPerformOperation = CalculatorModel.matchesRegex(regex, label);
+	/**
+	 * This is an event-handler for the keys without a character: Enter ("="), Backspace ("BS"),
+	 * Escape and Delete ("C"), and F9 ("+/-").
+	 *
+	 */
+	@Override
+	public void keyPressed(KeyEvent event) {
+		final String label = switch(event.getKeyCode()) {
+			case KeyEvent.VK_ENTER -> "=";
+			case KeyEvent.VK_BACK_SPACE -> "BS";
+			case KeyEvent.VK_ESCAPE, KeyEvent.VK_DELETE -> "C";
+			case KeyEvent.VK_F9 -> "+/-";
+			default -> null;
+		};
+		if(label != null) {
+			this.submitKey(System.nanoTime(), label);
+			event.consume();
+		}
+	}
+
+	/**
+	 * Nothing is done when a key is released.
+	 *
+	 */
+	@Override
+	public void keyReleased(KeyEvent event) {
+	}
+
+	/**
+	 * This method submits a key of the keypad to the worker thread of the render pipeline,
+	 * which handles the keys one at a time in the order they were submitted.
+	 *
+	 * @param inputNanos : System.nanoTime() of the input.
+	 * @param label : label of the key.
+	 *
+	 */
+	private void submitKey(final long inputNanos, final String label) {
+		this.renderPipeline.submit(inputNanos, () -> {
+			handleKey(this.getModel(), this.textFieldCurrentText, this.textFieldInputState, label);
+			return this.textFieldCurrentText.toString();
+		});
+	}
+
+	/**
+	 * This method performs the operation or appends the digit of the given key label, like
+	 * {@link #handleButton(CalculatorModel, StringBuilder, String)}, but validates a digit or
+	 * a decimal point in constant time with the state of the text.
+	 *
+	 * @param model : model performing the operations.
+	 * @param textFieldCurrentText : text of the calculator.
+	 * @param inputState : state of the text, kept up to date.
+	 * @param label : label of the key.
+	 *
+	 */
+	static void handleKey(final CalculatorModel model, final StringBuilder textFieldCurrentText, final NumericInputState inputState, final String label) {
+
+		// Performing the operation, which may change the whole text even when it fails
+		if(TokenClassifier.isOperationLabel(label)) {
+			try {
+				handleButton(model, textFieldCurrentText, label);
+			} finally {
+				inputState.reset(textFieldCurrentText);
+			}
+			return;
+		}
+
+		// Appending the digit or the decimal point, if the text is still numeric with it
+		final char character = label.charAt(0);
+		if(label.length() == 1 && inputState.accepts(character)) {
+			if(model.hasDisplayedResult()) {
+				textFieldCurrentText.setLength(0);
+				inputState.clear();
+			}
+			textFieldCurrentText.append(character);
+			inputState.append(character);
+		}
+	}
+
+	/**
+	 * This method performs the operation or appends the digit of the given button label.
+	 *
+	 * @param model : model performing the operations.
+	 * @param textFieldCurrentText : text of the calculator.
+	 * @param label : label of the clicked button.
+	 *
+	 */
+	static void handleButton(final CalculatorModel model, final StringBuilder textFieldCurrentText, final String label) {
+
+		// Checking whether it's an operation label, same as "^C|BS|=|\\+/\\-|\\+|\\-|\\*|/|%|MC|MR|M\\+|M\\-$"
+		final boolean shouldPerformOperation = TokenClassifier.isOperationLabel(label);
 
 		// Performing respective operation
 		if(shouldPerformOperation) {
 			try {
-				this.model.handleOperation(label, textFieldCurrentText);
+				model.handleOperation(label, textFieldCurrentText);
 			} catch(InvaildOperatorException exception) {											// Handling operator exception (For developers)
 				System.err.println(exception + "\nCheck the regex on actionPerform() method");
 			} catch(ArithmeticException exception) {												// Handling ArithmeticException
 				System.err.println(exception);
-				this.textFieldCurrentText.delete(0, this.textFieldCurrentText.length());
-				this.textFieldCurrentText.append("ERROR");
+				textFieldCurrentText.delete(0, textFieldCurrentText.length());
+				textFieldCurrentText.append("ERROR");
+			}
+		} else if(CalculatorModel.isNumericValue(textFieldCurrentText.toString() + label, false)){	// Check whether it's a numeric or not
+			if(model.hasDisplayedResult())	{
+				textFieldCurrentText.delete(0, textFieldCurrentText.length());
+			}
+			textFieldCurrentText.append(label);
+		}
+	}
+
+	/**
+	 * Returns the model, creating it on the first call. Only called on the worker thread.
+	 *
+	 * @return model[CalculatorModel] : the model.
+	 */
+	private CalculatorModel getModel() {
+		if(this.model == null) {
+			this.model = this.modelFactory.get();
+			if(this.session != null && this.session.restore(this.model, this.textFieldCurrentText)) {
+				this.textFieldInputState.reset(this.textFieldCurrentText);
 			}
-		} else if(CalculatorModel.isNumericValue(this.textFieldCurrentText.toString() + label, false)){	// Check whether it's a numeric or not
-			if(this.model.hasDisplayedResult())	{
-				this.textFieldCurrentText.delete(0, this.textFieldCurrentText.length());
+		}
+		return this.model;
+	}
+
+	/**
+	 * Captures a snapshot of the model and the text, and hands it over to the session to be written.
+	 * Only called on the worker thread.
+	 */
+	private void saveSession() {
+		if(this.model != null) {
+			this.session.save(CalculatorSession.capture(this.model, this.textFieldCurrentText));
+		}
+	}
+
+	/**
+	 * Saves the session, if any, after the keys already submitted, then stops the worker thread.
+	 * Called on the event thread when the window is closed, which doesn't wait for the snapshot to be written.
+	 */
+	void close() {
+		if(this.session == null) {
+			this.renderPipeline.close();
+			return;
+		}
+		this.renderPipeline.execute(() -> {
+			try {
+				this.saveSession();
+			} finally {
+				this.session.close();
+				this.renderPipeline.close();
 			}
-			this.textFieldCurrentText.append(label);
+		});
+	}
+
+	/**
+	 * This method sets the given text into the text field, on the event thread.
+	 * The text field isn't touched when it already shows the text.
+	 *
+	 * @param text : text to be displayed.
+	 *
+	 */
+	private void render(final String text) {
+		if(!text.equals(this.lastRenderedText)) {
+			this.lastRenderedText = text;
+			this.view.setDisplayedText(text);			// Sets the cursor to end of the setter string
+		} else {
+			this.view.moveCaretToEnd();
 		}
-		this.view.textField.setText(this.textFieldCurrentText.toString());
+	}
+
+	/**
+	 * Returns the latencies from the button clicks to the updates of the text field.
+	 *
+	 * @return latency[LatencyRecorder] : recorded latencies.
+	 */
+	public LatencyRecorder getRenderLatency() {
+		return this.renderPipeline.getLatency();
+	}
+
+	/**
+	 * Runs the given task on the worker thread once the inputs submitted so far are handled.
+	 *
+	 * @param task : the task, which must not touch the model.
+	 *
+	 */
+	void executeAfterInputs(final Runnable task) {
+		this.renderPipeline.execute(task);
 	}
 
 	/**
@@ -109,21 +387,28 @@ public class CalculatorController implements TextListener, ActionListener{
 	@Override
 	public void textValueChanged(TextEvent event) {
 
-		// Initialization
-		final TextField textField = this.view.textField;
-
 		// Setting up regex parameters
-		final String newInputText = textField.getText();
+		final String newInputText = this.view.getDisplayedText();
+
+		// Ignoring the events of the text set by render()
+		if(newInputText.equals(this.lastRenderedText)) {
+			return;
+		}
 
 		// Checking whether it's numeric or not
 		final boolean shouldUpdateCurrentText = CalculatorModel.isNumericValue(newInputText, false);
 
 		// Performing respective operation
 		if(shouldUpdateCurrentText) {
-			CalculatorModel.replaceStringBuilderValue(textFieldCurrentText, newInputText);
-		} else if(!newInputText.equals(textFieldCurrentText.toString())) {
-			textField.setText(textFieldCurrentText.toString());
+			this.lastRenderedText = newInputText;
+			this.renderPipeline.submit(System.nanoTime(), () -> {
+				CalculatorModel.replaceStringBuilderValue(this.textFieldCurrentText, newInputText);
+				this.textFieldInputState.reset(newInputText);
+				return newInputText;
+			});
+			this.view.moveCaretToEnd();
+		} else {
+			this.view.setDisplayedText(this.lastRenderedText);		// Sets the cursor to end of the setter string
 		}
-		textField.setCaretPosition(textFieldCurrentText.length());	// Sets the cursor to end of the setter string
 	}
-}
\ No newline at end of file
+}
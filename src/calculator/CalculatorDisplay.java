@@ -0,0 +1,74 @@
+package calculator;
+
+import java.awt.event.ActionListener;
+import java.awt.event.KeyListener;
+import java.awt.event.TextListener;
+import java.awt.event.WindowListener;
+
+/**
+ * This Interface is the surface of the calculator the controller works with: the keypad, the keyboard,
+ * the displayed text and the window. Implemented by {@link CalculatorView}, and by stand-ins driving
+ * the controller without any window.
+ *
+ * @version 1.0.0
+ *
+ */
+interface CalculatorDisplay {
+
+	/**
+	 * This function registers a single handler for the buttons of the keypad.
+	 *
+	 * @param listener : handler of all the buttons.
+	 *
+	 */
+	void addKeypadListener(ActionListener listener);
+
+	/**
+	 * This function registers a handler for the keyboard.
+	 *
+	 * @param listener : handler of the keyboard.
+	 *
+	 */
+	void addKeyboardListener(KeyListener listener);
+
+	/**
+	 * This function registers a handler for the changes of the displayed text.
+	 *
+	 * @param listener : handler of the text changes.
+	 *
+	 */
+	void addTextListener(TextListener listener);
+
+	/**
+	 * This function registers a handler for the window events, like closing the window.
+	 *
+	 * @param listener : handler of the window events.
+	 *
+	 */
+	void addWindowListener(WindowListener listener);
+
+	/**
+	 * This function returns the displayed text.
+	 *
+	 * @return text[String] : displayed text.
+	 */
+	String getDisplayedText();
+
+	/**
+	 * This function sets the displayed text, with the cursor at its end.
+	 *
+	 * @param text : text to be displayed.
+	 *
+	 */
+	void setDisplayedText(String text);
+
+	/**
+	 * This function sets the cursor to the end of the displayed text.
+	 */
+	void moveCaretToEnd();
+
+	/**
+	 * This function releases the window, if any.
+	 */
+	void dispose();
+}
@@ -0,0 +1,296 @@
+package calculator;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class collects the metrics of the hot paths of {@link CalculatorModel}: the operations
+ * handled, the arithmetic operations performed by operator, the latency and the length of the
+ * evaluated expressions, and the failures. The operations and the operators are counted by their
+ * label or symbol, so that the operators of the {@link OperatorRegistry} are all counted.
+ *
+ * <p>The metrics are enabled with the system property "calculator.metrics=true", in which case
+ * they are registered as the MBean "calculator:type=CalculatorMetrics", and also written to the
+ * standard error every "calculator.metrics.dumpSeconds" seconds when it's set. As {@link #ENABLED}
+ * is a constant, the JIT removes the recording altogether when the metrics aren't enabled.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class CalculatorMetrics implements CalculatorMetricsMXBean {
+
+	// True if the metrics are recorded
+	static final boolean ENABLED = Boolean.getBoolean("calculator.metrics");
+
+	// Labels of the operations that aren't operators
+	private static final List<String> OPERATION_LABELS = List.of("=", "C", "BS", "+/-", "MC", "MR", "M+", "M-");
+
+	// Names of the errors, by index of their counter
+	private static final String[] ERROR_NAMES = {"ArithmeticException", "InvaildOperatorException", "NumberFormatException", "Other"};
+
+	private static final CalculatorMetrics INSTANCE = ENABLED ? new CalculatorMetrics() : null;
+
+	private final ConcurrentHashMap<String, LongAdder> operationCounts = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, LongAdder> arithmeticCounts = new ConcurrentHashMap<>();
+	private final LongAdder[] errorCounts = newCounters(ERROR_NAMES.length);
+	private final LogHistogram evaluationNanos = new LogHistogram();
+	private final LogHistogram expressionLengths = new LogHistogram();
+
+	static {
+		if(ENABLED) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName("calculator:type=CalculatorMetrics"));
+			} catch(JMException exception) {
+				System.err.println(exception);
+			}
+
+			final long dumpSeconds = Long.getLong("calculator.metrics.dumpSeconds", 0);
+			if(dumpSeconds > 0) {
+				final ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+					final Thread thread = new Thread(task, "calculator-metrics");
+					thread.setDaemon(true);
+					return thread;
+				});
+				dumper.scheduleAtFixedRate(() -> System.err.print(INSTANCE.dump()), dumpSeconds, dumpSeconds, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Constructs a new CalculatorMetrics instance.
+	 */
+	private CalculatorMetrics() {
+	}
+
+	/**
+	 * Returns the metrics.
+	 *
+	 * @return metrics[CalculatorMetrics] : the metrics, or null when they aren't enabled.
+	 */
+	public static CalculatorMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the current time for a latency, if the metrics are enabled.
+	 *
+	 * @return nanos[long] : System.nanoTime(), or 0 when the metrics aren't enabled.
+	 */
+	static long startTimer() {
+		return ENABLED ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records an operation handled by handleOperation(), the memory operations included.
+	 *
+	 * @param operationName : name of the operation, the symbol of an operator or a label like "BS" or "M+".
+	 *
+	 */
+	static void recordOperation(final String operationName) {
+		if(!ENABLED)	return;
+		if(OPERATION_LABELS.contains(operationName) || OperatorRegistry.forSymbol(operationName) != null) {
+			counter(INSTANCE.operationCounts, operationName).increment();
+		}
+	}
+
+	/**
+	 * Records an arithmetic operation performed by {@link CalculatorModel#executeOperation(OperandStack, char)}
+	 * or by the exact arithmetic, whichever mode or evaluation path performed it.
+	 *
+	 * @param operator : code of the operator in the {@link OperatorRegistry}.
+	 *
+	 */
+	static void recordArithmetic(final char operator) {
+		if(!ENABLED)	return;
+		final Operator registeredOperator = OperatorRegistry.get(operator);
+		if(registeredOperator != null) {
+			counter(INSTANCE.arithmeticCounts, registeredOperator.getSymbol()).increment();
+		}
+	}
+
+	/**
+	 * Records an evaluated expression.
+	 *
+	 * @param startNanos : value of {@link #startTimer()} when the evaluation started.
+	 * @param length : number of characters of the expression.
+	 *
+	 */
+	static void recordEvaluation(final long startNanos, final int length) {
+		if(!ENABLED)	return;
+		INSTANCE.evaluationNanos.record(System.nanoTime() - startNanos);
+		INSTANCE.expressionLengths.record(length);
+	}
+
+	/**
+	 * Records a failure.
+	 *
+	 * @param exception : exception of the failure.
+	 *
+	 */
+	static void recordError(final Exception exception) {
+		if(!ENABLED)	return;
+		final int index;
+		if(exception instanceof ArithmeticException) {
+			index = 0;
+		} else if(exception instanceof InvaildOperatorException) {
+			index = 1;
+		} else if(exception instanceof NumberFormatException) {
+			index = 2;
+		} else {
+			index = 3;
+		}
+		INSTANCE.errorCounts[index].increment();
+	}
+
+	@Override
+	public Map<String, Long> getOperationCounts() {
+		return toMap(this.operationCounts);
+	}
+
+	@Override
+	public Map<String, Long> getArithmeticCounts() {
+		return toMap(this.arithmeticCounts);
+	}
+
+	@Override
+	public Map<String, Long> getErrorCounts() {
+		return toMap(ERROR_NAMES, this.errorCounts);
+	}
+
+	@Override
+	public long getEvaluationCount() {
+		return this.evaluationNanos.getCount();
+	}
+
+	@Override
+	public double getEvaluationMeanNanos() {
+		return this.evaluationNanos.getMean();
+	}
+
+	@Override
+	public long getEvaluationP50Nanos() {
+		return this.evaluationNanos.getPercentile(50);
+	}
+
+	@Override
+	public long getEvaluationP99Nanos() {
+		return this.evaluationNanos.getPercentile(99);
+	}
+
+	@Override
+	public long getEvaluationP999Nanos() {
+		return this.evaluationNanos.getPercentile(99.9);
+	}
+
+	@Override
+	public long getEvaluationMaxNanos() {
+		return this.evaluationNanos.getMaximum();
+	}
+
+	@Override
+	public long getExpressionLengthP50() {
+		return this.expressionLengths.getPercentile(50);
+	}
+
+	@Override
+	public long getExpressionLengthP99() {
+		return this.expressionLengths.getPercentile(99);
+	}
+
+	@Override
+	public long getExpressionLengthMax() {
+		return this.expressionLengths.getMaximum();
+	}
+
+	@Override
+	public String dump() {
+		final StringBuilder dump = new StringBuilder(512);
+		dump.append("calculator.operations ").append(this.getOperationCounts()).append('\n');
+		dump.append("calculator.arithmetic ").append(this.getArithmeticCounts()).append('\n');
+		dump.append("calculator.errors ").append(this.getErrorCounts()).append('\n');
+		dump.append(String.format("calculator.evaluation count=%d mean=%.0fns p50=%dns p99=%dns p999=%dns max=%dns%n",
+				this.getEvaluationCount(), this.getEvaluationMeanNanos(), this.getEvaluationP50Nanos(),
+				this.getEvaluationP99Nanos(), this.getEvaluationP999Nanos(), this.getEvaluationMaxNanos()));
+		dump.append(String.format("calculator.expressionLength mean=%.1f p50=%d p99=%d max=%d%n",
+				this.expressionLengths.getMean(), this.getExpressionLengthP50(), this.getExpressionLengthP99(), this.getExpressionLengthMax()));
+		return dump.toString();
+	}
+
+	/**
+	 * Creates the given number of counters.
+	 *
+	 * @param count : number of counters.
+	 *
+	 * @return counters[LongAdder[]] : new counters.
+	 */
+	private static LongAdder[] newCounters(final int count) {
+		final LongAdder[] counters = new LongAdder[count];
+		for(int index = 0; index < count; index++) {
+			counters[index] = new LongAdder();
+		}
+		return counters;
+	}
+
+	/**
+	 * Returns the counter of the given name, creating it on its first use.
+	 *
+	 * @param counters : counters by name.
+	 * @param name : name of the counter.
+	 *
+	 * @return counter[LongAdder] : the counter.
+	 */
+	private static LongAdder counter(final ConcurrentHashMap<String, LongAdder> counters, final String name) {
+		final LongAdder counter = counters.get(name);
+		return (counter != null) ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+	}
+
+	/**
+	 * Returns the non-zero counters of the operators, in the order they were registered, then of the other operations.
+	 *
+	 * @param counters : counters by symbol or label.
+	 *
+	 * @return counts[Map&lt;String, Long&gt;] : count by symbol or label.
+	 */
+	private static Map<String, Long> toMap(final Map<String, LongAdder> counters) {
+		final List<String> names = new ArrayList<>();
+		for(Operator operator : OperatorRegistry.getOperators()) {
+			names.add(operator.getSymbol());
+		}
+		names.addAll(OPERATION_LABELS);
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for(String name : names) {
+			final LongAdder counter = counters.get(name);
+			final long count = (counter != null) ? counter.sum() : 0;
+			if(count != 0)	counts.put(name, count);
+		}
+		return counts;
+	}
+
+	/**
+	 * Returns the non-zero counters by name.
+	 *
+	 * @param names : names of the counters.
+	 * @param counters : counters.
+	 *
+	 * @return counts[Map&lt;String, Long&gt;] : count by name.
+	 */
+	private static Map<String, Long> toMap(final String[] names, final LongAdder[] counters) {
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for(int index = 0; index < counters.length; index++) {
+			final long count = counters[index].sum();
+			if(count != 0)	counts.put(names[index], count);
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,104 @@
+package calculator;
+
+import java.util.Map;
+
+/**
+ * This interface is the management interface of {@link CalculatorMetrics}, registered
+ * as "calculator:type=CalculatorMetrics" when the metrics are enabled.
+ *
+ * @version 1.0.0
+ *
+ */
+public interface CalculatorMetricsMXBean {
+
+	/**
+	 * Returns the number of times every operation of handleOperation() has been handled.
+	 *
+	 * @return counts[Map&lt;String, Long&gt;] : count by operation name, like "+", "BS" or "M+".
+	 */
+	Map<String, Long> getOperationCounts();
+
+	/**
+	 * Returns the number of arithmetic operations performed by every operator.
+	 *
+	 * @return counts[Map&lt;String, Long&gt;] : count by symbol of the operator, like "^" or "//".
+	 */
+	Map<String, Long> getArithmeticCounts();
+
+	/**
+	 * Returns the number of failed evaluations by kind of failure.
+	 *
+	 * @return counts[Map&lt;String, Long&gt;] : count by exception name.
+	 */
+	Map<String, Long> getErrorCounts();
+
+	/**
+	 * Returns the number of evaluated expressions.
+	 *
+	 * @return count[long] : number of evaluations.
+	 */
+	long getEvaluationCount();
+
+	/**
+	 * Returns the mean latency of the evaluations.
+	 *
+	 * @return mean[double] : mean latency in nanoseconds.
+	 */
+	double getEvaluationMeanNanos();
+
+	/**
+	 * Returns the median latency of the evaluations.
+	 *
+	 * @return latency[long] : 50th percentile in nanoseconds.
+	 */
+	long getEvaluationP50Nanos();
+
+	/**
+	 * Returns the 99th percentile of the latency of the evaluations.
+	 *
+	 * @return latency[long] : 99th percentile in nanoseconds.
+	 */
+	long getEvaluationP99Nanos();
+
+	/**
+	 * Returns the 99.9th percentile of the latency of the evaluations.
+	 *
+	 * @return latency[long] : 99.9th percentile in nanoseconds.
+	 */
+	long getEvaluationP999Nanos();
+
+	/**
+	 * Returns the largest latency of the evaluations.
+	 *
+	 * @return latency[long] : largest latency in nanoseconds.
+	 */
+	long getEvaluationMaxNanos();
+
+	/**
+	 * Returns the median length of the evaluated expressions.
+	 *
+	 * @return length[long] : 50th percentile in characters.
+	 */
+	long getExpressionLengthP50();
+
+	/**
+	 * Returns the 99th percentile of the length of the evaluated expressions.
+	 *
+	 * @return length[long] : 99th percentile in characters.
+	 */
+	long getExpressionLengthP99();
+
+	/**
+	 * Returns the length of the longest evaluated expression.
+	 *
+	 * @return length[long] : largest length in characters.
+	 */
+	long getExpressionLengthMax();
+
+	/**
+	 * Returns all the metrics as text.
+	 *
+	 * @return dump[String] : metrics, one per line.
+	 */
+	String dump();
+}
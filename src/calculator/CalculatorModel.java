@@ -2,34 +2,14 @@ package calculator;
 
 import java.awt.Component;
 import java.awt.Container;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.RoundingMode;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
-import java.util.Stack;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-/**
- * Created for designing custom lambda function for different Arithmetic Operation.
- *
- * @author Shamith Nakka
- * Demonstrates the usage of {@link #executeOperation()}.
- *
- */
-@FunctionalInterface
-interface ArithmeticOperation {
-
-	/**
-	 *
-	 * @param operand1: Subclass object of Number.
-	 * @param operand2: Subclass object of Number.
-	 *
-	 * @return Subclass object of Number class through Reference Widening.
-	 */
-	public Number operation(Number operand1, Number operand2);
-}
-
 /**
  * This class represents the model in the MVC architecture for a calculator application.
  * It handles all the functional operations and calculations.
@@ -41,21 +21,66 @@ interface ArithmeticOperation {
  */
 public class CalculatorModel {
 
-	// Collection to store and evaluate expressions.
-	final private List<String> expression;
-	final private Stack<String> operations;
-	final private Stack<String> values;
+	// Patterns of the values and operators the model checks, compiled once for matchesRegex().
+	private static final Pattern NUMERIC_VALUE = Pattern.compile("^(\\-?[0-9]+(\\.[0-9]*)?)?$");
+	private static final Pattern DECIMAL_VALUE = Pattern.compile("^(\\-?[0-9]*\\.[0-9]*)?$");
+	private static final Pattern ZERO_DIVISOR = Pattern.compile("^0*(\\.?0*)?$");
+	private static final Pattern LOW_PRECEDENCE_OPERATOR = Pattern.compile("^\\+|\\-$");
+	private static final Pattern[] PRECOMPILED_PATTERNS = {NUMERIC_VALUE, DECIMAL_VALUE, ZERO_DIVISOR, LOW_PRECEDENCE_OPERATOR};
+
+	// Name of the variable of the memory register
+	private static final String MEMORY_REGISTER = "M";
+
+	// Buffer to store and evaluate expressions.
+	final private TokenBuffer expression;
+	final private OperatorStack operations;
+	final private OperandStack values;
+	final private ExactOperandStack exactValues;
+	final private ExpressionScanner scanner;
 	private boolean hasDisplayed;
 
+	// Opt-in cache of the evaluated expressions, and the key of the line being evaluated
+	private ResultCache resultCache;
+	final private StringBuilder cacheKey;
+
+	// Opt-in evaluation of the expression while it's being entered
+	private IncrementalEvaluation incrementalEvaluation;
+
+	// Opt-in exact arithmetic
+	private ExactArithmetic exactArithmetic;
+
+	// Opt-in history of the evaluated expressions, and the expression entered so far
+	private CalculationHistory history;
+	final private StringBuilder historyExpression;
+
+	// Variables of the expressions, the memory register included
+	final private SymbolTable variables;
+
 	/**
 	 * Constructs a new CalculatorModel instance.
 	 * This constructor initializes any required data or resources.
 	 */
 	public CalculatorModel() {
-		this.expression = new LinkedList<>();
-		this.operations = new Stack<>();
-		this.values = new Stack<>();
+		this(new SymbolTable());
+	}
+
+	/**
+	 * Constructs a new CalculatorModel instance looking up the variables in the given table,
+	 * which may be shared by several models as long as it isn't changed while they evaluate.
+	 *
+	 * @param variables : table of the variables.
+	 *
+	 */
+	CalculatorModel(final SymbolTable variables) {
+		this.expression = new TokenBuffer();
+		this.operations = new OperatorStack();
+		this.values = new OperandStack();
+		this.exactValues = new ExactOperandStack();
+		this.scanner = new ExpressionScanner();
 		this.hasDisplayed = false;
+		this.historyExpression = new StringBuilder();
+		this.cacheKey = new StringBuilder();
+		this.variables = variables;
 	}
 
 	/**
@@ -100,20 +125,14 @@ public class CalculatorModel {
 	 */
 	public static boolean isNumericValue(final String inputString, final boolean checkOnlyForDecimalValue) {
 
-		// Regex for both numeric and decimal values
-		final String regexForNumericValues = "^(\\-?[0-9]+(\\.[0-9]*)?)?$";
-		final String regexForCheckingDecimalPoint = "^(\\-?[0-9]*\\.[0-9]*)?$";
-
-		// Selecting regex for situation
-		final String regex = checkOnlyForDecimalValue ? regexForCheckingDecimalPoint : regexForNumericValues;
-
-		// Evaluating and returning boolean value
-		return matchesRegex(regex, inputString);
+		// Selecting the check for situation, same as "^(\\-?[0-9]*\\.[0-9]*)?$" and "^(\\-?[0-9]+(\\.[0-9]*)?)?$"
+		return checkOnlyForDecimalValue ? TokenClassifier.isDecimal(inputString) : TokenClassifier.isNumeric(inputString);
 	}
 
 	/**
 	 * This method will check whether the given target string matches the
-	 * given regular expression.
+	 * given regular expression. The patterns of the model are compiled once,
+	 * any other regular expression being compiled on every call.
 	 *
 	 * @param regex : Regular Expression.
 	 * @param targetString : String need to checked.
@@ -121,9 +140,10 @@ public class CalculatorModel {
 	 * @return [boolean]: return true if given string matches given regex.
 	 */
 	public static boolean matchesRegex(final String regex, final String targetString) {
-		final Pattern pattern = Pattern.compile(regex);
-		final Matcher matcher = pattern.matcher(targetString);
-		return matcher.matches();
+		for(Pattern pattern : PRECOMPILED_PATTERNS) {
+			if(pattern.pattern().equals(regex))	return pattern.matcher(targetString).matches();
+		}
+		return Pattern.compile(regex).matcher(targetString).matches();
 	}
 
 	/**
@@ -167,46 +187,45 @@ public class CalculatorModel {
 	private void clearTextFeild(final StringBuilder inputSB,final boolean forTextField) {
 		if(inputSB.length() != 0)
 			inputSB.delete(0, inputSB.length());
-		if(forTextField)
+		if(forTextField) {
 			this.expression.clear();
+			this.historyExpression.setLength(0);
+			if(this.incrementalEvaluation != null)	this.incrementalEvaluation.clear();
+		}
 	}
 
 	/**
-	 * This method handles the operation based on the precedence.
+	 * This method pushes an operator read after its left operand, first performing the pending
+	 * operations that the precedence rules of {@link OperatorRegistry} perform before it.
 	 *
-	 * @param operator : a String value representing operator.
-	 * @param isHighPrecedence : a boolean value to determine level of precedence.
+	 * @param operator : code of the operator.
 	 *
 	 * @throws InvaildOperatorException If any other option is selected that the one defined.
 	 * @throws ArithmeticException To handle the "Division by zero" case.
 	 */
-	private void handleOperationsBasedOnPrecedence(final String operator, final boolean isHighPrecedence)  throws InvaildOperatorException, ArithmeticException {
-
-		// Checking for division operation
-		boolean isDivision = false;
+	private void pushOperator(final char operator) throws InvaildOperatorException, ArithmeticException {
+		while(!this.operations.isEmpty() && OperatorRegistry.isPerformedBefore(this.operations.peek(), operator)) {
+			this.performOperation(this.operations.pop());
+		}
+		this.operations.push(operator);
+	}
 
-		// Handling remaining arithmetic operations
-		ArithmeticOperation operation = null;
+	/**
+	 * This method performs the operation on the top two values of the stack of the current arithmetic.
+	 *
+	 * @param operator : code of the operator.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private void performOperation(final char operator) throws InvaildOperatorException, ArithmeticException {
 
-		if(isHighPrecedence) {
-			switch(operator) {
-				case "*" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()*operand2.doubleValue() : operand1.longValue()*operand2.longValue();
-				case "/" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()/operand2.doubleValue() : operand1.longValue()/operand2.longValue();
-				case "%" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()%operand2.doubleValue() : operand1.longValue()%operand2.longValue();
-				default -> new InvaildOperatorException();
-			}
-			isDivision = operator.equals("/");
+		// evaluating operators and pushes it back to stack
+		if(this.exactArithmetic != null) {
+			this.exactValues.execute(operator, this.exactArithmetic);
 		} else {
-			switch(operator) {
-				case "+" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()+operand2.doubleValue() : operand1.longValue()+operand2.longValue();
-				case "-" -> operation = (operand1, operand2)-> (operand1 instanceof Double || operand2 instanceof Double) ? operand1.doubleValue()-operand2.doubleValue() : operand1.longValue()-operand2.longValue();
-				default -> new InvaildOperatorException();
-			}
+			executeOperation(this.values, operator);
 		}
-
-		// evaluating operators and pushes it back to stack
-		final String result = this.executeOperation(operation, isDivision);
-		this.values.push(result);
 	}
 
 	/**
@@ -221,96 +240,594 @@ public class CalculatorModel {
 
 		// Appending the last value before the evaluation
 		this.selecteArithmeticdOperation(inputStringBuilder, null);
+		if(this.history == null) {
+			this.evaluateEnteredExpression(inputStringBuilder);
+			return;
+		}
+
+		// Recording the expression and its result in the history
+		final String enteredExpression = this.historyExpression.toString();
+		this.historyExpression.setLength(0);
+		try {
+			this.evaluateEnteredExpression(inputStringBuilder);
+		} catch(ArithmeticException exception) {
+			this.history.record(enteredExpression, BatchEvaluator.ERROR_RESULT);
+			throw exception;
+		}
+		this.history.record(enteredExpression, inputStringBuilder);
+	}
+
+	/**
+	 * This method evaluates the expression entered so far, its last value included.
+	 *
+	 * @param inputStringBuilder : a string builder object representing TextField object.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private void evaluateEnteredExpression(final StringBuilder inputStringBuilder) throws InvaildOperatorException, ArithmeticException {
+
+		// Most of the expression has already been evaluated while it was entered
+		if(this.incrementalEvaluation != null) {
+			this.incrementalEvaluation.finish(inputStringBuilder);
+			this.incrementalEvaluation.clear();
+			this.hasDisplayed = true;
+			return;
+		}
+
+		// A single value is displayed just as it was entered
+		if(this.expression.size() == 1) {
+			replaceStringBuilderValue(inputStringBuilder, this.expression.get(0));
+			this.expression.clear();
+			this.hasDisplayed = true;
+			return;
+		}
+
+		// Looking up the cache of the evaluated expressions
+		final String cacheKey = (this.resultCache != null) ? this.expression.toString() : null;
+		if(cacheKey == null) {
+			this.evaluateTokens(inputStringBuilder);
+		} else if(!this.resultCache.lookup(cacheKey, inputStringBuilder)) {
+			try {
+				this.evaluateTokens(inputStringBuilder);
+			} catch(ArithmeticException exception) {
+				this.resultCache.putError(cacheKey, exception);
+				throw exception;
+			}
+			this.resultCache.putResult(cacheKey, inputStringBuilder.toString());
+		}
+
+		// Clearing
+		this.expression.clear();
+		this.hasDisplayed = true;
+	}
+
+	/**
+	 * This method evaluates the tokens of the current expression.
+	 *
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private void evaluateTokens(final StringBuilder resultStringBuilder) throws InvaildOperatorException, ArithmeticException {
 
-		// Traversing the whole expression List and pushing into stack
-		for(int index = 0; index < this.expression.size(); index++) {
+		// Discarding anything left behind by a failed evaluation
+		this.values.clear();
+		this.exactValues.clear();
+		this.operations.clear();
+
+		// Traversing the whole expression in a single pass and pushing into stack
+		final CharSequence tokens = this.expression.characters();
+		final int size = this.expression.size();
+		for(int index = 0; index < size; index++) {
 
 			// Retrieving value
-			final String value = this.expression.get(index);
+			final int start = this.expression.start(index);
+			final int end = this.expression.end(index);
 
-			// Handling the numeric and basic arithmetic (like add & subtract)
-			if(isNumericValue(value, false)) {
-				this.values.push(value);
-				continue;
-			} else if(matchesRegex("^\\+|\\-$",value)) {
-				this.operations.push(value);
+			// Handling the numeric values
+			if(TokenClassifier.isNumeric(tokens, start, end)) {
+				this.pushOperand(tokens, start, end);
 				continue;
 			}
 
-			// Adding the other operand before performing the operation..
-			this.values.push(this.expression.get(++index));
+			// Performing the operations that come before the operator
+			final char operator = OperatorRegistry.codeOf(tokens, start, end);
+			if(operator == 0) {
+				throw new InvaildOperatorException();
+			}
+			this.pushOperator(operator);
 
-			// Performing High precedence operations
-			this.handleOperationsBasedOnPrecedence(value, true);
+		}
+
+		// Returning final result of expression to TextFeild
+		this.completeEvaluation(resultStringBuilder);
+	}
 
+	/**
+	 * This method evaluates a whole expression written as a single line, like "12 + 3.5 * 2",
+	 * using the same rules as "=" but without touching the expression entered through
+	 * handleOperation(). Operands and operators may be separated by spaces, and a '-'
+	 * where an operand is expected is read as the sign of that operand.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand isn't a numeric value.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	public void evaluate(final CharSequence line, final StringBuilder resultStringBuilder) throws InvaildOperatorException, NumberFormatException, ArithmeticException {
+		final long startNanos = CalculatorMetrics.startTimer();
+		try {
+			this.evaluateCachedLine(line, resultStringBuilder);
+		} catch(InvaildOperatorException | RuntimeException exception) {
+			CalculatorMetrics.recordError(exception);
+			throw exception;
 		}
+		CalculatorMetrics.recordEvaluation(startNanos, line.length());
+	}
 
-		// handling lower precedence operations
+	/**
+	 * This method evaluates a whole expression written as a single line, through the cache when it's enabled.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand isn't a numeric value.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private void evaluateCachedLine(final CharSequence line, final StringBuilder resultStringBuilder) throws InvaildOperatorException, NumberFormatException, ArithmeticException {
+
+		// Evaluating directly without the cache
+		if(this.resultCache == null) {
+			this.evaluateLine(line, resultStringBuilder);
+			return;
+		}
+
+		// Looking up the line as it's written, a line written like its key being found without scanning it
+		final String writtenLine = line.toString();
+		if(this.resultCache.lookup(writtenLine, resultStringBuilder, false)) {
+			return;
+		}
+
+		// Looking up the tokens of the line, a line that can't be scanned being evaluated directly
+		final String cacheKey = this.cacheKeyOf(writtenLine);
+		if(cacheKey == null) {
+			this.evaluateLine(line, resultStringBuilder);
+			return;
+		}
+		if(this.resultCache.lookup(cacheKey, resultStringBuilder)) {
+			return;
+		}
+		try {
+			this.evaluateLine(line, resultStringBuilder);
+		} catch(ArithmeticException exception) {
+			this.resultCache.putError(cacheKey, exception);
+			throw exception;
+		}
+		this.resultCache.putResult(cacheKey, resultStringBuilder.toString());
+	}
+
+	/**
+	 * This method returns the key of a line in the cache of the evaluated expressions: its tokens separated
+	 * by a single space, like the expression entered through the keypad, so that "1+2" and " 1 + 2" share
+	 * the same entry. A line already written that way is its own key.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 *
+	 * @return cacheKey[String] : tokens of the line, or null if it has an unknown operator or ends with an operator.
+	 */
+	private String cacheKeyOf(final String line) {
+
+		// Initialization
+		final ExpressionScanner scanner = this.scanner.reset(line);
+		final StringBuilder cacheKey = this.cacheKey;
+		boolean isWrittenAsKey = true;
+		int keyLength = 0;
+
+		// Reading the line as alternating operands and operators, the key being written only once the line differs from it
+		try {
+			while(true) {
+
+				// Retrieving the operand, which must start right after the previous space
+				scanner.nextOperand();
+				if(isWrittenAsKey && scanner.operandStart() != keyLength) {
+					isWrittenAsKey = false;
+					cacheKey.setLength(0);
+					cacheKey.append(line, 0, keyLength);
+				}
+				if(!isWrittenAsKey)	cacheKey.append(line, scanner.operandStart(), scanner.operandEnd());
+				keyLength += scanner.operandEnd() - scanner.operandStart();
+				if(!scanner.hasNext())	break;
+
+				// Retrieving the operator, which must be surrounded by a single space
+				final String symbol = OperatorRegistry.get(scanner.nextOperator()).getSymbol();
+				if(isWrittenAsKey && (line.charAt(keyLength) != ' ' || line.charAt(keyLength + symbol.length() + 1) != ' ')) {
+					isWrittenAsKey = false;
+					cacheKey.setLength(0);
+					cacheKey.append(line, 0, keyLength);
+				}
+				if(!isWrittenAsKey)	cacheKey.append(' ').append(symbol).append(' ');
+				keyLength += symbol.length() + 2;
+			}
+		} catch(InvaildOperatorException exception) {
+			return null;
+		}
+
+		// Returning the line itself when it's written like its key
+		if(!isWrittenAsKey)	return cacheKey.toString();
+		return (keyLength == line.length()) ? line : line.substring(0, keyLength);
+	}
+
+	/**
+	 * This method evaluates a whole expression written as a single line.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand isn't a numeric value.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private void evaluateLine(final CharSequence line, final StringBuilder resultStringBuilder) throws InvaildOperatorException, NumberFormatException, ArithmeticException {
+
+		// A single value is displayed just as it was entered, unless it's a variable
+		final int operandCount = this.pushLine(line);
+		final int operandStart = this.scanner.operandStart();
+		if(operandCount == 1 && !SymbolTable.isNameStart(line.charAt(operandStart))) {
+			this.values.clear();
+			this.exactValues.clear();
+			resultStringBuilder.setLength(0);
+			resultStringBuilder.append(line, operandStart, this.scanner.operandEnd());
+			return;
+		}
+
+		this.completeEvaluation(resultStringBuilder);
+	}
+
+	/**
+	 * This method evaluates a whole expression written as a single line with the default arithmetic,
+	 * keeping its result as the value of the given entry of the variables instead of formatting it.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 * @param entry : index of the entry of the variables the result is kept in.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand is neither a numeric value nor a variable.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	void evaluate(final CharSequence line, final int entry) throws InvaildOperatorException, NumberFormatException, ArithmeticException {
+		this.pushLine(line);
 		while(!this.operations.isEmpty()) {
+			this.performOperation(this.operations.pop());
+		}
+		this.variables.set(entry, this.values);
+	}
 
-			// Retrieving value
-			final String operator = this.operations.pop();
+	/**
+	 * This method reads a whole expression written as a single line, pushing its operands and
+	 * performing the operations that the precedence rules allow, the scanner being left on the last operand.
+	 *
+	 * @param line : expression that need to be evaluated.
+	 *
+	 * @return operandCount[int] : number of operands of the line.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand is neither a numeric value nor a variable.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private int pushLine(final CharSequence line) throws InvaildOperatorException, NumberFormatException, ArithmeticException {
+
+		// Initialization
+		final ExpressionScanner scanner = this.scanner.reset(line);
+		int operandCount = 0;
+
+		// Discarding anything left behind by a failed evaluation
+		this.values.clear();
+		this.exactValues.clear();
+		this.operations.clear();
 
-			// Performing lower precedence operations
-			this.handleOperationsBasedOnPrecedence(operator, false);
+		// Reading the line as alternating operands and operators
+		while(true) {
+
+			// Retrieving the operand
+			scanner.nextOperand();
+			this.pushOperand(line, scanner.operandStart(), scanner.operandEnd());
+			operandCount++;
+
+			// Retrieving the operator, performing the operations that come before it
+			if(!scanner.hasNext())	return operandCount;
+			this.pushOperator(scanner.nextOperator());
 		}
+	}
 
-		// Returning final result of expression to TextFeild
-		replaceStringBuilderValue(inputStringBuilder, this.values.pop());
+	/**
+	 * This method evaluates the next expression of a binary stream written by {@link BinaryWriter},
+	 * straight from its tokens, using the same rules as {@link #evaluate(CharSequence, StringBuilder)}.
+	 * The numbers are pushed as they were read, without formatting or parsing any text.
+	 * The whole expression is consumed even when it can't be evaluated, and an empty expression
+	 * gives an empty result.
+	 *
+	 * @param expressions : stream the expression is read from.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws IOException If the stream can't be read.
+	 * @throws InvaildOperatorException If the expression has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand isn't a numeric value.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	public void evaluate(final BinaryReader expressions, final StringBuilder resultStringBuilder) throws IOException, InvaildOperatorException, NumberFormatException, ArithmeticException {
 
-		// Clearing
-		this.expression.clear();
-		this.hasDisplayed = true;
+		// Initialization
+		int tag = BinaryFormat.END;
+		int operandCount = 0;
+		resultStringBuilder.setLength(0);
+
+		// Discarding anything left behind by a failed evaluation
+		this.values.clear();
+		this.exactValues.clear();
+		this.operations.clear();
+
+		try {
+
+			// Evaluating a line kept as text
+			tag = expressions.nextToken();
+			if(tag == BinaryFormat.END) {
+				return;
+			}
+			if(tag == BinaryFormat.LINE) {
+				this.evaluate(expressions.text(), resultStringBuilder);
+				tag = expressions.nextToken();
+				if(tag != BinaryFormat.END)		throw new InvaildOperatorException();
+				return;
+			}
+
+			// Reading the alternating operands and operators
+			while(true) {
+
+				// Retrieving the operand, the first one being displayed just as it was entered
+				this.pushOperand(tag, expressions);
+				if(++operandCount == 1) {
+					appendOperand(tag, expressions, resultStringBuilder);
+				}
+
+				// Retrieving the operator, performing the operations that come before it
+				tag = expressions.nextToken();
+				if(tag == BinaryFormat.END)		break;
+				if(!BinaryFormat.isOperator(tag))	throw new InvaildOperatorException();
+				this.pushOperator((char)tag);
+				tag = expressions.nextToken();
+			}
+		} catch(InvaildOperatorException | RuntimeException exception) {
+
+			// Skipping the rest of the expression
+			if(tag != BinaryFormat.END)	expressions.skipExpression();
+			throw exception;
+		}
+
+		// A single value is displayed just as it was entered
+		if(operandCount == 1) {
+			this.values.clear();
+			this.exactValues.clear();
+			return;
+		}
+
+		this.completeEvaluation(resultStringBuilder);
 	}
 
 	/**
-	 * This function executes the operation provided according the values passed to it.
+	 * This method evaluates an expression compiled by {@link #compile(CharSequence)},
+	 * without parsing it again. It doesn't touch the expression entered through handleOperation().
 	 *
-	 * @param handleOperation : Lambda function to perform provided operation.
-	 * @param isDivisionOperation : Special case for Division operation.
+	 * @param compiledExpression : expression that need to be evaluated.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
 	 *
-	 * @return value : a String value representing the end result of the operation.
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	public void evaluate(final CompiledExpression compiledExpression, final StringBuilder resultStringBuilder) throws InvaildOperatorException, ArithmeticException {
+		compiledExpression.evaluate(this.values, resultStringBuilder);
+	}
+
+	/**
+	 * This method compiles an expression written as a single line, so that it can be
+	 * evaluated many times without parsing it again.
+	 *
+	 * @param line : expression that need to be compiled.
+	 *
+	 * @return compiledExpression[CompiledExpression] : immutable compiled expression.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand isn't a numeric value.
+	 */
+	public CompiledExpression compile(final CharSequence line) throws InvaildOperatorException, NumberFormatException {
+		return CompiledExpression.compile(this.scanner.reset(line));
+	}
+
+	/**
+	 * This method compiles a formula of the variable "x", like "x * 1.2 + 5", so that it can be
+	 * applied to whole columns of values at once.
+	 *
+	 * @param formula : formula that need to be compiled.
+	 *
+	 * @return columnFormula[ColumnFormula] : immutable compiled formula.
+	 *
+	 * @throws InvaildOperatorException If the formula has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand is neither a numeric value nor the variable.
+	 */
+	public ColumnFormula compileColumnFormula(final CharSequence formula) throws InvaildOperatorException, NumberFormatException {
+		return ColumnFormula.compile(this.scanner.reset(formula));
+	}
+
+	/**
+	 * This method performs the pending operations, from the last one to the first, and writes
+	 * the final result into the given StringBuilder, formatting it only once.
+	 *
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
 	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
 	 * @throws ArithmeticException To handle the "Division by zero" case.
 	 */
-	private String executeOperation(final ArithmeticOperation handleOperation, final boolean isDivisionOperation) throws ArithmeticException {
+	private void completeEvaluation(final StringBuilder resultStringBuilder) throws InvaildOperatorException, ArithmeticException {
 
-		// Getting values
-		final String operand2 = this.values.pop();
-		final String operand1 = this.values.pop();
+		// handling the pending operations
+		while(!this.operations.isEmpty()) {
+			this.performOperation(this.operations.pop());
+		}
+
+		// Returning final result
+		resultStringBuilder.setLength(0);
+		if(this.exactArithmetic != null) {
+			this.exactValues.popTo(resultStringBuilder);
+		} else {
+			this.values.popTo(resultStringBuilder);
+		}
+	}
+
+	/**
+	 * This method parses the given operand, or looks up the given variable, and pushes it
+	 * into the stack of the current arithmetic.
+	 *
+	 * @param literal : character sequence containing the operand.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @throws NumberFormatException If the operand is neither a numeric value nor a variable.
+	 */
+	private void pushOperand(final CharSequence literal, final int start, final int end) throws NumberFormatException {
+		if(start < end && SymbolTable.isNameStart(literal.charAt(start))) {
+			this.pushVariable(literal, start, end);
+		} else if(this.exactArithmetic != null) {
+			this.exactValues.pushLiteral(literal, start, end);
+		} else {
+			this.values.pushLiteral(literal, start, end);
+		}
+	}
+
+	/**
+	 * This method pushes the value of the given variable into the stack of the current arithmetic.
+	 *
+	 * @param name : character sequence containing the name.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @throws NumberFormatException If there's no such variable.
+	 */
+	private void pushVariable(final CharSequence name, final int start, final int end) throws NumberFormatException {
+		final int entry = this.variables.find(name, start, end);
+		if(entry < 0) {
+			throw new NumberFormatException("Unknown variable: \"" + name.subSequence(start, end) + "\"");
+		}
+		if(this.exactArithmetic != null) {
+			this.variables.pushTo(entry, this.exactValues);
+		} else {
+			this.variables.pushTo(entry, this.values);
+		}
+	}
+
+	/**
+	 * This method pushes the operand of the last token read from a binary stream
+	 * into the stack of the current arithmetic.
+	 *
+	 * @param tag : tag of the token.
+	 * @param expressions : stream the token was read from.
+	 *
+	 * @throws InvaildOperatorException If the token isn't an operand.
+	 * @throws NumberFormatException If the operand isn't a numeric value.
+	 */
+	private void pushOperand(final int tag, final BinaryReader expressions) throws InvaildOperatorException, NumberFormatException {
+		switch(tag) {
+			case BinaryFormat.LONG -> {
+				if(this.exactArithmetic != null) {
+					this.exactValues.pushNumber(expressions.unscaledValue(), 0);
+				} else {
+					this.values.pushLong(expressions.unscaledValue());
+				}
+			}
+			case BinaryFormat.DECIMAL -> {
+				if(this.exactArithmetic != null) {
+					this.exactValues.pushNumber(expressions.unscaledValue(), expressions.scale());
+				} else {
+					this.values.pushDecimal(expressions.unscaledValue(), expressions.scale());
+				}
+			}
+			case BinaryFormat.LITERAL -> this.pushOperand(expressions.text(), 0, expressions.text().length());
+			default -> throw new InvaildOperatorException();
+		}
+	}
 
-		// Checking for decimal values
-		final boolean operand1HasDecimalValue = isNumericValue(operand1, true);
-		final boolean operand2HasDecimalValue = isNumericValue(operand2, true);
+	/**
+	 * This function appends the text of the operand of the last token read from a binary stream.
+	 *
+	 * @param tag : tag of the token.
+	 * @param expressions : stream the token was read from.
+	 * @param output : StringBuilder object the text is appended to.
+	 *
+	 */
+	private static void appendOperand(final int tag, final BinaryReader expressions, final StringBuilder output) {
+		if(tag == BinaryFormat.LITERAL) {
+			output.append(expressions.text());
+		} else {
+			BinaryFormat.appendNumber(output, expressions.unscaledValue(), expressions.scale(), tag == BinaryFormat.DECIMAL);
+		}
+	}
+
+	/**
+	 * This function executes the provided operation on the top two values of the given stack
+	 * and pushes the result back into the stack.
+	 * Decimal values, and the operators without a long implementation (like divisions), are calculated
+	 * as double rounded to two decimal places, and everything else is calculated as long.
+	 *
+	 * @param values : stack of the operands.
+	 * @param operator : code of the operator.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	static void executeOperation(final OperandStack values, final char operator) throws InvaildOperatorException, ArithmeticException {
+
+		// Retrieving the operator
+		final Operator operation = OperatorRegistry.get(operator);
+		if(operation == null) {
+			throw new InvaildOperatorException();
+		}
 
 		// Checking for zero division exception
-		if(isDivisionOperation && matchesRegex("^0*(\\.?0*)?$",operand2)) {
+		if(operation.isDivision() && values.isZeroDivisor(0)) {
 			throw new ArithmeticException("Divide by zero");
 		}
 
 		// For decimal values only
-		if(operand1HasDecimalValue || operand2HasDecimalValue || isDivisionOperation) {
+		final boolean hasLongOperation = operation.hasLongOperation();
+		if(values.isDecimal(0) || values.isDecimal(1) || !hasLongOperation) {
 
-			// Parsing Values
-			final double numericOperand1 = Double.parseDouble(operand1);
-			final double numericOperand2 = Double.parseDouble(operand2);
+			// Getting values
+			final double operand2 = values.popDouble();
+			final double operand1 = values.popDouble();
 
 			// Getting the round value
-			final double result = Math.round(handleOperation.operation(numericOperand1, numericOperand2).doubleValue() * 100.0)/100.0;
+			final double result = Math.round(operation.applyAsDouble(operand1, operand2) * 100.0)/100.0;
 
 			// Final result
-			return (isDivisionOperation && result == Math.round(result)) ? String.valueOf((long)result) : String.valueOf(result);
+			if(!hasLongOperation && result == Math.round(result)) {
+				values.pushLong((long)result);
+			} else {
+				values.pushDouble(result);
+			}
+			CalculatorMetrics.recordArithmetic(operator);
+			return;
 		}
 
-		// Parsing Values
-		final long numericOperand1 = Long.parseLong(operand1);
-		final long numericOperand2 = Long.parseLong(operand2);
-
-		// Getting the round value
-		final long result = handleOperation.operation(numericOperand1, numericOperand2).longValue();
+		// Getting values
+		final long operand2 = values.popLong();
+		final long operand1 = values.popLong();
 
-		// Final result
-		return  String.valueOf(result);
+		// Final result, passed through a double just like the result of the original Number lambdas
+		values.pushLong((long)(double)operation.applyAsLong(operand1, operand2));
+		CalculatorMetrics.recordArithmetic(operator);
 	}
 
 	/**
@@ -323,21 +840,367 @@ public class CalculatorModel {
 	 * @throws ArithmeticException To handle the "Division by zero" case.
 	 */
 	public void handleOperation(final String operationName, final StringBuilder argumentStringBuilder) throws InvaildOperatorException, ArithmeticException {
+		if(this.handleMemoryOperation(operationName, argumentStringBuilder))	return;
 		if(argumentStringBuilder.length() == 0)		return;
+		CalculatorMetrics.recordOperation(operationName);
 		switch(operationName) {
 			case "C" -> clearTextFeild(argumentStringBuilder, true);
 			case "BS" -> backspaceTextFeild(argumentStringBuilder);
 			case "+/-" -> negateInputString(argumentStringBuilder);
-			case "+" -> this.selecteArithmeticdOperation(argumentStringBuilder, operationName);
-			case "-" -> this.selecteArithmeticdOperation(argumentStringBuilder, operationName);
-			case "*" -> this.selecteArithmeticdOperation(argumentStringBuilder, operationName);
-			case "/" -> this.selecteArithmeticdOperation(argumentStringBuilder, operationName);
-			case "%" -> this.selecteArithmeticdOperation(argumentStringBuilder, operationName);
-			case "=" -> this.evaluateExpression(argumentStringBuilder);
-			default -> new InvaildOperatorException();
+			case "=" -> this.evaluateMeasuredExpression(argumentStringBuilder);
+			default -> {
+				if(OperatorRegistry.forSymbol(operationName) != null) {
+					this.selecteArithmeticdOperation(argumentStringBuilder, operationName);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method handles the operations of the memory register, which is the variable "M":
+	 * "M+" and "M-" add the displayed value to it or subtract it, "MR" displays it (0 if it's empty)
+	 * and "MC" empties it. A displayed value that isn't a number, like "ERROR", is ignored.
+	 *
+	 * @param operationName : Defines the type of operation.
+	 * @param argumentStringBuilder : User Input data.
+	 *
+	 * @return [boolean]: returns true if it was a memory operation.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException If the new value overflows.
+	 */
+	private boolean handleMemoryOperation(final String operationName, final StringBuilder argumentStringBuilder) throws InvaildOperatorException, ArithmeticException {
+		switch(operationName) {
+			case "M+", "M-" -> {
+				CalculatorMetrics.recordOperation(operationName);
+				if(argumentStringBuilder.length() == 0 || !TokenClassifier.isNumeric(argumentStringBuilder))	return true;
+
+				// Calculating the new value with the default arithmetic, an empty register being 0
+				this.values.clear();
+				final int entry = this.variables.find(MEMORY_REGISTER, 0, MEMORY_REGISTER.length());
+				if(entry < 0) {
+					this.values.pushLong(0);
+				} else {
+					this.variables.pushTo(entry, this.values);
+				}
+				this.values.pushLiteral(argumentStringBuilder);
+				executeOperation(this.values, operationName.charAt(1));
+				this.variables.put(MEMORY_REGISTER, this.values);
+				this.variablesChanged();
+				this.hasDisplayed = true;
+			}
+			case "MR" -> {
+				CalculatorMetrics.recordOperation(operationName);
+				final int entry = this.variables.find(MEMORY_REGISTER, 0, MEMORY_REGISTER.length());
+				argumentStringBuilder.setLength(0);
+				if(entry < 0) {
+					argumentStringBuilder.append('0');
+				} else {
+					this.variables.appendTo(entry, argumentStringBuilder);
+				}
+				this.hasDisplayed = true;
+			}
+			case "MC" -> {
+				CalculatorMetrics.recordOperation(operationName);
+				if(this.variables.remove(MEMORY_REGISTER))	this.variablesChanged();
+			}
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the value of a variable, which the expressions evaluated by "=" and
+	 * {@link #evaluate(CharSequence, StringBuilder)} can then use in place of a number, like "rate * 12".
+	 * A variable is looked up straight from the characters of the expression, costing about as much
+	 * as reading a number. The memory register is the variable "M". Compiled expressions and column
+	 * formulas don't know the variables, and the exact arithmetic uses their value as double when
+	 * they aren't whole numbers.
+	 *
+	 * @param name : name of the variable, an ASCII letter or '_' followed by letters, digits or '_'.
+	 * @param value : numeric value of the variable, like "12.5".
+	 *
+	 * @throws IllegalArgumentException If the name isn't a valid name.
+	 * @throws NumberFormatException If the value isn't a numeric value.
+	 */
+	public void setVariable(final String name, final CharSequence value) throws IllegalArgumentException, NumberFormatException {
+		if(!SymbolTable.isName(name)) {
+			throw new IllegalArgumentException("Invalid variable name: \"" + name + "\"");
+		}
+		this.values.clear();
+		this.values.pushLiteral(value);
+		this.variables.put(name, this.values);
+		this.variablesChanged();
+	}
+
+	/**
+	 * This method appends the value of a variable to the given StringBuilder, formatted like a result.
+	 *
+	 * @param name : name of the variable.
+	 * @param output : StringBuilder object the value is appended to.
+	 *
+	 * @return [boolean]: returns true if the variable exists.
+	 */
+	public boolean getVariable(final String name, final StringBuilder output) {
+		final int entry = this.variables.find(name, 0, name.length());
+		if(entry < 0)	return false;
+		this.variables.appendTo(entry, output);
+		return true;
+	}
+
+	/**
+	 * This method removes a variable.
+	 *
+	 * @param name : name of the variable.
+	 *
+	 * @return [boolean]: returns true if the variable existed.
+	 */
+	public boolean removeVariable(final String name) {
+		if(!this.variables.remove(name))	return false;
+		this.variablesChanged();
+		return true;
+	}
+
+	/**
+	 * This method removes all the variables, the memory register included.
+	 */
+	public void clearVariables() {
+		this.variables.clear();
+		this.variablesChanged();
+	}
+
+	/**
+	 * This method empties the cache of the evaluated expressions, whose results may depend on the variables.
+	 */
+	private void variablesChanged() {
+		if(this.resultCache != null) {
+			this.enableResultCache(this.resultCache.getMaximumSize());
 		}
 	}
 
+	/**
+	 * This method evaluates the current expression, recording its latency, its length and its failure in the metrics.
+	 *
+	 * @param inputStringBuilder : a string builder object representing TextField object.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	private void evaluateMeasuredExpression(final StringBuilder inputStringBuilder) throws InvaildOperatorException, ArithmeticException {
+		if(!CalculatorMetrics.ENABLED) {
+			this.evaluateExpression(inputStringBuilder);
+			return;
+		}
+
+		// Measuring the expression before it's consumed
+		final long startNanos = CalculatorMetrics.startTimer();
+		final int length = inputStringBuilder.length() + ((this.incrementalEvaluation != null)
+				? this.incrementalEvaluation.getLength()
+				: this.expression.characters().length());
+		try {
+			this.evaluateExpression(inputStringBuilder);
+		} catch(InvaildOperatorException | RuntimeException exception) {
+			CalculatorMetrics.recordError(exception);
+			throw exception;
+		}
+		CalculatorMetrics.recordEvaluation(startNanos, length);
+	}
+
+	/**
+	 * This method enables a cache of the evaluated expressions, so that an expression
+	 * evaluated again is answered without evaluating it. The least recently used expression
+	 * is evicted once the cache holds the given number of expressions.
+	 *
+	 * @param maximumSize : maximum number of cached expressions.
+	 *
+	 */
+	public void enableResultCache(final int maximumSize) {
+		this.resultCache = new ResultCache(maximumSize);
+	}
+
+	/**
+	 * This method disables the cache of the evaluated expressions and drops its content.
+	 */
+	public void disableResultCache() {
+		this.resultCache = null;
+	}
+
+	/**
+	 * This method returns the cache of the evaluated expressions, to read its counters.
+	 *
+	 * @return resultCache[ResultCache] : the cache, or null when it isn't enabled.
+	 */
+	public ResultCache getResultCache() {
+		return this.resultCache;
+	}
+
+	/**
+	 * This method switches to the exact arithmetic, where values neither overflow nor are rounded
+	 * to two decimal places: whole numbers are calculated as long values as long as they fit, and
+	 * as BigDecimal otherwise, every result being rounded to the given number of decimal places.
+	 * It applies to "=" and {@link #evaluate(CharSequence, StringBuilder)}, but not to compiled
+	 * expressions; the incremental evaluation is switched off, and the cache of the evaluated
+	 * expressions is emptied.
+	 *
+	 * @param arithmetic : scale and rounding of the results, or null for the default arithmetic.
+	 *
+	 */
+	public void setExactArithmetic(final ExactArithmetic arithmetic) {
+		this.exactArithmetic = arithmetic;
+		if(arithmetic != null && this.incrementalEvaluation != null) {
+			this.setIncrementalEvaluation(false);
+		}
+		if(this.resultCache != null) {
+			this.enableResultCache(this.resultCache.getMaximumSize());
+		}
+	}
+
+	/**
+	 * This method returns the settings of the exact arithmetic.
+	 *
+	 * @return arithmetic[ExactArithmetic] : scale and rounding of the results, or null for the default arithmetic.
+	 */
+	public ExactArithmetic getExactArithmetic() {
+		return this.exactArithmetic;
+	}
+
+	/**
+	 * This method switches the incremental evaluation on or off. In the incremental mode,
+	 * every operation that the precedence rules allow is performed as soon as an operator
+	 * is pressed, so that "=" doesn't depend on the length of the expression and
+	 * {@link #getPartialResult()} gives the result of the expression entered so far.
+	 * The cache of the evaluated expressions isn't used in this mode, and switching it on
+	 * switches off the exact arithmetic. The expression entered so far is discarded.
+	 *
+	 * @param enabled : true to evaluate the expression while it's being entered.
+	 *
+	 */
+	public void setIncrementalEvaluation(final boolean enabled) {
+		this.expression.clear();
+		this.historyExpression.setLength(0);
+		if(enabled)	this.setExactArithmetic(null);
+		this.incrementalEvaluation = enabled ? new IncrementalEvaluation() : null;
+	}
+
+	/**
+	 * This method returns true if the expression is evaluated while it's being entered.
+	 *
+	 * @return [boolean]: returns true in the incremental mode.
+	 */
+	public boolean isIncrementalEvaluation() {
+		return this.incrementalEvaluation != null;
+	}
+
+	/**
+	 * This method returns the result of the expression entered so far, as if "=" were pressed
+	 * after its last value, in the incremental mode.
+	 *
+	 * @return partialResult[String] : result of the expression entered so far, or null if there's
+	 * none yet, the expression has failed or the incremental mode is off.
+	 */
+	public String getPartialResult() {
+		return (this.incrementalEvaluation != null) ? this.incrementalEvaluation.getPartialResult() : null;
+	}
+
+	/**
+	 * This method records every expression evaluated by "=" in the given history, along with
+	 * its result, or "ERROR" if it fails. The expression is recorded as a single line, like
+	 * "12 + 3.5 * 2", that {@link #evaluate(CharSequence, StringBuilder)} evaluates again.
+	 *
+	 * @param history : the history, or null to stop recording.
+	 *
+	 */
+	public void setHistory(final CalculationHistory history) {
+		this.history = history;
+		this.historyExpression.setLength(0);
+	}
+
+	/**
+	 * This method returns the history the evaluated expressions are recorded in.
+	 *
+	 * @return history[CalculationHistory] : the history, or null when it isn't recorded.
+	 */
+	public CalculationHistory getHistory() {
+		return this.history;
+	}
+
+	/**
+	 * This method writes the state of the model into a session snapshot: the expression entered so far,
+	 * the variables, the modes and whether a result is displayed. The operands and operators of an
+	 * evaluation aren't written, as every evaluation starts by discarding them, and neither is the
+	 * history, which is kept in its own file. In the incremental mode, the expression entered so far
+	 * is partly evaluated already, so the state of its evaluation is written in its place.
+	 *
+	 * @param output : output the state is written into.
+	 *
+	 * @throws IOException If the state can't be written.
+	 */
+	void writeState(final DataOutput output) throws IOException {
+
+		// Modes
+		output.writeBoolean(this.incrementalEvaluation != null);
+		output.writeInt((this.exactArithmetic != null) ? this.exactArithmetic.getScale() : -1);
+		output.writeByte((this.exactArithmetic != null) ? this.exactArithmetic.getRoundingMode().ordinal() : 0);
+		output.writeInt((this.resultCache != null) ? this.resultCache.getMaximumSize() : 0);
+
+		// Expression entered so far, or the state of its evaluation in the incremental mode
+		if(this.incrementalEvaluation != null) {
+			this.incrementalEvaluation.write(output);
+		} else {
+			output.writeInt(this.expression.size());
+			for(int index = 0; index < this.expression.size(); index++) {
+				CalculatorSession.writeText(output, this.expression.get(index));
+			}
+		}
+		CalculatorSession.writeText(output, this.historyExpression);
+
+		this.variables.write(output);
+		output.writeBoolean(this.hasDisplayed);
+	}
+
+	/**
+	 * This method replaces the state of the model with the one written by {@link #writeState(DataOutput)}.
+	 * The cache of the evaluated expressions is restored empty.
+	 *
+	 * @param input : input the state is read from.
+	 *
+	 * @throws IOException If the state can't be read.
+	 */
+	void readState(final DataInput input) throws IOException {
+
+		// Modes
+		final boolean isIncremental = input.readBoolean();
+		final int scale = input.readInt();
+		final int roundingMode = input.readByte();
+		final int cacheSize = input.readInt();
+		if(roundingMode < 0 || roundingMode >= RoundingMode.values().length) {
+			throw new IOException("Unknown rounding mode: " + roundingMode);
+		}
+		this.setIncrementalEvaluation(isIncremental);
+		this.setExactArithmetic((scale >= 0) ? new ExactArithmetic(scale, RoundingMode.values()[roundingMode]) : null);
+		if(cacheSize > 0) {
+			this.enableResultCache(cacheSize);
+		} else {
+			this.disableResultCache();
+		}
+
+		// Expression entered so far, or the state of its evaluation in the incremental mode
+		if(this.incrementalEvaluation != null) {
+			this.incrementalEvaluation.read(input);
+		} else {
+			final int tokenCount = input.readInt();
+			for(int index = 0; index < tokenCount; index++) {
+				this.expression.add(CalculatorSession.readText(input));
+			}
+		}
+		this.historyExpression.append(CalculatorSession.readText(input));
+
+		this.variables.read(input);
+		this.hasDisplayed = input.readBoolean();
+	}
+
 	/**
 	 * This method returns true when the evaluated value is displayed or not.
 	 *
@@ -363,9 +1226,21 @@ public class CalculatorModel {
 	 */
 	private void selecteArithmeticdOperation(final StringBuilder inputStringBuilder, final String operator) {
 
-		// Retrieving and adding values into the expression
-		final String output = inputStringBuilder.toString();
-		this.expression.add(output);
+		// Keeping the text of the expression for the history
+		if(this.history != null) {
+			this.historyExpression.append(inputStringBuilder);
+			if(operator != null)	this.historyExpression.append(' ').append(operator).append(' ');
+		}
+
+		// Evaluating the value right away in the incremental mode
+		if(this.incrementalEvaluation != null) {
+			this.incrementalEvaluation.accept(inputStringBuilder, (operator != null) ? OperatorRegistry.codeOf(operator, 0, operator.length()) : 0);
+			clearTextFeild(inputStringBuilder, false);
+			return;
+		}
+
+		// Adding values into the expression
+		this.expression.add(inputStringBuilder);
 		if(operator != null) {
 			this.expression.add(operator);
 		}
@@ -374,19 +1249,3 @@ public class CalculatorModel {
 		clearTextFeild(inputStringBuilder, false);
 	}
 }
-
-/**
- * Created for handling the unexpected operationName value.
- *
- * @author Shamith Nakka
- * Demonstrates the usage of {@link #handleOperation()}.
- *
- */
-@SuppressWarnings("serial")
-class InvaildOperatorException extends Exception {
-
-	@Override
-	public String toString() {
-		return "Invaild OperationName value.";
-	}
-}
\ No newline at end of file
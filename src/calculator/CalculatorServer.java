@@ -0,0 +1,245 @@
+package calculator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class serves the calculator over HTTP, evaluating the JSON requests posted to "/evaluate"
+ * (see {@link JsonCodec} for the messages). A batch request evaluates many expressions in one
+ * round trip, and every result is the one {@link BatchEvaluator} would write for its line.
+ *
+ * <p>Every request runs on its own virtual thread when the runtime has them, and on a fixed
+ * pool of threads otherwise. A CalculatorModel isn't thread-safe, so a request borrows a
+ * {@link BatchEvaluator} with its own model from a pool, and gives it back once it's done.</p>
+ *
+ * <p>Nagle's algorithm holds the small responses for the delayed acknowledgement of the client,
+ * about 40 ms per request. A process serving nothing but the calculator can call
+ * {@link #enableNoDelay()} before creating its first server to send them right away.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class CalculatorServer implements AutoCloseable {
+
+	// Path of the evaluation requests
+	static final String EVALUATE_PATH = "/evaluate";
+
+	// Largest accepted request body
+	private static final int MAXIMUM_BODY_SIZE = 8 << 20;
+
+	private final HttpServer server;
+	private final ExecutorService requestExecutor;
+	private final ConcurrentLinkedQueue<BatchEvaluator> evaluators;
+
+	/**
+	 * Constructs a new CalculatorServer instance listening on the loopback address and starts it.
+	 *
+	 * @param port : port to listen to, 0 for any free port.
+	 *
+	 * @throws IOException If the server can't listen to the port.
+	 */
+	public CalculatorServer(final int port) throws IOException {
+		this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Constructs a new CalculatorServer instance and starts it.
+	 *
+	 * @param address : address to listen to.
+	 *
+	 * @throws IOException If the server can't listen to the address.
+	 */
+	public CalculatorServer(final InetSocketAddress address) throws IOException {
+
+		// Initialization
+		this.requestExecutor = newRequestExecutor();
+		this.evaluators = new ConcurrentLinkedQueue<>();
+
+		// Starting the server, without leaking the threads of the requests if it can't be
+		try {
+			this.server = HttpServer.create(address, 0);
+			this.server.createContext(EVALUATE_PATH, this::handle);
+			this.server.setExecutor(this.requestExecutor);
+			this.server.start();
+		} catch(IOException | RuntimeException exception) {
+			this.requestExecutor.shutdownNow();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Turns off Nagle's algorithm for the HTTP servers of the JDK, so that a response is sent right away.
+	 * It sets the system property "sun.net.httpserver.nodelay" unless it's already set, which affects
+	 * every HttpServer of the process and is only read when the first one is created.
+	 */
+	public static void enableNoDelay() {
+		if(System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	/**
+	 * Returns the port the server listens to.
+	 *
+	 * @return port[int] : port of the server.
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops the server, waiting a second at most for the requests being handled.
+	 */
+	@Override
+	public void close() {
+		this.server.stop(1);
+		this.requestExecutor.shutdown();
+		try {
+			this.requestExecutor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch(InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Handles an exchange, answering a request with its results or an error.
+	 *
+	 * @param exchange : the exchange of the request.
+	 *
+	 * @throws IOException If the exchange fails.
+	 */
+	private void handle(final HttpExchange exchange) throws IOException {
+		try(exchange) {
+
+			// Checking the request
+			if(!exchange.getRequestMethod().equals("POST")) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				respond(exchange, 405, error("Only POST is allowed"));
+				return;
+			}
+			final byte[] body = readBody(exchange.getRequestBody());
+			if(body == null) {
+				respond(exchange, 413, error("The body is larger than " + MAXIMUM_BODY_SIZE + " bytes"));
+				return;
+			}
+
+			// Evaluating the request
+			final JsonCodec.Request request;
+			try {
+				request = JsonCodec.parseRequest(new String(body, StandardCharsets.UTF_8));
+			} catch(IllegalArgumentException exception) {
+				respond(exchange, 400, error(exception.getMessage()));
+				return;
+			}
+			respond(exchange, 200, this.evaluate(request));
+		}
+	}
+
+	/**
+	 * Evaluates the expressions of a request with a pooled evaluator.
+	 *
+	 * @param request : the request.
+	 *
+	 * @return response[StringBuilder] : JSON message of the results.
+	 */
+	private StringBuilder evaluate(final JsonCodec.Request request) {
+
+		// Borrowing an evaluator
+		BatchEvaluator evaluator = this.evaluators.poll();
+		if(evaluator == null) {
+			evaluator = new BatchEvaluator();
+		}
+
+		// Writing the results as soon as they're evaluated
+		final StringBuilder response = new StringBuilder(16 + request.expressions().size() * 16);
+		try {
+			if(!request.isBatch()) {
+				response.append("{\"result\":");
+				JsonCodec.appendString(response, evaluator.evaluate(request.expressions().get(0)));
+				return response.append('}');
+			}
+			response.append("{\"results\":[");
+			for(int index = 0; index < request.expressions().size(); index++) {
+				if(index > 0)	response.append(',');
+				JsonCodec.appendString(response, evaluator.evaluate(request.expressions().get(index)));
+			}
+			return response.append("]}");
+		} finally {
+			this.evaluators.offer(evaluator);
+		}
+	}
+
+	/**
+	 * Reads a request body.
+	 *
+	 * @param input : stream of the body.
+	 *
+	 * @return body[byte[]] : the body, or null if it's larger than {@link #MAXIMUM_BODY_SIZE}.
+	 *
+	 * @throws IOException If the body can't be read.
+	 */
+	private static byte[] readBody(final InputStream input) throws IOException {
+		final byte[] body = input.readNBytes(MAXIMUM_BODY_SIZE + 1);
+		return (body.length > MAXIMUM_BODY_SIZE) ? null : body;
+	}
+
+	/**
+	 * Sends a JSON response.
+	 *
+	 * @param exchange : the exchange of the request.
+	 * @param status : HTTP status code.
+	 * @param json : JSON message of the response.
+	 *
+	 * @throws IOException If the response can't be sent.
+	 */
+	private static void respond(final HttpExchange exchange, final int status, final CharSequence json) throws IOException {
+		final byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+		try(OutputStream output = exchange.getResponseBody()) {
+			output.write(body);
+		}
+	}
+
+	/**
+	 * Creates the JSON message of an error.
+	 *
+	 * @param message : description of the error.
+	 *
+	 * @return json[StringBuilder] : JSON message of the error.
+	 */
+	private static StringBuilder error(final String message) {
+		final StringBuilder json = new StringBuilder("{\"error\":");
+		JsonCodec.appendString(json, message);
+		return json.append('}');
+	}
+
+	/**
+	 * Creates the executor of the requests, starting a virtual thread per request when the
+	 * runtime has them (Java 21 and later), and otherwise a pool of daemon threads.
+	 *
+	 * @return executor[ExecutorService] : executor of the requests.
+	 */
+	private static ExecutorService newRequestExecutor() {
+		try {
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch(ReflectiveOperationException exception) {
+			return Executors.newFixedThreadPool(Math.max(8, 4 * Runtime.getRuntime().availableProcessors()), (task)->{
+				final Thread thread = new Thread(task, "calculator-server-worker");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package calculator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * This class keeps the session of the calculator in a file: the text of the calculator and the state
+ * of its model (see {@link CalculatorModel#writeState(DataOutput)}), so that a new launch resumes where
+ * the last one stopped. The snapshot is a compact binary file: the magic "CALS", a version byte, the
+ * length and the CRC32 of the payload, then the payload, a damaged snapshot being ignored as a whole.
+ *
+ * <p>The snapshots are captured on the thread of the model and written by a thread of the session,
+ * into a temporary file moved over the previous snapshot, so that neither the event thread nor the
+ * model ever waits for the disk; a snapshot identical to the last written one isn't written again.
+ * The thread of the session isn't a daemon, so the JVM doesn't exit before the session is closed and
+ * its last snapshot written. The history isn't part of the snapshot, as it's kept in its own file,
+ * so the restore time doesn't depend on it.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class CalculatorSession implements AutoCloseable {
+
+	// Header of a snapshot
+	private static final byte[] MAGIC = {'C', 'A', 'L', 'S'};
+	private static final byte VERSION = 2;
+	private static final int HEADER_SIZE = MAGIC.length + 1 + Integer.BYTES + Long.BYTES;
+
+	// Longest wait for the last snapshot to be written when the session is closed
+	private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+	private final Path file;
+	private final ScheduledThreadPoolExecutor writer;
+
+	// Snapshot read when the session was opened, dropped once restored
+	private byte[] restoredSnapshot;
+	private final long readNanos;
+	private volatile long restoreNanos;
+
+	// Last written snapshot, only touched by the thread of the session
+	private byte[] writtenSnapshot;
+
+	/**
+	 * Constructs a new CalculatorSession instance.
+	 *
+	 * @param file : file of the snapshot.
+	 * @param snapshot : snapshot read from the file, or null if there's none.
+	 * @param readNanos : time spent reading the file.
+	 *
+	 */
+	private CalculatorSession(final Path file, final byte[] snapshot, final long readNanos) {
+		this.file = file;
+		this.restoredSnapshot = snapshot;
+		this.readNanos = readNanos;
+		this.restoreNanos = -1;
+		this.writtenSnapshot = snapshot;
+		this.writer = new ScheduledThreadPoolExecutor(1, task -> new Thread(task, "calculator-session"));
+		this.writer.prestartCoreThread();
+	}
+
+	/**
+	 * Opens the session kept in the given file, reading its last snapshot, if any.
+	 *
+	 * @param file : file of the snapshot, created on the first write.
+	 *
+	 * @return session[CalculatorSession] : the session.
+	 *
+	 * @throws IOException If the file exists but can't be read.
+	 */
+	public static CalculatorSession open(final Path file) throws IOException {
+		final long start = System.nanoTime();
+		byte[] snapshot;
+		try {
+			snapshot = Files.readAllBytes(file);
+		} catch(NoSuchFileException exception) {
+			snapshot = null;
+		}
+		return new CalculatorSession(file, snapshot, System.nanoTime() - start);
+	}
+
+	/**
+	 * Returns the time it took to restore the session, reading the file included.
+	 *
+	 * @return nanos[long] : restore time, or -1 if the session hasn't been restored.
+	 */
+	public long getRestoreNanos() {
+		return this.restoreNanos;
+	}
+
+	/**
+	 * Restores the snapshot read when the session was opened, only once.
+	 *
+	 * @param model : model the state is restored into.
+	 * @param text : text of the calculator, replaced with the one of the snapshot.
+	 *
+	 * @return [boolean]: returns true if a snapshot was restored.
+	 */
+	boolean restore(final CalculatorModel model, final StringBuilder text) {
+		final long start = System.nanoTime();
+		final byte[] snapshot = this.restoredSnapshot;
+		this.restoredSnapshot = null;
+		if(snapshot == null)	return false;
+
+		// Checking the header and the payload before touching the model
+		try {
+			final DataInputStream input = new DataInputStream(new ByteArrayInputStream(snapshot));
+			final byte[] magic = new byte[MAGIC.length];
+			input.readFully(magic);
+			if(!Arrays.equals(magic, MAGIC) || input.readByte() != VERSION) {
+				throw new IOException("Not a session snapshot of this version");
+			}
+			final int length = input.readInt();
+			final long checksum = input.readLong();
+			if(length != snapshot.length - HEADER_SIZE || checksum != checksumOf(snapshot, HEADER_SIZE, length)) {
+				throw new IOException("Damaged session snapshot");
+			}
+
+			// Restoring the text and the model
+			final String restoredText = readText(input);
+			model.readState(input);
+			text.setLength(0);
+			text.append(restoredText);
+		} catch(IOException exception) {
+			System.err.println("Couldn't restore the session " + this.file + ": " + exception);
+			return false;
+		}
+		this.restoreNanos = this.readNanos + System.nanoTime() - start;
+		return true;
+	}
+
+	/**
+	 * Captures a snapshot of the given model and text. Must be called on the thread of the model.
+	 *
+	 * @param model : model of the calculator.
+	 * @param text : text of the calculator.
+	 *
+	 * @return snapshot[byte[]] : the snapshot, header included.
+	 */
+	static byte[] capture(final CalculatorModel model, final CharSequence text) {
+		try {
+
+			// Writing the payload after room for the header
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+			final DataOutputStream output = new DataOutputStream(bytes);
+			output.write(new byte[HEADER_SIZE]);
+			writeText(output, text);
+			model.writeState(output);
+			output.flush();
+			final byte[] snapshot = bytes.toByteArray();
+
+			// Filling the header in
+			final int length = snapshot.length - HEADER_SIZE;
+			final long checksum = checksumOf(snapshot, HEADER_SIZE, length);
+			System.arraycopy(MAGIC, 0, snapshot, 0, MAGIC.length);
+			snapshot[MAGIC.length] = VERSION;
+			for(int index = 0; index < Integer.BYTES; index++) {
+				snapshot[MAGIC.length + 1 + index] = (byte)(length >>> (24 - 8 * index));
+			}
+			for(int index = 0; index < Long.BYTES; index++) {
+				snapshot[MAGIC.length + 1 + Integer.BYTES + index] = (byte)(checksum >>> (56 - 8 * index));
+			}
+			return snapshot;
+		} catch(IOException exception) {
+			throw new IllegalStateException("A snapshot in memory can't fail", exception);
+		}
+	}
+
+	/**
+	 * Hands the given snapshot over to the thread of the session, which writes it unless it's
+	 * identical to the last written one. Ignored once the session is closed.
+	 *
+	 * @param snapshot : snapshot captured by {@link #capture(CalculatorModel, CharSequence)}.
+	 *
+	 */
+	void save(final byte[] snapshot) {
+		try {
+			this.writer.execute(() -> this.write(snapshot));
+		} catch(RejectedExecutionException exception) {
+			// Already closed
+		}
+	}
+
+	/**
+	 * Runs the given capture every interval on the thread of the session, until the session is closed.
+	 *
+	 * @param capture : captures a snapshot and saves it, usually on the thread of the model.
+	 * @param intervalMillis : interval between two captures.
+	 *
+	 */
+	void saveEvery(final Runnable capture, final long intervalMillis) {
+		this.writer.scheduleWithFixedDelay(capture, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Writes the given snapshot, unless it's identical to the last written one.
+	 *
+	 * @param snapshot : the snapshot.
+	 *
+	 */
+	private void write(final byte[] snapshot) {
+		if(Arrays.equals(snapshot, this.writtenSnapshot))	return;
+		try {
+			final Path temporaryFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+			Files.write(temporaryFile, snapshot);
+			try {
+				Files.move(temporaryFile, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch(AtomicMoveNotSupportedException exception) {
+				Files.move(temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			this.writtenSnapshot = snapshot;
+		} catch(IOException exception) {
+			System.err.println("Couldn't write the session " + this.file + ": " + exception);
+		}
+	}
+
+	/**
+	 * Writes a text as its length followed by its UTF-8 bytes.
+	 *
+	 * @param output : output the text is written into.
+	 * @param text : the text.
+	 *
+	 * @throws IOException If the text can't be written.
+	 */
+	static void writeText(final DataOutput output, final CharSequence text) throws IOException {
+		final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Reads a text written by {@link #writeText(DataOutput, CharSequence)}.
+	 *
+	 * @param input : input the text is read from.
+	 *
+	 * @return text[String] : the text.
+	 *
+	 * @throws IOException If the text can't be read.
+	 */
+	static String readText(final DataInput input) throws IOException {
+		final int length = input.readInt();
+		if(length < 0) {
+			throw new IOException("Negative length of a text: " + length);
+		}
+		final byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the CRC32 of the given range of bytes.
+	 *
+	 * @param bytes : the bytes.
+	 * @param offset : index of the first byte.
+	 * @param length : number of bytes.
+	 *
+	 * @return checksum[long] : CRC32 of the range.
+	 */
+	private static long checksumOf(final byte[] bytes, final int offset, final int length) {
+		final CRC32 checksum = new CRC32();
+		checksum.update(bytes, offset, length);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Stops the periodic captures and waits for the snapshots already saved to be written.
+	 */
+	@Override
+	public void close() {
+		this.writer.shutdown();
+		try {
+			this.writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch(InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
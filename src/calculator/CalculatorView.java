@@ -3,6 +3,7 @@ package calculator;
 import java.awt.Button;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.EventQueue;
 import java.awt.Font;
 import java.awt.Frame;
 import java.awt.GridBagConstraints;
@@ -12,7 +13,18 @@ import java.awt.Image;
 import java.awt.Insets;
 import java.awt.Panel;
 import java.awt.TextField;
-import java.awt.Toolkit;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyListener;
+import java.awt.event.TextListener;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
 
 /**
  * This class represents the model in the MVC architecture.
@@ -24,11 +36,19 @@ import java.awt.Toolkit;
  *
  */
 @SuppressWarnings("serial")
-public class CalculatorView extends Frame implements Keypad {
+public class CalculatorView extends Frame implements Keypad, CalculatorDisplay {
+
+	// Colors of the view, shared by all of its components
+	private static final Color FRAME_BACKGROUND = new Color(24, 24, 24);
+	private static final Color COMPONENT_BACKGROUND = new Color(40, 40, 40);
+	private static final Color BUTTON_BACKGROUND = new Color(64, 64, 64);
+	private static final Color FOREGROUND = new Color(255, 255, 255);
+
+	// Location of the icon on the classpath, relative to this class
+	private static final String ICON_RESOURCE = "images/icon.png";
 
 	// GUI-related member objects.
 	private final Font globalFont;
-	private final Image icon;
 	protected final Panel keypad;
 	protected final TextField textField;
 
@@ -46,7 +66,9 @@ public class CalculatorView extends Frame implements Keypad {
 		this.keypad = this.createKeypad();
 		this.textField = new TextField();
 		this.globalFont = new Font("Arial", Font.PLAIN, 30);
-		this.icon = Toolkit.getDefaultToolkit().getImage(this.getIconLocation());
+
+		// Loading the icon in the background, so that it doesn't delay the first frame
+		this.loadIconAsynchronously();
 
 		// Setting Names to the component
 		this.textField.setName("Textfield");
@@ -58,12 +80,83 @@ public class CalculatorView extends Frame implements Keypad {
 		this.addComponentsToView(this.textField, 0, 0, 1, 1, new int[]{20, 20, 10, 20});
 		this.addComponentsToView(this.keypad, 0, 1, 1, 2, new int[]{10, 20, 20, 20});
 
-		// Setting Frame properties
+		// Setting Frame properties, showing it only once it's complete so that it's laid out and painted once
 		this.setSize(400, 600);
-		this.setVisible(true);
-		this.setBackground(new Color(24, 24, 24));
-		this.setIconImage(icon);
+		this.setBackground(FRAME_BACKGROUND);
 		this.setResizable(false);
+		this.setVisible(true);
+	}
+
+	/**
+	 * This function registers a single handler for the buttons of the keypad,
+	 * straight from the keypad without walking the whole component tree.
+	 *
+	 * @param listener : handler of all the buttons.
+	 *
+	 */
+	public void addKeypadListener(final ActionListener listener) {
+		for(Component component : this.keypad.getComponents()) {
+			if(component instanceof Button button) {
+				button.addActionListener(listener);
+			}
+		}
+	}
+
+	/**
+	 * This function registers a handler for the keyboard on every component that may have the focus:
+	 * the frame, the text field and the buttons of the keypad.
+	 *
+	 * @param listener : handler of the keyboard.
+	 *
+	 */
+	public void addKeyboardListener(final KeyListener listener) {
+		this.addKeyListener(listener);
+		this.textField.addKeyListener(listener);
+		this.keypad.addKeyListener(listener);
+		for(Component component : this.keypad.getComponents()) {
+			component.addKeyListener(listener);
+		}
+	}
+
+	/**
+	 * This function registers a handler for the changes of the text field.
+	 *
+	 * @param listener : handler of the text changes.
+	 *
+	 */
+	@Override
+	public void addTextListener(final TextListener listener) {
+		this.textField.addTextListener(listener);
+	}
+
+	/**
+	 * This function returns the text of the text field.
+	 *
+	 * @return text[String] : displayed text.
+	 */
+	@Override
+	public String getDisplayedText() {
+		return this.textField.getText();
+	}
+
+	/**
+	 * This function sets the text of the text field, with the cursor at its end.
+	 *
+	 * @param text : text to be displayed.
+	 *
+	 */
+	@Override
+	public void setDisplayedText(final String text) {
+		this.textField.setText(text);
+		this.textField.setCaretPosition(text.length());
+	}
+
+	/**
+	 * This function sets the cursor of the text field to the end of its text.
+	 */
+	@Override
+	public void moveCaretToEnd() {
+		this.textField.setCaretPosition(this.textField.getText().length());
 	}
 
 	/**
@@ -100,22 +193,47 @@ public class CalculatorView extends Frame implements Keypad {
 		component.setFont(this.globalFont);
 
 		// Setting background and foreground color
-		component.setBackground(new Color(40, 40, 40));
-		component.setForeground(new Color(255, 255, 255));
+		component.setBackground(COMPONENT_BACKGROUND);
+		component.setForeground(FOREGROUND);
 
 		// Adding the component to the view (or) main Frame window
 		this.add(component, gridBagConstraints);
 	}
 
 	/**
-	 * Returns the absolute path to icon.
+	 * This function loads the icon on a background thread and sets it on the event thread once decoded.
+	 * The icon is looked up on the classpath first, then in the source folder of the working directory.
+	 * The default icon of the platform is kept when it can't be loaded.
+	 */
+	private void loadIconAsynchronously() {
+		final Thread loader = new Thread(() -> {
+			try {
+				final Image image = readIcon();
+				if(image != null) {
+					EventQueue.invokeLater(() -> this.setIconImage(image));
+				}
+			} catch(IOException exception) {
+				System.err.println("Couldn't load the icon: " + exception);
+			}
+		}, "calculator-icon");
+		loader.setDaemon(true);
+		loader.start();
+	}
+
+	/**
+	 * Reads the icon.
 	 *
-	 * @return absolutePathToIcon[String]
+	 * @return icon[Image] : the icon, or null if it's found nowhere.
+	 *
+	 * @throws IOException If the icon can't be read.
 	 */
-	private String getIconLocation() {
-		String relativePathToIcon = "\\src\\calculator\\images\\icon.png";						// Setting Relative Path to icon
-		String absolutePathToIcon = System.getProperty("user.dir").concat(relativePathToIcon);	// Converting into absolute path
-		return absolutePathToIcon;
+	private static Image readIcon() throws IOException {
+		final URL resource = CalculatorView.class.getResource(ICON_RESOURCE);
+		if(resource != null) {
+			return ImageIO.read(resource);
+		}
+		final Path file = Path.of(System.getProperty("user.dir"), "src", "calculator", ICON_RESOURCE);
+		return Files.isRegularFile(file) ? ImageIO.read(file.toFile()) : null;
 	}
 
 	/**
@@ -132,14 +250,18 @@ public class CalculatorView extends Frame implements Keypad {
 			final Panel keypad = new Panel();
 			keypad.setName("Keypad");
 
-			// Setting Grid Layout
-			keypad.setLayout(new GridLayout(5,4));
+			// Setting Grid Layout, with a row for every four registered operators beyond the default ones
+			final List<String> buttonNames = new ArrayList<>(Arrays.asList(DEFAULT_BUTTON_LABELS));
+			for(Operator operator : OperatorRegistry.getOperators()) {
+				if(!buttonNames.contains(operator.getSymbol()))	buttonNames.add(operator.getSymbol());
+			}
+			keypad.setLayout(new GridLayout(0,4));
 
 			// Adding buttons to the keypad Panel
-			for(String buttonName: DEFAULT_BUTTON_LABELS) {
+			for(String buttonName: buttonNames) {
 				Button button = new Button(buttonName);
-				button.setBackground(new Color(64,64,64));		// Setting Background Color
-				button.setForeground(new Color(255,255,255));	// Setting Font(Foreground) color
+				button.setBackground(BUTTON_BACKGROUND);		// Setting Background Color
+				button.setForeground(FOREGROUND);				// Setting Font(Foreground) color
 				button.setName(buttonName);
 				keypad.add(button);
 			}
@@ -148,35 +270,3 @@ public class CalculatorView extends Frame implements Keypad {
 		}
 
 }
-
-/**
- * This Interface will design the keypad for the calculator.
- *
- * @author Shamith Nakka
- * @version 1.0.0
- * @since 24 Aug 2023
- *
- */
-interface Keypad {
-
-	/**
-	 *  Default values of the keypad.
-	 */
-	public String [] DEFAULT_BUTTON_LABELS = {
-			"%", "/", "C", "BS",
-			"7", "8", "9", "*",
-			"4", "5", "6", "-",
-			"1", "2", "3", "+",
-			"+/-", "0", ".", "="
-	   };
-
-
-	/**
-	 * This function returns a java.awt.Panel object that contains
-	 * all the buttons required.
-	 *
-	 * @return keypad[java.awt.Panel] : Panel object.
-	 *
-	 */
-	Panel createKeypad();
-}
\ No newline at end of file
@@ -0,0 +1,596 @@
+package calculator;
+
+import java.util.Arrays;
+
+/**
+ * This class is a formula with a variable "x", like "x * 1.2 + 5", compiled once to be applied
+ * to whole columns of values. It follows the precedence rules of {@link CompiledExpression} and
+ * the arithmetic of the calculator: every operation is performed on double values and rounded to
+ * two decimal places, unless the formula is {@link #isIntegral() integral} and applied to a long
+ * column, in which case it's performed on long values.
+ *
+ * <p>The columns are evaluated a block of rows at a time and an instruction at a time, every
+ * operation being a tight loop over primitive arrays that the JIT compiles into SIMD instructions.
+ * A division or a remainder by zero is NaN in the results, where the calculator shows an error.
+ * Unlike the calculator, which formats its results, the magnitudes of 10^7 or more aren't treated
+ * differently, and the rounding of the magnitudes of 2^52 / 100 or more may differ in the last place.</p>
+ *
+ * <p>A column formula is immutable and can be shared across threads.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class ColumnFormula {
+
+	// Name of the variable
+	static final char VARIABLE_NAME = 'x';
+
+	// Number of rows evaluated at once, so that the intermediate columns stay in the cache
+	private static final int BLOCK_SIZE = 1024;
+
+	// Kinds of instruction
+	private static final byte CONSTANT = 0;
+	private static final byte VARIABLE = 1;
+	private static final byte OPERATOR = 2;
+
+	private final byte[] kinds;
+	private final double[] constants;
+	private final long[] longConstants;
+	private final char[] operators;
+	private final int maximumDepth;
+	private final boolean isIntegral;
+	private final String formula;
+
+	/**
+	 * This interface loads a block of a column as double values.
+	 */
+	@FunctionalInterface
+	private interface BlockLoader {
+
+		/**
+		 * Loads the given rows.
+		 *
+		 * @param from : index of the first row.
+		 * @param block : array the rows are loaded into, from index 0.
+		 * @param count : number of rows.
+		 *
+		 */
+		void load(int from, double[] block, int count);
+	}
+
+	/**
+	 * Constructs a new ColumnFormula instance.
+	 *
+	 * @param kinds : kind of every instruction of the postfix program.
+	 * @param constants : value of every constant instruction.
+	 * @param longConstants : long value of every constant instruction of an integral program.
+	 * @param operators : operator of every operator instruction.
+	 * @param isIntegral : true if the program only has long constants and operators with a long implementation.
+	 * @param formula : text of the formula.
+	 *
+	 */
+	private ColumnFormula(final byte[] kinds, final double[] constants, final long[] longConstants, final char[] operators, final boolean isIntegral, final String formula) {
+		this.kinds = kinds;
+		this.constants = constants;
+		this.longConstants = longConstants;
+		this.operators = operators;
+		this.isIntegral = isIntegral;
+		this.formula = formula;
+
+		// Finding the depth of the stack
+		int depth = 0;
+		int maximumDepth = 0;
+		for(byte kind : kinds) {
+			depth += (kind == OPERATOR) ? -1 : 1;
+			maximumDepth = Math.max(maximumDepth, depth);
+		}
+		this.maximumDepth = maximumDepth;
+	}
+
+	/**
+	 * Compiles the formula of the given scanner.
+	 *
+	 * @param scanner : scanner reset to the formula that need to be compiled.
+	 *
+	 * @return formula[ColumnFormula] : compiled formula.
+	 *
+	 * @throws InvaildOperatorException If the formula has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand is neither a numeric value nor the variable.
+	 */
+	static ColumnFormula compile(final ExpressionScanner scanner) throws InvaildOperatorException, NumberFormatException {
+
+		// Initialization
+		final CharSequence line = scanner.line();
+		final OperatorStack pendingOperators = new OperatorStack();
+		final OperandStack values = new OperandStack();
+		final int capacity = 2 * line.length() + 1;
+		final byte[] kinds = new byte[capacity];
+		final int[] slots = new int[capacity];
+		final char[] operators = new char[capacity];
+		int count = 0;
+
+		// Reading the formula as alternating operands and operators, as CompiledExpression does
+		while(true) {
+
+			// Emitting the operand
+			if(scanner.nextVariable(VARIABLE_NAME)) {
+				kinds[count++] = VARIABLE;
+			} else {
+				scanner.nextOperand();
+				values.pushLiteral(line, scanner.operandStart(), scanner.operandEnd());
+				slots[count] = values.size() - 1;
+				kinds[count++] = CONSTANT;
+			}
+
+			// Retrieving the operator, emitting the operations that come before it
+			if(!scanner.hasNext())	break;
+			final char operator = scanner.nextOperator();
+			while(!pendingOperators.isEmpty() && OperatorRegistry.isPerformedBefore(pendingOperators.peek(), operator)) {
+				count = emitOperator(kinds, slots, operators, count, values, pendingOperators.pop());
+			}
+			pendingOperators.push(operator);
+		}
+
+		// Emitting the pending operations, from the last one to the first
+		while(!pendingOperators.isEmpty()) {
+			count = emitOperator(kinds, slots, operators, count, values, pendingOperators.pop());
+		}
+
+		// Resolving the constants
+		final double[] constants = new double[count];
+		final long[] longConstants = new long[count];
+		boolean isIntegral = true;
+		for(int index = 0; index < count; index++) {
+			if(kinds[index] == CONSTANT) {
+				final OperandStack constant = new OperandStack();
+				constant.pushFrom(values, slots[index]);
+				isIntegral &= constant.isLong(0);
+				if(constant.isLong(0))	longConstants[index] = constant.peekLong(0);
+				constants[index] = constant.popDouble();
+			} else if(kinds[index] == OPERATOR) {
+				isIntegral &= OperatorRegistry.get(operators[index]).hasLongOperation();
+			}
+		}
+		return new ColumnFormula(Arrays.copyOf(kinds, count), constants, longConstants, Arrays.copyOf(operators, count), isIntegral, line.toString().strip());
+	}
+
+	/**
+	 * Evaluates this formula for every value of the given column.
+	 *
+	 * @param column : values of the variable.
+	 * @param results : array the results are written into, at least as long as the column.
+	 *
+	 */
+	public void evaluate(final double[] column, final double[] results) {
+		this.evaluate(column.length, (from, block, count) -> System.arraycopy(column, from, block, 0, count), results);
+	}
+
+	/**
+	 * Evaluates this formula for every value of the given column, as double values.
+	 *
+	 * @param column : values of the variable.
+	 * @param results : array the results are written into, at least as long as the column.
+	 *
+	 */
+	public void evaluate(final long[] column, final double[] results) {
+		this.evaluate(column.length, (from, block, count) -> {
+			for(int index = 0; index < count; index++) {
+				block[index] = column[from + index];
+			}
+		}, results);
+	}
+
+	/**
+	 * Evaluates this integral formula for every value of the given column, as long values,
+	 * the way the calculator evaluates long operands.
+	 *
+	 * @param column : values of the variable.
+	 * @param results : array the results are written into, at least as long as the column.
+	 *
+	 * @throws IllegalStateException If this formula isn't integral.
+	 * @throws ArithmeticException To handle the "Division by zero" case of modulo.
+	 */
+	public void evaluate(final long[] column, final long[] results) throws IllegalStateException, ArithmeticException {
+		if(!this.isIntegral) {
+			throw new IllegalStateException("Not an integral formula: " + this.formula);
+		}
+		checkLength(column.length, results.length);
+
+		// Initialization
+		final long[][] blocks = new long[this.maximumDepth][BLOCK_SIZE];
+		final long[] scalars = new long[this.maximumDepth];
+		final boolean[] isColumn = new boolean[this.maximumDepth];
+
+		// Evaluating a block at a time
+		for(int from = 0; from < column.length; from += BLOCK_SIZE) {
+			final int count = Math.min(BLOCK_SIZE, column.length - from);
+			int depth = 0;
+			for(int index = 0; index < this.kinds.length; index++) {
+				switch(this.kinds[index]) {
+					case CONSTANT -> {
+						scalars[depth] = this.longConstants[index];
+						isColumn[depth++] = false;
+					}
+					case VARIABLE -> {
+						System.arraycopy(column, from, blocks[depth], 0, count);
+						isColumn[depth++] = true;
+					}
+					default -> {
+						final int right = --depth;
+						final int left = right - 1;
+						final char operator = this.operators[index];
+						if(isColumn[left] && isColumn[right]) {
+							applyColumns(operator, blocks[left], blocks[right], count);
+						} else if(isColumn[left]) {
+							applyRightConstant(operator, blocks[left], scalars[right], count);
+						} else if(isColumn[right]) {
+							applyLeftConstant(operator, scalars[left], blocks[right], count);
+							swap(blocks, left, right);
+							isColumn[left] = true;
+						} else {
+							scalars[left] = applyLong(operator, scalars[left], scalars[right]);
+						}
+					}
+				}
+			}
+
+			// Writing the results
+			if(isColumn[0]) {
+				System.arraycopy(blocks[0], 0, results, from, count);
+			} else {
+				Arrays.fill(results, from, from + count, scalars[0]);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if this formula can be evaluated on long values: it has no decimal
+	 * constant, and no operator without a long implementation like a division.
+	 *
+	 * @return [boolean]: returns true for an integral formula.
+	 */
+	public boolean isIntegral() {
+		return this.isIntegral;
+	}
+
+	/**
+	 * Returns the text of this formula.
+	 *
+	 * @return formula[String] : text of the formula.
+	 */
+	@Override
+	public String toString() {
+		return this.formula;
+	}
+
+	/**
+	 * Evaluates this formula for every row of a column, as double values.
+	 *
+	 * @param length : number of rows.
+	 * @param loader : loader of the blocks of the column.
+	 * @param results : array the results are written into.
+	 *
+	 */
+	private void evaluate(final int length, final BlockLoader loader, final double[] results) {
+		checkLength(length, results.length);
+
+		// Initialization
+		final double[][] blocks = new double[this.maximumDepth][BLOCK_SIZE];
+		final double[] scalars = new double[this.maximumDepth];
+		final boolean[] isColumn = new boolean[this.maximumDepth];
+
+		// Evaluating a block at a time
+		for(int from = 0; from < length; from += BLOCK_SIZE) {
+			final int count = Math.min(BLOCK_SIZE, length - from);
+			int depth = 0;
+			for(int index = 0; index < this.kinds.length; index++) {
+				switch(this.kinds[index]) {
+					case CONSTANT -> {
+						scalars[depth] = this.constants[index];
+						isColumn[depth++] = false;
+					}
+					case VARIABLE -> {
+						loader.load(from, blocks[depth], count);
+						isColumn[depth++] = true;
+					}
+					default -> {
+						final int right = --depth;
+						final int left = right - 1;
+						final char operator = this.operators[index];
+						if(isColumn[left] && isColumn[right]) {
+							applyColumns(operator, blocks[left], blocks[right], count);
+						} else if(isColumn[left]) {
+							applyRightConstant(operator, blocks[left], scalars[right], count);
+						} else if(isColumn[right]) {
+							applyLeftConstant(operator, scalars[left], blocks[right], count);
+							swap(blocks, left, right);
+							isColumn[left] = true;
+						} else {
+							scalars[left] = applyDouble(operator, scalars[left], scalars[right]);
+						}
+					}
+				}
+			}
+
+			// Writing the results
+			if(isColumn[0]) {
+				System.arraycopy(blocks[0], 0, results, from, count);
+			} else {
+				Arrays.fill(results, from, from + count, scalars[0]);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on two columns, writing the results into the left column.
+	 *
+	 * @param operator : code of the operator.
+	 * @param left : left operands.
+	 * @param right : right operands.
+	 * @param count : number of rows.
+	 *
+	 */
+	private static void applyColumns(final char operator, final double[] left, final double[] right, final int count) {
+		switch(operator) {
+			case '+' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] + right[index]); }
+			case '-' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] - right[index]); }
+			case '*' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] * right[index]); }
+			case '/' -> { for(int index = 0; index < count; index++)	left[index] = finite(round(left[index] / right[index])); }
+			case '%' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] % right[index]); }
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				for(int index = 0; index < count; index++)	left[index] = applyRounded(operation, left[index], right[index]);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on a column and a constant right operand, writing the results into the column.
+	 *
+	 * @param operator : code of the operator.
+	 * @param left : left operands.
+	 * @param right : right operand.
+	 * @param count : number of rows.
+	 *
+	 */
+	private static void applyRightConstant(final char operator, final double[] left, final double right, final int count) {
+		switch(operator) {
+			case '+' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] + right); }
+			case '-' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] - right); }
+			case '*' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] * right); }
+			case '/' -> { for(int index = 0; index < count; index++)	left[index] = finite(round(left[index] / right)); }
+			case '%' -> { for(int index = 0; index < count; index++)	left[index] = round(left[index] % right); }
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				for(int index = 0; index < count; index++)	left[index] = applyRounded(operation, left[index], right);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on a constant left operand and a column, writing the results into the column.
+	 *
+	 * @param operator : code of the operator.
+	 * @param left : left operand.
+	 * @param right : right operands.
+	 * @param count : number of rows.
+	 *
+	 */
+	private static void applyLeftConstant(final char operator, final double left, final double[] right, final int count) {
+		switch(operator) {
+			case '+' -> { for(int index = 0; index < count; index++)	right[index] = round(left + right[index]); }
+			case '-' -> { for(int index = 0; index < count; index++)	right[index] = round(left - right[index]); }
+			case '*' -> { for(int index = 0; index < count; index++)	right[index] = round(left * right[index]); }
+			case '/' -> { for(int index = 0; index < count; index++)	right[index] = finite(round(left / right[index])); }
+			case '%' -> { for(int index = 0; index < count; index++)	right[index] = round(left % right[index]); }
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				for(int index = 0; index < count; index++)	right[index] = applyRounded(operation, left, right[index]);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on two columns of long values, writing the results into the left column.
+	 *
+	 * @param operator : code of an operator with a long implementation.
+	 * @param left : left operands.
+	 * @param right : right operands.
+	 * @param count : number of rows.
+	 *
+	 * @throws ArithmeticException To handle the "Division by zero" case of modulo.
+	 */
+	private static void applyColumns(final char operator, final long[] left, final long[] right, final int count) throws ArithmeticException {
+		switch(operator) {
+			case '+' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] + right[index]); }
+			case '-' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] - right[index]); }
+			case '*' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] * right[index]); }
+			case '%' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] % right[index]); }
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				for(int index = 0; index < count; index++)	left[index] = (long)(double)operation.applyAsLong(left[index], right[index]);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on a column of long values and a constant right operand, writing the results into the column.
+	 *
+	 * @param operator : code of an operator with a long implementation.
+	 * @param left : left operands.
+	 * @param right : right operand.
+	 * @param count : number of rows.
+	 *
+	 * @throws ArithmeticException To handle the "Division by zero" case of modulo.
+	 */
+	private static void applyRightConstant(final char operator, final long[] left, final long right, final int count) throws ArithmeticException {
+		switch(operator) {
+			case '+' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] + right); }
+			case '-' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] - right); }
+			case '*' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] * right); }
+			case '%' -> { for(int index = 0; index < count; index++)	left[index] = (long)(double)(left[index] % right); }
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				for(int index = 0; index < count; index++)	left[index] = (long)(double)operation.applyAsLong(left[index], right);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on a constant left operand and a column of long values, writing the results into the column.
+	 *
+	 * @param operator : code of an operator with a long implementation.
+	 * @param left : left operand.
+	 * @param right : right operands.
+	 * @param count : number of rows.
+	 *
+	 * @throws ArithmeticException To handle the "Division by zero" case of modulo.
+	 */
+	private static void applyLeftConstant(final char operator, final long left, final long[] right, final int count) throws ArithmeticException {
+		switch(operator) {
+			case '+' -> { for(int index = 0; index < count; index++)	right[index] = (long)(double)(left + right[index]); }
+			case '-' -> { for(int index = 0; index < count; index++)	right[index] = (long)(double)(left - right[index]); }
+			case '*' -> { for(int index = 0; index < count; index++)	right[index] = (long)(double)(left * right[index]); }
+			case '%' -> { for(int index = 0; index < count; index++)	right[index] = (long)(double)(left % right[index]); }
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				for(int index = 0; index < count; index++)	right[index] = (long)(double)operation.applyAsLong(left, right[index]);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operator on two double values, for the constant operations that fail.
+	 *
+	 * @param operator : code of the operator.
+	 * @param left : left operand.
+	 * @param right : right operand.
+	 *
+	 * @return result[double] : result of the operation.
+	 */
+	private static double applyDouble(final char operator, final double left, final double right) {
+		final double[] result = {left};
+		applyRightConstant(operator, result, right, 1);
+		return result[0];
+	}
+
+	/**
+	 * Applies the operator on two long values, for the constant operations that fail.
+	 *
+	 * @param operator : code of an operator with a long implementation.
+	 * @param left : left operand.
+	 * @param right : right operand.
+	 *
+	 * @return result[long] : result of the operation.
+	 *
+	 * @throws ArithmeticException To handle the "Division by zero" case of modulo.
+	 */
+	private static long applyLong(final char operator, final long left, final long right) throws ArithmeticException {
+		final long[] result = {left};
+		applyRightConstant(operator, result, right, 1);
+		return result[0];
+	}
+
+	/**
+	 * Applies a registered operator on two double values, the way the loops of the built-in operators do.
+	 *
+	 * @param operation : the operator.
+	 * @param left : left operand.
+	 * @param right : right operand.
+	 *
+	 * @return result[double] : result rounded to two decimal places, or NaN for a division by zero.
+	 */
+	private static double applyRounded(final Operator operation, final double left, final double right) {
+		final double result = round(operation.applyAsDouble(left, right));
+		return operation.isDivision() ? finite(result) : result;
+	}
+
+	/**
+	 * Rounds the given value to two decimal places, like Math.round(value * 100.0) / 100.0
+	 * but without any conversion to long, so that the loops can be vectorized. The fraction is
+	 * compared with 0.5 rather than added to it, which would round 0.49999999999999994 up.
+	 *
+	 * @param value : value to be rounded.
+	 *
+	 * @return rounded[double] : rounded value.
+	 */
+	private static double round(final double value) {
+		final double scaled = value * 100.0;
+		final double floor = Math.floor(scaled);
+		return ((scaled - floor >= 0.5) ? floor + 1 : floor) / 100.0;
+	}
+
+	/**
+	 * Turns an infinite value, the result of a division by zero, into NaN.
+	 *
+	 * @param value : result of a division.
+	 *
+	 * @return value[double] : the value, or NaN if it's infinite.
+	 */
+	private static double finite(final double value) {
+		return value + (value - value);
+	}
+
+	/**
+	 * Emits an operation, folding it when both of its operands are constants that don't fail.
+	 *
+	 * @param kinds : kind of every instruction.
+	 * @param slots : slot of the value of every constant instruction.
+	 * @param operators : operator of every operator instruction.
+	 * @param count : number of instructions.
+	 * @param values : values of the constants.
+	 * @param operator : code of the operator.
+	 *
+	 * @return count[int] : new number of instructions.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 */
+	private static int emitOperator(final byte[] kinds, final int[] slots, final char[] operators, final int count, final OperandStack values, final char operator) throws InvaildOperatorException {
+
+		// Folding two constants the way the calculator does
+		if(count >= 2 && kinds[count - 1] == CONSTANT && kinds[count - 2] == CONSTANT) {
+			final OperandStack folding = new OperandStack();
+			folding.pushFrom(values, slots[count - 2]);
+			folding.pushFrom(values, slots[count - 1]);
+			try {
+				CalculatorModel.executeOperation(folding, operator);
+				values.pushFrom(folding, 0);
+				slots[count - 2] = values.size() - 1;
+				return count - 1;
+			} catch(ArithmeticException | NumberFormatException exception) {
+				// Left to fail on every row
+			}
+		}
+
+		kinds[count] = OPERATOR;
+		operators[count] = operator;
+		return count + 1;
+	}
+
+	/**
+	 * Checks that the results can hold a result for every row.
+	 *
+	 * @param length : number of rows.
+	 * @param resultLength : length of the results.
+	 *
+	 */
+	private static void checkLength(final int length, final int resultLength) {
+		if(resultLength < length) {
+			throw new IllegalArgumentException("Results of length " + resultLength + " for a column of length " + length);
+		}
+	}
+
+	/**
+	 * Swaps two blocks.
+	 *
+	 * @param blocks : the blocks.
+	 * @param first : index of the first block.
+	 * @param second : index of the second block.
+	 *
+	 */
+	private static <T> void swap(final T[] blocks, final int first, final int second) {
+		final T block = blocks[first];
+		blocks[first] = blocks[second];
+		blocks[second] = block;
+	}
+}
@@ -0,0 +1,275 @@
+package calculator;
+
+import java.util.Arrays;
+
+/**
+ * This class is an expression compiled into a flat, postfix program, so that it can be
+ * evaluated many times without parsing it again.
+ *
+ * <p>The program follows the precedence rules of {@link OperatorRegistry}, like {@link CalculatorModel}:
+ * an operation is performed once the operator after its right operand is known to come after it, and
+ * "+" and "-" are performed from the last one to the first. So "a - b * c + d" becomes "a b c * d + -".
+ * Operations on two constants are folded while
+ * compiling, unless they fail (like a division by zero), in which case they fail on every evaluation.</p>
+ *
+ * <p>A compiled expression is immutable and can be shared and cached across threads.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class CompiledExpression {
+
+	// Kinds of instruction, kept in the high byte of an instruction
+	private static final int CONSTANT = 0;
+	private static final int OPERATOR = 1 << 24;
+	private static final int KIND_MASK = 0xFF << 24;
+	private static final int PAYLOAD_MASK = ~KIND_MASK;
+
+	private final int[] instructions;
+	private final OperandStack constants;
+	private final String literal;
+
+	/**
+	 * Constructs a new CompiledExpression instance.
+	 *
+	 * @param instructions : postfix program.
+	 * @param constants : constants referred by the program.
+	 * @param literal : text of the only operand of the expression, or null.
+	 *
+	 */
+	private CompiledExpression(final int[] instructions, final OperandStack constants, final String literal) {
+		this.instructions = instructions;
+		this.constants = constants;
+		this.literal = literal;
+	}
+
+	/**
+	 * Compiles the line of the given scanner.
+	 *
+	 * @param scanner : scanner reset to the line that need to be compiled.
+	 *
+	 * @return compiledExpression[CompiledExpression] : compiled expression.
+	 *
+	 * @throws InvaildOperatorException If the line has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand isn't a numeric value.
+	 */
+	static CompiledExpression compile(final ExpressionScanner scanner) throws InvaildOperatorException, NumberFormatException {
+
+		// Initialization
+		final CharSequence line = scanner.line();
+		final ProgramBuilder builder = new ProgramBuilder();
+		final OperatorStack pendingOperators = new OperatorStack();
+		String literal = null;
+		int operandCount = 0;
+
+		// Reading the line as alternating operands and operators
+		while(true) {
+
+			// Emitting the operand
+			scanner.nextOperand();
+			builder.emitLiteral(line, scanner.operandStart(), scanner.operandEnd());
+			if(++operandCount == 1) {
+				literal = line.subSequence(scanner.operandStart(), scanner.operandEnd()).toString();
+			}
+
+			// Retrieving the operator, emitting the operations that come before it
+			if(!scanner.hasNext())	break;
+			final char operator = scanner.nextOperator();
+			while(!pendingOperators.isEmpty() && OperatorRegistry.isPerformedBefore(pendingOperators.peek(), operator)) {
+				builder.emitOperator(pendingOperators.pop());
+			}
+			pendingOperators.push(operator);
+		}
+
+		// Emitting the pending operations, from the last one to the first
+		while(!pendingOperators.isEmpty()) {
+			builder.emitOperator(pendingOperators.pop());
+		}
+
+		return builder.build(operandCount == 1 ? literal : null);
+	}
+
+	/**
+	 * Evaluates this expression on the given stack and writes the result into the given StringBuilder.
+	 *
+	 * @param values : stack used for the evaluation, cleared before use.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	void evaluate(final OperandStack values, final StringBuilder resultStringBuilder) throws InvaildOperatorException, ArithmeticException {
+
+		// A single value is displayed just as it was entered
+		if(this.literal != null) {
+			CalculatorModel.replaceStringBuilderValue(resultStringBuilder, this.literal);
+			return;
+		}
+
+		// Running the program
+		values.clear();
+		for(int instruction : this.instructions) {
+			final int payload = instruction & PAYLOAD_MASK;
+			if((instruction & KIND_MASK) == CONSTANT) {
+				values.pushFrom(this.constants, payload);
+			} else {
+				CalculatorModel.executeOperation(values, (char)payload);
+			}
+		}
+
+		// Returning final result
+		resultStringBuilder.setLength(0);
+		values.popTo(resultStringBuilder);
+	}
+
+	/**
+	 * Evaluates this expression and returns its result.
+	 * Prefer {@link CalculatorModel#evaluate(CompiledExpression, StringBuilder)} for repeated
+	 * evaluations, which reuses the stack of the model.
+	 *
+	 * @return result[String] : displayed result of the expression.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	public String evaluate() throws InvaildOperatorException, ArithmeticException {
+		final StringBuilder result = new StringBuilder();
+		this.evaluate(new OperandStack(), result);
+		return result.toString();
+	}
+
+	/**
+	 * Returns true if the whole expression has been folded into a single constant.
+	 *
+	 * @return [boolean]: returns true for a constant expression.
+	 */
+	public boolean isConstant() {
+		return this.instructions.length == 1;
+	}
+
+	/**
+	 * Returns the number of instructions of the program.
+	 *
+	 * @return count[int] : number of instructions.
+	 */
+	public int getInstructionCount() {
+		return this.instructions.length;
+	}
+
+	/**
+	 * Returns the program in postfix notation, like "2 3 *".
+	 *
+	 * @return program[String] : postfix program.
+	 */
+	@Override
+	public String toString() {
+		if(this.literal != null)	return this.literal;
+		final StringBuilder program = new StringBuilder();
+		for(int instruction : this.instructions) {
+			if(program.length() != 0)	program.append(' ');
+			final int payload = instruction & PAYLOAD_MASK;
+			if((instruction & KIND_MASK) == CONSTANT) {
+				this.constants.appendTo(program, payload);
+			} else {
+				program.append(OperatorRegistry.get((char)payload).getSymbol());
+			}
+		}
+		return program.toString();
+	}
+
+	/**
+	 * This class builds the program of a CompiledExpression, folding the constants.
+	 */
+	private static final class ProgramBuilder {
+
+		private final OperandStack constants = new OperandStack();
+		private final OperandStack foldingStack = new OperandStack();
+		private int[] instructions = new int[16];
+		private int count = 0;
+
+		/**
+		 * Emits an instruction pushing the given literal.
+		 *
+		 * @param line : character sequence containing the literal.
+		 * @param start : index of the first character (inclusive).
+		 * @param end : index of the last character (exclusive).
+		 *
+		 * @throws NumberFormatException If the literal isn't a numeric value.
+		 */
+		void emitLiteral(final CharSequence line, final int start, final int end) throws NumberFormatException {
+			this.constants.pushLiteral(line, start, end);
+			this.emit(CONSTANT | (this.constants.size() - 1));
+		}
+
+		/**
+		 * Emits an operation, folding it when both of its operands are constants.
+		 *
+		 * @param operator : code of the operator.
+		 *
+		 * @throws InvaildOperatorException If any other option is selected that the one defined.
+		 */
+		void emitOperator(final char operator) throws InvaildOperatorException {
+
+			// Folding two constants
+			if(this.count >= 2 && isConstant(this.instructions[this.count - 1]) && isConstant(this.instructions[this.count - 2])) {
+				this.foldingStack.clear();
+				this.foldingStack.pushFrom(this.constants, this.instructions[this.count - 2] & PAYLOAD_MASK);
+				this.foldingStack.pushFrom(this.constants, this.instructions[this.count - 1] & PAYLOAD_MASK);
+				try {
+					CalculatorModel.executeOperation(this.foldingStack, operator);
+					this.count -= 2;
+					this.constants.pushFrom(this.foldingStack, 0);
+					this.emit(CONSTANT | (this.constants.size() - 1));
+					return;
+				} catch(ArithmeticException | NumberFormatException exception) {
+					// Left to fail on every evaluation
+				}
+			}
+
+			this.emit(OPERATOR | operator);
+		}
+
+		/**
+		 * Builds the expression, keeping only the constants still referred by the program.
+		 *
+		 * @param literal : text of the only operand of the expression, or null.
+		 *
+		 * @return compiledExpression[CompiledExpression] : compiled expression.
+		 */
+		CompiledExpression build(final String literal) {
+			final int[] program = Arrays.copyOf(this.instructions, this.count);
+			final OperandStack usedConstants = new OperandStack();
+			for(int index = 0; index < program.length; index++) {
+				if(isConstant(program[index])) {
+					usedConstants.pushFrom(this.constants, program[index] & PAYLOAD_MASK);
+					program[index] = CONSTANT | (usedConstants.size() - 1);
+				}
+			}
+			return new CompiledExpression(program, usedConstants, literal);
+		}
+
+		/**
+		 * Appends an instruction to the program.
+		 *
+		 * @param instruction : encoded instruction.
+		 *
+		 */
+		private void emit(final int instruction) {
+			if(this.count == this.instructions.length) {
+				this.instructions = Arrays.copyOf(this.instructions, this.count << 1);
+			}
+			this.instructions[this.count++] = instruction;
+		}
+
+		/**
+		 * Returns true if the given instruction pushes a constant.
+		 *
+		 * @param instruction : encoded instruction.
+		 *
+		 * @return [boolean]: returns true for a constant.
+		 */
+		private static boolean isConstant(final int instruction) {
+			return (instruction & KIND_MASK) == CONSTANT;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * This class holds the settings of the exact arithmetic of {@link CalculatorModel}, where
+ * values are never rounded to two decimal places nor overflow. Every result keeps at most
+ * {@link #getScale()} decimal places, rounded with {@link #getRoundingMode()}; sums, differences
+ * and products of values with fewer decimal places are therefore exact, and only divisions
+ * (or products of values with many decimal places) are rounded.
+ *
+ * @version 1.0.0
+ *
+ */
+public final class ExactArithmetic {
+
+	private final int scale;
+	private final RoundingMode roundingMode;
+
+	/**
+	 * Constructs a new ExactArithmetic instance.
+	 *
+	 * @param scale : maximum number of decimal places of a result.
+	 * @param roundingMode : rounding of the results having more decimal places.
+	 *
+	 */
+	public ExactArithmetic(final int scale, final RoundingMode roundingMode) {
+		if(scale < 0) {
+			throw new IllegalArgumentException("Scale must not be negative: " + scale);
+		}
+		this.scale = scale;
+		this.roundingMode = Objects.requireNonNull(roundingMode, "roundingMode");
+	}
+
+	/**
+	 * Returns the maximum number of decimal places of a result.
+	 *
+	 * @return scale[int] : maximum number of decimal places.
+	 */
+	public int getScale() {
+		return this.scale;
+	}
+
+	/**
+	 * Returns the rounding of the results having more decimal places than the scale.
+	 *
+	 * @return roundingMode[RoundingMode] : rounding of the results.
+	 */
+	public RoundingMode getRoundingMode() {
+		return this.roundingMode;
+	}
+
+	/**
+	 * This function applies the given operator on two arbitrary precision values,
+	 * rounding the result to the scale.
+	 *
+	 * @param operator : code of the operator.
+	 * @param operand1 : left operand.
+	 * @param operand2 : right operand, not zero for a division.
+	 *
+	 * @return result[BigDecimal] : result of the operation.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws NumberFormatException If the operator has no exact implementation and its double result isn't finite.
+	 */
+	BigDecimal apply(final char operator, final BigDecimal operand1, final BigDecimal operand2) throws InvaildOperatorException, NumberFormatException {
+		final BigDecimal result = switch(operator) {
+			case '+' -> operand1.add(operand2);
+			case '-' -> operand1.subtract(operand2);
+			case '*' -> operand1.multiply(operand2);
+			case '/' -> operand1.divide(operand2, this.scale, this.roundingMode);
+			case '%' -> operand1.remainder(operand2);
+			default -> {
+				final Operator operation = OperatorRegistry.get(operator);
+				if(operation == null) {
+					throw new InvaildOperatorException();
+				}
+				yield operation.applyExact(operand1, operand2, this);
+			}
+		};
+		return (result.scale() > this.scale) ? result.setScale(this.scale, this.roundingMode) : result;
+	}
+
+	@Override
+	public String toString() {
+		return "ExactArithmetic[scale=" + this.scale + ", roundingMode=" + this.roundingMode + "]";
+	}
+}
@@ -0,0 +1,264 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * This class is the stack of operands of the exact arithmetic. An operand is kept as a long
+ * value as long as it's a whole number within the range of long, so that the operations on
+ * whole numbers cost about as much as in the default arithmetic; it becomes a BigDecimal only
+ * when it has decimal places or an operation overflows.
+ *
+ * @version 1.0.0
+ *
+ */
+final class ExactOperandStack {
+
+	// Initial capacity of the stack
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// Number of digits that always fit into a long value
+	private static final int SAFE_LONG_DIGITS = 18;
+
+	// Largest whole number of SAFE_LONG_DIGITS digits
+	private static final long SAFE_LONG_MAXIMUM = 999_999_999_999_999_999L;
+
+	// Parallel arrays, the BigDecimal being null for an operand kept as a long value
+	private long[] longValues;
+	private BigDecimal[] decimalValues;
+	private int size;
+
+	/**
+	 * Constructs a new ExactOperandStack instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	ExactOperandStack() {
+		this.longValues = new long[DEFAULT_CAPACITY];
+		this.decimalValues = new BigDecimal[DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+
+	/**
+	 * Removes all the operands from the stack.
+	 */
+	void clear() {
+		Arrays.fill(this.decimalValues, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Parses the given range of characters and pushes it into the stack.
+	 * The range must match {@code ^\-?[0-9]+(\.[0-9]*)?$}.
+	 *
+	 * @param literal : character sequence containing the operand.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @throws NumberFormatException If the literal isn't a numeric value.
+	 */
+	void pushLiteral(final CharSequence literal, final int start, final int end) throws NumberFormatException {
+
+		// Validating the literal
+		if(start == end || !TokenClassifier.isNumeric(literal, start, end)) {
+			throw new NumberFormatException("For input string: \"" + literal.subSequence(start, end) + "\"");
+		}
+
+		// Parsing the short whole numbers without any allocation
+		final boolean isNegative = literal.charAt(start) == '-';
+		final int digitsStart = isNegative ? start + 1 : start;
+		if(end - digitsStart <= SAFE_LONG_DIGITS && !TokenClassifier.isDecimal(literal, start, end)) {
+			long value = 0;
+			for(int index = digitsStart; index < end; index++) {
+				value = value * 10 + (literal.charAt(index) - '0');
+			}
+			this.pushLong(isNegative ? -value : value);
+			return;
+		}
+
+		this.pushDecimal(new BigDecimal(literal.subSequence(start, end).toString()));
+	}
+
+	/**
+	 * Pushes an operand given as its value without the decimal point and its scale,
+	 * like 1250 and 2 for "12.50", exactly as the literal would have been parsed.
+	 *
+	 * @param unscaledValue : value of the operand without its decimal point.
+	 * @param scale : number of digits after the decimal point.
+	 *
+	 */
+	void pushNumber(final long unscaledValue, final int scale) {
+		if(scale == 0 && unscaledValue >= -SAFE_LONG_MAXIMUM && unscaledValue <= SAFE_LONG_MAXIMUM) {
+			this.pushLong(unscaledValue);
+			return;
+		}
+		this.pushDecimal(BigDecimal.valueOf(unscaledValue, scale));
+	}
+
+	/**
+	 * Pushes an operand given as a double value, like a variable of the default arithmetic.
+	 *
+	 * @param value : value of the operand.
+	 *
+	 * @throws NumberFormatException If the value isn't a finite number.
+	 */
+	void pushDouble(final double value) throws NumberFormatException {
+		this.pushDecimal(BigDecimal.valueOf(value));
+	}
+
+	/**
+	 * Performs the given operation on the top two operands, replacing them with the result.
+	 * Whole numbers are calculated as long values, switching to BigDecimal on overflow
+	 * (detected without throwing, as exceptions would cost more than the BigDecimal itself)
+	 * or when a division doesn't give a whole number. The operators other than the built-in
+	 * "+", "-", "*", "/" and "%" are always calculated with BigDecimal.
+	 *
+	 * @param operator : code of the operator.
+	 * @param arithmetic : scale and rounding of the results.
+	 *
+	 * @throws InvaildOperatorException If any other option is selected that the one defined.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	void execute(final char operator, final ExactArithmetic arithmetic) throws InvaildOperatorException, ArithmeticException {
+
+		// Initialization
+		final Operator operation = OperatorRegistry.get(operator);
+		if(operation == null) {
+			throw new InvaildOperatorException();
+		}
+		final int index2 = this.indexOf(0);
+		final int index1 = this.indexOf(1);
+		final BigDecimal decimal2 = this.decimalValues[index2];
+		final BigDecimal decimal1 = this.decimalValues[index1];
+
+		// Checking for zero division exception
+		if((operation.isDivision() || operator == '%') && ((decimal2 == null) ? this.longValues[index2] == 0 : decimal2.signum() == 0)) {
+			throw new ArithmeticException("Divide by zero");
+		}
+
+		// Calculating whole numbers as long values, as long as they don't overflow
+		final long operand1 = this.longValues[index1];
+		final long operand2 = this.longValues[index2];
+		if(decimal1 == null && decimal2 == null) {
+			final long result;
+			final boolean isExactLong;
+			switch(operator) {
+				case '+' -> {
+					result = operand1 + operand2;
+					isExactLong = ((operand1 ^ result) & (operand2 ^ result)) >= 0;
+				}
+				case '-' -> {
+					result = operand1 - operand2;
+					isExactLong = ((operand1 ^ operand2) & (operand1 ^ result)) >= 0;
+				}
+				case '*' -> {
+					result = operand1 * operand2;
+					isExactLong = Math.multiplyHigh(operand1, operand2) == (result >> 63);
+				}
+				case '/' -> {
+					result = operand1 / operand2;
+					isExactLong = result * operand2 == operand1 && !(operand1 == Long.MIN_VALUE && operand2 == -1);
+				}
+				case '%' -> {
+					result = operand1 % operand2;
+					isExactLong = true;
+				}
+				default -> {
+					result = 0;
+					isExactLong = false;
+				}
+			}
+			if(isExactLong) {
+				this.size -= 2;
+				this.pushLong(result);
+				CalculatorMetrics.recordArithmetic(operator);
+				return;
+			}
+		}
+
+		// Calculating with arbitrary precision
+		final BigDecimal result = arithmetic.apply(operator,
+				(decimal1 != null) ? decimal1 : BigDecimal.valueOf(operand1),
+				(decimal2 != null) ? decimal2 : BigDecimal.valueOf(operand2));
+		this.size -= 2;
+		this.decimalValues[index2] = null;
+		this.pushDecimal(result);
+		CalculatorMetrics.recordArithmetic(operator);
+	}
+
+	/**
+	 * Appends the top result to the given StringBuilder without any exponent
+	 * or trailing zero, and pops it.
+	 *
+	 * @param output : StringBuilder the formatted value is appended to.
+	 *
+	 */
+	void popTo(final StringBuilder output) {
+		final int index = this.indexOf(0);
+		final BigDecimal decimal = this.decimalValues[index];
+		if(decimal == null) {
+			output.append(this.longValues[index]);
+		} else {
+			output.append(decimal.toPlainString());
+			this.decimalValues[index] = null;
+		}
+		this.size--;
+	}
+
+	/**
+	 * Pushes a long value into the stack.
+	 *
+	 * @param value : long value of the operand.
+	 *
+	 */
+	private void pushLong(final long value) {
+		final int index = this.reserve();
+		this.longValues[index] = value;
+		this.decimalValues[index] = null;
+	}
+
+	/**
+	 * Pushes an arbitrary precision value into the stack, as a long value if it's
+	 * a whole number within the range of long.
+	 *
+	 * @param value : value of the operand.
+	 *
+	 */
+	private void pushDecimal(final BigDecimal value) {
+		final BigDecimal stripped = (value.signum() == 0) ? BigDecimal.ZERO : value.stripTrailingZeros();
+		if(stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= SAFE_LONG_DIGITS) {
+			this.pushLong(stripped.longValueExact());
+			return;
+		}
+		final int index = this.reserve();
+		this.longValues[index] = 0;
+		this.decimalValues[index] = stripped;
+	}
+
+	/**
+	 * Returns the index of the operand at given depth from the top.
+	 *
+	 * @param depth : depth from top of the stack, 0 being the top.
+	 *
+	 * @return index[int] : index within the arrays.
+	 */
+	private int indexOf(final int depth) {
+		if(depth >= this.size) {
+			throw new EmptyStackException();
+		}
+		return this.size - 1 - depth;
+	}
+
+	/**
+	 * Reserves a slot on top of the stack, growing the arrays when needed.
+	 *
+	 * @return index[int] : index of the reserved slot.
+	 */
+	private int reserve() {
+		if(this.size == this.longValues.length) {
+			this.longValues = Arrays.copyOf(this.longValues, this.size << 1);
+			this.decimalValues = Arrays.copyOf(this.decimalValues, this.size << 1);
+		}
+		return this.size++;
+	}
+}
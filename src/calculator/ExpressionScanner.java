@@ -0,0 +1,142 @@
+package calculator;
+
+/**
+ * This class scans an expression written as a single line, like "12 + 3.5 * 2" or "rate * 12",
+ * as alternating operands and operators without creating any String.
+ * Operands and operators may be separated by whitespace, and a '-' where an operand
+ * is expected is read as the sign of that operand.
+ * A scanner is reusable through {@link #reset(CharSequence)}, but isn't thread-safe.
+ *
+ * @version 1.0.0
+ *
+ */
+final class ExpressionScanner {
+
+	private CharSequence line;
+	private int index;
+	private int operandStart;
+	private int operandEnd;
+
+	/**
+	 * Starts scanning the given line.
+	 *
+	 * @param line : expression that need to be scanned.
+	 *
+	 * @return scanner[ExpressionScanner] : this scanner.
+	 */
+	ExpressionScanner reset(final CharSequence line) {
+		this.line = line;
+		this.index = this.skipWhitespace(0);
+		this.operandStart = this.index;
+		this.operandEnd = this.index;
+		return this;
+	}
+
+	/**
+	 * Returns the line being scanned.
+	 *
+	 * @return line[CharSequence] : expression being scanned.
+	 */
+	CharSequence line() {
+		return this.line;
+	}
+
+	/**
+	 * Returns true if there are characters left to be scanned.
+	 *
+	 * @return [boolean]: returns true until the end of the line.
+	 */
+	boolean hasNext() {
+		return this.index < this.line.length();
+	}
+
+	/**
+	 * Scans the next operand, a number or the name of a variable, whose range is available
+	 * through {@link #operandStart()} and {@link #operandEnd()}. The range isn't validated.
+	 */
+	void nextOperand() {
+		final CharSequence line = this.line;
+		final int length = line.length();
+		int index = this.index;
+
+		// Optional sign followed by the digits and the decimal point, or by a name
+		this.operandStart = index;
+		if(index < length && line.charAt(index) == '-')	index++;
+		if(index < length && SymbolTable.isNameStart(line.charAt(index))) {
+			while(++index < length && SymbolTable.isNamePart(line.charAt(index)));
+		} else {
+			while(index < length && (TokenClassifier.isDigit(line.charAt(index)) || line.charAt(index) == '.'))	index++;
+		}
+		this.operandEnd = index;
+
+		this.index = this.skipWhitespace(index);
+	}
+
+	/**
+	 * Scans the given variable if it's the next operand, like the "x" of "x * 1.2 + 5".
+	 *
+	 * @param name : character naming the variable.
+	 *
+	 * @return [boolean]: returns true if the variable was scanned.
+	 */
+	boolean nextVariable(final char name) {
+		if(this.index >= this.line.length() || this.line.charAt(this.index) != name)	return false;
+		this.operandStart = this.index;
+		this.operandEnd = this.index + 1;
+		this.index = this.skipWhitespace(this.index + 1);
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first character of the last scanned operand.
+	 *
+	 * @return start[int] : index of the first character (inclusive).
+	 */
+	int operandStart() {
+		return this.operandStart;
+	}
+
+	/**
+	 * Returns the index after the last character of the last scanned operand.
+	 *
+	 * @return end[int] : index of the last character (exclusive).
+	 */
+	int operandEnd() {
+		return this.operandEnd;
+	}
+
+	/**
+	 * Scans the next operator, the longest symbol of {@link OperatorRegistry} found,
+	 * which must be followed by an operand.
+	 *
+	 * @return operator[char] : code of the operator.
+	 *
+	 * @throws InvaildOperatorException If it's an unknown operator or the line ends after it.
+	 */
+	char nextOperator() throws InvaildOperatorException {
+		final char operator = OperatorRegistry.match(this.line, this.index);
+		if(operator == 0) {
+			throw new InvaildOperatorException();
+		}
+		this.index = this.skipWhitespace(this.index + OperatorRegistry.symbolLength(operator));
+
+		// Expecting another operand after an operator
+		if(!this.hasNext()) {
+			throw new InvaildOperatorException();
+		}
+		return operator;
+	}
+
+	/**
+	 * Returns the index of the first non-whitespace character from the given index.
+	 *
+	 * @param start : index to start from.
+	 *
+	 * @return index[int] : index of the first non-whitespace character, or the length of the line.
+	 */
+	private int skipWhitespace(final int start) {
+		int index = start;
+		while(index < this.line.length() && Character.isWhitespace(this.line.charAt(index)))	index++;
+		return index;
+	}
+}
@@ -0,0 +1,456 @@
+package calculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class is a sheet of named cells, each holding either a number or a formula of other cells,
+ * like "total" being "a + b" and "tax" being "total * 0.18", evaluated by {@link CalculatorModel}
+ * with the cells as its variables. The dependencies between the cells form a directed acyclic graph,
+ * so that setting a cell recomputes only the cells downstream of it, level by level in topological
+ * order; none of the cells of a level depending on another, the large levels are recomputed across
+ * a pool of workers. A formula that would make a cycle is rejected.
+ * A cell referenced before it's set, or whose formula fails, is an error, and so is every cell depending on it.
+ * A sheet isn't thread-safe.
+ *
+ * @version 1.0.0
+ *
+ */
+public final class FormulaSheet implements AutoCloseable {
+
+	// Initial number of cells
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// Smallest number of cells of a level recomputed across the workers
+	private static final int PARALLEL_THRESHOLD = 512;
+
+	// States of a cell
+	private static final byte UNDEFINED = 0;
+	private static final byte VALUE = 1;
+	private static final byte ERROR = 2;
+
+	private static final int[] NO_CELLS = new int[0];
+
+	// Names and values of the cells, the index of a cell being its entry in the table
+	private final SymbolTable cells;
+	private final OperandStack inputValues;
+	private final ExpressionScanner scanner;
+
+	// Models evaluating the formulas, one per thread, the pool being null with a single thread
+	private final CalculatorModel model;
+	private final ThreadLocal<CalculatorModel> models;
+	private final ExecutorService workers;
+	private final int threadCount;
+
+	// Parallel arrays, one entry per cell, the formula being null for a number
+	private String[] formulas;
+	private byte[] states;
+	private int[][] precedents;
+	private int[][] dependents;
+	private int[] dependentCounts;
+
+	// Cells being recomputed, marked with the current epoch, and their precedents not recomputed yet
+	private int[] marks;
+	private int epoch;
+	private int[] pendingCounts;
+	private int[] downstreamCells;
+	private int[] orderedCells;
+
+	/**
+	 * Constructs a new FormulaSheet instance with one worker per available processor.
+	 */
+	public FormulaSheet() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a new FormulaSheet instance.
+	 *
+	 * @param threadCount : number of threads recomputing the cells, 1 to recompute them on the calling thread only.
+	 *
+	 */
+	public FormulaSheet(final int threadCount) {
+		if(threadCount < 1) {
+			throw new IllegalArgumentException("At least one thread is required: " + threadCount);
+		}
+		this.cells = new SymbolTable();
+		this.inputValues = new OperandStack();
+		this.scanner = new ExpressionScanner();
+		this.model = new CalculatorModel(this.cells);
+		this.models = ThreadLocal.withInitial(() -> new CalculatorModel(this.cells));
+		this.threadCount = threadCount;
+		this.workers = (threadCount == 1) ? null : Executors.newFixedThreadPool(threadCount, (task)->{
+			final Thread thread = new Thread(task, "calculator-sheet-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.formulas = new String[DEFAULT_CAPACITY];
+		this.states = new byte[DEFAULT_CAPACITY];
+		this.precedents = new int[DEFAULT_CAPACITY][];
+		this.dependents = new int[DEFAULT_CAPACITY][];
+		this.dependentCounts = new int[DEFAULT_CAPACITY];
+		this.marks = new int[DEFAULT_CAPACITY];
+		this.epoch = 0;
+		this.pendingCounts = new int[DEFAULT_CAPACITY];
+		this.downstreamCells = new int[DEFAULT_CAPACITY];
+		this.orderedCells = new int[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Sets a cell to a number, like "12.5", or to a formula of numbers and other cells, like
+	 * "total * 0.18", then recomputes the cells depending on it. The sheet is left unchanged
+	 * if the formula can't be read or would make a cycle.
+	 *
+	 * @param name : name of the cell, an ASCII letter or '_' followed by letters, digits or '_'.
+	 * @param content : number or formula of the cell.
+	 *
+	 * @return count[int] : number of recomputed cells, the given one included.
+	 *
+	 * @throws IllegalArgumentException If the name isn't a valid name, or the formula would make a cycle.
+	 * @throws InvaildOperatorException If the formula has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand of the formula is neither a numeric value nor a name.
+	 */
+	public int set(final String name, final String content) throws IllegalArgumentException, InvaildOperatorException, NumberFormatException {
+		if(!SymbolTable.isName(name)) {
+			throw new IllegalArgumentException("Invalid cell name: \"" + name + "\"");
+		}
+
+		// Reading the cells the formula refers to
+		final String text = content.strip();
+		final boolean isNumber = !text.isEmpty() && TokenClassifier.isNumeric(text);
+		final List<String> references = isNumber ? List.of() : this.readReferences(text);
+
+		// Rejecting a formula referring to the cell itself or to a cell downstream of it
+		int cell = this.cells.find(name, 0, name.length());
+		if(cell >= 0 && !references.isEmpty())	this.markDownstream(cell);
+		for(String reference : references) {
+			final int precedent = this.cells.find(reference, 0, reference.length());
+			if(reference.equals(name) || (precedent >= 0 && cell >= 0 && this.marks[precedent] == this.epoch)) {
+				throw new IllegalArgumentException("Circular reference: " + name + " = " + text);
+			}
+		}
+
+		// Replacing the dependencies of the cell
+		if(cell < 0)	cell = this.addCell(name);
+		for(int precedent : this.precedents[cell]) {
+			this.removeDependent(precedent, cell);
+		}
+		this.precedents[cell] = this.resolve(references);
+		for(int precedent : this.precedents[cell]) {
+			this.addDependent(precedent, cell);
+		}
+
+		// Setting the number right away, a formula being evaluated with its dependents
+		if(isNumber) {
+			this.inputValues.pushLiteral(text);
+			this.cells.set(cell, this.inputValues);
+			this.formulas[cell] = null;
+			this.states[cell] = VALUE;
+		} else {
+			this.formulas[cell] = text;
+		}
+		return this.recompute(cell);
+	}
+
+	/**
+	 * Returns the value of a cell, formatted like a result.
+	 *
+	 * @param name : name of the cell.
+	 *
+	 * @return value[String] : the value, "ERROR" if the cell is an error, or null if it isn't set.
+	 */
+	public String get(final String name) {
+		final int cell = this.cells.find(name, 0, name.length());
+		if(cell < 0 || this.states[cell] == UNDEFINED)	return null;
+		if(this.states[cell] == ERROR)	return BatchEvaluator.ERROR_RESULT;
+		final StringBuilder value = new StringBuilder();
+		this.cells.appendTo(cell, value);
+		return value.toString();
+	}
+
+	/**
+	 * Returns the number of cells, those referenced but not set yet included.
+	 *
+	 * @return size[int] : number of cells.
+	 */
+	public int size() {
+		return this.cells.size();
+	}
+
+	/**
+	 * Reads the names a formula refers to, checking the formula on the way.
+	 *
+	 * @param formula : formula of a cell.
+	 *
+	 * @return references[List] : the names, in the order of the formula.
+	 *
+	 * @throws InvaildOperatorException If the formula has an unknown operator or ends with an operator.
+	 * @throws NumberFormatException If an operand is neither a numeric value nor a name.
+	 */
+	private List<String> readReferences(final String formula) throws InvaildOperatorException, NumberFormatException {
+		final List<String> references = new ArrayList<>();
+		final ExpressionScanner scanner = this.scanner.reset(formula);
+		while(true) {
+			scanner.nextOperand();
+			final int start = scanner.operandStart();
+			final int end = scanner.operandEnd();
+			if(start < end && SymbolTable.isNameStart(formula.charAt(start))) {
+				references.add(formula.substring(start, end));
+			} else if(start == end || !TokenClassifier.isNumeric(formula, start, end)) {
+				throw new NumberFormatException("For input string: \"" + formula.substring(start, end) + "\"");
+			}
+			if(!scanner.hasNext())	return references;
+			scanner.nextOperator();
+		}
+	}
+
+	/**
+	 * Returns the cells of the given names, adding those that don't exist yet, each cell only once.
+	 *
+	 * @param references : names of the cells.
+	 *
+	 * @return cells[int[]] : indexes of the cells.
+	 */
+	private int[] resolve(final List<String> references) {
+		if(references.isEmpty())	return NO_CELLS;
+		final int[] resolved = new int[references.size()];
+		int count = 0;
+		this.nextEpoch();
+		for(String reference : references) {
+			int precedent = this.cells.find(reference, 0, reference.length());
+			if(precedent < 0)	precedent = this.addCell(reference);
+			if(this.marks[precedent] != this.epoch) {
+				this.marks[precedent] = this.epoch;
+				resolved[count++] = precedent;
+			}
+		}
+		return (count == resolved.length) ? resolved : Arrays.copyOf(resolved, count);
+	}
+
+	/**
+	 * Adds a cell that isn't set yet.
+	 *
+	 * @param name : name of the cell.
+	 *
+	 * @return cell[int] : index of the cell.
+	 */
+	private int addCell(final String name) {
+		this.inputValues.pushLong(0);
+		final int cell = this.cells.put(name, this.inputValues);
+		if(cell == this.formulas.length) {
+			final int capacity = cell << 1;
+			this.formulas = Arrays.copyOf(this.formulas, capacity);
+			this.states = Arrays.copyOf(this.states, capacity);
+			this.precedents = Arrays.copyOf(this.precedents, capacity);
+			this.dependents = Arrays.copyOf(this.dependents, capacity);
+			this.dependentCounts = Arrays.copyOf(this.dependentCounts, capacity);
+			this.marks = Arrays.copyOf(this.marks, capacity);
+			this.pendingCounts = Arrays.copyOf(this.pendingCounts, capacity);
+			this.downstreamCells = Arrays.copyOf(this.downstreamCells, capacity);
+			this.orderedCells = Arrays.copyOf(this.orderedCells, capacity);
+		}
+		this.states[cell] = UNDEFINED;
+		this.precedents[cell] = NO_CELLS;
+		this.dependents[cell] = NO_CELLS;
+		return cell;
+	}
+
+	/**
+	 * Adds a cell to the dependents of another one.
+	 *
+	 * @param precedent : cell referred to.
+	 * @param dependent : cell whose formula refers to it.
+	 *
+	 */
+	private void addDependent(final int precedent, final int dependent) {
+		final int count = this.dependentCounts[precedent];
+		if(count == this.dependents[precedent].length) {
+			this.dependents[precedent] = Arrays.copyOf(this.dependents[precedent], Math.max(4, count << 1));
+		}
+		this.dependents[precedent][count] = dependent;
+		this.dependentCounts[precedent] = count + 1;
+	}
+
+	/**
+	 * Removes a cell from the dependents of another one, the last dependent taking its place.
+	 *
+	 * @param precedent : cell referred to.
+	 * @param dependent : cell whose formula referred to it.
+	 *
+	 */
+	private void removeDependent(final int precedent, final int dependent) {
+		final int[] cellDependents = this.dependents[precedent];
+		final int last = --this.dependentCounts[precedent];
+		for(int index = 0; index <= last; index++) {
+			if(cellDependents[index] == dependent) {
+				cellDependents[index] = cellDependents[last];
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Marks the given cell and every cell downstream of it with a new epoch.
+	 *
+	 * @param start : the cell.
+	 *
+	 * @return count[int] : number of marked cells, listed in breadth-first order by downstreamCells.
+	 */
+	private int markDownstream(final int start) {
+		this.nextEpoch();
+		final int epoch = this.epoch;
+		final int[] cells = this.downstreamCells;
+		cells[0] = start;
+		this.marks[start] = epoch;
+		int count = 1;
+		for(int index = 0; index < count; index++) {
+			final int cell = cells[index];
+			final int[] cellDependents = this.dependents[cell];
+			for(int dependent = 0; dependent < this.dependentCounts[cell]; dependent++) {
+				final int next = cellDependents[dependent];
+				if(this.marks[next] != epoch) {
+					this.marks[next] = epoch;
+					cells[count++] = next;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Recomputes the given cell and the cells downstream of it, level by level, a cell being
+	 * recomputed once every cell it refers to has been.
+	 *
+	 * @param start : the changed cell.
+	 *
+	 * @return count[int] : number of recomputed cells.
+	 */
+	private int recompute(final int start) {
+
+		// Counting, for every cell downstream, the cells it refers to that are recomputed before it
+		final int count = this.markDownstream(start);
+		for(int index = 0; index < count; index++) {
+			final int cell = this.downstreamCells[index];
+			int pendingCount = 0;
+			for(int precedent : this.precedents[cell]) {
+				if(this.marks[precedent] == this.epoch)	pendingCount++;
+			}
+			this.pendingCounts[cell] = pendingCount;
+		}
+
+		// Recomputing a level, then queuing the cells whose precedents are all recomputed
+		final int[] cells = this.orderedCells;
+		cells[0] = start;
+		int levelStart = 0;
+		int end = 1;
+		while(levelStart < end) {
+			final int levelEnd = end;
+			this.computeLevel(levelStart, levelEnd);
+			for(int index = levelStart; index < levelEnd; index++) {
+				final int cell = cells[index];
+				final int[] cellDependents = this.dependents[cell];
+				for(int dependent = 0; dependent < this.dependentCounts[cell]; dependent++) {
+					final int next = cellDependents[dependent];
+					if(--this.pendingCounts[next] == 0)		cells[end++] = next;
+				}
+			}
+			levelStart = levelEnd;
+		}
+		return count;
+	}
+
+	/**
+	 * Computes the given range of the ordered cells, across the workers if it's large enough.
+	 *
+	 * @param from : index of the first cell (inclusive).
+	 * @param to : index of the last cell (exclusive).
+	 *
+	 */
+	private void computeLevel(final int from, final int to) {
+		if(this.workers == null || to - from < PARALLEL_THRESHOLD) {
+			for(int index = from; index < to; index++) {
+				this.compute(this.model, this.orderedCells[index]);
+			}
+			return;
+		}
+
+		// Handing a share of the level over to every worker
+		final int share = (to - from + this.threadCount - 1) / this.threadCount;
+		final List<Future<?>> shares = new ArrayList<>(this.threadCount);
+		for(int shareStart = from; shareStart < to; shareStart += share) {
+			final int first = shareStart;
+			final int last = Math.min(to, shareStart + share);
+			shares.add(this.workers.submit(() -> {
+				final CalculatorModel model = this.models.get();
+				for(int index = first; index < last; index++) {
+					this.compute(model, this.orderedCells[index]);
+				}
+			}));
+		}
+
+		// Waiting for the whole level, even when interrupted, so that no cell is left behind
+		boolean isInterrupted = false;
+		for(Future<?> pendingShare : shares) {
+			while(true) {
+				try {
+					pendingShare.get();
+					break;
+				} catch(InterruptedException exception) {
+					isInterrupted = true;
+				} catch(ExecutionException exception) {
+					throw new IllegalStateException("Recomputation of the cells failed", exception.getCause());
+				}
+			}
+		}
+		if(isInterrupted)	Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * Computes a cell with the given model, the cell being an error if any cell it refers to is one.
+	 *
+	 * @param model : model of the current thread.
+	 * @param cell : the cell.
+	 *
+	 */
+	private void compute(final CalculatorModel model, final int cell) {
+		final String formula = this.formulas[cell];
+		if(formula == null)		return;
+		for(int precedent : this.precedents[cell]) {
+			if(this.states[precedent] != VALUE) {
+				this.states[cell] = ERROR;
+				return;
+			}
+		}
+		try {
+			model.evaluate(formula, cell);
+			this.states[cell] = VALUE;
+		} catch(InvaildOperatorException | NumberFormatException | ArithmeticException exception) {
+			this.states[cell] = ERROR;
+		}
+	}
+
+	/**
+	 * Starts a new epoch of the marks, clearing them when the epoch wraps around.
+	 */
+	private void nextEpoch() {
+		if(++this.epoch == 0) {
+			Arrays.fill(this.marks, 0);
+			this.epoch = 1;
+		}
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	@Override
+	public void close() {
+		if(this.workers != null) {
+			this.workers.shutdownNow();
+		}
+	}
+}
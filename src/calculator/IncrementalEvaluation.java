@@ -0,0 +1,371 @@
+package calculator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class evaluates the expression entered through the keypad while it's being entered,
+ * so that pressing "=" costs the same however long the expression is.
+ *
+ * <p>Every operation of a term, that is any operator other than "+" and "-", is performed as soon as
+ * the operator after its right operand is known to come after it (see {@link OperatorRegistry}), just
+ * like on "=". The low precedence operations ("+" and "-") are performed from the last one to the first,
+ * so "a - b + c" is "a - (b + c)"; this sign is
+ * carried into a running sum of the terms, "a - b - c" here. While all the terms are long
+ * values and the sum of their magnitudes stays within 2^53 (so none of the intermediate results
+ * loses precision in the double they pass through), the running sum is exactly the result of "=".
+ * Once a term is a decimal value, or the terms grow larger, the result can only be found by
+ * performing the pending low precedence operations on "=", which then costs one operation per term.</p>
+ *
+ * <p>Failures are kept until "=", where they are thrown just like the evaluation of the whole
+ * expression would, so an expression behaves the same whether it's evaluated incrementally or not.</p>
+ *
+ * <p>The whole state, pending operations and failure included, can be written into a session
+ * snapshot and read back, so that a restored expression is finished exactly as it would have been.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+final class IncrementalEvaluation {
+
+	// Largest magnitude up to which every long value is exactly representable as double
+	private static final long EXACT_DOUBLE_LIMIT = 1L << 53;
+
+	private final OperandStack values;
+	private final OperatorStack lowPrecedenceOperators;
+	private final OperatorStack termOperators;
+	private String firstOperand;
+	private int operandCount;
+	private int length;
+
+	// Running sum of the completed terms, and the sign of the next term
+	private long runningSum;
+	private long magnitudeSum;
+	private int sign;
+	private boolean isExact;
+
+	private Exception failure;
+
+	/**
+	 * Constructs a new IncrementalEvaluation instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	IncrementalEvaluation() {
+		this.values = new OperandStack();
+		this.lowPrecedenceOperators = new OperatorStack();
+		this.termOperators = new OperatorStack();
+		this.clear();
+	}
+
+	/**
+	 * Discards the expression entered so far.
+	 */
+	void clear() {
+		this.values.clear();
+		this.lowPrecedenceOperators.clear();
+		this.termOperators.clear();
+		this.firstOperand = null;
+		this.operandCount = 0;
+		this.length = 0;
+		this.runningSum = 0;
+		this.magnitudeSum = 0;
+		this.sign = 1;
+		this.isExact = true;
+		this.failure = null;
+	}
+
+	/**
+	 * Accepts the next operand with the operator entered after it, and performs
+	 * every operation that the precedence rules allow.
+	 *
+	 * @param operand : text of the operand.
+	 * @param operator : code of the operator, or 0 for "=".
+	 *
+	 */
+	void accept(final CharSequence operand, final char operator) {
+		this.length += (operator != 0) ? operand.length() + OperatorRegistry.symbolLength(operator) : operand.length();
+		if(this.failure != null)	return;
+		if(++this.operandCount == 1) {
+			this.firstOperand = operand.toString();
+		}
+		try {
+
+			// Validating and pushing the operand
+			if(!TokenClassifier.isNumeric(operand) && operand.length() != 1) {
+				throw new InvaildOperatorException();
+			}
+			this.values.pushLiteral(operand);
+
+			// Completing the term on a low precedence operator or "="
+			if(operator == 0 || operator == '+' || operator == '-') {
+				while(!this.termOperators.isEmpty()) {
+					CalculatorModel.executeOperation(this.values, this.termOperators.pop());
+				}
+				this.addTerm();
+				if(operator != 0) {
+					this.lowPrecedenceOperators.push(operator);
+					if(operator == '-')	this.sign = -this.sign;
+				}
+				return;
+			}
+
+			// Performing the operations of the term that come before the operator
+			if(OperatorRegistry.get(operator) == null) {
+				throw new InvaildOperatorException();
+			}
+			while(!this.termOperators.isEmpty() && OperatorRegistry.isPerformedBefore(this.termOperators.peek(), operator)) {
+				CalculatorModel.executeOperation(this.values, this.termOperators.pop());
+			}
+			this.termOperators.push(operator);
+		} catch(InvaildOperatorException | RuntimeException exception) {
+			this.failure = exception;
+		}
+	}
+
+	/**
+	 * Writes the state of the evaluation: the pending operands exactly as they're kept, the pending
+	 * operators by symbol, the running sum and the failure, if any.
+	 *
+	 * @param output : output the state is written into.
+	 *
+	 * @throws IOException If the state can't be written.
+	 */
+	void write(final DataOutput output) throws IOException {
+
+		// Pending operands and operators
+		output.writeInt(this.values.size());
+		for(int slot = 0; slot < this.values.size(); slot++) {
+			this.values.write(output, slot);
+		}
+		writeOperators(output, this.lowPrecedenceOperators);
+		writeOperators(output, this.termOperators);
+
+		// Expression entered so far and running sum
+		output.writeBoolean(this.firstOperand != null);
+		if(this.firstOperand != null)	CalculatorSession.writeText(output, this.firstOperand);
+		output.writeInt(this.operandCount);
+		output.writeInt(this.length);
+		output.writeLong(this.runningSum);
+		output.writeLong(this.magnitudeSum);
+		output.writeInt(this.sign);
+		output.writeBoolean(this.isExact);
+
+		// Failure, thrown again on "="
+		if(this.failure == null) {
+			output.writeByte(0);
+		} else {
+			output.writeByte((this.failure instanceof InvaildOperatorException) ? 1
+					: (this.failure instanceof ArithmeticException) ? 2
+					: (this.failure instanceof NumberFormatException) ? 3
+					: 4);
+			output.writeUTF(String.valueOf(this.failure.getMessage()));
+		}
+	}
+
+	/**
+	 * Replaces the state of the evaluation with the one written by {@link #write(DataOutput)}.
+	 *
+	 * @param input : input the state is read from.
+	 *
+	 * @throws IOException If the state can't be read, or has an operator that isn't registered.
+	 */
+	void read(final DataInput input) throws IOException {
+		this.clear();
+
+		// Pending operands and operators
+		final int valueCount = input.readInt();
+		if(valueCount < 0) {
+			throw new IOException("Negative number of operands: " + valueCount);
+		}
+		for(int slot = 0; slot < valueCount; slot++) {
+			this.values.read(input);
+		}
+		readOperators(input, this.lowPrecedenceOperators);
+		readOperators(input, this.termOperators);
+
+		// Expression entered so far and running sum
+		this.firstOperand = input.readBoolean() ? CalculatorSession.readText(input) : null;
+		this.operandCount = input.readInt();
+		this.length = input.readInt();
+		this.runningSum = input.readLong();
+		this.magnitudeSum = input.readLong();
+		this.sign = input.readInt();
+		this.isExact = input.readBoolean();
+
+		// Failure, thrown again on "="
+		final int failureKind = input.readByte();
+		if(failureKind != 0) {
+			final String message = input.readUTF();
+			this.failure = switch(failureKind) {
+				case 1 -> new InvaildOperatorException();
+				case 2 -> new ArithmeticException(message);
+				case 3 -> new NumberFormatException(message);
+				default -> new IllegalStateException(message);
+			};
+		}
+	}
+
+	/**
+	 * Returns the length of the expression entered so far.
+	 *
+	 * @return length[int] : number of characters of the operands and operators.
+	 */
+	int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Writes the result of the whole expression into the given StringBuilder,
+	 * once its last operand has been accepted with the operator 0.
+	 *
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @throws InvaildOperatorException If the expression had an unknown operator.
+	 * @throws ArithmeticException To handle the "Division by zero" case.
+	 */
+	void finish(final StringBuilder resultStringBuilder) throws InvaildOperatorException, ArithmeticException {
+
+		// A single value is displayed just as it was entered
+		if(this.operandCount == 1) {
+			CalculatorModel.replaceStringBuilderValue(resultStringBuilder, this.firstOperand);
+			return;
+		}
+		this.throwFailure();
+
+		// Returning the running sum when it's exact, which stands for the low precedence operations
+		resultStringBuilder.setLength(0);
+		if(this.isExact) {
+			resultStringBuilder.append(this.runningSum);
+			if(CalculatorMetrics.ENABLED) {
+				for(int slot = 0; slot < this.lowPrecedenceOperators.size(); slot++) {
+					CalculatorMetrics.recordArithmetic(this.lowPrecedenceOperators.get(slot));
+				}
+			}
+			return;
+		}
+
+		// Performing the lower precedence operations, from the last one to the first
+		try {
+			while(!this.lowPrecedenceOperators.isEmpty()) {
+				CalculatorModel.executeOperation(this.values, this.lowPrecedenceOperators.pop());
+			}
+		} catch(ArithmeticException | NumberFormatException exception) {
+			this.failure = exception;
+			throw exception;
+		}
+		this.values.popTo(resultStringBuilder);
+	}
+
+	/**
+	 * Returns the result of the expression entered so far as if "=" were pressed after its last
+	 * operand, or null if there's no operand yet or the expression has failed. It's found in
+	 * constant time while the running sum is exact, otherwise on a copy of the pending operations.
+	 *
+	 * @return partialResult[String] : result of the expression entered so far, or null.
+	 */
+	String getPartialResult() {
+		if(this.operandCount == 0 || this.failure != null)	return null;
+
+		// Adding the term being entered to the running sum
+		if(this.isExact) {
+			if(this.termOperators.isEmpty())	return Long.toString(this.runningSum);
+			if(this.termOperators.size() == 1 && this.isExactTerm())	return Long.toString(this.runningSum + this.sign * this.values.peekLong(0));
+		}
+
+		// Performing the pending operations on copies, skipping the trailing operator
+		final OperandStack partialValues = new OperandStack();
+		for(int slot = 0; slot < this.values.size(); slot++) {
+			partialValues.pushFrom(this.values, slot);
+		}
+		try {
+			for(int slot = this.termOperators.size() - 2; slot >= 0; slot--) {
+				CalculatorModel.executeOperation(partialValues, this.termOperators.get(slot));
+			}
+			for(int slot = partialValues.size() - 2; slot >= 0; slot--) {
+				CalculatorModel.executeOperation(partialValues, this.lowPrecedenceOperators.get(slot));
+			}
+		} catch(InvaildOperatorException | RuntimeException exception) {
+			return null;
+		}
+		final StringBuilder partialResult = new StringBuilder();
+		partialValues.popTo(partialResult);
+		return partialResult.toString();
+	}
+
+	/**
+	 * Adds the completed term on top of the stack to the running sum, as long as the sum stays exact.
+	 */
+	private void addTerm() {
+		if(!this.isExact)	return;
+		if(this.isExactTerm()) {
+			final long term = this.values.peekLong(0);
+			this.magnitudeSum += Math.abs(term);
+			this.runningSum += this.sign * term;
+		} else {
+			this.isExact = false;
+		}
+	}
+
+	/**
+	 * Returns true if the term on top of the stack can be added to the running sum exactly.
+	 *
+	 * @return [boolean]: returns true for a long term of magnitude up to 2^53 that keeps the sum exact.
+	 */
+	private boolean isExactTerm() {
+		if(!this.values.isLong(0))	return false;
+		final long term = this.values.peekLong(0);
+		return -EXACT_DOUBLE_LIMIT <= term && term <= EXACT_DOUBLE_LIMIT && this.magnitudeSum + Math.abs(term) <= EXACT_DOUBLE_LIMIT;
+	}
+
+	/**
+	 * Writes the operators of a stack by symbol, as the code of a longer symbol depends on the order of registration.
+	 *
+	 * @param output : output the operators are written into.
+	 * @param operators : the operators, written from the bottom.
+	 *
+	 * @throws IOException If the operators can't be written.
+	 */
+	private static void writeOperators(final DataOutput output, final OperatorStack operators) throws IOException {
+		output.writeInt(operators.size());
+		for(int slot = 0; slot < operators.size(); slot++) {
+			output.writeUTF(OperatorRegistry.get(operators.get(slot)).getSymbol());
+		}
+	}
+
+	/**
+	 * Reads the operators written by {@link #writeOperators(DataOutput, OperatorStack)} and pushes them into a stack.
+	 *
+	 * @param input : input the operators are read from.
+	 * @param operators : the stack.
+	 *
+	 * @throws IOException If the operators can't be read, or one of them isn't registered.
+	 */
+	private static void readOperators(final DataInput input, final OperatorStack operators) throws IOException {
+		final int count = input.readInt();
+		if(count < 0) {
+			throw new IOException("Negative number of operators: " + count);
+		}
+		for(int slot = 0; slot < count; slot++) {
+			final String symbol = input.readUTF();
+			final char operator = OperatorRegistry.codeOf(symbol, 0, symbol.length());
+			if(operator == 0) {
+				throw new IOException("Unknown operator: " + symbol);
+			}
+			operators.push(operator);
+		}
+	}
+
+	/**
+	 * Throws the failure kept since it happened, if any.
+	 *
+	 * @throws InvaildOperatorException If the expression had an unknown operator.
+	 */
+	private void throwFailure() throws InvaildOperatorException {
+		if(this.failure instanceof InvaildOperatorException exception) {
+			throw exception;
+		} else if(this.failure instanceof RuntimeException exception) {
+			throw exception;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package calculator;
+
+/**
+ * Created for handling the unexpected operationName value.
+ *
+ * @author Shamith Nakka
+ * Demonstrates the usage of {@link #handleOperation()}.
+ *
+ */
+@SuppressWarnings("serial")
+class InvaildOperatorException extends Exception {
+
+	@Override
+	public String toString() {
+		return "Invaild OperationName value.";
+	}
+}
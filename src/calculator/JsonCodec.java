@@ -0,0 +1,231 @@
+package calculator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads and writes the JSON messages of {@link CalculatorServer}. A request is an object
+ * holding either a single "expression" or a batch of "expressions":
+ *
+ * <pre>
+ * {"expression": "12 + 3 * 4"}              {"result": "24"}
+ * {"expressions": ["1 + 2", "1 / 0"]}       {"results": ["3", "ERROR"]}
+ * </pre>
+ *
+ * Only these messages are understood, so that a request is read in a single pass without any tree.
+ *
+ * @version 1.0.0
+ *
+ */
+final class JsonCodec {
+
+	/**
+	 * A request read from its JSON message.
+	 *
+	 * @param expressions : expressions to be evaluated.
+	 * @param isBatch : true if the expressions were sent as an array.
+	 *
+	 */
+	record Request(List<String> expressions, boolean isBatch) {
+	}
+
+	private final CharSequence text;
+	private int position;
+
+	/**
+	 * Constructs a new JsonCodec instance reading the given text.
+	 *
+	 * @param text : JSON message.
+	 *
+	 */
+	private JsonCodec(final CharSequence text) {
+		this.text = text;
+		this.position = 0;
+	}
+
+	/**
+	 * Reads a request.
+	 *
+	 * @param text : JSON message of the request.
+	 *
+	 * @return request[Request] : the request.
+	 *
+	 * @throws IllegalArgumentException If the message isn't a request.
+	 */
+	static Request parseRequest(final CharSequence text) throws IllegalArgumentException {
+
+		// Initialization
+		final JsonCodec reader = new JsonCodec(text);
+		List<String> expressions = null;
+		boolean isBatch = false;
+
+		// Reading the members of the object
+		reader.expect('{');
+		if(!reader.consume('}')) {
+			do {
+				final String name = reader.readString();
+				reader.expect(':');
+				if(expressions != null) {
+					throw reader.error("duplicate expression");
+				}
+				switch(name) {
+					case "expression" -> expressions = List.of(reader.readString());
+					case "expressions" -> {
+						expressions = reader.readStringArray();
+						isBatch = true;
+					}
+					default -> throw reader.error("unknown member \"" + name + "\"");
+				}
+			} while(reader.consume(','));
+			reader.expect('}');
+		}
+		reader.skipWhitespace();
+		if(reader.position != text.length()) {
+			throw reader.error("unexpected content");
+		}
+		if(expressions == null) {
+			throw reader.error("missing \"expression\" or \"expressions\"");
+		}
+		return new Request(expressions, isBatch);
+	}
+
+	/**
+	 * Appends the given value as a JSON string.
+	 *
+	 * @param json : StringBuilder object the string is written into.
+	 * @param value : value of the string.
+	 *
+	 */
+	static void appendString(final StringBuilder json, final CharSequence value) {
+		json.append('"');
+		for(int index = 0; index < value.length(); index++) {
+			final char character = value.charAt(index);
+			switch(character) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if(character < 0x20) {
+						json.append(String.format("\\u%04x", (int)character));
+					} else {
+						json.append(character);
+					}
+				}
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * Reads an array of strings.
+	 *
+	 * @return values[List&lt;String&gt;] : strings of the array.
+	 */
+	private List<String> readStringArray() {
+		final List<String> values = new ArrayList<>();
+		this.expect('[');
+		if(this.consume(']'))	return values;
+		do {
+			values.add(this.readString());
+		} while(this.consume(','));
+		this.expect(']');
+		return values;
+	}
+
+	/**
+	 * Reads a string.
+	 *
+	 * @return value[String] : value of the string.
+	 */
+	private String readString() {
+		this.expect('"');
+		final StringBuilder value = new StringBuilder();
+		while(this.position < this.text.length()) {
+			final char character = this.text.charAt(this.position++);
+			if(character == '"')	return value.toString();
+			if(character < 0x20)	throw this.error("control character in string");
+			if(character != '\\') {
+				value.append(character);
+				continue;
+			}
+
+			// Unescaping
+			if(this.position == this.text.length())	break;
+			final char escaped = this.text.charAt(this.position++);
+			switch(escaped) {
+				case '"', '\\', '/' -> value.append(escaped);
+				case 'b' -> value.append('\b');
+				case 'f' -> value.append('\f');
+				case 'n' -> value.append('\n');
+				case 'r' -> value.append('\r');
+				case 't' -> value.append('\t');
+				case 'u' -> {
+					if(this.position + 4 > this.text.length())	throw this.error("truncated escape");
+					int code = 0;
+					for(int end = this.position + 4; this.position < end; this.position++) {
+						// Exactly four ASCII hexadecimal digits, without any sign
+						final char hexCharacter = this.text.charAt(this.position);
+						final int digit = (hexCharacter < 0x80) ? Character.digit(hexCharacter, 16) : -1;
+						if(digit < 0)	throw this.error("invalid escape");
+						code = (code << 4) | digit;
+					}
+					value.append((char)code);
+				}
+				default -> throw this.error("invalid escape");
+			}
+		}
+		throw this.error("unterminated string");
+	}
+
+	/**
+	 * Reads the given character after any whitespace.
+	 *
+	 * @param expected : expected character.
+	 *
+	 */
+	private void expect(final char expected) {
+		if(!this.consume(expected)) {
+			throw this.error("expected '" + expected + "'");
+		}
+	}
+
+	/**
+	 * Reads the given character after any whitespace, if it's the next one.
+	 *
+	 * @param expected : expected character.
+	 *
+	 * @return [boolean]: returns true if the character was read.
+	 */
+	private boolean consume(final char expected) {
+		this.skipWhitespace();
+		if(this.position < this.text.length() && this.text.charAt(this.position) == expected) {
+			this.position++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Skips the whitespace characters.
+	 */
+	private void skipWhitespace() {
+		while(this.position < this.text.length()) {
+			final char character = this.text.charAt(this.position);
+			if(character != ' ' && character != '\t' && character != '\n' && character != '\r')	return;
+			this.position++;
+		}
+	}
+
+	/**
+	 * Creates the exception of a malformed message.
+	 *
+	 * @param reason : what's wrong with the message.
+	 *
+	 * @return exception[IllegalArgumentException] : exception to be thrown.
+	 */
+	private IllegalArgumentException error(final String reason) {
+		return new IllegalArgumentException("Invalid request at " + this.position + ": " + reason);
+	}
+}
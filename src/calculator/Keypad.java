@@ -0,0 +1,36 @@
+package calculator;
+
+import java.awt.Panel;
+
+/**
+ * This Interface will design the keypad for the calculator.
+ *
+ * @author Shamith Nakka
+ * @version 1.0.0
+ * @since 24 Aug 2023
+ *
+ */
+interface Keypad {
+
+	/**
+	 *  Default values of the keypad.
+	 */
+	public String [] DEFAULT_BUTTON_LABELS = {
+			"MC", "MR", "M+", "M-",
+			"%", "/", "C", "BS",
+			"7", "8", "9", "*",
+			"4", "5", "6", "-",
+			"1", "2", "3", "+",
+			"+/-", "0", ".", "="
+	   };
+
+
+	/**
+	 * This function returns a java.awt.Panel object that contains
+	 * all the buttons required.
+	 *
+	 * @return keypad[java.awt.Panel] : Panel object.
+	 *
+	 */
+	Panel createKeypad();
+}
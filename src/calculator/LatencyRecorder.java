@@ -0,0 +1,84 @@
+package calculator;
+
+import java.util.Arrays;
+
+/**
+ * This class records latencies, keeping the count, the mean and the maximum of all of them
+ * and the most recent ones for the percentiles. It's synchronized, as the latencies are usually
+ * recorded on one thread and read on another.
+ *
+ * @version 1.0.0
+ *
+ */
+public final class LatencyRecorder {
+
+	// Number of the most recent latencies kept for the percentiles
+	private static final int RECENT_CAPACITY = 4_096;
+
+	private final long[] recentNanos = new long[RECENT_CAPACITY];
+	private long count;
+	private long totalNanos;
+	private long maximumNanos;
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos : latency in nanoseconds.
+	 *
+	 */
+	synchronized void record(final long nanos) {
+		this.recentNanos[(int)(this.count % RECENT_CAPACITY)] = nanos;
+		this.count++;
+		this.totalNanos += nanos;
+		this.maximumNanos = Math.max(this.maximumNanos, nanos);
+	}
+
+	/**
+	 * Returns the number of recorded latencies.
+	 *
+	 * @return count[long] : number of latencies.
+	 */
+	public synchronized long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Returns the mean of all the recorded latencies.
+	 *
+	 * @return mean[double] : mean latency in nanoseconds, 0 if there's none.
+	 */
+	public synchronized double getMeanNanos() {
+		return (this.count == 0) ? 0 : (double)this.totalNanos / this.count;
+	}
+
+	/**
+	 * Returns the maximum of all the recorded latencies.
+	 *
+	 * @return maximum[long] : maximum latency in nanoseconds.
+	 */
+	public synchronized long getMaximumNanos() {
+		return this.maximumNanos;
+	}
+
+	/**
+	 * Returns the given percentile of the most recent latencies.
+	 *
+	 * @param percentile : percentile between 0 and 100.
+	 *
+	 * @return latency[long] : latency in nanoseconds, 0 if there's none.
+	 */
+	public synchronized long getPercentileNanos(final double percentile) {
+		final int size = (int)Math.min(this.count, RECENT_CAPACITY);
+		if(size == 0)	return 0;
+		final long[] sorted = Arrays.copyOf(this.recentNanos, size);
+		Arrays.sort(sorted);
+		return sorted[(int)Math.min(size - 1, Math.round(percentile / 100 * (size - 1)))];
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("count=%d, mean=%.1f us, p50=%.1f us, p99=%.1f us, max=%.1f us",
+				this.count, this.getMeanNanos() / 1e3, this.getPercentileNanos(50) / 1e3,
+				this.getPercentileNanos(99) / 1e3, this.maximumNanos / 1e3);
+	}
+}
@@ -0,0 +1,124 @@
+package calculator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a concurrent histogram of non-negative values with logarithmic buckets: every
+ * power of two is split into {@link #SUB_BUCKETS} buckets, so a percentile is off by at most
+ * an eighth of its value, whatever the range of the values, with a fixed amount of memory.
+ *
+ * @version 1.0.0
+ *
+ */
+final class LogHistogram {
+
+	// Buckets per power of two, as a number of bits
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records a value, a negative value being recorded as 0.
+	 *
+	 * @param value : recorded value.
+	 *
+	 */
+	void record(final long value) {
+		final long recorded = Math.max(0, value);
+		this.buckets.incrementAndGet(bucketOf(recorded));
+		this.count.increment();
+		this.sum.add(recorded);
+		this.maximum.accumulate(recorded);
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return count[long] : number of values.
+	 */
+	long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 *
+	 * @return mean[double] : mean value, 0 if there's none.
+	 */
+	double getMean() {
+		final long count = this.count.sum();
+		return (count == 0) ? 0 : (double)this.sum.sum() / count;
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return maximum[long] : largest value, 0 if there's none.
+	 */
+	long getMaximum() {
+		return this.maximum.get();
+	}
+
+	/**
+	 * Returns the given percentile, as the upper bound of the bucket it falls into.
+	 *
+	 * @param percentile : percentile between 0 and 100.
+	 *
+	 * @return value[long] : value at the percentile, 0 if there's none.
+	 */
+	long getPercentile(final double percentile) {
+
+		// Counting the values in the buckets, which may be recorded meanwhile
+		long total = 0;
+		for(int index = 0; index < BUCKET_COUNT; index++) {
+			total += this.buckets.get(index);
+		}
+		if(total == 0)	return 0;
+
+		// Finding the bucket of the percentile
+		final long rank = Math.max(1, (long)Math.ceil(percentile / 100 * total));
+		long cumulative = 0;
+		for(int index = 0; index < BUCKET_COUNT; index++) {
+			cumulative += this.buckets.get(index);
+			if(cumulative >= rank) {
+				return Math.min(upperBoundOf(index), this.maximum.get());
+			}
+		}
+		return this.maximum.get();
+	}
+
+	/**
+	 * Returns the index of the bucket of the given value.
+	 *
+	 * @param value : non-negative value.
+	 *
+	 * @return index[int] : index of the bucket.
+	 */
+	private static int bucketOf(final long value) {
+		if(value < SUB_BUCKETS)	return (int)value;
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Returns the largest value of the given bucket.
+	 *
+	 * @param index : index of the bucket.
+	 *
+	 * @return value[long] : largest value of the bucket.
+	 */
+	private static long upperBoundOf(final int index) {
+		if(index < SUB_BUCKETS)	return index;
+		final int shift = index / SUB_BUCKETS - 1;
+		final long lowerBound = (long)(SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,197 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This class evaluates a file of expressions, one per line, the way {@link BatchEvaluator} does,
+ * but reads it through memory-mapped windows of the file instead of a Reader. The bytes are copied
+ * out of a window a chunk at a time, and every line is evaluated straight from the chunk through a
+ * reusable view, so no String is created per line or per token; the results are written through a
+ * fixed direct buffer. The heap used therefore depends on the longest line, not on the size of the file.
+ *
+ * <p>The file is read as ASCII, any other byte making its line invalid just like an unknown
+ * character. The lines are terminated by "\n" or "\r\n".</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public class MappedBatchEvaluator {
+
+	// Size of a mapped window of the file
+	private static final long WINDOW_SIZE = 64L << 20;
+
+	// Initial size of the chunks copied out of a window, grown for a longer line
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	// Size of the output buffer
+	private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+	private final BatchEvaluator evaluator;
+	private final ByteCharSequence line;
+	private final ByteBuffer outputBuffer;
+	private byte[] chunk;
+	private long bytesRead;
+
+	/**
+	 * Constructs a new MappedBatchEvaluator instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	public MappedBatchEvaluator() {
+		this(new CalculatorModel());
+	}
+
+	/**
+	 * Constructs a new MappedBatchEvaluator instance.
+	 * This constructor initializes with provided data or resources.
+	 *
+	 * @param model : a CalculatorModel instance, used only by this evaluator.
+	 *
+	 */
+	public MappedBatchEvaluator(final CalculatorModel model) {
+		this.evaluator = new BatchEvaluator(model);
+		this.line = new ByteCharSequence();
+		this.outputBuffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+		this.chunk = new byte[CHUNK_SIZE];
+	}
+
+	/**
+	 * Evaluates every line of the given file and writes one result line per input line.
+	 * The output is flushed once the file is exhausted, but not closed.
+	 *
+	 * @param input : path of the file.
+	 * @param output : channel of the results.
+	 *
+	 * @return count[long] : number of evaluated lines.
+	 *
+	 * @throws IOException If the file can't be read or the output can't be written.
+	 */
+	public long evaluate(final Path input, final WritableByteChannel output) throws IOException {
+
+		// Initialization
+		long count = 0;
+		int chunkLength = 0;
+		this.bytesRead = 0;
+		this.outputBuffer.clear();
+
+		try(FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+			final long size = channel.size();
+
+			// Mapping a window at a time
+			for(long position = 0; position < size; position += WINDOW_SIZE) {
+				final int length = (int)Math.min(WINDOW_SIZE, size - position);
+				final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+				// Copying a chunk at a time after the incomplete line of the previous chunk
+				for(int windowPosition = 0; windowPosition < length; ) {
+					if(chunkLength == this.chunk.length) {
+						this.chunk = Arrays.copyOf(this.chunk, this.chunk.length << 1);
+					}
+					final int copied = Math.min(this.chunk.length - chunkLength, length - windowPosition);
+					window.get(windowPosition, this.chunk, chunkLength, copied);
+					windowPosition += copied;
+					chunkLength += copied;
+
+					// Evaluating the complete lines of the chunk
+					int start = 0;
+					int end;
+					while((end = indexOfNewLine(this.chunk, start, chunkLength)) >= 0) {
+						this.evaluateLine(start, end, output);
+						count++;
+						start = end + 1;
+					}
+					System.arraycopy(this.chunk, start, this.chunk, 0, chunkLength - start);
+					chunkLength -= start;
+				}
+				this.bytesRead = position + length;
+			}
+		}
+
+		// Evaluating the last line when it has no line terminator
+		if(chunkLength > 0) {
+			this.evaluateLine(0, chunkLength, output);
+			count++;
+		}
+
+		// Flushing
+		this.flush(output);
+		return count;
+	}
+
+	/**
+	 * Returns the number of bytes read by the last evaluation.
+	 *
+	 * @return bytes[long] : number of bytes read.
+	 */
+	public long getBytesRead() {
+		return this.bytesRead;
+	}
+
+	/**
+	 * Evaluates a line of the chunk and writes its result.
+	 *
+	 * @param start : index of the first byte of the line (inclusive).
+	 * @param end : index of the line terminator (exclusive).
+	 * @param output : channel of the results.
+	 *
+	 * @throws IOException If the output can't be written.
+	 */
+	private void evaluateLine(final int start, final int end, final WritableByteChannel output) throws IOException {
+
+		// Dropping the carriage return of "\r\n"
+		final int lineEnd = (end > start && this.chunk[end - 1] == '\r') ? end - 1 : end;
+		final CharSequence result = this.evaluator.evaluate(this.line.reset(this.chunk, start, lineEnd));
+
+		// Writing the result, which is made of ASCII characters only, a buffer at a time when it's longer than the buffer
+		if(this.outputBuffer.remaining() <= result.length()) {
+			this.flush(output);
+		}
+		for(int index = 0; index < result.length(); index++) {
+			if(!this.outputBuffer.hasRemaining()) {
+				this.flush(output);
+			}
+			this.outputBuffer.put((byte)result.charAt(index));
+		}
+		if(!this.outputBuffer.hasRemaining()) {
+			this.flush(output);
+		}
+		this.outputBuffer.put((byte)'\n');
+	}
+
+	/**
+	 * Writes the buffered results.
+	 *
+	 * @param output : channel of the results.
+	 *
+	 * @throws IOException If the output can't be written.
+	 */
+	private void flush(final WritableByteChannel output) throws IOException {
+		this.outputBuffer.flip();
+		while(this.outputBuffer.hasRemaining()) {
+			output.write(this.outputBuffer);
+		}
+		this.outputBuffer.clear();
+	}
+
+	/**
+	 * Returns the index of the next '\n' of the chunk.
+	 *
+	 * @param chunk : bytes of the chunk.
+	 * @param start : index to start from.
+	 * @param limit : index to stop at.
+	 *
+	 * @return index[int] : index of the '\n', or -1 if there's none.
+	 */
+	private static int indexOfNewLine(final byte[] chunk, final int start, final int limit) {
+		for(int index = start; index < limit; index++) {
+			if(chunk[index] == '\n')	return index;
+		}
+		return -1;
+	}
+}
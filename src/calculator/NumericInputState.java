@@ -0,0 +1,85 @@
+package calculator;
+
+/**
+ * This class tracks whether the text entered so far is a possible numeric value, so that every
+ * digit or decimal point typed is validated in constant time, instead of matching
+ * {@code ^(\-?[0-9]+(\.[0-9]*)?)?$} against the whole text with the character appended.
+ * It gives the very same answers as {@link TokenClassifier#isNumeric(CharSequence)} as long as
+ * it's reset whenever the text is changed by anything else than {@link #append(char)}.
+ *
+ * @version 1.0.0
+ *
+ */
+final class NumericInputState {
+
+	// States of the text
+	private static final int EMPTY = 0;			// ""
+	private static final int SIGN = 1;			// "-"
+	private static final int INTEGER = 2;		// "-12"
+	private static final int DECIMAL = 3;		// "-12.5" or "12."
+	private static final int INVALID = 4;		// Anything else, like "ERROR"
+
+	private int state;
+
+	/**
+	 * Constructs a new NumericInputState instance for an empty text.
+	 */
+	NumericInputState() {
+		this.state = EMPTY;
+	}
+
+	/**
+	 * Sets the state of an empty text.
+	 */
+	void clear() {
+		this.state = EMPTY;
+	}
+
+	/**
+	 * Sets the state of the given text, which takes a pass over it.
+	 *
+	 * @param text : the whole text.
+	 *
+	 */
+	void reset(final CharSequence text) {
+		if(text.length() == 0) {
+			this.state = EMPTY;
+		} else if(text.length() == 1 && text.charAt(0) == '-') {
+			this.state = SIGN;
+		} else if(!TokenClassifier.isNumeric(text)) {
+			this.state = INVALID;
+		} else {
+			this.state = TokenClassifier.isDecimal(text) ? DECIMAL : INTEGER;
+		}
+	}
+
+	/**
+	 * Returns true if the text would still be a possible numeric value with the given character appended.
+	 *
+	 * @param character : a digit or a decimal point.
+	 *
+	 * @return [boolean]: returns true if the character can be appended.
+	 */
+	boolean accepts(final char character) {
+		if(character == '.') {
+			return this.state == INTEGER;
+		}
+		return TokenClassifier.isDigit(character) && this.state != INVALID;
+	}
+
+	/**
+	 * Moves to the state of the text with the given character appended.
+	 *
+	 * @param character : the appended character.
+	 *
+	 */
+	void append(final char character) {
+		if(character == '.') {
+			this.state = (this.state == INTEGER) ? DECIMAL : INVALID;
+		} else if(!TokenClassifier.isDigit(character)) {
+			this.state = (this.state == EMPTY && character == '-') ? SIGN : INVALID;
+		} else if(this.state != DECIMAL && this.state != INVALID) {
+			this.state = INTEGER;
+		}
+	}
+}
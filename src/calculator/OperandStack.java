@@ -0,0 +1,483 @@
+package calculator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * This class is a primitive, unsynchronized stack of operands used while evaluating an expression.
+ * Each slot keeps both the long and the double value of an operand along with the flags
+ * that the original String operands were checked for, so no operand is re-parsed or
+ * formatted between the operations.
+ *
+ * @version 1.0.0
+ *
+ */
+final class OperandStack {
+
+	// Initial capacity of the stack
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// Magnitude from which Double.toString() switches to the scientific notation
+	private static final double SCIENTIFIC_NOTATION_THRESHOLD = 1e7;
+
+	// Powers of ten that are exactly representable as double
+	private static final double[] EXACT_POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	// Largest mantissa of 15 digits, converted exactly by parseDouble()
+	private static final long MAXIMUM_EXACT_MANTISSA = 999_999_999_999_999L;
+
+	// Parallel arrays, one entry per operand
+	private long[] longValues;
+	private double[] doubleValues;
+	private boolean[] decimalValues;
+	private boolean[] zeroDivisors;
+	private boolean[] invalidLongValues;
+	private int size;
+
+	/**
+	 * Constructs a new OperandStack instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	OperandStack() {
+		this.longValues = new long[DEFAULT_CAPACITY];
+		this.doubleValues = new double[DEFAULT_CAPACITY];
+		this.decimalValues = new boolean[DEFAULT_CAPACITY];
+		this.zeroDivisors = new boolean[DEFAULT_CAPACITY];
+		this.invalidLongValues = new boolean[DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+
+	/**
+	 * Returns true if there are no operands in the stack.
+	 *
+	 * @return [boolean]: returns true when the stack is empty.
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Returns the number of operands in the stack.
+	 *
+	 * @return size[int] : number of operands.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Removes all the operands from the stack.
+	 */
+	void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Pushes a long result of an operation into the stack.
+	 *
+	 * @param value : long value of the operand.
+	 *
+	 */
+	void pushLong(final long value) {
+		final int index = this.reserve();
+		this.longValues[index] = value;
+		this.doubleValues[index] = value;
+		this.decimalValues[index] = false;
+		this.zeroDivisors[index] = value == 0;
+		this.invalidLongValues[index] = false;
+	}
+
+	/**
+	 * Pushes a double result of an operation into the stack.
+	 * A result of magnitude 10^7 or more used to be formatted in the computerized
+	 * scientific notation (like "1.0E7"), which isn't treated as a decimal value and
+	 * can't be parsed as a long value; such results are flagged the same way.
+	 *
+	 * @param value : double value of the operand.
+	 *
+	 */
+	void pushDouble(final double value) {
+		final int index = this.reserve();
+		final boolean isScientificNotation = !(Math.abs(value) < SCIENTIFIC_NOTATION_THRESHOLD);
+		this.longValues[index] = 0;
+		this.doubleValues[index] = value;
+		this.decimalValues[index] = !isScientificNotation;
+		this.zeroDivisors[index] = value == 0.0 && Double.doubleToRawLongBits(value) == 0L;
+		this.invalidLongValues[index] = isScientificNotation;
+	}
+
+	/**
+	 * Pushes a decimal operand given as its value without the decimal point and its scale,
+	 * like 1250 and 2 for "12.50", exactly as the literal would have been parsed.
+	 *
+	 * @param unscaledValue : value of the operand without its decimal point.
+	 * @param scale : number of digits after the decimal point.
+	 *
+	 */
+	void pushDecimal(final long unscaledValue, final int scale) {
+		final int index = this.reserve();
+		this.longValues[index] = 0;
+		this.decimalValues[index] = true;
+		this.zeroDivisors[index] = unscaledValue == 0;
+		this.invalidLongValues[index] = false;
+
+		// Converting with a single exact division, like parseDouble()
+		final long magnitude = Math.abs(unscaledValue);
+		if(magnitude >= 0 && magnitude <= MAXIMUM_EXACT_MANTISSA && scale < EXACT_POWERS_OF_TEN.length) {
+			final double value = magnitude / EXACT_POWERS_OF_TEN[scale];
+			this.doubleValues[index] = (unscaledValue < 0) ? -value : value;
+		} else {
+			final StringBuilder literal = new StringBuilder(24);
+			BinaryFormat.appendNumber(literal, unscaledValue, scale, true);
+			this.doubleValues[index] = Double.parseDouble(literal.toString());
+		}
+	}
+
+	/**
+	 * Pushes a copy of an operand of the given stack into this stack.
+	 *
+	 * @param source : stack containing the operand.
+	 * @param slot : index of the operand within the source, 0 being the bottom.
+	 *
+	 */
+	void pushFrom(final OperandStack source, final int slot) {
+		this.replace(this.reserve(), source, slot);
+	}
+
+	/**
+	 * Replaces the operand at the given slot with a copy of an operand of the given stack.
+	 *
+	 * @param index : index of the operand to replace, 0 being the bottom.
+	 * @param source : stack containing the operand.
+	 * @param slot : index of the operand within the source, 0 being the bottom.
+	 *
+	 */
+	void replace(final int index, final OperandStack source, final int slot) {
+		this.longValues[index] = source.longValues[slot];
+		this.doubleValues[index] = source.doubleValues[slot];
+		this.decimalValues[index] = source.decimalValues[slot];
+		this.zeroDivisors[index] = source.zeroDivisors[slot];
+		this.invalidLongValues[index] = source.invalidLongValues[slot];
+	}
+
+	/**
+	 * Pushes a copy of the operand at the given slot into the given stack of the exact arithmetic,
+	 * a long value as it is and any other value through its double value.
+	 *
+	 * @param target : stack of the exact arithmetic.
+	 * @param slot : index of the operand, 0 being the bottom.
+	 *
+	 * @throws NumberFormatException If the operand isn't a finite number.
+	 */
+	void copyTo(final ExactOperandStack target, final int slot) throws NumberFormatException {
+		if(this.decimalValues[slot] || this.invalidLongValues[slot]) {
+			target.pushDouble(this.doubleValues[slot]);
+		} else {
+			target.pushNumber(this.longValues[slot], 0);
+		}
+	}
+
+	/**
+	 * Parses the given literal and pushes it into the stack.
+	 * The literal must match {@code ^\-?[0-9]+(\.[0-9]*)?$}.
+	 *
+	 * @param literal : String value of the operand.
+	 *
+	 * @throws NumberFormatException If the literal isn't a numeric value.
+	 */
+	void pushLiteral(final CharSequence literal) throws NumberFormatException {
+		this.pushLiteral(literal, 0, literal.length());
+	}
+
+	/**
+	 * Parses the given range of characters and pushes it into the stack.
+	 * The range must match {@code ^\-?[0-9]+(\.[0-9]*)?$}.
+	 *
+	 * @param literal : character sequence containing the operand.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @throws NumberFormatException If the literal isn't a numeric value.
+	 */
+	void pushLiteral(final CharSequence literal, final int start, final int end) throws NumberFormatException {
+
+		// Validating the literal
+		if(start == end || !TokenClassifier.isNumeric(literal, start, end)) {
+			throw new NumberFormatException("For input string: \"" + literal.subSequence(start, end) + "\"");
+		}
+
+		// Initialization
+		final int index = this.reserve();
+		final boolean isNegative = literal.charAt(start) == '-';
+		final boolean isDecimal = TokenClassifier.isDecimal(literal, start, end);
+
+		this.decimalValues[index] = isDecimal;
+		this.zeroDivisors[index] = TokenClassifier.isZeroDivisor(literal, start, end);
+		this.invalidLongValues[index] = false;
+		this.longValues[index] = 0;
+
+		// Parsing the value
+		if(isDecimal) {
+			this.doubleValues[index] = parseDouble(literal, start, end, isNegative);
+		} else if(this.parseLong(index, literal, isNegative ? start + 1 : start, end, isNegative)) {
+			final long value = this.longValues[index];
+			this.doubleValues[index] = (value == 0 && isNegative) ? -0.0 : value;
+		} else {
+			this.invalidLongValues[index] = true;
+			this.doubleValues[index] = Double.parseDouble(literal.subSequence(start, end).toString());
+		}
+	}
+
+	/**
+	 * Writes the operand at the given slot exactly as it's kept, in 17 bytes.
+	 *
+	 * @param output : output the operand is written into.
+	 * @param slot : index of the operand, 0 being the bottom.
+	 *
+	 * @throws IOException If the operand can't be written.
+	 */
+	void write(final DataOutput output, final int slot) throws IOException {
+		output.writeByte((this.decimalValues[slot] ? 1 : 0) | (this.zeroDivisors[slot] ? 2 : 0) | (this.invalidLongValues[slot] ? 4 : 0));
+		output.writeLong(this.longValues[slot]);
+		output.writeDouble(this.doubleValues[slot]);
+	}
+
+	/**
+	 * Reads an operand written by {@link #write(DataOutput, int)} and pushes it into the stack.
+	 *
+	 * @param input : input the operand is read from.
+	 *
+	 * @throws IOException If the operand can't be read.
+	 */
+	void read(final DataInput input) throws IOException {
+		final int flags = input.readByte();
+		final long longValue = input.readLong();
+		final double doubleValue = input.readDouble();
+		final int index = this.reserve();
+		this.decimalValues[index] = (flags & 1) != 0;
+		this.zeroDivisors[index] = (flags & 2) != 0;
+		this.invalidLongValues[index] = (flags & 4) != 0;
+		this.longValues[index] = longValue;
+		this.doubleValues[index] = doubleValue;
+	}
+
+	/**
+	 * Returns true if the operand at given depth from the top is a decimal value.
+	 *
+	 * @param depth : depth from top of the stack, 0 being the top.
+	 *
+	 * @return [boolean]: returns true for a decimal operand.
+	 */
+	boolean isDecimal(final int depth) {
+		return this.decimalValues[this.indexOf(depth)];
+	}
+
+	/**
+	 * Returns true if the operand at given depth from the top is treated as a zero divisor.
+	 *
+	 * @param depth : depth from top of the stack, 0 being the top.
+	 *
+	 * @return [boolean]: returns true for a zero divisor.
+	 */
+	boolean isZeroDivisor(final int depth) {
+		return this.zeroDivisors[this.indexOf(depth)];
+	}
+
+	/**
+	 * Returns true if the operand at given depth from the top is a long value,
+	 * being neither a decimal value nor out of the range of long.
+	 *
+	 * @param depth : depth from top of the stack, 0 being the top.
+	 *
+	 * @return [boolean]: returns true for a long operand.
+	 */
+	boolean isLong(final int depth) {
+		final int index = this.indexOf(depth);
+		return !this.decimalValues[index] && !this.invalidLongValues[index];
+	}
+
+	/**
+	 * Returns the long value of the operand at given depth from the top, without popping it.
+	 *
+	 * @param depth : depth from top of the stack, 0 being the top.
+	 *
+	 * @return value[long] : long value of the operand, meaningful only if {@link #isLong(int)}.
+	 */
+	long peekLong(final int depth) {
+		return this.longValues[this.indexOf(depth)];
+	}
+
+	/**
+	 * Pops the top operand as a long value.
+	 *
+	 * @return value[long] : long value of the operand.
+	 *
+	 * @throws NumberFormatException If the operand doesn't fit into a long value.
+	 */
+	long popLong() throws NumberFormatException {
+		final int index = this.indexOf(0);
+		if(this.invalidLongValues[index]) {
+			throw new NumberFormatException("Value out of range for long");
+		}
+		this.size--;
+		return this.longValues[index];
+	}
+
+	/**
+	 * Pops the top operand as a double value.
+	 *
+	 * @return value[double] : double value of the operand.
+	 */
+	double popDouble() {
+		final int index = this.indexOf(0);
+		this.size--;
+		return this.doubleValues[index];
+	}
+
+	/**
+	 * Removes the top operand.
+	 */
+	void pop() {
+		this.indexOf(0);
+		this.size--;
+	}
+
+	/**
+	 * Appends the top result to the given StringBuilder, formatted the way a
+	 * String result of an operation used to be, and pops it.
+	 *
+	 * @param output : StringBuilder the formatted value is appended to.
+	 *
+	 */
+	void popTo(final StringBuilder output) {
+		final int index = this.indexOf(0);
+		this.size--;
+		this.appendTo(output, index);
+	}
+
+	/**
+	 * Appends the operand at the given slot to the given StringBuilder, formatted
+	 * the way a String result of an operation used to be.
+	 *
+	 * @param output : StringBuilder the formatted value is appended to.
+	 * @param slot : index of the operand, 0 being the bottom.
+	 *
+	 */
+	void appendTo(final StringBuilder output, final int slot) {
+		if(this.decimalValues[slot] || this.invalidLongValues[slot]) {
+			output.append(this.doubleValues[slot]);
+		} else {
+			output.append(this.longValues[slot]);
+		}
+	}
+
+	/**
+	 * Returns the index of the operand at given depth from the top.
+	 *
+	 * @param depth : depth from top of the stack, 0 being the top.
+	 *
+	 * @return index[int] : index within the arrays.
+	 */
+	private int indexOf(final int depth) {
+		if(depth >= this.size) {
+			throw new EmptyStackException();
+		}
+		return this.size - 1 - depth;
+	}
+
+	/**
+	 * Reserves a slot on top of the stack, growing the arrays when needed.
+	 *
+	 * @return index[int] : index of the reserved slot.
+	 */
+	private int reserve() {
+		if(this.size == this.longValues.length) {
+			final int capacity = this.size << 1;
+			this.longValues = Arrays.copyOf(this.longValues, capacity);
+			this.doubleValues = Arrays.copyOf(this.doubleValues, capacity);
+			this.decimalValues = Arrays.copyOf(this.decimalValues, capacity);
+			this.zeroDivisors = Arrays.copyOf(this.zeroDivisors, capacity);
+			this.invalidLongValues = Arrays.copyOf(this.invalidLongValues, capacity);
+		}
+		return this.size++;
+	}
+
+	/**
+	 * Parses the digits in the given range as a long value into the given slot, like Long.parseLong().
+	 *
+	 * @param index : index of the slot.
+	 * @param literal : character sequence containing the digits.
+	 * @param start : index of the first digit (inclusive).
+	 * @param end : index of the last digit (exclusive).
+	 * @param isNegative : true if the value is negative.
+	 *
+	 * @return [boolean]: returns false if the value doesn't fit into a long value.
+	 */
+	private boolean parseLong(final int index, final CharSequence literal, final int start, final int end, final boolean isNegative) {
+
+		// Accumulating negatively to cover the whole range of long
+		final long limit = isNegative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		final long multiplicationLimit = limit / 10;
+		long result = 0;
+		for(int position = start; position < end; position++) {
+			final int digit = literal.charAt(position) - '0';
+			if(result < multiplicationLimit)	return false;
+			result *= 10;
+			if(result < limit + digit)	return false;
+			result -= digit;
+		}
+
+		this.longValues[index] = isNegative ? result : -result;
+		return true;
+	}
+
+	/**
+	 * Parses the given decimal literal, like Double.parseDouble().
+	 * Literals with at most 15 significant digits are converted with a single exact division,
+	 * which is correctly rounded; others are handed over to Double.parseDouble().
+	 *
+	 * @param literal : character sequence containing the operand.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 * @param isNegative : true if the value is negative.
+	 *
+	 * @return value[double] : parsed value.
+	 */
+	private static double parseDouble(final CharSequence literal, final int start, final int end, final boolean isNegative) {
+
+		// Initialization
+		long mantissa = 0;
+		int digits = 0;
+		int fractionDigits = 0;
+		boolean afterDecimalPoint = false;
+
+		// Collecting the significant digits
+		for(int index = isNegative ? start + 1 : start; index < end; index++) {
+			final char character = literal.charAt(index);
+			if(character == '.') {
+				afterDecimalPoint = true;
+				continue;
+			}
+			if(mantissa != 0 || character != '0')	digits++;
+			if(digits > 15) {
+				return Double.parseDouble(literal.subSequence(start, end).toString());
+			}
+			mantissa = mantissa * 10 + (character - '0');
+			if(afterDecimalPoint)	fractionDigits++;
+		}
+
+		// Falling back when the scale isn't exactly representable
+		if(fractionDigits >= EXACT_POWERS_OF_TEN.length) {
+			return Double.parseDouble(literal.subSequence(start, end).toString());
+		}
+
+		final double value = mantissa / EXACT_POWERS_OF_TEN[fractionDigits];
+		return isNegative ? -value : value;
+	}
+}
@@ -0,0 +1,201 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * This class is a binary operator of the calculator, made available to the keypad, to the
+ * parsing and to every evaluation once it's registered with {@link OperatorRegistry#register(Operator)}.
+ *
+ * <p>An operator declares its symbol, its precedence and its associativity, and supplies separate
+ * implementations on primitive values, so that no operand is ever boxed: the long implementation
+ * is used when both operands are whole numbers, and the double implementation otherwise, its result
+ * being rounded to two decimal places. An operator without a long implementation, like "/", is
+ * always calculated as double, a whole result being displayed as a whole number.
+ * The exact arithmetic uses the exact implementation, or the double one when there's none.</p>
+ *
+ * <p>An operator is immutable and can be shared across threads.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class Operator {
+
+	/**
+	 * Side from which a sequence of operators of the same precedence is performed.
+	 */
+	public enum Associativity {
+
+		/** "a op b op c" is "(a op b) op c". */
+		LEFT,
+
+		/** "a op b op c" is "a op (b op c)". */
+		RIGHT
+	}
+
+	/**
+	 * This interface is the implementation of an operator in the exact arithmetic.
+	 */
+	@FunctionalInterface
+	public interface ExactOperation {
+
+		/**
+		 * Applies the operator on two arbitrary precision values.
+		 *
+		 * @param operand1 : left operand.
+		 * @param operand2 : right operand.
+		 * @param arithmetic : scale and rounding of the results, which the result is rounded to afterwards.
+		 *
+		 * @return result[BigDecimal] : result of the operation.
+		 *
+		 * @throws ArithmeticException If the operation is undefined for the operands.
+		 */
+		BigDecimal apply(BigDecimal operand1, BigDecimal operand2, ExactArithmetic arithmetic) throws ArithmeticException;
+	}
+
+	private final String symbol;
+	private final int precedence;
+	private final Associativity associativity;
+	private final boolean isDivision;
+	private final LongBinaryOperator longOperation;
+	private final DoubleBinaryOperator doubleOperation;
+	private final ExactOperation exactOperation;
+
+	/**
+	 * Constructs a new Operator instance.
+	 *
+	 * @param symbol : symbol of the operator, like "^".
+	 * @param precedence : precedence of the operator, the higher being performed first.
+	 * @param associativity : associativity of the operator.
+	 * @param longOperation : implementation on whole numbers, or null to calculate them as double.
+	 * @param doubleOperation : implementation on decimal numbers.
+	 *
+	 */
+	public Operator(final String symbol, final int precedence, final Associativity associativity,
+			final LongBinaryOperator longOperation, final DoubleBinaryOperator doubleOperation) {
+		this(symbol, precedence, associativity, false, longOperation, doubleOperation, null);
+	}
+
+	/**
+	 * Constructs a new Operator instance.
+	 *
+	 * @param symbol : symbol of the operator, like "//".
+	 * @param precedence : precedence of the operator, the higher being performed first.
+	 * @param associativity : associativity of the operator.
+	 * @param isDivision : true if a zero right operand fails with "Divide by zero".
+	 * @param longOperation : implementation on whole numbers, or null to calculate them as double.
+	 * @param doubleOperation : implementation on decimal numbers.
+	 * @param exactOperation : implementation in the exact arithmetic, or null to use the double one.
+	 *
+	 */
+	public Operator(final String symbol, final int precedence, final Associativity associativity, final boolean isDivision,
+			final LongBinaryOperator longOperation, final DoubleBinaryOperator doubleOperation, final ExactOperation exactOperation) {
+		if(symbol == null || symbol.isEmpty() || associativity == null || doubleOperation == null) {
+			throw new IllegalArgumentException("An operator needs a symbol, an associativity and a double implementation");
+		}
+		this.symbol = symbol;
+		this.precedence = precedence;
+		this.associativity = associativity;
+		this.isDivision = isDivision;
+		this.longOperation = longOperation;
+		this.doubleOperation = doubleOperation;
+		this.exactOperation = exactOperation;
+	}
+
+	/**
+	 * Returns the symbol of this operator.
+	 *
+	 * @return symbol[String] : symbol of the operator.
+	 */
+	public String getSymbol() {
+		return this.symbol;
+	}
+
+	/**
+	 * Returns the precedence of this operator.
+	 *
+	 * @return precedence[int] : precedence of the operator, the higher being performed first.
+	 */
+	public int getPrecedence() {
+		return this.precedence;
+	}
+
+	/**
+	 * Returns the associativity of this operator.
+	 *
+	 * @return associativity[Associativity] : associativity of the operator.
+	 */
+	public Associativity getAssociativity() {
+		return this.associativity;
+	}
+
+	/**
+	 * Returns true if a zero right operand fails with "Divide by zero".
+	 *
+	 * @return [boolean]: returns true for a division.
+	 */
+	public boolean isDivision() {
+		return this.isDivision;
+	}
+
+	/**
+	 * Returns true if whole numbers are calculated as long values.
+	 *
+	 * @return [boolean]: returns true if the operator has a long implementation.
+	 */
+	public boolean hasLongOperation() {
+		return this.longOperation != null;
+	}
+
+	/**
+	 * Applies this operator on two long values.
+	 *
+	 * @param operand1 : left operand.
+	 * @param operand2 : right operand.
+	 *
+	 * @return result[long] : result of the operation.
+	 *
+	 * @throws ArithmeticException If the operation is undefined for the operands.
+	 */
+	long applyAsLong(final long operand1, final long operand2) throws ArithmeticException {
+		return this.longOperation.applyAsLong(operand1, operand2);
+	}
+
+	/**
+	 * Applies this operator on two double values.
+	 *
+	 * @param operand1 : left operand.
+	 * @param operand2 : right operand.
+	 *
+	 * @return result[double] : result of the operation, not rounded.
+	 */
+	double applyAsDouble(final double operand1, final double operand2) {
+		return this.doubleOperation.applyAsDouble(operand1, operand2);
+	}
+
+	/**
+	 * Applies this operator on two arbitrary precision values, through the double implementation
+	 * when there's no exact one.
+	 *
+	 * @param operand1 : left operand.
+	 * @param operand2 : right operand.
+	 * @param arithmetic : scale and rounding of the results.
+	 *
+	 * @return result[BigDecimal] : result of the operation, not rounded.
+	 *
+	 * @throws ArithmeticException If the operation is undefined for the operands.
+	 * @throws NumberFormatException If the double result isn't a finite number.
+	 */
+	BigDecimal applyExact(final BigDecimal operand1, final BigDecimal operand2, final ExactArithmetic arithmetic) throws ArithmeticException, NumberFormatException {
+		if(this.exactOperation != null) {
+			return this.exactOperation.apply(operand1, operand2, arithmetic);
+		}
+		return BigDecimal.valueOf(this.doubleOperation.applyAsDouble(operand1.doubleValue(), operand2.doubleValue()));
+	}
+
+	@Override
+	public String toString() {
+		return "Operator[" + this.symbol + ", precedence=" + this.precedence + ", " + this.associativity + "]";
+	}
+}
@@ -0,0 +1,301 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class holds the operators of the calculator. Every evaluation refers to an operator by a
+ * character code: the symbol itself for a symbol of a single character, like '+', and a character
+ * of the private use area for a longer symbol, like "//".
+ *
+ * <p>The built-in operators are "+" and "-", performed from the last to the first as the calculator
+ * always has, so "a - b + c" is "a - (b + c)"; "*", "/", "%" and the floor division "//", performed
+ * from the first to the last; and the power "^", performed from the last to the first above all of them.
+ * Any other operator can be registered, before the GUI is created for it to get a button of the keypad,
+ * with a precedence higher than the one of "+" and "-".</p>
+ *
+ * <p>The registry is thread-safe; the lookups don't take any lock.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+public final class OperatorRegistry {
+
+	/** Precedence of "+" and "-", the lowest one. */
+	public static final int ADDITIVE_PRECEDENCE = 1;
+
+	/** Precedence of "*", "/", "%" and "//". */
+	public static final int MULTIPLICATIVE_PRECEDENCE = 2;
+
+	/** Precedence of "^". */
+	public static final int POWER_PRECEDENCE = 3;
+
+	// Largest exponent of a power calculated exactly
+	private static final int MAXIMUM_EXACT_EXPONENT = 9_999;
+
+	// Code of the first operator whose symbol has more than one character
+	private static final char FIRST_EXTENDED_CODE = '\uE000';
+
+	// Labels of the keypad that aren't operators
+	private static final List<String> RESERVED_LABELS = List.of("C", "BS", "=", "+/-");
+
+	/**
+	 * Snapshot of the registered operators, replaced as a whole on every registration.
+	 *
+	 * @param operators : the operators, in the order they were registered.
+	 * @param codes : code of every operator.
+	 * @param asciiOperators : operator of every ASCII code.
+	 * @param startsLongerSymbol : true for the ASCII characters a symbol of more than one character starts with.
+	 */
+	private record Table(Operator[] operators, char[] codes, Operator[] asciiOperators, boolean[] startsLongerSymbol) {
+	}
+
+	private static volatile Table table = new Table(new Operator[0], new char[0], new Operator[128], new boolean[128]);
+
+	static {
+		add(new Operator("+", ADDITIVE_PRECEDENCE, Operator.Associativity.RIGHT, false, (operand1, operand2) -> operand1 + operand2, (operand1, operand2) -> operand1 + operand2, null));
+		add(new Operator("-", ADDITIVE_PRECEDENCE, Operator.Associativity.RIGHT, false, (operand1, operand2) -> operand1 - operand2, (operand1, operand2) -> operand1 - operand2, null));
+		add(new Operator("*", MULTIPLICATIVE_PRECEDENCE, Operator.Associativity.LEFT, false, (operand1, operand2) -> operand1 * operand2, (operand1, operand2) -> operand1 * operand2, null));
+		add(new Operator("/", MULTIPLICATIVE_PRECEDENCE, Operator.Associativity.LEFT, true, null, (operand1, operand2) -> operand1 / operand2, null));
+		add(new Operator("%", MULTIPLICATIVE_PRECEDENCE, Operator.Associativity.LEFT, false, (operand1, operand2) -> operand1 % operand2, (operand1, operand2) -> operand1 % operand2, null));
+		add(new Operator("^", POWER_PRECEDENCE, Operator.Associativity.RIGHT, false, null, Math::pow, OperatorRegistry::power));
+		add(new Operator("//", MULTIPLICATIVE_PRECEDENCE, Operator.Associativity.LEFT, true, Math::floorDiv,
+				(operand1, operand2) -> Math.floor(operand1 / operand2),
+				(operand1, operand2, arithmetic) -> operand1.divide(operand2, 0, RoundingMode.FLOOR)));
+	}
+
+	/**
+	 * Prevents the instantiation of this utility class.
+	 */
+	private OperatorRegistry() {
+	}
+
+	/**
+	 * Registers an operator, which every evaluation, the parsing and the keypad of the
+	 * GUI created afterwards then know.
+	 *
+	 * @param operator : the operator.
+	 *
+	 * @throws IllegalArgumentException If the symbol is already used, isn't made of symbol characters
+	 * (no letter, digit, whitespace, '.' or '='), or the precedence isn't higher than {@link #ADDITIVE_PRECEDENCE}.
+	 */
+	public static void register(final Operator operator) throws IllegalArgumentException {
+		if(operator.getPrecedence() <= ADDITIVE_PRECEDENCE) {
+			throw new IllegalArgumentException("The precedence of " + operator.getSymbol() + " must be higher than " + ADDITIVE_PRECEDENCE);
+		}
+		add(operator);
+	}
+
+	/**
+	 * Returns the registered operators.
+	 *
+	 * @return operators[List] : the operators, in the order they were registered.
+	 */
+	public static List<Operator> getOperators() {
+		return List.of(table.operators());
+	}
+
+	/**
+	 * Returns the operator with the given symbol.
+	 *
+	 * @param symbol : symbol of the operator.
+	 *
+	 * @return operator[Operator] : the operator, or null if there's none.
+	 */
+	public static Operator forSymbol(final CharSequence symbol) {
+		return get(codeOf(symbol, 0, symbol.length()));
+	}
+
+	/**
+	 * Returns the operator with the given code.
+	 *
+	 * @param code : code of the operator.
+	 *
+	 * @return operator[Operator] : the operator, or null if there's none.
+	 */
+	static Operator get(final char code) {
+		final Table table = OperatorRegistry.table;
+		if(code < 128) {
+			return table.asciiOperators()[code];
+		}
+		final char[] codes = table.codes();
+		for(int index = 0; index < codes.length; index++) {
+			if(codes[index] == code)	return table.operators()[index];
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the code of the operator whose symbol is the given range.
+	 *
+	 * @param text : character sequence containing the symbol.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return code[char] : code of the operator, or 0 if there's none.
+	 */
+	static char codeOf(final CharSequence text, final int start, final int end) {
+		final Table table = OperatorRegistry.table;
+		if(end - start == 1) {
+			final char character = text.charAt(start);
+			return (character < 128 && table.asciiOperators()[character] != null) ? character : findCode(table, text, start, end);
+		}
+		return findCode(table, text, start, end);
+	}
+
+	/**
+	 * Returns the code of the operator with the longest symbol starting at the given index.
+	 *
+	 * @param line : character sequence containing the symbol.
+	 * @param index : index of the first character of the symbol.
+	 *
+	 * @return code[char] : code of the operator, or 0 if there's none.
+	 */
+	static char match(final CharSequence line, final int index) {
+		final Table table = OperatorRegistry.table;
+		final char character = line.charAt(index);
+		if(character < 128 && !table.startsLongerSymbol()[character]) {
+			return (table.asciiOperators()[character] != null) ? character : 0;
+		}
+
+		// Looking for the longest symbol
+		char code = 0;
+		int length = 0;
+		for(int slot = 0; slot < table.operators().length; slot++) {
+			final String symbol = table.operators()[slot].getSymbol();
+			if(symbol.length() > length && regionMatches(line, index, symbol)) {
+				code = table.codes()[slot];
+				length = symbol.length();
+			}
+		}
+		return code;
+	}
+
+	/**
+	 * Returns the length of the symbol of the operator with the given code.
+	 *
+	 * @param code : code of an operator.
+	 *
+	 * @return length[int] : number of characters of the symbol.
+	 */
+	static int symbolLength(final char code) {
+		return (code < FIRST_EXTENDED_CODE) ? 1 : get(code).getSymbol().length();
+	}
+
+	/**
+	 * Returns true if the pending operation must be performed before the next operator is pushed,
+	 * that is when it has a higher precedence, or the same one and the next operator is left associative.
+	 *
+	 * @param pending : code of the operator waiting for its operation to be performed.
+	 * @param next : code of the operator read after its right operand.
+	 *
+	 * @return [boolean]: returns true if the pending operation comes first.
+	 */
+	static boolean isPerformedBefore(final char pending, final char next) {
+		final Operator pendingOperator = get(pending);
+		final Operator nextOperator = get(next);
+		return pendingOperator.getPrecedence() > nextOperator.getPrecedence()
+				|| (pendingOperator.getPrecedence() == nextOperator.getPrecedence() && nextOperator.getAssociativity() == Operator.Associativity.LEFT);
+	}
+
+	/**
+	 * Adds an operator to the registry, giving it its code.
+	 *
+	 * @param operator : the operator.
+	 *
+	 * @throws IllegalArgumentException If the symbol is already used or isn't made of symbol characters.
+	 */
+	private static synchronized void add(final Operator operator) throws IllegalArgumentException {
+
+		// Checking the symbol
+		final String symbol = operator.getSymbol();
+		for(int index = 0; index < symbol.length(); index++) {
+			final char character = symbol.charAt(index);
+			if(Character.isLetterOrDigit(character) || Character.isWhitespace(character) || Character.isISOControl(character)
+					|| character == '.' || character == '=' || (character >= FIRST_EXTENDED_CODE && character <= '\uF8FF')) {
+				throw new IllegalArgumentException("Not a symbol: " + symbol);
+			}
+		}
+		if(RESERVED_LABELS.contains(symbol) || forSymbol(symbol) != null) {
+			throw new IllegalArgumentException("Symbol already used: " + symbol);
+		}
+
+		// Building the new table
+		final Table table = OperatorRegistry.table;
+		final int count = table.operators().length;
+		final Operator[] operators = Arrays.copyOf(table.operators(), count + 1);
+		final char[] codes = Arrays.copyOf(table.codes(), count + 1);
+		final Operator[] asciiOperators = table.asciiOperators().clone();
+		final boolean[] startsLongerSymbol = table.startsLongerSymbol().clone();
+		operators[count] = operator;
+		if(symbol.length() == 1) {
+			codes[count] = symbol.charAt(0);
+			if(symbol.charAt(0) < 128)	asciiOperators[symbol.charAt(0)] = operator;
+		} else {
+			codes[count] = (char)(FIRST_EXTENDED_CODE + count);
+			if(symbol.charAt(0) < 128)	startsLongerSymbol[symbol.charAt(0)] = true;
+		}
+		OperatorRegistry.table = new Table(operators, codes, asciiOperators, startsLongerSymbol);
+	}
+
+	/**
+	 * Returns the code of the operator whose symbol is the given range, looking through all the operators.
+	 *
+	 * @param table : the registered operators.
+	 * @param text : character sequence containing the symbol.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return code[char] : code of the operator, or 0 if there's none.
+	 */
+	private static char findCode(final Table table, final CharSequence text, final int start, final int end) {
+		for(int slot = 0; slot < table.operators().length; slot++) {
+			final String symbol = table.operators()[slot].getSymbol();
+			if(symbol.length() == end - start && regionMatches(text, start, symbol)) {
+				return table.codes()[slot];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns true if the given symbol is found at the given index.
+	 *
+	 * @param text : character sequence that need to be checked.
+	 * @param start : index of the first character.
+	 * @param symbol : the symbol.
+	 *
+	 * @return [boolean]: returns true if the text has the symbol at the index.
+	 */
+	private static boolean regionMatches(final CharSequence text, final int start, final String symbol) {
+		if(start + symbol.length() > text.length())	return false;
+		for(int index = 0; index < symbol.length(); index++) {
+			if(text.charAt(start + index) != symbol.charAt(index))	return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Raises a value to a power in the exact arithmetic: exactly for a whole exponent of magnitude
+	 * up to {@link #MAXIMUM_EXACT_EXPONENT}, and through double values otherwise.
+	 *
+	 * @param base : the base.
+	 * @param exponent : the exponent.
+	 * @param arithmetic : scale and rounding of the results.
+	 *
+	 * @return power[BigDecimal] : the base raised to the exponent.
+	 *
+	 * @throws ArithmeticException If a zero base is raised to a negative power.
+	 */
+	private static BigDecimal power(final BigDecimal base, final BigDecimal exponent, final ExactArithmetic arithmetic) throws ArithmeticException {
+		if(exponent.signum() == 0 || (exponent.stripTrailingZeros().scale() <= 0 && exponent.abs().compareTo(BigDecimal.valueOf(MAXIMUM_EXACT_EXPONENT)) <= 0)) {
+			final int wholeExponent = exponent.intValue();
+			return (wholeExponent >= 0)
+					? base.pow(wholeExponent)
+					: BigDecimal.ONE.divide(base.pow(-wholeExponent), arithmetic.getScale(), arithmetic.getRoundingMode());
+		}
+		return BigDecimal.valueOf(Math.pow(base.doubleValue(), exponent.doubleValue()));
+	}
+}
@@ -0,0 +1,102 @@
+package calculator;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Objects;
+
+/**
+ * This class is a primitive, unsynchronized stack of operators used while evaluating an expression.
+ *
+ * @version 1.0.0
+ *
+ */
+final class OperatorStack {
+
+	// Initial capacity of the stack
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private char[] operators;
+	private int size;
+
+	/**
+	 * Constructs a new OperatorStack instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	OperatorStack() {
+		this.operators = new char[DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+
+	/**
+	 * Returns true if there are no operators in the stack.
+	 *
+	 * @return [boolean]: returns true when the stack is empty.
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Returns the number of operators in the stack.
+	 *
+	 * @return size[int] : number of operators.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Removes all the operators from the stack.
+	 */
+	void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Pushes the given operator into the stack.
+	 *
+	 * @param operator : character representing the operator.
+	 *
+	 */
+	void push(final char operator) {
+		if(this.size == this.operators.length) {
+			this.operators = Arrays.copyOf(this.operators, this.size << 1);
+		}
+		this.operators[this.size++] = operator;
+	}
+
+	/**
+	 * Returns the operator at the given slot, without popping it.
+	 *
+	 * @param slot : index of the operator, 0 being the bottom.
+	 *
+	 * @return operator[char] : character representing the operator.
+	 */
+	char get(final int slot) {
+		return this.operators[Objects.checkIndex(slot, this.size)];
+	}
+
+	/**
+	 * Returns the top operator, without popping it.
+	 *
+	 * @return operator[char] : character representing the operator.
+	 */
+	char peek() {
+		if(this.size == 0) {
+			throw new EmptyStackException();
+		}
+		return this.operators[this.size - 1];
+	}
+
+	/**
+	 * Pops the top operator from the stack.
+	 *
+	 * @return operator[char] : character representing the operator.
+	 */
+	char pop() {
+		if(this.size == 0) {
+			throw new EmptyStackException();
+		}
+		return this.operators[--this.size];
+	}
+}
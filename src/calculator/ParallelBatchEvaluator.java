@@ -0,0 +1,209 @@
+package calculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class evaluates expressions in bulk across several threads, one expression per line.
+ * The input is split into chunks of lines that are evaluated by a fixed-size pool of workers.
+ * A CalculatorModel isn't thread-safe, so every worker thread gets a {@link BatchEvaluator}
+ * with its own model. The results are written in the order of the input, and only a
+ * bounded number of chunks is in flight, so the input is still never loaded as a whole.
+ *
+ * @version 1.0.0
+ *
+ */
+public class ParallelBatchEvaluator implements AutoCloseable {
+
+	// Number of lines evaluated by a worker at once
+	private static final int CHUNK_SIZE = 4096;
+
+	// Number of chunks in flight per worker
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	private final int threadCount;
+	private final ExecutorService workers;
+	private final boolean ownsWorkers;
+	private final ThreadLocal<BatchEvaluator> evaluators;
+
+	/**
+	 * Constructs a new ParallelBatchEvaluator instance with one worker per available processor.
+	 */
+	public ParallelBatchEvaluator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a new ParallelBatchEvaluator instance.
+	 *
+	 * @param threadCount : number of worker threads.
+	 *
+	 */
+	public ParallelBatchEvaluator(final int threadCount) {
+		this(Executors.newFixedThreadPool(requirePositive(threadCount), (task)->{
+			final Thread thread = new Thread(task, "calculator-batch-worker");
+			thread.setDaemon(true);
+			return thread;
+		}), threadCount, true);
+	}
+
+	/**
+	 * Constructs a new ParallelBatchEvaluator instance running on the given pool,
+	 * like a ForkJoinPool. The pool is left running when this evaluator is closed.
+	 *
+	 * @param workers : pool of worker threads.
+	 * @param threadCount : number of threads of the pool, used to bound the chunks in flight.
+	 *
+	 */
+	public ParallelBatchEvaluator(final ExecutorService workers, final int threadCount) {
+		this(workers, requirePositive(threadCount), false);
+	}
+
+	/**
+	 * Constructs a new ParallelBatchEvaluator instance.
+	 *
+	 * @param workers : pool of worker threads.
+	 * @param threadCount : number of threads of the pool.
+	 * @param ownsWorkers : true if the pool is shut down when this evaluator is closed.
+	 *
+	 */
+	private ParallelBatchEvaluator(final ExecutorService workers, final int threadCount, final boolean ownsWorkers) {
+		this.threadCount = threadCount;
+		this.workers = workers;
+		this.ownsWorkers = ownsWorkers;
+		this.evaluators = ThreadLocal.withInitial(BatchEvaluator::new);
+	}
+
+	/**
+	 * Evaluates every line of the given input and writes one result line per input line,
+	 * in the order of the input. The output is flushed once the input is exhausted.
+	 *
+	 * @param input : Reader of the expressions.
+	 * @param output : Writer of the results.
+	 *
+	 * @return count[long] : number of evaluated lines.
+	 *
+	 * @throws IOException If the input can't be read or the output can't be written.
+	 */
+	public long evaluate(final Reader input, final Writer output) throws IOException {
+
+		// Initialization
+		final BufferedReader reader = (input instanceof BufferedReader bufferedReader) ? bufferedReader : new BufferedReader(input, 1 << 16);
+		final BufferedWriter writer = new BufferedWriter(output, 1 << 16);
+		final Deque<Future<StringBuilder>> pendingChunks = new ArrayDeque<>();
+		final int maximumPendingChunks = this.threadCount * CHUNKS_PER_WORKER;
+		long count = 0;
+
+		// Reading the chunks and handing them over to the workers
+		String[] chunk;
+		while((chunk = readChunk(reader)) != null) {
+			final String[] lines = chunk;
+			pendingChunks.addLast(this.workers.submit(()-> this.evaluateChunk(lines)));
+			count += lines.length;
+
+			// Writing the oldest chunk before reading too far ahead
+			if(pendingChunks.size() >= maximumPendingChunks) {
+				writer.append(awaitChunk(pendingChunks.removeFirst()));
+			}
+		}
+
+		// Writing the remaining chunks in order
+		while(!pendingChunks.isEmpty()) {
+			writer.append(awaitChunk(pendingChunks.removeFirst()));
+		}
+
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * Evaluates the given lines with the evaluator of the current worker.
+	 *
+	 * @param lines : lines of the chunk.
+	 *
+	 * @return results[StringBuilder] : one result line per input line.
+	 */
+	private StringBuilder evaluateChunk(final String[] lines) {
+		final BatchEvaluator evaluator = this.evaluators.get();
+		final StringBuilder results = new StringBuilder(lines.length * 8);
+		for(String line : lines) {
+			results.append(evaluator.evaluate(line)).append('\n');
+		}
+		return results;
+	}
+
+	/**
+	 * Reads the next chunk of lines.
+	 *
+	 * @param reader : Reader of the expressions.
+	 *
+	 * @return lines[String[]] : lines of the chunk, or null at the end of the input.
+	 *
+	 * @throws IOException If the input can't be read.
+	 */
+	private static String[] readChunk(final BufferedReader reader) throws IOException {
+		final String[] lines = new String[CHUNK_SIZE];
+		int count = 0;
+		String line;
+		while(count < CHUNK_SIZE && (line = reader.readLine()) != null) {
+			lines[count++] = line;
+		}
+		if(count == 0)	return null;
+		return (count == CHUNK_SIZE) ? lines : Arrays.copyOf(lines, count);
+	}
+
+	/**
+	 * Waits for the results of a chunk.
+	 *
+	 * @param pendingChunk : Future of the chunk.
+	 *
+	 * @return results[StringBuilder] : results of the chunk.
+	 *
+	 * @throws IOException If the thread is interrupted while waiting.
+	 */
+	private static StringBuilder awaitChunk(final Future<StringBuilder> pendingChunk) throws IOException {
+		try {
+			return pendingChunk.get();
+		} catch(InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a chunk of results");
+		} catch(ExecutionException exception) {
+			throw new IllegalStateException("Evaluation of a chunk failed", exception.getCause());
+		}
+	}
+
+	/**
+	 * Checks the number of worker threads.
+	 *
+	 * @param threadCount : number of worker threads.
+	 *
+	 * @return threadCount[int] : the given number of worker threads.
+	 */
+	private static int requirePositive(final int threadCount) {
+		if(threadCount < 1) {
+			throw new IllegalArgumentException("At least one worker thread is required: " + threadCount);
+		}
+		return threadCount;
+	}
+
+	/**
+	 * Stops the worker threads, if the pool was created by this evaluator.
+	 */
+	@Override
+	public void close() {
+		if(this.ownsWorkers) {
+			this.workers.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package calculator;
+
+import java.awt.EventQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * This class moves the work of the calculator off the AWT event thread and coalesces its display updates.
+ *
+ * <p>Every update runs on a single worker thread, in the order it was submitted, so the model and
+ * the text it works on are only ever touched by that thread. An update returns the text to be
+ * displayed, which is published for the event thread; however many updates are published in a
+ * burst, the display is updated once with the latest text, and at most once per frame.</p>
+ *
+ * <p>The latency from the input to the display update is recorded for every input, the inputs
+ * coalesced into a single display update being measured from the oldest of them.</p>
+ *
+ * @version 1.0.0
+ *
+ */
+final class RenderPipeline implements AutoCloseable {
+
+	// Shortest time between two display updates, about 60 frames per second
+	private static final long FRAME_NANOS = 16_666_667L;
+
+	private final ScheduledExecutorService worker;
+	private final Consumer<String> display;
+	private final LatencyRecorder latency;
+
+	// Published by the worker thread for the event thread
+	private final AtomicReference<String> pendingText;
+	private final AtomicLong oldestInputNanos;
+	private final AtomicBoolean isRenderScheduled;
+	private final AtomicLong updateCount;
+	private final AtomicLong renderCount;
+
+	// Confined to the event thread
+	private long lastRenderNanos;
+
+	/**
+	 * Constructs a new RenderPipeline instance.
+	 *
+	 * @param display : updates the display with the given text, always called on the event thread.
+	 *
+	 */
+	RenderPipeline(final Consumer<String> display) {
+
+		// Initialization
+		final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+			final Thread thread = new Thread(task, "calculator-model");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		this.worker = executor;
+		this.display = display;
+		this.latency = new LatencyRecorder();
+		this.pendingText = new AtomicReference<>();
+		this.oldestInputNanos = new AtomicLong();
+		this.isRenderScheduled = new AtomicBoolean();
+		this.updateCount = new AtomicLong();
+		this.renderCount = new AtomicLong();
+		this.lastRenderNanos = System.nanoTime() - FRAME_NANOS;
+	}
+
+	/**
+	 * Submits a task to be run on the worker thread after the updates submitted before it,
+	 * without displaying anything. Ignored once the pipeline is closed.
+	 *
+	 * @param task : the task.
+	 *
+	 */
+	void execute(final Runnable task) {
+		try {
+			this.worker.execute(task);
+		} catch(RejectedExecutionException exception) {
+			// Already closed
+		}
+	}
+
+	/**
+	 * Submits an update to be run on the worker thread, whose result is then displayed.
+	 * Ignored once the pipeline is closed.
+	 *
+	 * @param inputNanos : System.nanoTime() of the input causing the update, or 0 if it isn't an input.
+	 * @param update : update returning the text to be displayed.
+	 *
+	 */
+	void submit(final long inputNanos, final Callable<String> update) {
+		this.execute(() -> {
+			final String text;
+			try {
+				text = update.call();
+			} catch(Exception exception) {
+				System.err.println(exception);
+				return;
+			}
+			this.publish(inputNanos, text);
+		});
+	}
+
+	/**
+	 * Returns the latencies from the inputs to their display updates.
+	 *
+	 * @return latency[LatencyRecorder] : recorded latencies.
+	 */
+	LatencyRecorder getLatency() {
+		return this.latency;
+	}
+
+	/**
+	 * Returns the number of published updates.
+	 *
+	 * @return count[long] : number of updates.
+	 */
+	long getUpdateCount() {
+		return this.updateCount.get();
+	}
+
+	/**
+	 * Returns the number of display updates, lower than the number of updates when they're coalesced.
+	 *
+	 * @return count[long] : number of display updates.
+	 */
+	long getRenderCount() {
+		return this.renderCount.get();
+	}
+
+	/**
+	 * Stops the worker thread, discarding the updates that haven't run yet.
+	 */
+	@Override
+	public void close() {
+		this.worker.shutdownNow();
+	}
+
+	/**
+	 * Publishes the text of an update, scheduling a display update unless one is already scheduled.
+	 *
+	 * @param inputNanos : System.nanoTime() of the input causing the update.
+	 * @param text : text to be displayed.
+	 *
+	 */
+	private void publish(final long inputNanos, final String text) {
+		this.updateCount.incrementAndGet();
+		this.pendingText.set(text);
+		this.oldestInputNanos.compareAndSet(0, inputNanos);
+		if(this.isRenderScheduled.compareAndSet(false, true)) {
+			EventQueue.invokeLater(this::render);
+		}
+	}
+
+	/**
+	 * Updates the display with the latest published text, on the event thread.
+	 * A display update coming sooner than a frame after the previous one is postponed.
+	 */
+	private void render() {
+
+		// Waiting for the next frame, the later updates being coalesced meanwhile
+		final long now = System.nanoTime();
+		final long delay = this.lastRenderNanos + FRAME_NANOS - now;
+		if(delay > 0) {
+			try {
+				this.worker.schedule(() -> EventQueue.invokeLater(this::render), delay, TimeUnit.NANOSECONDS);
+				return;
+			} catch(RejectedExecutionException exception) {
+				// Already closed, displaying the text right away
+			}
+		}
+
+		// Allowing the next update to schedule another display update before reading this one
+		this.isRenderScheduled.set(false);
+		final long inputNanos = this.oldestInputNanos.getAndSet(0);
+		this.display.accept(this.pendingText.get());
+		this.renderCount.incrementAndGet();
+
+		this.lastRenderNanos = System.nanoTime();
+		if(inputNanos != 0)	this.latency.record(this.lastRenderNanos - inputNanos);
+	}
+}
@@ -0,0 +1,172 @@
+package calculator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is a bounded cache of evaluated expressions, evicting the least recently used
+ * expression once it's full. The expressions are keyed by their tokens separated by a single space,
+ * whether they were written as a line or entered through the keypad, so that the spacing of a line
+ * doesn't matter.
+ * A division by zero is cached as well, and is thrown again on every hit.
+ * The cache isn't thread-safe, just like the CalculatorModel using it.
+ *
+ * @version 1.0.0
+ *
+ */
+public final class ResultCache {
+
+	/**
+	 * Outcome of an evaluated expression, either its result or the message of its ArithmeticException.
+	 * The message may be null, as the JVM throws exceptions without message from hot code.
+	 *
+	 * @param result : displayed result, or the message of the ArithmeticException for a failed evaluation.
+	 * @param failed : true if the evaluation threw an ArithmeticException.
+	 */
+	private record Outcome(String result, boolean failed) {
+	}
+
+	private final int maximumSize;
+	private final Map<String, Outcome> entries;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	/**
+	 * Constructs a new ResultCache instance.
+	 *
+	 * @param maximumSize : maximum number of cached expressions.
+	 *
+	 */
+	ResultCache(final int maximumSize) {
+		if(maximumSize < 1) {
+			throw new IllegalArgumentException("Maximum size of the cache must be positive: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Outcome> eldest) {
+				if(this.size() > ResultCache.this.maximumSize) {
+					ResultCache.this.evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Writes the cached result of the given expression into the given StringBuilder.
+	 *
+	 * @param key : tokens of the expression.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 *
+	 * @return [boolean]: returns true on a hit, false if the expression isn't cached.
+	 *
+	 * @throws ArithmeticException If the cached evaluation failed.
+	 */
+	boolean lookup(final String key, final StringBuilder resultStringBuilder) throws ArithmeticException {
+		return this.lookup(key, resultStringBuilder, true);
+	}
+
+	/**
+	 * Writes the cached result of the given expression into the given StringBuilder,
+	 * a miss being counted only if asked, for a lookup followed by another one.
+	 *
+	 * @param key : tokens of the expression.
+	 * @param resultStringBuilder : StringBuilder object the result is written into.
+	 * @param countsMiss : true to count a miss.
+	 *
+	 * @return [boolean]: returns true on a hit, false if the expression isn't cached.
+	 *
+	 * @throws ArithmeticException If the cached evaluation failed.
+	 */
+	boolean lookup(final String key, final StringBuilder resultStringBuilder, final boolean countsMiss) throws ArithmeticException {
+		final Outcome outcome = this.entries.get(key);
+		if(outcome == null) {
+			if(countsMiss)	this.missCount++;
+			return false;
+		}
+		this.hitCount++;
+		if(outcome.failed()) {
+			throw new ArithmeticException(outcome.result());
+		}
+		CalculatorModel.replaceStringBuilderValue(resultStringBuilder, outcome.result());
+		return true;
+	}
+
+	/**
+	 * Caches the result of the given expression.
+	 *
+	 * @param key : tokens of the expression.
+	 * @param result : displayed result.
+	 *
+	 */
+	void putResult(final String key, final String result) {
+		this.entries.put(key, new Outcome(result, false));
+	}
+
+	/**
+	 * Caches the failed evaluation of the given expression.
+	 *
+	 * @param key : tokens of the expression.
+	 * @param exception : ArithmeticException thrown by the evaluation.
+	 *
+	 */
+	void putError(final String key, final ArithmeticException exception) {
+		this.entries.put(key, new Outcome(exception.getMessage(), true));
+	}
+
+	/**
+	 * Returns the number of lookups that found the expression.
+	 *
+	 * @return count[long] : number of hits.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of lookups that didn't find the expression.
+	 *
+	 * @return count[long] : number of misses.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Returns the number of expressions evicted to stay within the maximum size.
+	 *
+	 * @return count[long] : number of evictions.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Returns the number of cached expressions.
+	 *
+	 * @return size[int] : number of cached expressions.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns the maximum number of cached expressions.
+	 *
+	 * @return maximumSize[int] : maximum number of cached expressions.
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ResultCache[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+				this.size(), this.maximumSize, this.hitCount, this.missCount, this.evictionCount);
+	}
+}
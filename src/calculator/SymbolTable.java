@@ -0,0 +1,350 @@
+package calculator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class is the table of the variables of a {@link CalculatorModel}, like the memory register "M",
+ * mapping a name to its value without boxing it. The names are looked up straight from the characters
+ * of an expression, with open addressing and linear probing, and the values are kept as the slots of an
+ * {@link OperandStack}, so that pushing a variable is a copy of its slot, with no parsing at all.
+ * A table isn't thread-safe, but several threads may look up the variables while the values
+ * of other entries are set, as long as no variable is added or removed.
+ *
+ * @version 1.0.0
+ *
+ */
+final class SymbolTable {
+
+	// Initial capacity of the hash table, a power of two
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// Slot of the hash table holding no entry
+	private static final int EMPTY = -1;
+
+	// Hash table of the entry indexes, kept at most half full
+	private int[] table;
+
+	// Parallel arrays, one entry per variable, the values being the slots of the same index
+	private String[] names;
+	private int[] hashes;
+	private final OperandStack values;
+	private int size;
+
+	/**
+	 * Constructs a new SymbolTable instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	SymbolTable() {
+		this.table = new int[DEFAULT_CAPACITY];
+		Arrays.fill(this.table, EMPTY);
+		this.names = new String[DEFAULT_CAPACITY / 2];
+		this.hashes = new int[DEFAULT_CAPACITY / 2];
+		this.values = new OperandStack();
+		this.size = 0;
+	}
+
+	/**
+	 * Returns true if the given character can start a name, i.e. an ASCII letter or '_'.
+	 *
+	 * @param character : character that need to be checked.
+	 *
+	 * @return [boolean]: returns true for the first character of a name.
+	 */
+	static boolean isNameStart(final char character) {
+		return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || character == '_';
+	}
+
+	/**
+	 * Returns true if the given character can be part of a name, i.e. an ASCII letter, a digit or '_'.
+	 *
+	 * @param character : character that need to be checked.
+	 *
+	 * @return [boolean]: returns true for the other characters of a name.
+	 */
+	static boolean isNamePart(final char character) {
+		return isNameStart(character) || TokenClassifier.isDigit(character);
+	}
+
+	/**
+	 * Returns true if the given text is a name, like "rate" or "x_2".
+	 *
+	 * @param text : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true for a name.
+	 */
+	static boolean isName(final CharSequence text) {
+		if(text.length() == 0 || !isNameStart(text.charAt(0)))	return false;
+		for(int index = 1; index < text.length(); index++) {
+			if(!isNamePart(text.charAt(index)))	return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of variables.
+	 *
+	 * @return size[int] : number of variables.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Removes all the variables.
+	 */
+	void clear() {
+		Arrays.fill(this.table, EMPTY);
+		Arrays.fill(this.names, 0, this.size, null);
+		this.values.clear();
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the entry of the variable whose name is the given range.
+	 *
+	 * @param text : character sequence containing the name.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return entry[int] : index of the entry, or -1 if there's no such variable.
+	 */
+	int find(final CharSequence text, final int start, final int end) {
+		final int hash = hash(text, start, end);
+		final int mask = this.table.length - 1;
+		for(int position = hash & mask; ; position = (position + 1) & mask) {
+			final int entry = this.table[position];
+			if(entry == EMPTY)	return -1;
+			if(this.hashes[entry] == hash && matches(this.names[entry], text, start, end))	return entry;
+		}
+	}
+
+	/**
+	 * Pops the top operand of the given stack as the value of the given variable,
+	 * adding the variable if it doesn't exist yet.
+	 *
+	 * @param name : name of the variable.
+	 * @param source : stack containing the value on its top.
+	 *
+	 * @return entry[int] : index of the entry of the variable.
+	 */
+	int put(final CharSequence name, final OperandStack source) {
+
+		// Replacing the value of an existing variable
+		final int existing = this.find(name, 0, name.length());
+		if(existing >= 0) {
+			this.set(existing, source);
+			return existing;
+		}
+
+		// Growing the arrays, keeping the hash table at most half full
+		if(this.size == this.names.length) {
+			this.names = Arrays.copyOf(this.names, this.size << 1);
+			this.hashes = Arrays.copyOf(this.hashes, this.size << 1);
+			this.rehash(this.table.length << 1);
+		}
+
+		// Adding the entry
+		final int entry = this.size++;
+		this.names[entry] = name.toString();
+		this.hashes[entry] = hash(name, 0, name.length());
+		this.values.pushFrom(source, source.size() - 1);
+		source.pop();
+		this.table[this.positionOf(EMPTY, this.hashes[entry])] = entry;
+		return entry;
+	}
+
+	/**
+	 * Pops the top operand of the given stack as the value of the given entry. The entries
+	 * being left as they are, different entries may be set by different threads at once.
+	 *
+	 * @param entry : index of the entry.
+	 * @param source : stack containing the value on its top.
+	 *
+	 */
+	void set(final int entry, final OperandStack source) {
+		this.values.replace(entry, source, source.size() - 1);
+		source.pop();
+	}
+
+	/**
+	 * Removes the given variable, the last entry taking its index.
+	 *
+	 * @param name : name of the variable.
+	 *
+	 * @return [boolean]: returns true if the variable existed.
+	 */
+	boolean remove(final CharSequence name) {
+		final int entry = this.find(name, 0, name.length());
+		if(entry < 0)	return false;
+
+		// Shifting back the entries probed past the removed one, so that no lookup stops too early
+		final int mask = this.table.length - 1;
+		int hole = this.positionOf(entry, this.hashes[entry]);
+		for(int position = (hole + 1) & mask; this.table[position] != EMPTY; position = (position + 1) & mask) {
+			final int home = this.hashes[this.table[position]] & mask;
+			if(((position - home) & mask) >= ((position - hole) & mask)) {
+				this.table[hole] = this.table[position];
+				hole = position;
+			}
+		}
+		this.table[hole] = EMPTY;
+
+		// Moving the last entry into the removed one
+		final int last = --this.size;
+		if(entry != last) {
+			this.table[this.positionOf(last, this.hashes[last])] = entry;
+			this.names[entry] = this.names[last];
+			this.hashes[entry] = this.hashes[last];
+			this.values.replace(entry, this.values, last);
+		}
+		this.names[last] = null;
+		this.values.pop();
+		return true;
+	}
+
+	/**
+	 * Pushes the value of the given entry into the given stack.
+	 *
+	 * @param entry : index of the entry.
+	 * @param target : stack of the default arithmetic.
+	 *
+	 */
+	void pushTo(final int entry, final OperandStack target) {
+		target.pushFrom(this.values, entry);
+	}
+
+	/**
+	 * Pushes the value of the given entry into the given stack of the exact arithmetic.
+	 *
+	 * @param entry : index of the entry.
+	 * @param target : stack of the exact arithmetic.
+	 *
+	 * @throws NumberFormatException If the value isn't a finite number.
+	 */
+	void pushTo(final int entry, final ExactOperandStack target) throws NumberFormatException {
+		this.values.copyTo(target, entry);
+	}
+
+	/**
+	 * Appends the value of the given entry to the given StringBuilder, formatted like a result.
+	 *
+	 * @param entry : index of the entry.
+	 * @param output : StringBuilder the formatted value is appended to.
+	 *
+	 */
+	void appendTo(final int entry, final StringBuilder output) {
+		this.values.appendTo(output, entry);
+	}
+
+	/**
+	 * Writes every variable, its name followed by its value exactly as it's kept.
+	 *
+	 * @param output : output the variables are written into.
+	 *
+	 * @throws IOException If the variables can't be written.
+	 */
+	void write(final DataOutput output) throws IOException {
+		output.writeInt(this.size);
+		for(int entry = 0; entry < this.size; entry++) {
+			output.writeUTF(this.names[entry]);
+			this.values.write(output, entry);
+		}
+	}
+
+	/**
+	 * Replaces the variables with those written by {@link #write(DataOutput)}.
+	 *
+	 * @param input : input the variables are read from.
+	 *
+	 * @throws IOException If the variables can't be read.
+	 */
+	void read(final DataInput input) throws IOException {
+		this.clear();
+		final OperandStack value = new OperandStack();
+		final int count = input.readInt();
+		if(count < 0) {
+			throw new IOException("Negative number of variables: " + count);
+		}
+
+		// Sizing the arrays once for all the variables
+		if(count > this.names.length) {
+			final int capacity = Integer.highestOneBit(count - 1) << 1;
+			this.names = new String[capacity];
+			this.hashes = new int[capacity];
+			this.table = new int[capacity << 1];
+			Arrays.fill(this.table, EMPTY);
+		}
+		for(int entry = 0; entry < count; entry++) {
+			final String name = input.readUTF();
+			value.read(input);
+			this.put(name, value);
+		}
+	}
+
+	/**
+	 * Returns the position of the hash table holding the given entry.
+	 *
+	 * @param entry : index of the entry, or EMPTY for the first free position.
+	 * @param hash : hash of the name of the entry.
+	 *
+	 * @return position[int] : position within the hash table.
+	 */
+	private int positionOf(final int entry, final int hash) {
+		final int mask = this.table.length - 1;
+		int position = hash & mask;
+		while(this.table[position] != entry)	position = (position + 1) & mask;
+		return position;
+	}
+
+	/**
+	 * Rebuilds the hash table with the given capacity.
+	 *
+	 * @param capacity : new capacity, a power of two.
+	 *
+	 */
+	private void rehash(final int capacity) {
+		this.table = new int[capacity];
+		Arrays.fill(this.table, EMPTY);
+		for(int entry = 0; entry < this.size; entry++) {
+			this.table[this.positionOf(EMPTY, this.hashes[entry])] = entry;
+		}
+	}
+
+	/**
+	 * Returns the hash of the given range, spreading its high bits over the low ones.
+	 *
+	 * @param text : character sequence containing the name.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return hash[int] : hash of the name.
+	 */
+	private static int hash(final CharSequence text, final int start, final int end) {
+		int hash = 0;
+		for(int index = start; index < end; index++) {
+			hash = 31 * hash + text.charAt(index);
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Returns true if the given name is the given range.
+	 *
+	 * @param name : name of an entry.
+	 * @param text : character sequence containing the name.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return [boolean]: returns true if they're the same characters.
+	 */
+	private static boolean matches(final String name, final CharSequence text, final int start, final int end) {
+		if(name.length() != end - start)	return false;
+		for(int index = 0; index < name.length(); index++) {
+			if(name.charAt(index) != text.charAt(start + index))	return false;
+		}
+		return true;
+	}
+}
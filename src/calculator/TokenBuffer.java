@@ -0,0 +1,146 @@
+package calculator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class is an array backed buffer of the tokens of the expression entered through the keypad.
+ * The characters of all the tokens are kept one after the other in a single character sequence,
+ * and every token is its range in that sequence, so that any token is reached in constant time
+ * and adding a token doesn't create any object once the buffer has grown.
+ *
+ * @version 1.0.0
+ *
+ */
+final class TokenBuffer {
+
+	// Initial capacity of the buffer
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final StringBuilder characters;
+	private int[] tokenEnds;
+	private int size;
+
+	/**
+	 * Constructs a new TokenBuffer instance.
+	 * This constructor initializes any required data or resources.
+	 */
+	TokenBuffer() {
+		this.characters = new StringBuilder(DEFAULT_CAPACITY * 4);
+		this.tokenEnds = new int[DEFAULT_CAPACITY];
+		this.size = 0;
+	}
+
+	/**
+	 * Adds the characters of the given sequence as a new token.
+	 *
+	 * @param token : characters of the token.
+	 *
+	 */
+	void add(final CharSequence token) {
+		this.characters.append(token);
+		this.endToken();
+	}
+
+	/**
+	 * Adds the given character as a new token.
+	 *
+	 * @param token : character of the token.
+	 *
+	 */
+	void add(final char token) {
+		this.characters.append(token);
+		this.endToken();
+	}
+
+	/**
+	 * Returns the characters of all the tokens, where every token is found
+	 * through {@link #start(int)} and {@link #end(int)}.
+	 *
+	 * @return characters[CharSequence] : characters of all the tokens.
+	 */
+	CharSequence characters() {
+		return this.characters;
+	}
+
+	/**
+	 * Returns the index of the first character of the given token.
+	 *
+	 * @param index : index of the token.
+	 *
+	 * @return start[int] : index of the first character (inclusive).
+	 *
+	 * @throws IndexOutOfBoundsException If there's no such token.
+	 */
+	int start(final int index) throws IndexOutOfBoundsException {
+		return (Objects.checkIndex(index, this.size) == 0) ? 0 : this.tokenEnds[index - 1];
+	}
+
+	/**
+	 * Returns the index after the last character of the given token.
+	 *
+	 * @param index : index of the token.
+	 *
+	 * @return end[int] : index of the last character (exclusive).
+	 *
+	 * @throws IndexOutOfBoundsException If there's no such token.
+	 */
+	int end(final int index) throws IndexOutOfBoundsException {
+		return this.tokenEnds[Objects.checkIndex(index, this.size)];
+	}
+
+	/**
+	 * Returns the given token as a String.
+	 *
+	 * @param index : index of the token.
+	 *
+	 * @return token[String] : characters of the token.
+	 *
+	 * @throws IndexOutOfBoundsException If there's no such token.
+	 */
+	String get(final int index) throws IndexOutOfBoundsException {
+		return this.characters.substring(this.start(index), this.end(index));
+	}
+
+	/**
+	 * Returns the number of tokens in the buffer.
+	 *
+	 * @return size[int] : number of tokens.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Removes all the tokens, keeping the allocated capacity.
+	 */
+	void clear() {
+		this.characters.setLength(0);
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the tokens separated by a single space, like "12 + 3".
+	 *
+	 * @return tokens[String] : tokens separated by a single space.
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder tokens = new StringBuilder(this.characters.length() + this.size);
+		for(int index = 0; index < this.size; index++) {
+			if(index != 0)	tokens.append(' ');
+			tokens.append(this.characters, this.start(index), this.end(index));
+		}
+		return tokens.toString();
+	}
+
+	/**
+	 * Ends the token made of the characters appended since the previous token.
+	 */
+	private void endToken() {
+		if(this.size == this.tokenEnds.length) {
+			this.tokenEnds = Arrays.copyOf(this.tokenEnds, this.size << 1);
+		}
+		this.tokenEnds[this.size++] = this.characters.length();
+	}
+}
@@ -0,0 +1,199 @@
+package calculator;
+
+/**
+ * This class classifies the tokens of an expression without using regular expressions.
+ * Each check is a hand-written scan over the given characters, so it neither compiles
+ * a Pattern nor allocates anything, and it accepts exactly what the original regex accepted.
+ *
+ * @version 1.0.0
+ *
+ */
+final class TokenClassifier {
+
+	/**
+	 * Prevents the instantiation of this utility class.
+	 */
+	private TokenClassifier() {
+	}
+
+	/**
+	 * Returns true if the given character is an ASCII digit, i.e. [0-9].
+	 *
+	 * @param character : character that need to be checked.
+	 *
+	 * @return [boolean]: returns true for an ASCII digit.
+	 */
+	static boolean isDigit(final char character) {
+		return character >= '0' && character <= '9';
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^(\-?[0-9]+(\.[0-9]*)?)?$}.
+	 *
+	 * @param token : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true if it's a possible numeric value.
+	 */
+	static boolean isNumeric(final CharSequence token) {
+		return isNumeric(token, 0, token.length());
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^(\-?[0-9]+(\.[0-9]*)?)?$} over the range [start, end).
+	 *
+	 * @param token : character sequence that need to be checked.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return [boolean]: returns true if it's a possible numeric value.
+	 */
+	static boolean isNumeric(final CharSequence token, final int start, final int end) {
+
+		// Empty string is accepted by the optional group
+		if(start == end)	return true;
+
+		// Optional sign
+		int index = start;
+		if(token.charAt(index) == '-')	index++;
+
+		// At least one digit is required before the decimal point
+		final int digitsStart = index;
+		while(index < end && isDigit(token.charAt(index)))	index++;
+		if(index == digitsStart)	return false;
+
+		// Optional decimal point followed by any number of digits
+		if(index < end && token.charAt(index) == '.') {
+			index++;
+			while(index < end && isDigit(token.charAt(index)))	index++;
+		}
+
+		return index == end;
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^(\-?[0-9]*\.[0-9]*)?$}.
+	 *
+	 * @param token : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true if it's a decimal value (or an empty string).
+	 */
+	static boolean isDecimal(final CharSequence token) {
+		return isDecimal(token, 0, token.length());
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^(\-?[0-9]*\.[0-9]*)?$} over the range [start, end).
+	 *
+	 * @param token : character sequence that need to be checked.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return [boolean]: returns true if it's a decimal value (or an empty range).
+	 */
+	static boolean isDecimal(final CharSequence token, final int start, final int end) {
+
+		// Empty string is accepted by the optional group
+		if(start == end)	return true;
+
+		// Optional sign and the integer part
+		int index = start;
+		if(token.charAt(index) == '-')	index++;
+		while(index < end && isDigit(token.charAt(index)))	index++;
+
+		// Mandatory decimal point
+		if(index == end || token.charAt(index) != '.')	return false;
+		index++;
+
+		// Fraction part
+		while(index < end && isDigit(token.charAt(index)))	index++;
+
+		return index == end;
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^0*(\.?0*)?$}, which is used to detect a zero divisor.
+	 * Note that a negative zero (like "-0") is not treated as a zero divisor.
+	 *
+	 * @param token : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true if it's a zero divisor.
+	 */
+	static boolean isZeroDivisor(final CharSequence token) {
+		return isZeroDivisor(token, 0, token.length());
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^0*(\.?0*)?$} over the range [start, end).
+	 *
+	 * @param token : character sequence that need to be checked.
+	 * @param start : index of the first character (inclusive).
+	 * @param end : index of the last character (exclusive).
+	 *
+	 * @return [boolean]: returns true if it's a zero divisor.
+	 */
+	static boolean isZeroDivisor(final CharSequence token, final int start, final int end) {
+
+		// Leading zeros
+		int index = start;
+		while(index < end && token.charAt(index) == '0')	index++;
+
+		// Optional decimal point followed by zeros
+		if(index < end && token.charAt(index) == '.')	index++;
+		while(index < end && token.charAt(index) == '0')	index++;
+
+		return index == end;
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^\+|\-$}, i.e. the low precedence operators.
+	 *
+	 * @param token : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true for "+" and "-".
+	 */
+	static boolean isLowPrecedenceOperator(final CharSequence token) {
+		if(token.length() != 1)		return false;
+		final char operator = token.charAt(0);
+		return operator == '+' || operator == '-';
+	}
+
+	/**
+	 * Returns true for the high precedence operators, i.e. "*", "/" and "%".
+	 *
+	 * @param token : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true for "*", "/" and "%".
+	 */
+	static boolean isHighPrecedenceOperator(final CharSequence token) {
+		if(token.length() != 1)		return false;
+		final char operator = token.charAt(0);
+		return operator == '*' || operator == '/' || operator == '%';
+	}
+
+	/**
+	 * Equivalent of the regex {@code ^C|BS|=|\+/\-|\+|\-|\*|/|%|MC|MR|M\+|M\-$}, or any other symbol of
+	 * {@link OperatorRegistry}, i.e. the labels that are handled by {@link CalculatorModel#handleOperation(String, StringBuilder)}.
+	 *
+	 * @param label : character sequence that need to be checked.
+	 *
+	 * @return [boolean]: returns true if the label represents an operation.
+	 */
+	static boolean isOperationLabel(final CharSequence label) {
+		final boolean isBuiltInLabel = switch(label.length()) {
+			case 1 -> {
+				final char character = label.charAt(0);
+				yield character == 'C' || character == '=' || character == '+' || character == '-'
+						|| character == '*' || character == '/' || character == '%';
+			}
+			case 2 -> {
+				final char first = label.charAt(0);
+				final char second = label.charAt(1);
+				yield (first == 'B' && second == 'S')
+						|| (first == 'M' && (second == '+' || second == '-' || second == 'R' || second == 'C'));
+			}
+			case 3 -> label.charAt(0) == '+' && label.charAt(1) == '/' && label.charAt(2) == '-';
+			default -> false;
+		};
+		return isBuiltInLabel || (label.length() > 0 && !isDigit(label.charAt(0)) && label.charAt(0) != '.' && OperatorRegistry.forSymbol(label) != null);
+	}
+}
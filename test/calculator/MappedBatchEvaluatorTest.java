@@ -0,0 +1,55 @@
+package calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that {@link MappedBatchEvaluator} writes the same results as the
+ * {@link BatchEvaluator} of the standard input, the results longer than its output buffer included.
+ *
+ * @version 1.0.0
+ *
+ */
+class MappedBatchEvaluatorTest {
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * Evaluates a file whose first result, a 70,000-digit operand displayed as entered, is longer
+	 * than the 64 KB output buffer, and whose last result ends right at the end of the buffer.
+	 *
+	 * @throws IOException If the file can't be written or read.
+	 */
+	@Test
+	void writesResultsLongerThanTheOutputBuffer() throws IOException {
+
+		// A line longer than the buffer, then short lines filling the buffer up to its last byte
+		final String longOperand = "1".repeat(70_000);
+		final String bufferFiller = "2".repeat((1 << 16) - 1 - "3\n1 / 0\n".length());
+		final String text = longOperand + "\n1 + 2\n1 / 0\n" + bufferFiller + "\n12 $ 3";
+		final Path input = Files.writeString(this.directory.resolve("long.txt"), text, StandardCharsets.US_ASCII);
+
+		// Evaluating the file
+		final ByteArrayOutputStream mappedOutput = new ByteArrayOutputStream();
+		final long count = new MappedBatchEvaluator().evaluate(input, Channels.newChannel(mappedOutput));
+		final StringWriter streamOutput = new StringWriter();
+		new BatchEvaluator().evaluate(new StringReader(text), streamOutput);
+
+		// Checking the results
+		assertEquals(5, count);
+		assertEquals(longOperand + "\n3\nERROR\n" + bufferFiller + "\nINVALID\n", streamOutput.toString());
+		assertEquals(streamOutput.toString(), mappedOutput.toString(StandardCharsets.US_ASCII));
+	}
+}